@@ -36,6 +36,7 @@ import org.pushingpixels.flamingo.api.common.StringValuePair;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The application callback that can be set on {@link JBreadcrumbBar}.
@@ -83,6 +84,49 @@ public abstract class BreadcrumbBarCallBack<T> {
         return null;
     }
 
+    /**
+     * Returns the choice elements that correspond to the specified path, delivering them in
+     * chunks as they are produced. The breadcrumb bar calls this method on a background thread
+     * and shows the delivered chunks in the choices popup before the complete list is returned.
+     * The returned list replaces the delivered chunks, and follows the same contract as
+     * {@link #getPathChoices(List)}. The default implementation delivers no chunks and returns
+     * the result of {@link #getPathChoices(List)}.
+     * <p>
+     * As the choices popup is refreshed on every chunk, implementations should deliver a small
+     * first chunk and progressively larger chunks after that.
+     * </p>
+     *
+     * @param path          Breadcrumb bar path.
+     * @param chunkConsumer Consumer of the chunks of choice elements, called on the calling
+     *                      thread.
+     * @return The choice elements that correspond to the specified path
+     * @throws BreadcrumbBarException Runtime exception that wraps the cause. Is thrown only when
+     *                                {@link #setThrowsExceptions(boolean)} has been called with
+     *                                <code>true</code> parameter.
+     */
+    public List<StringValuePair<T>> getPathChoices(List<BreadcrumbItem<T>> path,
+            Consumer<List<StringValuePair<T>>> chunkConsumer) throws BreadcrumbBarException {
+        return this.getPathChoices(path);
+    }
+
+    /**
+     * Returns the name index over the choice elements that correspond to the specified path,
+     * to be used for typeahead within a level. Callbacks that serve large levels can override
+     * this method to build (and cache) the index. The default implementation returns
+     * <code>null</code>, which means that no index is available.
+     *
+     * @param path Breadcrumb bar path.
+     * @return The name index over the choice elements that correspond to the specified path,
+     * or <code>null</code> if no index is available.
+     * @throws BreadcrumbBarException Runtime exception that wraps the cause. Is thrown only when
+     *                                {@link #setThrowsExceptions(boolean)} has been called with
+     *                                <code>true</code> parameter.
+     */
+    public BreadcrumbChoiceIndex<T> getPathChoiceIndex(List<BreadcrumbItem<T>> path)
+            throws BreadcrumbBarException {
+        return null;
+    }
+
     /**
      * Returns the leaf elements that correspond to the specified path. If the
      * path is empty, <code>null</code> should be returned. If path is
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2003-2020 Flamingo Kirill Grouchnikov
+ * and <a href="http://www.topologi.com">Topologi</a>.
+ * Contributed by <b>Rick Jelliffe</b> of <b>Topologi</b>
+ * in January 2006.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.flamingo.api.bcb;
+
+import org.pushingpixels.flamingo.api.common.StringValuePair;
+
+import java.util.*;
+
+/**
+ * Name index over the choice elements of a single breadcrumb bar level. The index supports
+ * case-insensitive prefix lookups for typeahead without scanning all the choices of a large
+ * level. The index is immutable and can be built on a background thread.
+ *
+ * @param <T> Type of data associated with each breadcrumb bar item.
+ * @see BreadcrumbBarCallBack#getPathChoiceIndex(List)
+ */
+public final class BreadcrumbChoiceIndex<T> {
+    /**
+     * The indexed choices in their original order.
+     */
+    private final List<StringValuePair<T>> choices;
+
+    /**
+     * Lowercase choice names, sorted.
+     */
+    private final String[] sortedNames;
+
+    /**
+     * Positions (in {@link #choices}) of the sorted names.
+     */
+    private final int[] sortedPositions;
+
+    /**
+     * Creates a name index over the specified choices.
+     *
+     * @param choices Choice elements of a single level.
+     */
+    public BreadcrumbChoiceIndex(List<StringValuePair<T>> choices) {
+        this.choices = Collections.unmodifiableList(new ArrayList<>(choices));
+        int count = this.choices.size();
+        String[] names = new String[count];
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            String key = this.choices.get(i).getKey();
+            names[i] = (key == null) ? "" : key.toLowerCase(Locale.ROOT);
+            order[i] = i;
+        }
+        // stable sort keeps equal names in their original order
+        Arrays.sort(order, Comparator.comparing((Integer position) -> names[position]));
+        this.sortedNames = new String[count];
+        this.sortedPositions = new int[count];
+        for (int i = 0; i < count; i++) {
+            this.sortedNames[i] = names[order[i]];
+            this.sortedPositions[i] = order[i];
+        }
+    }
+
+    /**
+     * Returns the indexed choices in their original order.
+     *
+     * @return Unmodifiable list of the indexed choices.
+     */
+    public List<StringValuePair<T>> getChoices() {
+        return this.choices;
+    }
+
+    /**
+     * Returns the position of the first (in the alphabetical order) choice whose name starts
+     * with the specified prefix. The comparison is case-insensitive.
+     *
+     * @param prefix Name prefix.
+     * @return Position of the matching choice in {@link #getChoices()}, or -1 if no choice
+     * matches.
+     */
+    public int indexOf(String prefix) {
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        int start = this.lowerBound(lowerPrefix);
+        if ((start < this.sortedNames.length) && this.sortedNames[start].startsWith(lowerPrefix)) {
+            return this.sortedPositions[start];
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the choices whose names start with the specified prefix, in alphabetical order.
+     * The comparison is case-insensitive.
+     *
+     * @param prefix     Name prefix.
+     * @param maxMatches Maximum number of returned choices.
+     * @return The matching choices.
+     */
+    public List<StringValuePair<T>> getMatches(String prefix, int maxMatches) {
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        List<StringValuePair<T>> result = new ArrayList<>();
+        for (int i = this.lowerBound(lowerPrefix); (i < this.sortedNames.length)
+                && (result.size() < maxMatches); i++) {
+            if (!this.sortedNames[i].startsWith(lowerPrefix)) {
+                break;
+            }
+            result.add(this.choices.get(this.sortedPositions[i]));
+        }
+        return result;
+    }
+
+    private int lowerBound(String name) {
+        int low = 0;
+        int high = this.sortedNames.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.sortedNames[mid].compareTo(name) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
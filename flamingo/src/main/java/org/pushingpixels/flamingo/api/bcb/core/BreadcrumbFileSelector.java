@@ -39,21 +39,81 @@ import javax.swing.filechooser.FileSystemView;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
- * Breadcrumb bar that allows browsing the local file system.
+ * Breadcrumb bar that allows browsing the local file system. Directory listings are cached
+ * (see {@link DirectoryListingCache}), streamed to the choices popup as they are read, and
+ * the listings of the subdirectories of small directories are prefetched in the background.
  *
  * @author Kirill Grouchnikov
  * @author Brian Young
  */
 public class BreadcrumbFileSelector extends JBreadcrumbBar<File> {
+    /**
+     * Number of the cached directory listings of each selector.
+     */
+    private static final int LISTING_CACHE_CAPACITY = 64;
+
+    /**
+     * Size of the first chunk of the streamed directory choices. Every following chunk is
+     * twice as large as the previous one.
+     */
+    private static final int FIRST_CHUNK_SIZE = 64;
+
+    /**
+     * The subdirectories of a listed directory are prefetched only if there are at most this
+     * many of them.
+     */
+    private static final int PREFETCH_LIMIT = 16;
+
+    /**
+     * Single background thread (shared by all selectors and stopped when idle) that prefetches
+     * directory listings.
+     */
+    private static final Executor prefetchExecutor;
+
+    /**
+     * Closes the watch services of the listing caches of unreachable selectors.
+     */
+    private static final Cleaner cleaner = Cleaner.create();
+
+    static {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 5, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), (Runnable r) -> {
+                    Thread thread = new Thread(r, "Breadcrumb file selector prefetch");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        prefetchExecutor = executor;
+    }
+
     /**
      * If <code>true</code>, the path selectors will use native icons.
      */
     private boolean useNativeIcons;
 
+    /**
+     * Cache of the directory listings.
+     */
+    private final DirectoryListingCache listingCache;
+
     /**
      * Local file system specific implementation of the
      * {@link BreadcrumbBarCallBack}.
@@ -88,8 +148,14 @@ public class BreadcrumbFileSelector extends JBreadcrumbBar<File> {
 
         @Override
         public List<StringValuePair<File>> getPathChoices(List<BreadcrumbItem<File>> path) {
-            synchronized (fsv) {
-                if (path == null) {
+            return this.getPathChoices(path, null);
+        }
+
+        @Override
+        public List<StringValuePair<File>> getPathChoices(List<BreadcrumbItem<File>> path,
+                Consumer<List<StringValuePair<File>>> chunkConsumer) {
+            if (path == null) {
+                synchronized (fsv) {
                     LinkedList<StringValuePair<File>> bRoots = new LinkedList<>();
                     for (File root : fsv.getRoots()) {
                         if (fsv.isHiddenFile(root)) {
@@ -107,101 +173,178 @@ public class BreadcrumbFileSelector extends JBreadcrumbBar<File> {
                     }
                     return bRoots;
                 }
-                if (path.size() == 0) {
-                    return null;
-                }
-                File lastInPath = path.get(path.size() - 1).getData();
-
-                if (!lastInPath.exists()) {
-                    return new ArrayList<>();
-                }
-                if (!lastInPath.isDirectory()) {
-                    return null;
-                }
-                LinkedList<StringValuePair<File>> lResult = new LinkedList<>();
-                for (File child : lastInPath.listFiles()) {
-                    // ignore regular files and hidden directories
-                    if (!child.isDirectory()) {
-                        continue;
-                    }
-                    if (fsv.isHiddenFile(child)) {
-                        continue;
-                    }
-                    String childFileName = fsv.getSystemDisplayName(child);
-                    if ((childFileName == null) || childFileName.isEmpty()) {
-                        childFileName = child.getName();
-                    }
-                    StringValuePair<File> pair = new StringValuePair<>(childFileName, child);
-                    if (useNativeIcons) {
-                        pair.set("icon", fsv.getSystemIcon(child));
-                    }
-                    lResult.add(pair);
-                }
-                lResult.sort(new Comparator<>() {
-                    @Override
-                    public int compare(StringValuePair<File> o1, StringValuePair<File> o2) {
-                        String key1 = fsv.isFileSystemRoot(o1.getValue()) ?
-                                o1.getValue().getAbsolutePath() : o1.getKey();
-                        String key2 = fsv.isFileSystemRoot(o2.getValue()) ?
-                                o2.getValue().getAbsolutePath() : o2.getKey();
-                        return key1.toLowerCase().compareTo(key2.toLowerCase());
-                    }
+            }
+            if (path.size() == 0) {
+                return null;
+            }
+            File lastInPath = path.get(path.size() - 1).getData();
 
-                    @Override
-                    public boolean equals(Object obj) {
-                        return super.equals(obj);
-                    }
-                });
-                return lResult;
+            if (!lastInPath.exists()) {
+                return new ArrayList<>();
             }
+            if (!lastInPath.isDirectory()) {
+                return null;
+            }
+            Path dir = lastInPath.toPath();
+            DirectoryListingCache.Listing listing = listingCache.get(dir);
+            if (listing == null) {
+                listing = this.listDirectory(dir, chunkConsumer);
+                this.prefetch(listing);
+            }
+            return new ArrayList<>(listing.directories);
         }
 
         @Override
         public List<StringValuePair<File>> getLeafs(List<BreadcrumbItem<File>> path) {
+            if ((path == null) || (path.size() == 0)) {
+                return null;
+            }
+            File lastInPath = path.get(path.size() - 1).getData();
+            if (!lastInPath.exists()) {
+                return new ArrayList<>();
+            }
+            if (!lastInPath.isDirectory()) {
+                return null;
+            }
+            Path dir = lastInPath.toPath();
+            DirectoryListingCache.Listing listing = listingCache.get(dir);
+            if (listing == null) {
+                listing = this.listDirectory(dir, null);
+            }
+            List<StringValuePair<File>> fileChoices = listing.getFileChoices();
+            if (fileChoices == null) {
+                fileChoices = this.getFileChoices(listing.files);
+                listing.setFileChoices(fileChoices);
+            }
+            return new ArrayList<>(fileChoices);
+        }
+
+        /**
+         * Returns the choices for the specified files. Hidden files are skipped, and the rest
+         * are sorted by their display names.
+         *
+         * @param files Files.
+         * @return The choices for the specified files.
+         */
+        private List<StringValuePair<File>> getFileChoices(List<File> files) {
+            List<StringValuePair<File>> fileChoices = new ArrayList<>(files.size());
+            Map<StringValuePair<File>, String> sortKeys = new HashMap<>();
             synchronized (fsv) {
-                if ((path == null) || (path.size() == 0)) {
-                    return null;
-                }
-                File lastInPath = path.get(path.size() - 1).getData();
-                if (!lastInPath.exists()) {
-                    return new ArrayList<>();
-                }
-                if (!lastInPath.isDirectory()) {
-                    return null;
+                for (File file : files) {
+                    if (fsv.isHiddenFile(file)) {
+                        continue;
+                    }
+                    StringValuePair<File> pair = this.createChoice(file);
+                    sortKeys.put(pair, pair.getKey().toLowerCase());
+                    fileChoices.add(pair);
                 }
-                LinkedList<StringValuePair<File>> lResult = new LinkedList<>();
-                for (File child : lastInPath.listFiles()) {
-                    // ignore directories and hidden directories
-                    if (child.isDirectory()) {
+            }
+            fileChoices.sort(Comparator.comparing(sortKeys::get));
+            return fileChoices;
+        }
+
+        /**
+         * Creates the choice for the specified file. Must be called while holding the lock
+         * on the file system view.
+         *
+         * @param file File.
+         * @return The choice for the specified file.
+         */
+        private StringValuePair<File> createChoice(File file) {
+            String fileName = fsv.getSystemDisplayName(file);
+            if ((fileName == null) || fileName.isEmpty()) {
+                fileName = file.getName();
+            }
+            StringValuePair<File> pair = new StringValuePair<>(fileName, file);
+            if (useNativeIcons) {
+                pair.set("icon", fsv.getSystemIcon(file));
+            }
+            return pair;
+        }
+
+        /**
+         * Lists the specified directory and caches the listing. Hidden subdirectories are
+         * skipped, and the rest are sorted by their display names. Files are only collected,
+         * and are converted to choices on the first {@link #getLeafs(List)} call.
+         *
+         * @param dir                   Directory.
+         * @param directoryChunkConsumer If not <code>null</code>, the subdirectories are
+         *                              delivered to this consumer in chunks as they are read.
+         *                              Each chunk is sorted on its own, so the complete sorted
+         *                              list can order the entries differently.
+         * @return The listing of the directory.
+         */
+        private DirectoryListingCache.Listing listDirectory(Path dir,
+                Consumer<List<StringValuePair<File>>> directoryChunkConsumer) {
+            FileTime lastModified = DirectoryListingCache.getLastModifiedTime(dir);
+            List<StringValuePair<File>> directories = new ArrayList<>();
+            List<File> files = new ArrayList<>();
+            Map<StringValuePair<File>, String> sortKeys = new HashMap<>();
+            Comparator<StringValuePair<File>> comparator = Comparator.comparing(sortKeys::get);
+            int chunkStart = 0;
+            int chunkSize = FIRST_CHUNK_SIZE;
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(dir)) {
+                for (Path childPath : children) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(childPath, BasicFileAttributes.class);
+                    } catch (IOException ioe) {
                         continue;
                     }
-                    if (fsv.isHiddenFile(child)) {
+                    File child = childPath.toFile();
+                    if (!attributes.isDirectory()) {
+                        files.add(child);
                         continue;
                     }
-                    String childFileName = fsv.getSystemDisplayName(child);
-                    if ((childFileName == null) || childFileName.isEmpty()) {
-                        childFileName = child.getName();
+                    StringValuePair<File> pair;
+                    synchronized (fsv) {
+                        if (fsv.isHiddenFile(child)) {
+                            continue;
+                        }
+                        pair = this.createChoice(child);
+                        sortKeys.put(pair, (fsv.isFileSystemRoot(child)
+                                ? child.getAbsolutePath() : pair.getKey()).toLowerCase());
                     }
-                    StringValuePair<File> pair = new StringValuePair<>(childFileName, child);
-                    if (useNativeIcons) {
-                        pair.set("icon", fsv.getSystemIcon(child));
+                    directories.add(pair);
+                    if ((directoryChunkConsumer != null)
+                            && (directories.size() - chunkStart >= chunkSize)) {
+                        List<StringValuePair<File>> chunk = new ArrayList<>(
+                                directories.subList(chunkStart, directories.size()));
+                        chunk.sort(comparator);
+                        directoryChunkConsumer.accept(chunk);
+                        chunkStart = directories.size();
+                        chunkSize *= 2;
                     }
-                    lResult.add(pair);
                 }
-                lResult.sort(new Comparator<>() {
-                    @Override
-                    public int compare(StringValuePair<File> o1,
-                            StringValuePair<File> o2) {
-                        return o1.getKey().toLowerCase().compareTo(
-                                o2.getKey().toLowerCase());
-                    }
+            } catch (IOException | DirectoryIteratorException exc) {
+                // partial listing, do not cache it
+                lastModified = null;
+            }
+
+            directories.sort(comparator);
+            DirectoryListingCache.Listing listing =
+                    new DirectoryListingCache.Listing(lastModified, directories, files);
+            listingCache.put(dir, listing);
+            return listing;
+        }
 
-                    @Override
-                    public boolean equals(Object obj) {
-                        return super.equals(obj);
+        /**
+         * Prefetches the listings of the subdirectories of a small directory, as one of them
+         * is likely to be the next level.
+         *
+         * @param listing Directory listing.
+         */
+        private void prefetch(DirectoryListingCache.Listing listing) {
+            if (listing.directories.size() > PREFETCH_LIMIT) {
+                return;
+            }
+            for (StringValuePair<File> subdirectory : listing.directories) {
+                Path dir = subdirectory.getValue().toPath();
+                prefetchExecutor.execute(() -> {
+                    if (listingCache.get(dir) == null) {
+                        this.listDirectory(dir, null);
                     }
                 });
-                return lResult;
             }
         }
 
@@ -246,6 +389,8 @@ public class BreadcrumbFileSelector extends JBreadcrumbBar<File> {
 
         this.model = new BreadcrumbBarModel<>();
         this.useNativeIcons = useNativeIcons;
+        this.listingCache = new DirectoryListingCache(LISTING_CACHE_CAPACITY);
+        cleaner.register(this, this.listingCache::close);
         this.callback = new DirCallback(fileSystemView);
         this.callback.setup();
 
@@ -260,6 +405,7 @@ public class BreadcrumbFileSelector extends JBreadcrumbBar<File> {
      */
     public void setUseNativeIcons(boolean useNativeIcons) {
         this.useNativeIcons = useNativeIcons;
+        this.listingCache.clear();
     }
 
     /**
@@ -29,18 +29,18 @@
  */
 package org.pushingpixels.flamingo.api.bcb.core;
 
-import org.pushingpixels.flamingo.api.bcb.BreadcrumbBarCallBack;
-import org.pushingpixels.flamingo.api.bcb.BreadcrumbBarModel;
-import org.pushingpixels.flamingo.api.bcb.BreadcrumbItem;
-import org.pushingpixels.flamingo.api.bcb.JBreadcrumbBar;
+import org.pushingpixels.flamingo.api.bcb.*;
 import org.pushingpixels.flamingo.api.common.StringValuePair;
 
 import javax.swing.*;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
 import javax.swing.tree.TreeModel;
 import java.awt.*;
 import java.io.InputStream;
-import java.util.LinkedList;
+import java.util.*;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Breadcrumb bar that allows wrapping an existing {@link JTree} or a
@@ -58,9 +58,27 @@ import java.util.List;
  * to wrap an existing tree model.</li>
  * </ul>
  *
+ * <p>
+ * The children of large tree nodes are streamed to the choices popup in pages, so that the
+ * popup shows the first page without waiting for the whole level. Call
+ * {@link #setChoiceIndexEnabled(boolean)} to maintain name indexes for typeahead within a
+ * level.
+ * </p>
+ *
  * @author Kirill Grouchnikov
  */
 public class BreadcrumbTreeAdapterSelector<T> extends JBreadcrumbBar<T> {
+    /**
+     * Size of the first page of the streamed choices. Every following page is twice as large
+     * as the previous one.
+     */
+    private static final int FIRST_PAGE_SIZE = 64;
+
+    /**
+     * Number of the cached name indexes.
+     */
+    private static final int CHOICE_INDEX_CACHE_CAPACITY = 16;
+
     /**
      * Tree adapter that allows plugging a custom rendering logic.
      *
@@ -129,24 +147,105 @@ public class BreadcrumbTreeAdapterSelector<T> extends JBreadcrumbBar<T> {
             this.isRootVisible = isRootVisible;
         }
 
-        @SuppressWarnings("unchecked")
+        /**
+         * If <code>true</code>, name indexes are maintained for the levels.
+         */
+        private volatile boolean isChoiceIndexEnabled;
+
+        /**
+         * Cache of the name indexes, keyed by the parent tree node. Cleared on every change
+         * of the tree model.
+         */
+        private final Map<T, BreadcrumbChoiceIndex<T>> choiceIndexes =
+                new LinkedHashMap<>(CHOICE_INDEX_CACHE_CAPACITY, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<T, BreadcrumbChoiceIndex<T>> eldest) {
+                        return this.size() > CHOICE_INDEX_CACHE_CAPACITY;
+                    }
+                };
+
+        /**
+         * Incremented on every change of the tree model. Levels are listed on a background
+         * thread, and an index built from a level that was listed before a model change is
+         * not cached. Guarded by {@link #choiceIndexes}.
+         */
+        private long choiceIndexGeneration;
+
+        /**
+         * Clears the cached name indexes on changes of the tree model.
+         */
+        private final TreeModelListener choiceIndexInvalidator = new TreeModelListener() {
+            @Override
+            public void treeNodesChanged(TreeModelEvent e) {
+                clearChoiceIndexes();
+            }
+
+            @Override
+            public void treeNodesInserted(TreeModelEvent e) {
+                clearChoiceIndexes();
+            }
+
+            @Override
+            public void treeNodesRemoved(TreeModelEvent e) {
+                clearChoiceIndexes();
+            }
+
+            @Override
+            public void treeStructureChanged(TreeModelEvent e) {
+                clearChoiceIndexes();
+            }
+        };
+
+        private void setChoiceIndexEnabled(boolean isChoiceIndexEnabled) {
+            if (this.isChoiceIndexEnabled == isChoiceIndexEnabled) {
+                return;
+            }
+            this.isChoiceIndexEnabled = isChoiceIndexEnabled;
+            if (isChoiceIndexEnabled) {
+                this.treeModel.addTreeModelListener(this.choiceIndexInvalidator);
+            } else {
+                this.treeModel.removeTreeModelListener(this.choiceIndexInvalidator);
+                this.clearChoiceIndexes();
+            }
+        }
+
+        private void clearChoiceIndexes() {
+            synchronized (this.choiceIndexes) {
+                this.choiceIndexGeneration++;
+                this.choiceIndexes.clear();
+            }
+        }
+
+        private long getChoiceIndexGeneration() {
+            synchronized (this.choiceIndexes) {
+                return this.choiceIndexGeneration;
+            }
+        }
+
+        private StringValuePair<T> getPair(T node) {
+            StringValuePair<T> pair = new StringValuePair<>(this.treeAdapter.toString(node), node);
+            pair.set("icon", this.treeAdapter.getIcon(node));
+            return pair;
+        }
+
         @Override
         public List<StringValuePair<T>> getPathChoices(List<BreadcrumbItem<T>> path) {
+            return this.getPathChoices(path, null);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public List<StringValuePair<T>> getPathChoices(List<BreadcrumbItem<T>> path,
+                Consumer<List<StringValuePair<T>>> chunkConsumer) {
             if (path == null) {
                 T root = (T) this.treeModel.getRoot();
-                List<StringValuePair<T>> bRoots = new LinkedList<>();
+                List<StringValuePair<T>> bRoots = new ArrayList<>();
                 if (isRootVisible) {
-                    StringValuePair<T> rootPair = new StringValuePair<>(
-                            this.treeAdapter.toString(root), root);
-                    rootPair.set("icon", this.treeAdapter.getIcon(root));
-                    bRoots.add(rootPair);
+                    bRoots.add(this.getPair(root));
                 } else {
-                    for (int i = 0; i < this.treeModel.getChildCount(root); i++) {
-                        T rootChild = (T) this.treeModel.getChild(root, i);
-                        StringValuePair<T> rootPair = new StringValuePair<>(
-                                this.treeAdapter.toString(rootChild), rootChild);
-                        rootPair.set("icon", this.treeAdapter.getIcon(rootChild));
-                        bRoots.add(rootPair);
+                    int childCount = this.treeModel.getChildCount(root);
+                    for (int i = 0; i < childCount; i++) {
+                        bRoots.add(this.getPair((T) this.treeModel.getChild(root, i)));
                     }
                 }
                 return bRoots;
@@ -160,20 +259,57 @@ public class BreadcrumbTreeAdapterSelector<T> extends JBreadcrumbBar<T> {
                 return null;
             }
 
-            LinkedList<StringValuePair<T>> lResult = new LinkedList<>();
-            for (int i = 0; i < this.treeModel.getChildCount(lastInPath); i++) {
+            long generation = this.getChoiceIndexGeneration();
+            int childCount = this.treeModel.getChildCount(lastInPath);
+            List<StringValuePair<T>> lResult = new ArrayList<>(childCount);
+            int pageStart = 0;
+            int pageSize = FIRST_PAGE_SIZE;
+            for (int i = 0; i < childCount; i++) {
                 T child = (T) this.treeModel.getChild(lastInPath, i);
                 if (this.treeModel.isLeaf(child)) {
                     continue;
                 }
-                StringValuePair<T> pair = new StringValuePair<>(
-                        this.treeAdapter.toString(child), child);
-                pair.set("icon", this.treeAdapter.getIcon(child));
-                lResult.add(pair);
+                lResult.add(this.getPair(child));
+                if ((chunkConsumer != null) && (lResult.size() - pageStart >= pageSize)) {
+                    chunkConsumer.accept(new ArrayList<>(lResult.subList(pageStart,
+                            lResult.size())));
+                    pageStart = lResult.size();
+                    pageSize *= 2;
+                }
+            }
+            if (this.isChoiceIndexEnabled) {
+                // the level has just been materialized, index it for the typeahead
+                BreadcrumbChoiceIndex<T> index = new BreadcrumbChoiceIndex<>(lResult);
+                synchronized (this.choiceIndexes) {
+                    if (generation == this.choiceIndexGeneration) {
+                        this.choiceIndexes.put(lastInPath, index);
+                    }
+                }
             }
             return lResult;
         }
 
+        @Override
+        public BreadcrumbChoiceIndex<T> getPathChoiceIndex(List<BreadcrumbItem<T>> path) {
+            if (!this.isChoiceIndexEnabled || (path == null) || (path.size() == 0)) {
+                return null;
+            }
+            T lastInPath = path.get(path.size() - 1).getData();
+            synchronized (this.choiceIndexes) {
+                BreadcrumbChoiceIndex<T> index = this.choiceIndexes.get(lastInPath);
+                if (index != null) {
+                    return index;
+                }
+            }
+            List<StringValuePair<T>> choices = this.getPathChoices(path, null);
+            if (choices == null) {
+                return null;
+            }
+            synchronized (this.choiceIndexes) {
+                return this.choiceIndexes.get(lastInPath);
+            }
+        }
+
         @SuppressWarnings("unchecked")
         @Override
         public List<StringValuePair<T>> getLeafs(List<BreadcrumbItem<T>> path) {
@@ -182,16 +318,14 @@ public class BreadcrumbTreeAdapterSelector<T> extends JBreadcrumbBar<T> {
                 return null;
             }
 
-            LinkedList<StringValuePair<T>> lResult = new LinkedList<>();
-            for (int i = 0; i < this.treeModel.getChildCount(lastInPath); i++) {
+            int childCount = this.treeModel.getChildCount(lastInPath);
+            List<StringValuePair<T>> lResult = new ArrayList<>();
+            for (int i = 0; i < childCount; i++) {
                 T child = (T) this.treeModel.getChild(lastInPath, i);
                 if (!this.treeModel.isLeaf(child)) {
                     continue;
                 }
-                StringValuePair<T> pair = new StringValuePair<>(
-                        this.treeAdapter.toString(child), child);
-                pair.set("icon", this.treeAdapter.getIcon(child));
-                lResult.add(pair);
+                lResult.add(this.getPair(child));
             }
             return lResult;
         }
@@ -202,6 +336,24 @@ public class BreadcrumbTreeAdapterSelector<T> extends JBreadcrumbBar<T> {
         }
     }
 
+    /**
+     * The callback of this breadcrumb bar.
+     */
+    private final TreeCallback treeCallback;
+
+    /**
+     * Sets the indication whether name indexes for typeahead are maintained for the levels of
+     * this breadcrumb bar. The indexes are built as the levels are listed, cached for the
+     * recently listed levels, and dropped on every change of the tree model. The indexes are
+     * available from {@link BreadcrumbBarCallBack#getPathChoiceIndex(List)} of
+     * {@link #getCallback()}.
+     *
+     * @param isChoiceIndexEnabled If <code>true</code>, name indexes are maintained.
+     */
+    public void setChoiceIndexEnabled(boolean isChoiceIndexEnabled) {
+        this.treeCallback.setChoiceIndexEnabled(isChoiceIndexEnabled);
+    }
+
     /**
      * Creates an adapter for the specified tree model.
      *
@@ -216,7 +368,8 @@ public class BreadcrumbTreeAdapterSelector<T> extends JBreadcrumbBar<T> {
         super(null);
 
         this.model = new BreadcrumbBarModel<>();
-        this.callback = new TreeCallback(treeModel, treeAdapter, isRootVisible);
+        this.treeCallback = new TreeCallback(treeModel, treeAdapter, isRootVisible);
+        this.callback = this.treeCallback;
         this.callback.setup();
 
         this.updateUI();
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.flamingo.api.bcb.core;
+
+import org.pushingpixels.flamingo.api.common.StringValuePair;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+/**
+ * Bounded cache of the directory listings of {@link BreadcrumbFileSelector}. A cached listing
+ * is dropped when the last modification time of its directory changes, or when a
+ * {@link WatchService} reports an entry creation or deletion in its directory. The watch
+ * events are drained whenever the cache is accessed, so that the cache does not need a thread
+ * of its own to process them (the watch service implementation may still run a background
+ * thread, as it does on Linux).
+ * Not all file systems support watching (and remote file systems may not report remote
+ * changes), which is why the modification time is checked as well.
+ */
+final class DirectoryListingCache {
+    /**
+     * Listing of a single directory.
+     */
+    static final class Listing {
+        private final FileTime lastModified;
+
+        final List<StringValuePair<File>> directories;
+
+        /**
+         * The non-directory entries, in the directory stream order. These are only needed for
+         * leaf listings, so they are not filtered or converted to choices until requested.
+         */
+        final List<File> files;
+
+        /**
+         * The choices for {@link #files}, built on the first leaf listing request.
+         */
+        private volatile List<StringValuePair<File>> fileChoices;
+
+        Listing(FileTime lastModified, List<StringValuePair<File>> directories,
+                List<File> files) {
+            this.lastModified = lastModified;
+            this.directories = Collections.unmodifiableList(directories);
+            this.files = Collections.unmodifiableList(files);
+        }
+
+        List<StringValuePair<File>> getFileChoices() {
+            return this.fileChoices;
+        }
+
+        void setFileChoices(List<StringValuePair<File>> fileChoices) {
+            this.fileChoices = Collections.unmodifiableList(fileChoices);
+        }
+    }
+
+    private final Map<Path, Listing> listings;
+
+    private final Map<Path, WatchKey> watchKeys;
+
+    /**
+     * Watch service of the cached directories. <code>null</code> if the default file system
+     * does not support watching, or after the cache has been closed.
+     */
+    private WatchService watchService;
+
+    DirectoryListingCache(final int capacity) {
+        this.listings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, Listing> eldest) {
+                if (this.size() > capacity) {
+                    unwatch(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.watchKeys = new HashMap<>();
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException exc) {
+            this.watchService = null;
+        }
+    }
+
+    /**
+     * Returns the cached listing of the specified directory.
+     *
+     * @param dir Directory.
+     * @return The cached listing of the specified directory, or <code>null</code> if there is
+     * no up to date listing in this cache.
+     */
+    synchronized Listing get(Path dir) {
+        this.processWatchEvents();
+        Listing listing = this.listings.get(dir);
+        if (listing == null) {
+            return null;
+        }
+        FileTime lastModified = getLastModifiedTime(dir);
+        if ((lastModified == null) || !lastModified.equals(listing.lastModified)) {
+            this.invalidate(dir);
+            return null;
+        }
+        return listing;
+    }
+
+    /**
+     * Caches the listing of the specified directory.
+     *
+     * @param dir     Directory.
+     * @param listing Listing of the directory. Its modification time must be taken before the
+     *                directory is listed.
+     */
+    synchronized void put(Path dir, Listing listing) {
+        if (listing.lastModified == null) {
+            return;
+        }
+        this.processWatchEvents();
+        this.listings.put(dir, listing);
+        if ((this.watchService != null) && !this.watchKeys.containsKey(dir)) {
+            try {
+                this.watchKeys.put(dir, dir.register(this.watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE));
+            } catch (IOException | UnsupportedOperationException exc) {
+                // rely on the modification time of this directory
+            }
+        }
+    }
+
+    synchronized void clear() {
+        for (WatchKey watchKey : this.watchKeys.values()) {
+            watchKey.cancel();
+        }
+        this.watchKeys.clear();
+        this.listings.clear();
+    }
+
+    /**
+     * Closes the watch service of this cache. The cache keeps working without it.
+     */
+    synchronized void close() {
+        this.clear();
+        if (this.watchService != null) {
+            try {
+                this.watchService.close();
+            } catch (IOException ioe) {
+                // nothing to do here
+            }
+            this.watchService = null;
+        }
+    }
+
+    private void invalidate(Path dir) {
+        this.listings.remove(dir);
+        this.unwatch(dir);
+    }
+
+    private void unwatch(Path dir) {
+        WatchKey watchKey = this.watchKeys.remove(dir);
+        if (watchKey != null) {
+            watchKey.cancel();
+        }
+    }
+
+    private void processWatchEvents() {
+        if (this.watchService == null) {
+            return;
+        }
+        WatchKey watchKey;
+        while ((watchKey = this.watchService.poll()) != null) {
+            // any event (including overflow) invalidates the listing
+            watchKey.pollEvents();
+            Path dir = (Path) watchKey.watchable();
+            if (this.watchKeys.get(dir) == watchKey) {
+                this.invalidate(dir);
+            } else {
+                watchKey.cancel();
+            }
+        }
+    }
+
+    static FileTime getLastModifiedTime(Path dir) {
+        try {
+            return Files.getLastModifiedTime(dir);
+        } catch (IOException ioe) {
+            return null;
+        }
+    }
+}
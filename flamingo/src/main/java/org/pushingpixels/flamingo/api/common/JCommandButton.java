@@ -42,6 +42,7 @@ import org.pushingpixels.flamingo.api.ribbon.RibbonApplicationMenu;
 import org.pushingpixels.flamingo.api.ribbon.projection.RibbonApplicationMenuCommandButtonProjection;
 import org.pushingpixels.flamingo.internal.substance.common.ui.SubstanceCommandButtonUI;
 import org.pushingpixels.flamingo.internal.ui.common.CommandButtonUI;
+import org.pushingpixels.flamingo.internal.ui.common.popup.PrebuiltPopupPanelCallback;
 import org.pushingpixels.flamingo.internal.ui.ribbon.appmenu.RibbonApplicationMenuPanelProjection;
 
 import javax.swing.*;
@@ -420,8 +421,8 @@ public class JCommandButton extends AbstractCommandButton {
                         commandPopupMenuProjection.setComponentCustomizer(
                                 (Projection.ComponentCustomizer<JCommandPopupMenu>) commandProjection.getPopupMenuCustomizer());
                     }
-                    this.setPopupCallback((JCommandButton commandButton)
-                            -> commandPopupMenuProjection.buildComponent());
+                    this.setPopupCallback(new PrebuiltPopupPanelCallback(popupMenuContentModel,
+                            commandPopupMenuProjection::buildComponent));
                 }
             }
             this.setPopupRichTooltip(command.getSecondaryRichTooltip());
@@ -37,9 +37,10 @@ import org.pushingpixels.flamingo.internal.utils.WeakChangeSupport;
 import org.pushingpixels.flamingo.internal.utils.WeakPropertyChangeSupport;
 import org.pushingpixels.neon.api.icon.ResizableIcon;
 
+import javax.swing.*;
 import javax.swing.event.ChangeListener;
 import java.beans.PropertyChangeListener;
-import java.util.EventListener;
+import java.util.*;
 
 /**
  * Encapsulates metadata for a single command. Use a new instance of
@@ -98,6 +99,12 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
     private final WeakChangeSupport weakChangeSupport;
     private final WeakPropertyChangeSupport weakPropertyChangeSupport;
 
+    /**
+     * The batch of updates currently in progress on the calling thread, or <code>null</code>
+     * if there is no such batch.
+     */
+    private static final ThreadLocal<Batch> currentBatch = new ThreadLocal<>();
+
     protected Command() {
         this.weakChangeSupport = new WeakChangeSupport(this);
         this.weakPropertyChangeSupport = new WeakPropertyChangeSupport(this);
@@ -134,7 +141,7 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
         if (!this.text.equals(text)) {
             String old = this.text;
             this.text = text;
-            this.weakPropertyChangeSupport.firePropertyChange("text", old, this.text);
+            this.firePropertyChange("text", old, this.text);
         }
     }
 
@@ -146,7 +153,7 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
         if (this.iconFactory != iconFactory) {
             ResizableIcon.Factory old = this.iconFactory;
             this.iconFactory = iconFactory;
-            this.weakPropertyChangeSupport.firePropertyChange("iconFactory", old, this.iconFactory);
+            this.firePropertyChange("iconFactory", old, this.iconFactory);
         }
     }
 
@@ -158,7 +165,7 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
         if (this.disabledIconFactory != disabledIconFactory) {
             ResizableIcon.Factory old = this.disabledIconFactory;
             this.disabledIconFactory = disabledIconFactory;
-            this.weakPropertyChangeSupport.firePropertyChange("disabledIconFactory", old, this.disabledIconFactory);
+            this.firePropertyChange("disabledIconFactory", old, this.disabledIconFactory);
         }
     }
 
@@ -169,7 +176,7 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
     public void setExtraText(String extraText) {
         String old = this.extraText;
         this.extraText = extraText;
-        this.weakPropertyChangeSupport.firePropertyChange("extraText", old, this.extraText);
+        this.firePropertyChange("extraText", old, this.extraText);
     }
 
     public CommandAction getAction() {
@@ -179,7 +186,7 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
     public void setAction(CommandAction actionListener) {
         CommandAction old = this.action;
         this.action = actionListener;
-        this.weakPropertyChangeSupport.firePropertyChange("action", old, this.action);
+        this.firePropertyChange("action", old, this.action);
     }
 
     public RichTooltip getActionRichTooltip() {
@@ -190,7 +197,7 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
         if (this.actionRichTooltip != actionRichTooltip) {
             RichTooltip old = this.actionRichTooltip;
             this.actionRichTooltip = actionRichTooltip;
-            this.weakPropertyChangeSupport.firePropertyChange("actionRichTooltip", old, this.actionRichTooltip);
+            this.firePropertyChange("actionRichTooltip", old, this.actionRichTooltip);
         }
     }
 
@@ -206,7 +213,7 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
         if (this.secondaryRichTooltip != secondaryRichTooltip) {
             RichTooltip old = this.secondaryRichTooltip;
             this.secondaryRichTooltip = secondaryRichTooltip;
-            this.weakPropertyChangeSupport.firePropertyChange("secondaryRichTooltip", old, this.secondaryRichTooltip);
+            this.firePropertyChange("secondaryRichTooltip", old, this.secondaryRichTooltip);
         }
     }
 
@@ -217,7 +224,7 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
     public void setActionEnabled(boolean actionEnabled) {
         if (this.isActionEnabled != actionEnabled) {
             this.isActionEnabled = actionEnabled;
-            this.weakPropertyChangeSupport.firePropertyChange("actionEnabled", !this.isActionEnabled,
+            this.firePropertyChange("actionEnabled", !this.isActionEnabled,
                     this.isActionEnabled);
         }
     }
@@ -229,7 +236,7 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
     public void setSecondaryEnabled(boolean secondaryEnabled) {
         if (this.isSecondaryEnabled != secondaryEnabled) {
             this.isSecondaryEnabled = secondaryEnabled;
-            this.weakPropertyChangeSupport.firePropertyChange("secondaryEnabled", !this.isSecondaryEnabled,
+            this.firePropertyChange("secondaryEnabled", !this.isSecondaryEnabled,
                     this.isSecondaryEnabled);
         }
     }
@@ -248,9 +255,15 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
         }
         if (this.isToggleSelected != isToggleSelected) {
             this.isToggleSelected = isToggleSelected;
-            this.weakPropertyChangeSupport.firePropertyChange("isToggleSelected", !this.isToggleSelected,
+            this.firePropertyChange("isToggleSelected", !this.isToggleSelected,
                     this.isToggleSelected);
             this.fireStateChanged();
+            if ((this.toggleGroupModel != null) && isBatchUpdateInProgress()) {
+                // The toggle group maintains its single selection from the state change
+                // notifications, which are deferred in a batch. Update the group right away,
+                // so that the other commands of the group are deselected within the batch.
+                this.toggleGroupModel.setSelected(this, this.isToggleSelected);
+            }
         }
     }
 
@@ -265,7 +278,7 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
     public void setActionPreview(CommandActionPreview actionPreview) {
         CommandActionPreview old = this.actionPreview;
         this.actionPreview = actionPreview;
-        this.weakPropertyChangeSupport.firePropertyChange("actionPreview", old, this.actionPreview);
+        this.firePropertyChange("actionPreview", old, this.actionPreview);
     }
 
     @Override
@@ -279,9 +292,166 @@ public class Command implements ContentModel, ChangeAware, PropertyChangeAware {
     }
 
     private void fireStateChanged() {
+        Batch batch = currentBatch.get();
+        if (batch != null) {
+            batch.getPendingChanges(this).isStateChanged = true;
+            return;
+        }
         this.weakChangeSupport.fireStateChanged();
     }
 
+    private void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+        Batch batch = currentBatch.get();
+        if (batch != null) {
+            batch.getPendingChanges(this).addPropertyChange(propertyName, oldValue, newValue);
+            return;
+        }
+        this.weakPropertyChangeSupport.firePropertyChange(propertyName, oldValue, newValue);
+    }
+
+    /**
+     * Runs the specified updates as a single batch. Changes made to any command during the
+     * batch are applied immediately, but the notifications to the registered listeners are
+     * deferred until the batch ends. At that point multiple changes to the same property of
+     * the same command are coalesced into a single notification (from the value before the
+     * batch to the value after it), and changes that end up restoring the original value are
+     * dropped altogether.
+     *
+     * <p>The coalesced notifications are delivered on the Event Dispatch Thread in a single
+     * pass, so that the command buttons projected from the changed commands are revalidated
+     * and repainted once per top-level container, instead of once per individual change.
+     * Batches started on other threads are delivered with a single
+     * {@link SwingUtilities#invokeLater(Runnable)} call.</p>
+     *
+     * <p>Toggle selection changes of commands in a {@link CommandToggleGroupModel} are applied
+     * to the group immediately, so that the group keeps a single selected command during the
+     * batch. The resulting selection changes of the other commands in the group are deferred
+     * and coalesced like all the other changes.</p>
+     *
+     * <p>If a listener throws an exception while the coalesced notifications are delivered,
+     * the remaining notifications are still delivered, and the first exception is rethrown
+     * afterwards. If the updates themselves throw an exception, the notifications for the
+     * changes made so far are still delivered, and an exception thrown during that delivery is
+     * added as a suppressed exception to the one thrown by the updates.</p>
+     *
+     * <p>Nested calls to this method on the same thread become part of the outermost batch.</p>
+     *
+     * @param updates Updates to run.
+     */
+    public static void batchUpdate(Runnable updates) {
+        if (updates == null) {
+            throw new IllegalArgumentException("Cannot pass null updates");
+        }
+        if (currentBatch.get() != null) {
+            updates.run();
+            return;
+        }
+
+        Batch batch = new Batch();
+        currentBatch.set(batch);
+        try {
+            updates.run();
+        } catch (Throwable t) {
+            currentBatch.remove();
+            // The changes have already been applied, so the listeners need to be notified
+            // even if the updates did not complete. Do not let a failure in the notifications
+            // hide the original failure.
+            try {
+                fireBatch(batch);
+            } catch (Throwable fireFailure) {
+                t.addSuppressed(fireFailure);
+            }
+            throw t;
+        }
+        currentBatch.remove();
+        fireBatch(batch);
+    }
+
+    private static void fireBatch(Batch batch) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            batch.fire();
+        } else {
+            SwingUtilities.invokeLater(batch::fire);
+        }
+    }
+
+    /**
+     * Returns indication whether a batch of updates started with
+     * {@link #batchUpdate(Runnable)} is in progress on the calling thread.
+     *
+     * @return <code>true</code> if a batch of updates is in progress on the calling thread,
+     * <code>false</code> otherwise.
+     */
+    public static boolean isBatchUpdateInProgress() {
+        return currentBatch.get() != null;
+    }
+
+    private static class PendingChanges {
+        // Keyed by property name, with the value before the batch and the latest value
+        private final Map<String, Object[]> propertyChanges = new LinkedHashMap<>();
+        private boolean isStateChanged;
+
+        private void addPropertyChange(String propertyName, Object oldValue, Object newValue) {
+            Object[] values = this.propertyChanges.get(propertyName);
+            if (values == null) {
+                this.propertyChanges.put(propertyName, new Object[] { oldValue, newValue });
+            } else {
+                values[1] = newValue;
+            }
+        }
+    }
+
+    private static class Batch {
+        private final Map<Command, PendingChanges> pendingChanges = new LinkedHashMap<>();
+
+        private PendingChanges getPendingChanges(Command command) {
+            return this.pendingChanges.computeIfAbsent(command, (Command c) -> new PendingChanges());
+        }
+
+        private void fire() {
+            // A listener that throws does not prevent the rest of the notifications from
+            // being delivered. The first failure is rethrown once all of them have been fired.
+            RuntimeException failure = null;
+            for (Map.Entry<Command, PendingChanges> entry : this.pendingChanges.entrySet()) {
+                Command command = entry.getKey();
+                PendingChanges changes = entry.getValue();
+                boolean hasChanges = false;
+                for (Map.Entry<String, Object[]> propertyChange : changes.propertyChanges.entrySet()) {
+                    Object[] values = propertyChange.getValue();
+                    if (Objects.equals(values[0], values[1])) {
+                        continue;
+                    }
+                    hasChanges = true;
+                    try {
+                        command.weakPropertyChangeSupport.firePropertyChange(
+                                propertyChange.getKey(), values[0], values[1]);
+                    } catch (RuntimeException exc) {
+                        failure = addFailure(failure, exc);
+                    }
+                }
+                if (changes.isStateChanged && hasChanges) {
+                    try {
+                        command.weakChangeSupport.fireStateChanged();
+                    } catch (RuntimeException exc) {
+                        failure = addFailure(failure, exc);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private static RuntimeException addFailure(RuntimeException failure,
+                RuntimeException exc) {
+            if (failure == null) {
+                return exc;
+            }
+            failure.addSuppressed(exc);
+            return failure;
+        }
+    }
+
     @Override
     public void addPropertyChangeListener(PropertyChangeListener l) {
         this.weakPropertyChangeSupport.addPropertyChangeListener(l);
@@ -49,4 +49,17 @@ public interface PopupPanelCallback {
 	 *         command button is activated.
 	 */
 	JPopupPanel getPopupPanel(JCommandButton commandButton);
+
+	/**
+	 * Called when the popup panel of the specified command button is likely to be
+	 * shown soon, for example when the mouse enters the command button.
+	 * Implementations can use this to build and lay out the popup panel ahead of
+	 * {@link #getPopupPanel(JCommandButton)}. The default implementation does
+	 * nothing.
+	 * 
+	 * @param commandButton
+	 *            Command button.
+	 */
+	default void prepare(JCommandButton commandButton) {
+	}
 }
@@ -205,6 +205,15 @@ public class JRibbon extends JComponent {
      */
     private boolean isMinimized;
 
+    /**
+     * Indicates whether switching between tasks shows cached snapshots of the task bands
+     * before the live bands are laid out.
+     *
+     * @see #setTaskSnapshotsEnabled(boolean)
+     * @see #isTaskSnapshotsEnabled()
+     */
+    private boolean isTaskSnapshotsEnabled;
+
     /**
      * The host ribbon frame. Is <code>null</code> when the ribbon is not hosted in a
      * {@link JRibbonFrame}.
@@ -822,6 +831,42 @@ public class JRibbon extends JComponent {
         }
     }
 
+    /**
+     * Returns the indication whether switching between tasks shows cached snapshots of the
+     * task bands.
+     *
+     * @return <code>true</code> if switching between tasks shows cached snapshots of the task
+     * bands, <code>false</code> otherwise.
+     * @see #setTaskSnapshotsEnabled(boolean)
+     */
+    public synchronized boolean isTaskSnapshotsEnabled() {
+        return this.isTaskSnapshotsEnabled;
+    }
+
+    /**
+     * Changes the indication whether switching between tasks shows cached snapshots of the
+     * task bands. When enabled, the bands of every shown task are laid out and rendered into
+     * a snapshot while the ribbon is idle. Selecting a task shows its snapshot immediately, and
+     * the live bands are laid out and shown on the next frame. Fires a
+     * <code>taskSnapshotsEnabled</code> property change event.
+     *
+     * <p>Snapshots are re-rendered after every task switch, ribbon resize and change to the
+     * tasks of this ribbon. Changes to the content of the bands themselves (such as command
+     * text or icons) are not tracked, so the snapshot of a task can be stale until the next
+     * such pass. A stale snapshot is only shown for a single frame before the live bands
+     * replace it.</p>
+     *
+     * @param isTaskSnapshotsEnabled if <code>true</code>, switching between tasks shows cached
+     *                               snapshots of the task bands.
+     */
+    public synchronized void setTaskSnapshotsEnabled(boolean isTaskSnapshotsEnabled) {
+        boolean old = this.isTaskSnapshotsEnabled;
+        if (old != isTaskSnapshotsEnabled) {
+            this.isTaskSnapshotsEnabled = isTaskSnapshotsEnabled;
+            this.firePropertyChange("taskSnapshotsEnabled", old, this.isTaskSnapshotsEnabled);
+        }
+    }
+
     /**
      * Returns the ribbon frame that hosts this ribbon. The result can be <code>null</code>.
      *
@@ -79,7 +79,6 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.Map;
@@ -313,10 +312,6 @@ public class SubstanceCommandButtonUI extends BasicCommandButtonUI
         Rectangle actionArea = this.getLayoutInfo().actionClickArea;
         Rectangle popupArea = this.getLayoutInfo().popupClickArea;
 
-        BufferedImage fullAlphaBackground = CommandButtonBackgroundDelegate
-                .getCombinedCommandButtonBackground(this.commandButton, actionModel, actionArea,
-                        popupModel, popupArea);
-
         // Two special cases here:
         // 1. Button has flat appearance, doesn't have focus and doesn't show the popup
         // 2. Button is disabled.
@@ -370,7 +365,8 @@ public class SubstanceCommandButtonUI extends BasicCommandButtonUI
                     WidgetUtilities.getAlphaComposite(this.commandButton, extraAlpha, graphics));
             g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
             g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-            NeonCortex.drawImage(g2d, fullAlphaBackground, 0, 0);
+            CommandButtonBackgroundDelegate.paintCombinedCommandButtonBackground(g2d,
+                    this.commandButton, actionModel, actionArea, popupModel, popupArea);
             g2d.dispose();
         }
     }
@@ -559,7 +555,7 @@ public class SubstanceCommandButtonUI extends BasicCommandButtonUI
         Graphics2D g2d = (Graphics2D) g.create();
         g2d.setFont(this.commandButton.getFont());
 
-        this.layoutInfo = this.layoutManager.getLayoutInfo(this.commandButton);
+        this.layoutInfo = this.getLayoutInfo();
         commandButton.putClientProperty("icon.bounds", layoutInfo.iconRect);
 
         if (this.isPaintingBackground()) {
@@ -715,11 +711,10 @@ public class SubstanceCommandButtonUI extends BasicCommandButtonUI
     }
 
     @Override
-    public Dimension getPreferredSize(JComponent c) {
-        AbstractCommandButton button = (AbstractCommandButton) c;
+    protected Dimension computePreferredSize(AbstractCommandButton button) {
         SubstanceButtonShaper shaper = SubstanceCoreUtilities.getButtonShaper(button);
 
-        Dimension superPref = super.getPreferredSize(button);
+        Dimension superPref = super.computePreferredSize(button);
         if (superPref == null)
             return null;
 
@@ -153,7 +153,7 @@ public class SubstanceRibbonTaskToggleButtonUI extends
 
     @Override
     public void paint(Graphics g, JComponent c) {
-        this.layoutInfo = this.layoutManager.getLayoutInfo(this.commandButton);
+        this.layoutInfo = this.getLayoutInfo();
 
         this.delegate.updateTaskToggleButtonBackground(g, (JRibbonTaskToggleButton) this.commandButton);
         this.paintTextAndFocus(g);
@@ -289,9 +289,7 @@ public class SubstanceRibbonTaskToggleButtonUI extends
     }
 
     @Override
-    public Dimension getPreferredSize(JComponent c) {
-        AbstractCommandButton button = (AbstractCommandButton) c;
-
+    protected Dimension computePreferredSize(AbstractCommandButton button) {
         JButton dummy = new JButton(button.getText(), button.getIcon());
         Dimension result = dummy.getUI().getPreferredSize(dummy);
         Insets borderInsets = button.getBorder().getBorderInsets(button);
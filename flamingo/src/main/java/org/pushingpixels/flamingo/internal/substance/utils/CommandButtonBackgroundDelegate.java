@@ -71,8 +71,11 @@ public class CommandButtonBackgroundDelegate {
             "Substance.Flamingo.CommandButtonBackgroundDelegate");
 
     /**
-     * Retrieves the background for the specified button.
+     * Paints the full-opacity background of the specified button. When the button is
+     * transitioning between states, the cached background layers of all the active states are
+     * composited onto the graphics context.
      *
+     * @param g                      Graphics context.
      * @param commandButton          Button.
      * @param buttonModel            Button model.
      * @param fillPainter            Button fill painter.
@@ -81,10 +84,9 @@ public class CommandButtonBackgroundDelegate {
      * @param height                 Button height.
      * @param stateTransitionTracker State transition tracker.
      * @param ignoreSelections       If true, selection state will be ignored.
-     * @return Button background.
      */
     @SuppressWarnings("incomplete-switch")
-    public static BufferedImage getFullAlphaBackground(AbstractCommandButton commandButton,
+    public static void paintFullAlphaBackground(Graphics2D g, AbstractCommandButton commandButton,
             ButtonModel buttonModel, SubstanceFillPainter fillPainter,
             SubstanceBorderPainter borderPainter, int width, int height,
             StateTransitionTracker stateTransitionTracker, boolean ignoreSelections) {
@@ -175,13 +177,12 @@ public class CommandButtonBackgroundDelegate {
         }
 
         if (currState.isDisabled() || (activeStates == null) || (activeStates.size() == 1)) {
-            return baseLayer;
+            NeonCortex.drawImage(g, baseLayer, 0, 0);
+            return;
         }
 
-        BufferedImage result = SubstanceCoreUtilities.getBlankImage(width, height);
-        Graphics2D g2d = result.createGraphics();
-
-        NeonCortex.drawImage(g2d, baseLayer, 0, 0);
+        LayerCompositor compositor = new LayerCompositor(g, 0, 0, width, height);
+        compositor.paintLayer(baseLayer, 1.0f);
 
         for (Map.Entry<ComponentState, StateTransitionTracker.StateContributionInfo> activeEntry :
                 activeStates.entrySet()) {
@@ -216,12 +217,10 @@ public class CommandButtonBackgroundDelegate {
                 imageCache.put(key, layer);
             }
 
-            g2d.setComposite(AlphaComposite.SrcOver.derive(contribution));
-            NeonCortex.drawImage(g2d, layer, 0, 0);
+            compositor.paintLayer(layer, contribution);
         }
 
-        g2d.dispose();
-        return result;
+        compositor.finish();
     }
 
     private static BufferedImage getSingleLayer(AbstractCommandButton commandButton,
@@ -307,9 +306,34 @@ public class CommandButtonBackgroundDelegate {
         return newBackground;
     }
 
-    public static BufferedImage getCombinedCommandButtonBackground(
+    /**
+     * Paints the combined background of the specified button, taking into account the states of
+     * its action and popup areas. When the graphics context uses a translucent composite, the
+     * background is first combined into a pooled scratch image that is then painted with that
+     * composite.
+     *
+     * @param g             Graphics context.
+     * @param commandButton Button.
+     * @param actionModel   Model of the action area.
+     * @param actionArea    Bounds of the action area.
+     * @param popupModel    Model of the popup area.
+     * @param popupArea     Bounds of the popup area.
+     */
+    public static void paintCombinedCommandButtonBackground(Graphics2D g,
             AbstractCommandButton commandButton, ButtonModel actionModel, Rectangle actionArea,
             PopupButtonModel popupModel, Rectangle popupArea) {
+        if (!LayerCompositor.isOpaqueSourceOver(g.getComposite())) {
+            BufferedImage layers = ScratchImagePool.acquire(commandButton.getWidth(),
+                    commandButton.getHeight());
+            Graphics2D layersGraphics = layers.createGraphics();
+            paintCombinedCommandButtonBackground(layersGraphics, commandButton, actionModel,
+                    actionArea, popupModel, popupArea);
+            layersGraphics.dispose();
+            NeonCortex.drawImage(g, layers, 0, 0);
+            ScratchImagePool.release(layers);
+            return;
+        }
+
         ButtonModel backgroundModel = new DefaultButtonModel();
         backgroundModel.setEnabled(actionModel.isEnabled() && popupModel.isEnabled());
 
@@ -322,15 +346,11 @@ public class CommandButtonBackgroundDelegate {
         // System.out.println("Background layer");
         boolean ignoreSelections = commandButton.getProjection().getContentModel().isToggle()
                 && commandButton.getProjection().getPresentationModel().isMenu();
-        BufferedImage fullAlphaBackground = CommandButtonBackgroundDelegate.getFullAlphaBackground(
+        Graphics2D combinedGraphics = (Graphics2D) g.create();
+        CommandButtonBackgroundDelegate.paintFullAlphaBackground(combinedGraphics,
                 commandButton, backgroundModel, fillPainter, borderPainter,
                 commandButton.getWidth(), commandButton.getHeight(), null, ignoreSelections);
 
-        BufferedImage layers = SubstanceCoreUtilities.getBlankImage(fullAlphaBackground.getWidth(),
-                fullAlphaBackground.getHeight());
-        Graphics2D combinedGraphics = layers.createGraphics();
-        NeonCortex.drawImage(combinedGraphics, fullAlphaBackground, 0, 0);
-
         ActionPopupTransitionAwareUI ui = (ActionPopupTransitionAwareUI) commandButton.getUI();
 
         if (actionModel.isEnabled() && popupModel.isEnabled()) {
@@ -342,11 +362,10 @@ public class CommandButtonBackgroundDelegate {
             // + popupModel.isRollover());
             combinedGraphics.setComposite(AlphaComposite.SrcOver.derive(0.6f));
             // System.out.println("Rollover layer");
-            BufferedImage rolloverBackground = CommandButtonBackgroundDelegate
-                    .getFullAlphaBackground(commandButton, backgroundModel, fillPainter,
-                            borderPainter, commandButton.getWidth(), commandButton.getHeight(),
-                            ui.getTransitionTracker(), ignoreSelections);
-            NeonCortex.drawImage(combinedGraphics, rolloverBackground, 0, 0);
+            CommandButtonBackgroundDelegate.paintFullAlphaBackground(combinedGraphics,
+                    commandButton, backgroundModel, fillPainter, borderPainter,
+                    commandButton.getWidth(), commandButton.getHeight(),
+                    ui.getTransitionTracker(), ignoreSelections);
         }
 
         if ((actionArea != null) && !actionArea.isEmpty()) {
@@ -362,11 +381,10 @@ public class CommandButtonBackgroundDelegate {
             if (!actionModel.isEnabled())
                 actionAlpha = 0.0f;
             graphicsAction.setComposite(AlphaComposite.SrcOver.derive(actionAlpha));
-            BufferedImage actionAreaBackground = CommandButtonBackgroundDelegate
-                    .getFullAlphaBackground(commandButton, null, fillPainter, borderPainter,
-                            commandButton.getWidth(), commandButton.getHeight(),
-                            ui.getActionTransitionTracker(), ignoreSelections);
-            NeonCortex.drawImage(graphicsAction, actionAreaBackground, 0, 0);
+            CommandButtonBackgroundDelegate.paintFullAlphaBackground(graphicsAction,
+                    commandButton, null, fillPainter, borderPainter,
+                    commandButton.getWidth(), commandButton.getHeight(),
+                    ui.getActionTransitionTracker(), ignoreSelections);
             // graphicsAction.setColor(Color.red);
             // graphicsAction.fill(toFill);
             graphicsAction.dispose();
@@ -387,18 +405,16 @@ public class CommandButtonBackgroundDelegate {
             graphicsPopup.setComposite(AlphaComposite.SrcOver.derive(popupAlpha));
             // System.out.println(popupAlpha + ":"
             // + ComponentState.getState(popupModel, this.commandButton));
-            BufferedImage popupAreaBackground = CommandButtonBackgroundDelegate
-                    .getFullAlphaBackground(commandButton, null, fillPainter, borderPainter,
-                            commandButton.getWidth(), commandButton.getHeight(),
-                            ui.getPopupTransitionTracker(), ignoreSelections);
-            NeonCortex.drawImage(graphicsPopup, popupAreaBackground, 0, 0);
+            CommandButtonBackgroundDelegate.paintFullAlphaBackground(graphicsPopup,
+                    commandButton, null, fillPainter, borderPainter,
+                    commandButton.getWidth(), commandButton.getHeight(),
+                    ui.getPopupTransitionTracker(), ignoreSelections);
             // graphicsPopup.setColor(Color.blue);
             // graphicsPopup.fill(toFill);
             graphicsPopup.dispose();
         }
         combinedGraphics.dispose();
         // System.out.println(imageCache.size());
-        return layers;
     }
 
     /**
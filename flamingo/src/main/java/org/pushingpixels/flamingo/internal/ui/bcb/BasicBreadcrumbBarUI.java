@@ -53,6 +53,7 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -242,12 +243,19 @@ public abstract class BasicBreadcrumbBarUI extends BreadcrumbBarUI {
                                 for (int j = 0; j <= itemIndex; j++) {
                                     subPath.add(items.get(j));
                                 }
+                                // the children are streamed to the selector as they are
+                                // produced, and the selector is shown once there are any
                                 BreadcrumbItemChoices<Object> bic = new BreadcrumbItemChoices<>(item,
-                                        breadcrumbBar.getCallback().getPathChoices(subPath));
-                                if ((bic.getChoices() != null) && (bic.getChoices().size() > 0)) {
-                                    // add the selector - the current item has
-                                    // children
-                                    publish(bic);
+                                        Collections.emptyList());
+                                List<StringValuePair<Object>> choices = breadcrumbBar.getCallback()
+                                        .getPathChoices(subPath, (List<StringValuePair<Object>> chunk) -> {
+                                            if (!this.isCancelled()) {
+                                                publish(new ChoicesChunk(bic, chunk, false));
+                                            }
+                                        });
+                                if (!this.isCancelled()) {
+                                    publish(new ChoicesChunk(bic, (choices != null) ? choices
+                                            : Collections.emptyList(), true));
                                 }
                             }
                         }
@@ -257,6 +265,7 @@ public abstract class BasicBreadcrumbBarUI extends BreadcrumbBarUI {
                     @SuppressWarnings("unchecked")
                     @Override
                     protected void process(List<Object> chunks) {
+                        boolean toUpdateComponents = false;
                         if (chunks != null) {
                             for (Object chunk : chunks) {
                                 if (this.isCancelled() || atomicCounter.get() > 1)
@@ -264,13 +273,21 @@ public abstract class BasicBreadcrumbBarUI extends BreadcrumbBarUI {
 
                                 if (chunk instanceof BreadcrumbItemChoices) {
                                     pushChoices((BreadcrumbItemChoices<Object>) chunk, false);
+                                    toUpdateComponents = true;
                                 }
                                 if (chunk instanceof BreadcrumbItem) {
                                     pushChoice((BreadcrumbItem<?>) chunk, false);
+                                    toUpdateComponents = true;
+                                }
+                                if (chunk instanceof ChoicesChunk) {
+                                    toUpdateComponents |= processChoicesChunk((ChoicesChunk) chunk,
+                                            toUpdateComponents);
                                 }
                             }
                         }
-                        updateComponents();
+                        if (toUpdateComponents) {
+                            updateComponents();
+                        }
                     }
 
                     @Override
@@ -285,6 +302,88 @@ public abstract class BasicBreadcrumbBarUI extends BreadcrumbBarUI {
         this.breadcrumbBar.getModel().addPathListener(this.pathListener);
     }
 
+    /**
+     * Chunk of the choices of a breadcrumb item, streamed from the path change worker.
+     */
+    private static final class ChoicesChunk {
+        private final BreadcrumbItemChoices<Object> bic;
+        private final List<StringValuePair<Object>> choices;
+        private final boolean isComplete;
+
+        private ChoicesChunk(BreadcrumbItemChoices<Object> bic,
+                List<StringValuePair<Object>> choices, boolean isComplete) {
+            this.bic = bic;
+            this.choices = choices;
+            this.isComplete = isComplete;
+        }
+    }
+
+    /**
+     * Applies a streamed chunk of choices. The selector is pushed once it has any choices and
+     * removed if the complete list turns out to be empty. If the selector is already shown and
+     * the components are not about to be rebuilt, its popup content is updated in place.
+     *
+     * @param chunk                   Chunk of choices.
+     * @param isComponentUpdatePending Indication whether the components are about to be rebuilt.
+     * @return <code>true</code> if the components need to be rebuilt.
+     */
+    private synchronized boolean processChoicesChunk(ChoicesChunk chunk,
+            boolean isComponentUpdatePending) {
+        BreadcrumbItemChoices<Object> bic = chunk.bic;
+        if (chunk.isComplete) {
+            // The complete list can be ordered differently from the streamed chunks, so the
+            // selected index needs to be computed again
+            bic.setChoices(chunk.choices);
+            updateSelectedIndex(bic);
+        } else {
+            bic.addChoices(chunk.choices);
+        }
+        boolean isShown = !modelStack.isEmpty() && (modelStack.getLast() == bic);
+        boolean hasChoices = !bic.getChoices().isEmpty();
+        if (!isShown) {
+            if (hasChoices) {
+                pushChoices(bic, false);
+                return true;
+            }
+            return false;
+        }
+        if (!hasChoices) {
+            modelStack.removeLast();
+            return true;
+        }
+        if (!isComponentUpdatePending && !commandStack.isEmpty()) {
+            configurePopupAction(commandStack.getLast(), bic);
+        }
+        return false;
+    }
+
+    /**
+     * Sets the selected index of the specified choices to the position of the path item that
+     * follows the ancestor of these choices, or to -1 if there is no such item.
+     *
+     * @param bic Choices.
+     */
+    private void updateSelectedIndex(BreadcrumbItemChoices<Object> bic) {
+        bic.setSelectedIndex(-1);
+        BreadcrumbBarModel<Object> barModel = breadcrumbBar.getModel();
+        int nextItemIndex = (bic.getAncestor() == null) ? 0
+                : barModel.indexOf(bic.getAncestor()) + 1;
+        if ((nextItemIndex <= 0) && (bic.getAncestor() != null)) {
+            return;
+        }
+        if (nextItemIndex >= barModel.getItemCount()) {
+            return;
+        }
+        String nextItemKey = barModel.getItem(nextItemIndex).getKey();
+        List<BreadcrumbItem<Object>> choices = bic.getChoices();
+        for (int i = 0; i < choices.size(); i++) {
+            if (nextItemKey.equals(choices.get(i).getKey())) {
+                bic.setSelectedIndex(i);
+                return;
+            }
+        }
+    }
+
     protected void uninstallDefaults(JBreadcrumbBar<?> bar) {
     }
 
@@ -63,15 +63,33 @@ final class BreadcrumbItemChoices<T> {
 	public BreadcrumbItemChoices(BreadcrumbItem<T> ancestor,
 			List<StringValuePair<T>> entries) {
 		this.ancestor = ancestor;
-		this.choices = new ArrayList<>(entries.size());
-		int index = 0;
+		this.setChoices(entries);
+		this.selectedIndex = -1;
+	}
+
+	/**
+	 * Appends the specified entries to the choices.
+	 * 
+	 * @param entries
+	 *            Entries to append.
+	 */
+	public void addChoices(List<StringValuePair<T>> entries) {
 		for (StringValuePair<T> pair : entries) {
 			BreadcrumbItem<T> li = new BreadcrumbItem<>(pair.getKey(), pair.getValue());
 			li.setIcon((Icon) pair.get("icon"));
-			this.choices.add(index, li);
-			index++;
+			this.choices.add(li);
 		}
-		this.selectedIndex = -1;
+	}
+
+	/**
+	 * Replaces the choices with the specified entries.
+	 * 
+	 * @param entries
+	 *            Entries.
+	 */
+	public void setChoices(List<StringValuePair<T>> entries) {
+		this.choices = new ArrayList<>(entries.size());
+		this.addChoices(entries);
 	}
 
 	/**
@@ -34,6 +34,7 @@ import org.pushingpixels.flamingo.api.common.JCommandButton;
 import org.pushingpixels.flamingo.api.common.JScrollablePanel;
 import org.pushingpixels.flamingo.api.common.model.PopupButtonModel;
 import org.pushingpixels.flamingo.api.common.popup.JPopupPanel;
+import org.pushingpixels.flamingo.api.common.popup.PopupPanelCallback;
 import org.pushingpixels.flamingo.api.common.popup.PopupPanelManager;
 
 import javax.swing.*;
@@ -152,6 +153,21 @@ public class BasicCommandButtonListener implements MouseListener,
     @Override
     public void mouseEntered(MouseEvent e) {
         this.syncMouseMovement(e);
+
+        // let the popup callback build the popup panel ahead of the (likely) opening,
+        // after the rollover feedback has been painted
+        if (e.getSource() instanceof JCommandButton) {
+            JCommandButton commandButton = (JCommandButton) e.getSource();
+            PopupPanelCallback popupCallback = commandButton.getPopupCallback();
+            if ((popupCallback != null) && commandButton.getPopupModel().isEnabled()) {
+                SwingUtilities.invokeLater(() -> {
+                    if (commandButton.isShowing()
+                            && (commandButton.getPopupCallback() == popupCallback)) {
+                        popupCallback.prepare(commandButton);
+                    }
+                });
+            }
+        }
     }
 
     /**
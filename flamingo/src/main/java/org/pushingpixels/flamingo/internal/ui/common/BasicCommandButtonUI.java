@@ -57,6 +57,7 @@ import java.awt.event.KeyEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -87,6 +88,23 @@ public abstract class BasicCommandButtonUI extends CommandButtonUI {
      */
     protected CommandButtonLayoutManager.CommandButtonLayoutInfo layoutInfo;
 
+    /**
+     * The key under which {@link #layoutInfo} has been computed. Is <code>null</code> when
+     * {@link #layoutInfo} needs to be recomputed.
+     */
+    private LayoutCacheKey layoutInfoKey;
+
+    /**
+     * Cached preferred size.
+     */
+    private Dimension preferredSize;
+
+    /**
+     * The key under which {@link #preferredSize} has been computed. Is <code>null</code> when
+     * {@link #preferredSize} needs to be recomputed.
+     */
+    private LayoutCacheKey preferredSizeKey;
+
     private ChangeListener actionPreviewChangeListener;
 
     private FocusListener focusListener;
@@ -245,6 +263,12 @@ public abstract class BasicCommandButtonUI extends CommandButtonUI {
         }
 
         this.propertyChangeListener = (PropertyChangeEvent evt) -> {
+            // any property can affect the layout, except for the icon bounds that are
+            // published from the layout itself
+            if (!"icon.bounds".equals(evt.getPropertyName())) {
+                invalidateLayoutCache();
+            }
+
             if (AbstractButton.ICON_CHANGED_PROPERTY.equals(evt.getPropertyName())) {
                 Icon newIcon = (Icon) evt.getNewValue();
                 if (newIcon instanceof AsynchronousLoading) {
@@ -596,18 +620,98 @@ public abstract class BasicCommandButtonUI extends CommandButtonUI {
     @Override
     public Dimension getPreferredSize(JComponent c) {
         AbstractCommandButton button = (AbstractCommandButton) c;
+        if ((button != this.commandButton) || (this.preferredSizeKey == null)
+                || !this.preferredSizeKey.matches(button, this.layoutManager, false)) {
+            Dimension result = this.computePreferredSize(button);
+            if (result == null) {
+                return null;
+            }
+            if (button != this.commandButton) {
+                return result;
+            }
+            this.preferredSize = result;
+            this.preferredSizeKey = new LayoutCacheKey(button, this.layoutManager, false);
+        }
+        return new Dimension(this.preferredSize);
+    }
+
+    /**
+     * Computes the preferred size of the specified command button. The result is cached by
+     * {@link #getPreferredSize(JComponent)}, and subclasses that adjust the preferred size
+     * should override this method instead.
+     *
+     * @param button Command button.
+     * @return The preferred size of the specified command button.
+     */
+    protected Dimension computePreferredSize(AbstractCommandButton button) {
         return this.layoutManager.getPreferredSize(button);
     }
 
     @Override
     public CommandButtonLayoutInfo getLayoutInfo() {
-        if (this.layoutInfo != null) {
-            return this.layoutInfo;
+        if ((this.layoutInfo == null) || (this.layoutInfoKey == null)
+                || !this.layoutInfoKey.matches(this.commandButton, this.layoutManager, true)) {
+            this.layoutInfo = this.layoutManager.getLayoutInfo(this.commandButton);
+            this.layoutInfoKey = new LayoutCacheKey(this.commandButton, this.layoutManager, true);
         }
-        this.layoutInfo = this.layoutManager.getLayoutInfo(commandButton);
         return this.layoutInfo;
     }
 
+    /**
+     * Invalidates the cached layout information and preferred size of the associated command
+     * button. Is called on every property change of the command button. Changes that are not
+     * signaled with property change events (such as size, icon dimension and presentation
+     * state) are detected by comparing the cache keys.
+     */
+    protected void invalidateLayoutCache() {
+        this.layoutInfoKey = null;
+        this.preferredSizeKey = null;
+    }
+
+    /**
+     * The state of a command button that its layout information and preferred size are
+     * computed from.
+     */
+    private static final class LayoutCacheKey {
+        private final CommandButtonLayoutManager layoutManager;
+        private final int width;
+        private final int height;
+        private final String text;
+        private final String extraText;
+        private final int iconWidth;
+        private final int iconHeight;
+        private final Font font;
+        private final CommandButtonPresentationState presentationState;
+
+        private LayoutCacheKey(AbstractCommandButton button,
+                CommandButtonLayoutManager layoutManager, boolean withSize) {
+            this.layoutManager = layoutManager;
+            this.width = withSize ? button.getWidth() : -1;
+            this.height = withSize ? button.getHeight() : -1;
+            this.text = button.getText();
+            this.extraText = button.getExtraText();
+            Icon icon = button.getIcon();
+            this.iconWidth = (icon != null) ? icon.getIconWidth() : -1;
+            this.iconHeight = (icon != null) ? icon.getIconHeight() : -1;
+            this.font = button.getFont();
+            this.presentationState = button.getPresentationState();
+        }
+
+        private boolean matches(AbstractCommandButton button,
+                CommandButtonLayoutManager layoutManager, boolean withSize) {
+            Icon icon = button.getIcon();
+            return (this.layoutManager == layoutManager)
+                    && (!withSize || ((this.width == button.getWidth())
+                    && (this.height == button.getHeight())))
+                    && Objects.equals(this.text, button.getText())
+                    && Objects.equals(this.extraText, button.getExtraText())
+                    && (this.iconWidth == ((icon != null) ? icon.getIconWidth() : -1))
+                    && (this.iconHeight == ((icon != null) ? icon.getIconHeight() : -1))
+                    && Objects.equals(this.font, button.getFont())
+                    && (this.presentationState == button.getPresentationState());
+        }
+    }
+
     @Override
     public CommandButtonLayoutManager getLayoutManager() {
         return this.layoutManager;
@@ -707,6 +811,9 @@ public abstract class BasicCommandButtonUI extends CommandButtonUI {
                 }
 
                 popupPanel.doLayout();
+                // computed once for the placement below, as the popup panel is not
+                // validated (and its preferred size not cached) until it is shown
+                Dimension popupPanelSize = popupPanel.getPreferredSize();
 
                 int x = 0;
                 int y = 0;
@@ -725,7 +832,7 @@ public abstract class BasicCommandButtonUI extends CommandButtonUI {
                                 x = commandButton.getLocationOnScreen().x;
                             } else {
                                 x = commandButton.getLocationOnScreen().x + commandButton.getWidth()
-                                        - popupPanel.getPreferredSize().width;
+                                        - popupPanelSize.width;
                             }
                             y = commandButton.getLocationOnScreen().y + commandButton.getSize().height;
                             break;
@@ -734,7 +841,7 @@ public abstract class BasicCommandButtonUI extends CommandButtonUI {
                                 x = commandButton.getLocationOnScreen().x + commandButton.getWidth();
                             } else {
                                 x = commandButton.getLocationOnScreen().x
-                                        - popupPanel.getPreferredSize().width;
+                                        - popupPanelSize.width;
                             }
                             y = commandButton.getLocationOnScreen().y
                                     + getLayoutInfo().popupClickArea.y;
@@ -749,11 +856,11 @@ public abstract class BasicCommandButtonUI extends CommandButtonUI {
 
                 // make sure that the popup stays in bounds
                 Rectangle scrBounds = commandButton.getGraphicsConfiguration().getBounds();
-                int pw = popupPanel.getPreferredSize().width;
+                int pw = popupPanelSize.width;
                 if ((x + pw) > (scrBounds.x + scrBounds.width)) {
                     x = scrBounds.x + scrBounds.width - pw;
                 }
-                int ph = popupPanel.getPreferredSize().height;
+                int ph = popupPanelSize.height;
                 if ((y + ph) > (scrBounds.y + scrBounds.height)) {
                     y = scrBounds.y + scrBounds.height - ph;
                 }
@@ -41,10 +41,28 @@ import org.pushingpixels.substance.internal.utils.SubstanceMetricsUtilities;
 import javax.swing.*;
 import java.awt.*;
 import java.beans.PropertyChangeEvent;
-import java.util.ArrayList;
-import java.util.StringTokenizer;
+import java.util.*;
+import java.util.List;
 
 public class CommandButtonLayoutManagerBig implements CommandButtonLayoutManager {
+    /**
+     * Maximum number of the cached title splits.
+     */
+    private static final int TITLE_SPLIT_CACHE_SIZE = 1024;
+
+    /**
+     * Two-line title splits shared by all big command buttons. A new layout manager is created
+     * on every presentation state change, and ribbon resizing switches many buttons back and
+     * forth between states, so the same titles are split over and over again.
+     */
+    private static final Map<TitleSplitKey, String[]> titleSplits =
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TitleSplitKey, String[]> eldest) {
+                    return this.size() > TITLE_SPLIT_CACHE_SIZE;
+                }
+            };
+
     private AbstractCommandButton commandButton;
 
     /**
@@ -75,7 +93,8 @@ public class CommandButtonLayoutManagerBig implements CommandButtonLayoutManager
                 : commandButton.getInsets();
         int bx = borderInsets.left + borderInsets.right;
         FontMetrics fm = SubstanceMetricsUtilities.getFontMetrics(commandButton.getFont());
-        JSeparator jsep = new JSeparator(JSeparator.HORIZONTAL);
+        Dimension separatorSize =
+                FlamingoUtilities.getSeparatorPreferredSize(JSeparator.HORIZONTAL);
         int layoutHGap = FlamingoUtilities.getHLayoutGap(commandButton);
         int layoutVGap = FlamingoUtilities.getVLayoutGap(commandButton);
 
@@ -89,7 +108,7 @@ public class CommandButtonLayoutManagerBig implements CommandButtonLayoutManager
         int prefIconSize = hasIcon ? this.getPreferredIconSize(commandButton) : 0;
 
         int width = Math.max(prefIconSize, Math.max(title1Width, title2Width + 4 * layoutHGap
-                + jsep.getPreferredSize().height
+                + separatorSize.height
                 + (FlamingoUtilities.hasPopupAction(commandButton) ? 1 + fm.getHeight() / 2 : 0)));
 
         // start height with the top inset
@@ -128,7 +147,7 @@ public class CommandButtonLayoutManagerBig implements CommandButtonLayoutManager
             CommandButtonKind buttonKind = jcb.getCommandButtonKind();
             if (hasIcon && buttonKind.hasAction() && buttonKind.hasPopup()) {
                 // space for a horizontal separator
-                height += new JSeparator(JSeparator.HORIZONTAL).getPreferredSize().height;
+                height += FlamingoUtilities.getSeparatorPreferredSize(JSeparator.HORIZONTAL).height;
             }
         }
 
@@ -168,11 +187,24 @@ public class CommandButtonLayoutManagerBig implements CommandButtonLayoutManager
                 this.titlePart1 = title;
                 this.titlePart2 = null;
             } else {
-                int currMaxLength = fm.stringWidth(this.commandButton.getText());
                 int actionIconWidth = FlamingoUtilities.hasPopupAction(this.commandButton) ? 0
                         : 2 * FlamingoUtilities.getHLayoutGap(commandButton)
                         + (fm.getAscent() + fm.getDescent()) / 2;
+                TitleSplitKey key = new TitleSplitKey(title, this.commandButton.getFont(),
+                        actionIconWidth);
+                String[] split;
+                synchronized (titleSplits) {
+                    split = titleSplits.get(key);
+                }
+                if (split != null) {
+                    this.titlePart1 = split[0];
+                    this.titlePart2 = split[1];
+                    return;
+                }
 
+                int currMaxLength = fm.stringWidth(this.commandButton.getText());
+                this.titlePart1 = title;
+                this.titlePart2 = null;
                 StringBuilder currLeading = new StringBuilder();
                 while (tokenizer.hasMoreTokens()) {
                     currLeading.append(tokenizer.nextToken());
@@ -189,6 +221,9 @@ public class CommandButtonLayoutManagerBig implements CommandButtonLayoutManager
                         this.titlePart2 = part2;
                     }
                 }
+                synchronized (titleSplits) {
+                    titleSplits.put(key, new String[] { this.titlePart1, this.titlePart2 });
+                }
             }
         } else {
             this.titlePart1 = null;
@@ -196,6 +231,37 @@ public class CommandButtonLayoutManagerBig implements CommandButtonLayoutManager
         }
     }
 
+    /**
+     * Key of a cached title split.
+     */
+    private static final class TitleSplitKey {
+        private final String title;
+        private final Font font;
+        private final int actionIconWidth;
+
+        private TitleSplitKey(String title, Font font, int actionIconWidth) {
+            this.title = title;
+            this.font = font;
+            this.actionIconWidth = actionIconWidth;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TitleSplitKey)) {
+                return false;
+            }
+            TitleSplitKey other = (TitleSplitKey) obj;
+            return this.title.equals(other.title) && Objects.equals(this.font, other.font)
+                    && (this.actionIconWidth == other.actionIconWidth);
+        }
+
+        @Override
+        public int hashCode() {
+            return (this.title.hashCode() * 31 + Objects.hashCode(this.font)) * 31
+                    + this.actionIconWidth;
+        }
+    }
+
     @Override
     public Point getActionKeyTipAnchorCenterPoint(AbstractCommandButton commandButton) {
         CommandButtonLayoutInfo layoutInfo = this.getLayoutInfo(commandButton);
@@ -281,8 +347,8 @@ public class CommandButtonLayoutManagerBig implements CommandButtonLayoutManager
                 result.separatorArea.x = 0;
                 result.separatorArea.y = y;
                 result.separatorArea.width = width;
-                result.separatorArea.height = new JSeparator(JSeparator.HORIZONTAL)
-                        .getPreferredSize().height;
+                result.separatorArea.height =
+                        FlamingoUtilities.getSeparatorPreferredSize(JSeparator.HORIZONTAL).height;
 
                 y += result.separatorArea.height;
             }
@@ -54,7 +54,8 @@ public class CommandButtonLayoutManagerCustom extends
 		Insets borderInsets = commandButton.getInsets();
 		int bx = borderInsets.left + borderInsets.right;
 		FontMetrics fm = SubstanceMetricsUtilities.getFontMetrics(commandButton.getFont());
-		JSeparator jsep = new JSeparator(JSeparator.HORIZONTAL);
+		Dimension separatorSize =
+				FlamingoUtilities.getSeparatorPreferredSize(JSeparator.HORIZONTAL);
 		int layoutHGap = FlamingoUtilities.getHLayoutGap(commandButton);
 		int layoutVGap = FlamingoUtilities.getVLayoutGap(commandButton);
 
@@ -68,7 +69,7 @@ public class CommandButtonLayoutManagerCustom extends
 		int width = Math.max(iconWidth, Math.max(title1Width, title2Width
 				+ 4
 				* layoutHGap
-				+ jsep.getPreferredSize().width
+				+ separatorSize.width
 				+ (FlamingoUtilities.hasPopupAction(commandButton) ? 1 + fm
 						.getHeight() / 2 : 0)));
 
@@ -108,7 +109,7 @@ public class CommandButtonLayoutManagerCustom extends
 
 		if (hasPopupIcon) {
 			// space for a horizontal separator
-			height += new JSeparator(JSeparator.HORIZONTAL).getPreferredSize().height;
+			height += FlamingoUtilities.getSeparatorPreferredSize(JSeparator.HORIZONTAL).height;
 		}
 
 		// bottom insets
@@ -127,7 +127,7 @@ public class CommandButtonLayoutManagerMedium implements CommandButtonLayoutMana
             }
             if (hasSeparator) {
                 // space for a vertical separator
-                width += new JSeparator(JSeparator.VERTICAL).getPreferredSize().width;
+                width += FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL).width;
             }
         }
 
@@ -286,8 +286,8 @@ public class CommandButtonLayoutManagerMedium implements CommandButtonLayoutMana
             }
 
             int xBorderBetweenActionAndPopup = 0;
-            int verticalSeparatorWidth = new JSeparator(JSeparator.VERTICAL)
-                    .getPreferredSize().width;
+            int verticalSeparatorWidth =
+                    FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL).width;
             // compute the action and popup click areas
             switch (buttonKind) {
                 case ACTION_ONLY:
@@ -443,8 +443,8 @@ public class CommandButtonLayoutManagerMedium implements CommandButtonLayoutMana
             }
 
             int xBorderBetweenActionAndPopup = 0;
-            int verticalSeparatorWidth = new JSeparator(JSeparator.VERTICAL)
-                    .getPreferredSize().width;
+            int verticalSeparatorWidth =
+                    FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL).width;
             // compute the action and popup click areas
             switch (buttonKind) {
                 case ACTION_ONLY:
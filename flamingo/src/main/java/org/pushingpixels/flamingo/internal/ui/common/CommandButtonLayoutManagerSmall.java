@@ -86,7 +86,7 @@ public class CommandButtonLayoutManagerSmall implements CommandButtonLayoutManag
             CommandButtonKind buttonKind = jcb.getCommandButtonKind();
             if (hasIcon && buttonKind.hasAction() && buttonKind.hasPopup()) {
                 // space for a vertical separator
-                width += new JSeparator(JSeparator.VERTICAL).getPreferredSize().width;
+                width += FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL).width;
             }
         }
 
@@ -214,8 +214,8 @@ public class CommandButtonLayoutManagerSmall implements CommandButtonLayoutManag
             }
 
             int xBorderBetweenActionAndPopup = 0;
-            int verticalSeparatorWidth = new JSeparator(JSeparator.VERTICAL)
-                    .getPreferredSize().width;
+            int verticalSeparatorWidth =
+                    FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL).width;
             // compute the action and popup click areas
             switch (buttonKind) {
                 case ACTION_ONLY:
@@ -304,8 +304,8 @@ public class CommandButtonLayoutManagerSmall implements CommandButtonLayoutManag
             }
 
             int xBorderBetweenActionAndPopup = 0;
-            int verticalSeparatorWidth = new JSeparator(JSeparator.VERTICAL)
-                    .getPreferredSize().width;
+            int verticalSeparatorWidth =
+                    FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL).width;
             // compute the action and popup click areas
             switch (buttonKind) {
                 case ACTION_ONLY:
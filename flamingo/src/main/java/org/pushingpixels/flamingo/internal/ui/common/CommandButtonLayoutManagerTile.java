@@ -113,7 +113,7 @@ public class CommandButtonLayoutManagerTile implements CommandButtonLayoutManage
 			}
 			if (hasSeparator) {
 				// space for a vertical separator
-				width += new JSeparator(JSeparator.VERTICAL).getPreferredSize().width;
+				width += FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL).width;
 			}
 		}
 
@@ -289,8 +289,8 @@ public class CommandButtonLayoutManagerTile implements CommandButtonLayoutManage
 			}
 
 			int xBorderBetweenActionAndPopup = 0;
-			int verticalSeparatorWidth = new JSeparator(JSeparator.VERTICAL)
-					.getPreferredSize().width;
+			int verticalSeparatorWidth =
+					FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL).width;
 			// compute the action and popup click areas
 			switch (buttonKind) {
 			case ACTION_ONLY:
@@ -462,8 +462,8 @@ public class CommandButtonLayoutManagerTile implements CommandButtonLayoutManage
 			}
 
 			int xBorderBetweenActionAndPopup = 0;
-			int verticalSeparatorWidth = new JSeparator(JSeparator.VERTICAL)
-					.getPreferredSize().width;
+			int verticalSeparatorWidth =
+					FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL).width;
 			// compute the action and popup click areas
 			switch (buttonKind) {
 			case ACTION_ONLY:
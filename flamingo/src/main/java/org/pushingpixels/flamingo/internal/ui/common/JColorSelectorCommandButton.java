@@ -4,11 +4,15 @@ import org.pushingpixels.flamingo.api.common.AbstractCommandButton;
 import org.pushingpixels.flamingo.api.common.JCommandButton;
 import org.pushingpixels.flamingo.api.common.model.ColorSelectorCommand;
 import org.pushingpixels.flamingo.api.common.model.CommandButtonPresentationModel;
+import org.pushingpixels.flamingo.api.common.popup.JColorSelectorPopupMenu;
 import org.pushingpixels.flamingo.api.common.popup.model.AbstractPopupMenuPresentationModel;
 import org.pushingpixels.flamingo.api.common.popup.model.ColorSelectorPopupMenuContentModel;
 import org.pushingpixels.flamingo.api.common.popup.model.ColorSelectorPopupMenuPresentationModel;
 import org.pushingpixels.flamingo.api.common.projection.ColorSelectorPopupMenuProjection;
 import org.pushingpixels.flamingo.api.common.projection.Projection;
+import org.pushingpixels.flamingo.internal.ui.common.popup.PrebuiltPopupPanelCallback;
+
+import java.util.ArrayList;
 
 public class JColorSelectorCommandButton extends JCommandButton {
     public JColorSelectorCommandButton(
@@ -29,8 +33,10 @@ public class JColorSelectorCommandButton extends JCommandButton {
                         (ColorSelectorPopupMenuPresentationModel) popupMenuPresentationModel);
         colorSelectorPopupMenuProjection.setCommandOverlays(
                 this.projection.getCommandOverlays());
-        this.setPopupCallback((JCommandButton commandButton)
-                -> colorSelectorPopupMenuProjection.buildComponent());
+        // the recently used colors are shown in a section of the popup menu
+        this.setPopupCallback(new PrebuiltPopupPanelCallback(popupMenuContentModel,
+                colorSelectorPopupMenuProjection::buildComponent,
+                () -> new ArrayList<>(JColorSelectorPopupMenu.getRecentlyUsedColors())));
 
         this.setPopupRichTooltip(command.getSecondaryRichTooltip());
         this.setPopupKeyTip(commandPresentation.getPopupKeyTip());
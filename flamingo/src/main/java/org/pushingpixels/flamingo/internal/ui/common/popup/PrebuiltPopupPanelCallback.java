@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.flamingo.internal.ui.common.popup;
+
+import org.pushingpixels.flamingo.api.common.AbstractCommandButton;
+import org.pushingpixels.flamingo.api.common.JCommandButton;
+import org.pushingpixels.flamingo.api.common.model.ChangeAware;
+import org.pushingpixels.flamingo.api.common.popup.JPopupPanel;
+import org.pushingpixels.flamingo.api.common.popup.PopupPanelCallback;
+import org.pushingpixels.flamingo.internal.ui.common.CommandButtonUI;
+
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Popup panel callback that builds its popup panel ahead of the first opening and reuses it
+ * across openings. The panel is built when {@link #prepare(JCommandButton)} is called as the
+ * mouse enters the command button, and is built again only after a change in its content
+ * model, in the additional content it depends on, or in the UI delegate of the command button
+ * (which is replaced on look-and-feel and skin changes).
+ */
+public class PrebuiltPopupPanelCallback implements PopupPanelCallback {
+    private final Supplier<? extends JPopupPanel> popupPanelBuilder;
+
+    private final Supplier<?> additionalContent;
+
+    /**
+     * Listener on the content model. Content models hold their listeners weakly, so it is kept
+     * in this field for the lifetime of this callback.
+     */
+    private final ChangeListener contentModelListener;
+
+    private JPopupPanel popupPanel;
+
+    private CommandButtonUI popupPanelButtonUI;
+
+    private Object popupPanelAdditionalContent;
+
+    /**
+     * Creates a new callback.
+     *
+     * @param contentModel      Content model of the popup panel.
+     * @param popupPanelBuilder Builder of the popup panel.
+     */
+    public PrebuiltPopupPanelCallback(ChangeAware contentModel,
+            Supplier<? extends JPopupPanel> popupPanelBuilder) {
+        this(contentModel, popupPanelBuilder, () -> null);
+    }
+
+    /**
+     * Creates a new callback.
+     *
+     * @param contentModel      Content model of the popup panel.
+     * @param popupPanelBuilder Builder of the popup panel.
+     * @param additionalContent Supplier of the content that the popup panel shows in addition
+     *                          to its content model. The popup panel is built again when the
+     *                          supplied value is not equal to the value supplied when the
+     *                          popup panel was built.
+     */
+    public PrebuiltPopupPanelCallback(ChangeAware contentModel,
+            Supplier<? extends JPopupPanel> popupPanelBuilder, Supplier<?> additionalContent) {
+        this.popupPanelBuilder = popupPanelBuilder;
+        this.additionalContent = additionalContent;
+        this.contentModelListener = (ChangeEvent event) -> this.popupPanel = null;
+        if (contentModel != null) {
+            contentModel.addChangeListener(this.contentModelListener);
+        }
+    }
+
+    @Override
+    public void prepare(JCommandButton commandButton) {
+        if (!this.isPopupPanelReusable(commandButton)) {
+            this.buildPopupPanel(commandButton);
+        }
+    }
+
+    @Override
+    public JPopupPanel getPopupPanel(JCommandButton commandButton) {
+        if (this.isPopupPanelReusable(commandButton)) {
+            resetRollover(this.popupPanel);
+        } else {
+            this.buildPopupPanel(commandButton);
+        }
+        return this.popupPanel;
+    }
+
+    private boolean isPopupPanelReusable(JCommandButton commandButton) {
+        return (this.popupPanel != null) && !this.popupPanel.isShowing()
+                && (this.popupPanelButtonUI == commandButton.getUI())
+                && Objects.equals(this.popupPanelAdditionalContent, this.additionalContent.get());
+    }
+
+    private void buildPopupPanel(JCommandButton commandButton) {
+        this.popupPanelAdditionalContent = this.additionalContent.get();
+        this.popupPanelButtonUI = commandButton.getUI();
+        this.popupPanel = this.popupPanelBuilder.get();
+        this.popupPanel.applyComponentOrientation(commandButton.getComponentOrientation());
+        this.popupPanel.setSize(this.popupPanel.getPreferredSize());
+        this.popupPanel.doLayout();
+    }
+
+    /**
+     * Clears the rollover state that the command buttons of a reused popup panel kept from
+     * the previous opening.
+     *
+     * @param component Component.
+     */
+    private static void resetRollover(Component component) {
+        if (component instanceof AbstractCommandButton) {
+            AbstractCommandButton commandButton = (AbstractCommandButton) component;
+            commandButton.getActionModel().setRollover(false);
+            commandButton.getActionModel().setArmed(false);
+            if (commandButton instanceof JCommandButton) {
+                ((JCommandButton) commandButton).getPopupModel().setRollover(false);
+            }
+        }
+        if (component instanceof Container) {
+            for (Component child : ((Container) component).getComponents()) {
+                resetRollover(child);
+            }
+        }
+    }
+}
@@ -49,6 +49,7 @@ import org.pushingpixels.substance.api.SubstanceSlices;
 import org.pushingpixels.substance.internal.utils.SubstanceMetricsUtilities;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import javax.swing.border.Border;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
@@ -56,6 +57,7 @@ import javax.swing.plaf.BorderUIResource;
 import javax.swing.plaf.UIResource;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.List;
@@ -69,6 +71,17 @@ import java.util.*;
 public abstract class BasicRibbonUI extends RibbonUI {
     private static final String JUST_MINIMIZED = "ribbon.internal.justMinimized";
 
+    /**
+     * Delay (in milliseconds) of inactivity after which the task snapshots are refreshed.
+     */
+    private static final int SNAPSHOT_IDLE_DELAY = 500;
+
+    /**
+     * Delay (in milliseconds) between rendering the snapshots of two consecutive tasks, so
+     * that the snapshots do not block the Event Dispatch Thread for long.
+     */
+    private static final int SNAPSHOT_STEP_DELAY = 20;
+
     /**
      * The associated ribbon.
      */
@@ -104,11 +117,28 @@ public abstract class BasicRibbonUI extends RibbonUI {
 
     private ComponentListener ribbonComponentListener;
 
+    /**
+     * Cached snapshots of the task bands, used when {@link JRibbon#isTaskSnapshotsEnabled()}.
+     */
+    private Map<RibbonTask, TaskSnapshot> taskSnapshots;
+
+    /**
+     * Tasks whose snapshots are to be rendered in the current idle pass.
+     */
+    private Deque<RibbonTask> pendingTaskSnapshots;
+
+    /**
+     * Renders the pending task snapshots once the ribbon is idle.
+     */
+    private Timer taskSnapshotTimer;
+
     /**
      * Creates a new basic ribbon UI delegate.
      */
     protected BasicRibbonUI() {
         this.taskToggleButtons = new HashMap<>();
+        this.taskSnapshots = new HashMap<>();
+        this.pendingTaskSnapshots = new ArrayDeque<>();
         this.taskToggleGroupModel = new CommandToggleGroupModel();
         this.taskToggleGroupModel.setAllowsClearingSelection(false);
     }
@@ -139,8 +169,13 @@ public abstract class BasicRibbonUI extends RibbonUI {
 
         this.propertyChangeListener = (PropertyChangeEvent evt) -> {
             if ("selectedTask".equals(evt.getPropertyName())) {
+                showTaskSnapshot();
                 syncSelectedTask();
             }
+            if ("taskSnapshotsEnabled".equals(evt.getPropertyName())) {
+                this.taskSnapshots.clear();
+                scheduleTaskSnapshots();
+            }
             if ("applicationMenu".equals(evt.getPropertyName())) {
                 if (this.applicationMenuButton != null) {
                     this.ribbon.remove(this.applicationMenuButton);
@@ -169,6 +204,7 @@ public abstract class BasicRibbonUI extends RibbonUI {
                 syncApplicationMenuTips();
             }
             if ("minimized".equals(evt.getPropertyName())) {
+                scheduleTaskSnapshots();
                 PopupPanelManager.defaultManager().hidePopups(null);
                 RichTooltipManager.sharedInstance().hideCurrentlyShowingTipIfNecessary();
                 ribbon.revalidate();
@@ -184,9 +220,14 @@ public abstract class BasicRibbonUI extends RibbonUI {
                 // Hide all keytips and popups
                 KeyTipManager.defaultManager().hideAllKeyTips();
                 PopupPanelManager.defaultManager().hidePopups(null);
+                scheduleTaskSnapshots();
             }
         };
         this.ribbon.addComponentListener(this.ribbonComponentListener);
+
+        this.taskSnapshotTimer = new Timer(SNAPSHOT_IDLE_DELAY,
+                (ActionEvent e) -> renderPendingTaskSnapshot());
+        this.taskSnapshotTimer.setRepeats(false);
     }
 
     /**
@@ -201,6 +242,11 @@ public abstract class BasicRibbonUI extends RibbonUI {
 
         this.ribbon.removeComponentListener(this.ribbonComponentListener);
         this.ribbonComponentListener = null;
+
+        this.taskSnapshotTimer.stop();
+        this.taskSnapshotTimer = null;
+        this.taskSnapshots.clear();
+        this.pendingTaskSnapshots.clear();
     }
 
     /**
@@ -224,7 +270,7 @@ public abstract class BasicRibbonUI extends RibbonUI {
      */
     protected void installComponents() {
         // band scrollable panel
-        JPanel bandHostPanel = new JPanel();
+        JPanel bandHostPanel = new BandHostPanel();
         bandHostPanel.setLayout(createBandHostPanelLayoutManager());
         this.bandScrollablePanel = new JScrollablePanel<>(bandHostPanel,
                 JScrollablePanel.ScrollType.HORIZONTALLY);
@@ -674,16 +720,33 @@ public abstract class BasicRibbonUI extends RibbonUI {
         public void layoutContainer(Container c) {
             // System.err.println("Layout of band host panel " + c.getWidth() +
             // ":" + c.getHeight());
-            int bandGap = getBandGap();
-
-            // the top row - task bar components
-            int x;
-            int y = 0;
+            if ((c instanceof BandHostPanel) && ((BandHostPanel) c).isShowingSnapshot()) {
+                // the live bands will be laid out once the snapshot is replaced
+                return;
+            }
 
             RibbonTask selectedTask = ribbon.getSelectedTask();
             if (selectedTask == null) {
                 return;
             }
+            this.layoutTaskBands(selectedTask, c.getWidth(), c.getHeight());
+        }
+
+        /**
+         * Lays out the bands of the specified task in the band host panel of the specified
+         * size. Is used for the selected task, and also for rendering the snapshots of the
+         * other tasks.
+         *
+         * @param selectedTask Task.
+         * @param width        Width of the band host panel.
+         * @param height       Height of the band host panel.
+         */
+        private void layoutTaskBands(RibbonTask selectedTask, int width, int height) {
+            int bandGap = getBandGap();
+
+            // the top row - task bar components
+            int x;
+            int y = 0;
 
             // check that the resize policies are still consistent
             for (AbstractRibbonBand band : selectedTask.getBands()) {
@@ -697,8 +760,8 @@ public abstract class BasicRibbonUI extends RibbonUI {
                 band.setCurrentResizePolicy(last);
             }
 
-            int availableBandHeight = c.getHeight();
-            int availableWidth = c.getWidth();
+            int availableBandHeight = height;
+            int availableWidth = width;
             if (selectedTask.getBandCount() > 0) {
                 RibbonBandResizeSequencingPolicy resizeSequencingPolicy = selectedTask
                         .getResizeSequencingPolicy();
@@ -774,7 +837,7 @@ public abstract class BasicRibbonUI extends RibbonUI {
             }
 
             boolean ltr = ribbon.getComponentOrientation().isLeftToRight();
-            x = ltr ? 1 : c.getWidth() - 1;
+            x = ltr ? 1 : width - 1;
             // System.out.println("Will get [" + availableWidth + "]:");
             for (AbstractRibbonBand ribbonBand : selectedTask.getBands()) {
                 Insets ribbonBandInsets = ribbonBand.getInsets();
@@ -828,6 +891,47 @@ public abstract class BasicRibbonUI extends RibbonUI {
         }
     }
 
+    /**
+     * Snapshot of the bands of a single task.
+     */
+    private static class TaskSnapshot {
+        private final BufferedImage image;
+        private final int width;
+        private final int height;
+
+        private TaskSnapshot(BufferedImage image, int width, int height) {
+            this.image = image;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * Band host panel that can show a task snapshot instead of the live bands.
+     */
+    @SuppressWarnings("serial")
+    private static class BandHostPanel extends JPanel {
+        private BufferedImage snapshot;
+
+        private boolean isShowingSnapshot() {
+            return (this.snapshot != null);
+        }
+
+        private void setSnapshot(BufferedImage snapshot) {
+            this.snapshot = snapshot;
+            this.repaint();
+        }
+
+        @Override
+        protected void paintChildren(Graphics g) {
+            if (this.snapshot != null) {
+                NeonCortex.drawImage(g, this.snapshot, 0, 0);
+                return;
+            }
+            super.paintChildren(g);
+        }
+    }
+
     protected abstract class TaskToggleButtonsHostPanel extends JPanel {
         private static final String IS_SQUISHED =
                 "flamingo.internal.ribbon.taskToggleButtonsHostPanel.isSquished";
@@ -1086,6 +1190,9 @@ public abstract class BasicRibbonUI extends RibbonUI {
 
     @SuppressWarnings("unchecked")
     private void syncRibbonState() {
+        this.taskSnapshots.clear();
+        this.scheduleTaskSnapshots();
+
         // remove all existing ribbon bands
         JPanel bandHostPanel = this.bandScrollablePanel.getView();
         bandHostPanel.removeAll();
@@ -1217,6 +1324,150 @@ public abstract class BasicRibbonUI extends RibbonUI {
         this.ribbon.repaint();
     }
 
+    /**
+     * Returns the indication whether task snapshots can be rendered and shown for the
+     * current state of the ribbon.
+     */
+    private boolean isShowingTaskSnapshots() {
+        return this.ribbon.isTaskSnapshotsEnabled() && !this.ribbon.isMinimized()
+                && (this.bandScrollablePanel.getParent() == this.ribbon)
+                && this.ribbon.isShowing();
+    }
+
+    /**
+     * Starts a new idle pass that (re)renders the snapshots of all the shown tasks once the
+     * ribbon is idle. The snapshot of the selected task is rendered first.
+     */
+    private void scheduleTaskSnapshots() {
+        if (this.taskSnapshotTimer == null) {
+            return;
+        }
+        this.pendingTaskSnapshots.clear();
+        if (!this.ribbon.isTaskSnapshotsEnabled()) {
+            this.taskSnapshotTimer.stop();
+            return;
+        }
+        RibbonTask selectedTask = this.ribbon.getSelectedTask();
+        if (selectedTask != null) {
+            this.pendingTaskSnapshots.add(selectedTask);
+        }
+        for (RibbonTask task : this.getCurrentlyShownRibbonTasks()) {
+            if (task != selectedTask) {
+                this.pendingTaskSnapshots.add(task);
+            }
+        }
+        this.taskSnapshotTimer.setInitialDelay(SNAPSHOT_IDLE_DELAY);
+        this.taskSnapshotTimer.restart();
+    }
+
+    /**
+     * Renders the snapshot of the next pending task, and schedules the one after it.
+     */
+    private void renderPendingTaskSnapshot() {
+        if (!this.isShowingTaskSnapshots()) {
+            this.pendingTaskSnapshots.clear();
+            return;
+        }
+        RibbonTask task = this.pendingTaskSnapshots.poll();
+        if (task == null) {
+            return;
+        }
+        if (this.getCurrentlyShownRibbonTasks().contains(task)) {
+            this.renderTaskSnapshot(task);
+        }
+        if (!this.pendingTaskSnapshots.isEmpty()) {
+            this.taskSnapshotTimer.setInitialDelay(SNAPSHOT_STEP_DELAY);
+            this.taskSnapshotTimer.restart();
+        }
+    }
+
+    /**
+     * Lays out the bands of the specified task (unless it is the selected task that is already
+     * laid out) at the current size of the band host panel, and renders them into a snapshot.
+     *
+     * @param task Task.
+     */
+    private void renderTaskSnapshot(RibbonTask task) {
+        BandHostPanel bandHostPanel = (BandHostPanel) this.bandScrollablePanel.getView();
+        int width = bandHostPanel.getWidth();
+        int height = bandHostPanel.getHeight();
+        if ((width <= 0) || (height <= 0) || bandHostPanel.isShowingSnapshot()) {
+            return;
+        }
+        LayoutManager layout = bandHostPanel.getLayout();
+        boolean isHiddenTask = (task != this.ribbon.getSelectedTask());
+        List<AbstractRibbonBand> bands = task.getBands();
+        Rectangle[] hiddenBandBounds = null;
+        RibbonBandResizePolicy[] hiddenBandPolicies = null;
+        if (isHiddenTask) {
+            if (!(layout instanceof BandHostPanelLayout)) {
+                return;
+            }
+            // Remember the state of the hidden bands, to be restored after the rendering
+            hiddenBandBounds = new Rectangle[bands.size()];
+            hiddenBandPolicies = new RibbonBandResizePolicy[bands.size()];
+            for (int i = 0; i < bands.size(); i++) {
+                hiddenBandBounds[i] = bands.get(i).getBounds();
+                hiddenBandPolicies[i] = bands.get(i).getCurrentResizePolicy();
+            }
+            ((BandHostPanelLayout) layout).layoutTaskBands(task, width, height);
+            // The hidden bands are not validated as part of the band host panel, so the
+            // control panels and command buttons inside them need to be laid out explicitly
+            for (AbstractRibbonBand band : bands) {
+                band.invalidate();
+                band.validate();
+            }
+        }
+
+        BufferedImage image = NeonCortex.getBlankImage(width, height);
+        Graphics2D g2d = image.createGraphics();
+        NeonCortex.installDesktopHints(g2d, this.ribbon.getFont());
+        for (AbstractRibbonBand band : bands) {
+            Graphics2D bandGraphics = (Graphics2D) g2d.create(band.getX(), band.getY(),
+                    band.getWidth(), band.getHeight());
+            band.paint(bandGraphics);
+            bandGraphics.dispose();
+        }
+        g2d.dispose();
+        this.taskSnapshots.put(task, new TaskSnapshot(image, width, height));
+
+        if (isHiddenTask) {
+            for (int i = 0; i < bands.size(); i++) {
+                AbstractRibbonBand band = bands.get(i);
+                band.setCurrentResizePolicy(hiddenBandPolicies[i]);
+                band.setBounds(hiddenBandBounds[i]);
+                // Lay out the band again when its task is selected
+                band.invalidate();
+            }
+        }
+    }
+
+    /**
+     * Shows the snapshot of the newly selected task (if there is one that matches the current
+     * size of the band host panel), and schedules the live bands to replace it on the next
+     * frame.
+     */
+    private void showTaskSnapshot() {
+        if (!this.isShowingTaskSnapshots()) {
+            return;
+        }
+        BandHostPanel bandHostPanel = (BandHostPanel) this.bandScrollablePanel.getView();
+        TaskSnapshot snapshot = this.taskSnapshots.get(this.ribbon.getSelectedTask());
+        if ((snapshot != null) && (snapshot.width == bandHostPanel.getWidth())
+                && (snapshot.height == bandHostPanel.getHeight())) {
+            bandHostPanel.setSnapshot(snapshot.image);
+            // This runs after the pending revalidation and repaint of the task switch, which
+            // show the snapshot. Only then lay out and show the live bands.
+            SwingUtilities.invokeLater(() -> {
+                bandHostPanel.setSnapshot(null);
+                bandHostPanel.revalidate();
+                bandHostPanel.doLayout();
+                bandHostPanel.repaint();
+            });
+        }
+        this.scheduleTaskSnapshots();
+    }
+
     private void processTaskSelection(RibbonTask task, JRibbonTaskToggleButton taskToggleButton) {
         scrollAndRevealTaskToggleButton(taskToggleButton);
 
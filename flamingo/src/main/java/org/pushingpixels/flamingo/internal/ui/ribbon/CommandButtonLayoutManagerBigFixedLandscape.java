@@ -54,7 +54,7 @@ public class CommandButtonLayoutManagerBigFixedLandscape implements
 		int bx = borderInsets.left + borderInsets.right;
 		int by = borderInsets.top + borderInsets.bottom;
 		FontMetrics fm = SubstanceMetricsUtilities.getFontMetrics(commandButton.getFont());
-		JSeparator jsep = new JSeparator(JSeparator.VERTICAL);
+		Dimension separatorSize = FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL);
 		int layoutVGap = FlamingoUtilities.getVLayoutGap(commandButton);
 
 		// icon, label
@@ -63,7 +63,7 @@ public class CommandButtonLayoutManagerBigFixedLandscape implements
 		int widthFull = Math.max(this.getPreferredIconSize(commandButton), fillTitleWidth);
 
 		int heightFull = by + this.getPreferredIconSize(commandButton) + layoutVGap
-				+ jsep.getPreferredSize().width;
+				+ separatorSize.width;
 		if (commandButton.getText() != null) {
 			heightFull += fm.getHeight();
 		}
@@ -127,7 +127,7 @@ public class CommandButtonLayoutManagerBigFixedLandscape implements
 			result.popupClickArea.height = height;
 		}
 
-		JSeparator jsep = new JSeparator(JSeparator.VERTICAL);
+		Dimension separatorSize = FlamingoUtilities.getSeparatorPreferredSize(JSeparator.VERTICAL);
 		// int layoutGap = FlamingoUtilities.getLayoutGap(commandButton);
 
 		ResizableIcon buttonIcon = commandButton.getIcon();
@@ -143,7 +143,7 @@ public class CommandButtonLayoutManagerBigFixedLandscape implements
 		result.iconRect.height = buttonIcon.getIconHeight();
 		y += buttonIcon.getIconHeight();
 
-		y += jsep.getPreferredSize().width;
+		y += separatorSize.width;
 
 		TextLayoutInfo lineLayoutInfo = new TextLayoutInfo();
 		lineLayoutInfo.text = commandButton.getText();
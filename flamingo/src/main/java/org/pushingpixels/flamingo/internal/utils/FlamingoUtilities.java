@@ -61,6 +61,43 @@ public class FlamingoUtilities {
     public static final String TASKBAR_COMMAND =
             "radiance.flamingo.internal.ribbon.taskbarCommand";
 
+    /**
+     * The look-and-feel and the control font size that {@link #separatorSizes} have been
+     * computed for.
+     */
+    private static LookAndFeel separatorSizesLookAndFeel;
+    private static int separatorSizesFontSize;
+
+    /**
+     * Preferred sizes of horizontal (index 0) and vertical (index 1) separators.
+     */
+    private static final Dimension[] separatorSizes = new Dimension[2];
+
+    /**
+     * Returns the preferred size of a separator in the specified orientation. Command button
+     * layout managers query this on every layout, and creating a throwaway {@link JSeparator}
+     * (with its UI delegate) each time is expensive. The sizes are recomputed when the
+     * look-and-feel or the control font size changes.
+     *
+     * @param orientation {@link JSeparator#HORIZONTAL} or {@link JSeparator#VERTICAL}.
+     * @return The preferred size of a separator in the specified orientation.
+     */
+    public static synchronized Dimension getSeparatorPreferredSize(int orientation) {
+        LookAndFeel lookAndFeel = UIManager.getLookAndFeel();
+        int fontSize = SubstanceSizeUtils.getControlFontSize();
+        if ((lookAndFeel != separatorSizesLookAndFeel) || (fontSize != separatorSizesFontSize)) {
+            separatorSizes[0] = null;
+            separatorSizes[1] = null;
+            separatorSizesLookAndFeel = lookAndFeel;
+            separatorSizesFontSize = fontSize;
+        }
+        int index = (orientation == JSeparator.VERTICAL) ? 1 : 0;
+        if (separatorSizes[index] == null) {
+            separatorSizes[index] = new JSeparator(orientation).getPreferredSize();
+        }
+        return new Dimension(separatorSizes[index]);
+    }
+
     public static int getHLayoutGap(AbstractCommandButton commandButton) {
         Font font = commandButton.getFont();
         return (int) Math.ceil(commandButton.getHGapScaleFactor() * (font.getSize() - 4) / 4);
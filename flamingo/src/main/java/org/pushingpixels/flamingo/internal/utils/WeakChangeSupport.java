@@ -33,57 +33,19 @@ import org.pushingpixels.flamingo.api.common.model.ChangeAware;
 
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
-import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.List;
 
 public class WeakChangeSupport {
-    // The weak-reference wrapper is not available for usage outside of this class. Otherwise
-    // it's hard to enforce the specific pattern usage that the call site holds a strong reference
-    // to the original listener, and we are wrapping it as a weak reference here.
-    private static class WeakChangeListener implements ChangeListener {
-        private WeakReference<ChangeAware> sourceRef;
-        private WeakReference<ChangeListener> listenerRef;
-
-        public WeakChangeListener(ChangeAware source, ChangeListener listener) {
-            if (listener == null) {
-                throw new IllegalArgumentException("Cannot wrap a null listener");
-            }
-            if (source != null) {
-                this.sourceRef = new WeakReference<>(source);
-            }
-            this.listenerRef = new WeakReference<>(listener);
-        }
-
-        public ChangeListener getOriginalChangeListener() {
-            if (this.listenerRef == null) {
-                return null;
-            }
-            return this.listenerRef.get();
-        }
-
-        @Override
-        public void stateChanged(ChangeEvent e) {
-            ChangeListener originalListener = this.listenerRef.get();
-            if (originalListener != null) {
-                originalListener.stateChanged(e);
-            } else {
-                // the original is gone - unregister explicitly
-                if (this.sourceRef != null) {
-                    ChangeAware source = this.sourceRef.get();
-                    if (source != null) {
-                        source.removeChangeListener(this);
-                    }
-                }
-                this.listenerRef = null;
-                this.sourceRef = null;
-            }
-        }
-    }
-
-    private final List<WeakChangeListener> listenerList = new ArrayList<>();
+    // The listeners are held weakly, so the call site needs to hold a strong reference
+    // to the original listener for as long as it needs to be notified
+    private final WeakListenerList<ChangeListener> listenerList = new WeakListenerList<>();
     private final ChangeAware source;
 
+    /**
+     * Only one change event is needed per support instance since the event's only state is
+     * the source property.
+     */
+    private ChangeEvent changeEvent;
+
     public WeakChangeSupport(ChangeAware source) {
         this.source = source;
     }
@@ -95,10 +57,10 @@ public class WeakChangeSupport {
      * @see #removeChangeListener(ChangeListener)
      */
     public void addChangeListener(ChangeListener l) {
-        if (l instanceof WeakChangeListener) {
-            throw new IllegalArgumentException("Don't pass an explicitly wrapped listener");
+        if (l == null) {
+            throw new IllegalArgumentException("Cannot add a null listener");
         }
-        this.listenerList.add(new WeakChangeListener(this.source, l));
+        this.listenerList.add(l);
     }
 
     /**
@@ -108,29 +70,56 @@ public class WeakChangeSupport {
      * @see #addChangeListener(ChangeListener)
      */
     public void removeChangeListener(ChangeListener l) {
-        if (l instanceof WeakChangeListener) {
-            this.listenerList.remove(l);
-            return;
-        }
-
         // In addition to removing the specified change listener, this will also remove all
-        // wrappers around listeners that have been reclaimed
-        for (int i = this.listenerList.size() - 1; i >= 0; i--) {
-            WeakChangeListener current = this.listenerList.get(i);
-            ChangeListener original = current.getOriginalChangeListener();
-            if ((original == null) || (original == l)) {
-                this.listenerList.remove(i);
-            }
-        }
+        // entries of listeners that have been reclaimed
+        this.listenerList.remove(l);
     }
 
     /**
      * Notifies all registered listeners that the state of the tracked source has changed.
      */
     public void fireStateChanged() {
-        ChangeEvent event = new ChangeEvent(this);
-        for (int i = this.listenerList.size() - 1; i >= 0; i--) {
-            this.listenerList.get(i).stateChanged(event);
+        WeakListenerList.ListenerRef<ChangeListener>[] listeners = this.listenerList.getSnapshot();
+        if (listeners.length == 0) {
+            return;
+        }
+        if (this.changeEvent == null) {
+            this.changeEvent = new ChangeEvent(this.source);
         }
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            ChangeListener listener = listeners[i].get();
+            if (listener != null) {
+                listener.stateChanged(this.changeEvent);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of registered listeners that have not been reclaimed.
+     *
+     * @return The number of registered listeners that have not been reclaimed.
+     */
+    public int getLiveListenerCount() {
+        return this.listenerList.getLiveCount();
+    }
+
+    /**
+     * Returns the number of registered listeners that have been reclaimed, but not yet
+     * expunged from this support.
+     *
+     * @return The number of reclaimed listeners that have not been expunged yet.
+     */
+    public int getDeadListenerCount() {
+        return this.listenerList.getDeadCount();
+    }
+
+    /**
+     * Returns the total number of reclaimed listeners that have been expunged from this
+     * support.
+     *
+     * @return The total number of expunged listeners.
+     */
+    public long getExpungedListenerCount() {
+        return this.listenerList.getExpungedCount();
     }
 }
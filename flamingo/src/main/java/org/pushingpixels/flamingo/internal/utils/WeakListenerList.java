@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.flamingo.internal.utils;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * Registry of weakly referenced listeners. Listeners that have been reclaimed are tracked
+ * with a reference queue and expunged in bulk on the next modification or firing, and the
+ * registered listeners are kept in an array that is replaced on every modification, so that
+ * firing can iterate over it without copying or allocating.
+ *
+ * @param <T> Listener type.
+ */
+final class WeakListenerList<T> {
+    static final class ListenerRef<T> extends WeakReference<T> {
+        private ListenerRef(T listener, ReferenceQueue<? super T> queue) {
+            super(listener, queue);
+        }
+    }
+
+    private static final ListenerRef<?>[] EMPTY = new ListenerRef<?>[0];
+
+    private final ReferenceQueue<T> referenceQueue = new ReferenceQueue<>();
+    private ListenerRef<T>[] snapshot = emptySnapshot();
+    private long expungedCount;
+
+    @SuppressWarnings("unchecked")
+    private static <T> ListenerRef<T>[] emptySnapshot() {
+        return (ListenerRef<T>[]) EMPTY;
+    }
+
+    void add(T listener) {
+        this.expungeStaleEntries();
+        ListenerRef<T>[] current = this.snapshot;
+        ListenerRef<T>[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = new ListenerRef<>(listener, this.referenceQueue);
+        this.snapshot = updated;
+    }
+
+    /**
+     * Removes all the registrations of the specified listener, as well as all the entries of
+     * listeners that have been reclaimed.
+     */
+    void remove(T listener) {
+        this.expungeStaleEntries();
+        this.removeMatching(listener);
+    }
+
+    /**
+     * Returns the current listener entries. The returned array is never modified, and is
+     * replaced on every subsequent registry modification.
+     */
+    ListenerRef<T>[] getSnapshot() {
+        this.expungeStaleEntries();
+        return this.snapshot;
+    }
+
+    void expungeStaleEntries() {
+        // Drain the queue and remove all the reclaimed entries in a single pass
+        boolean hasStaleEntries = false;
+        while (this.referenceQueue.poll() != null) {
+            hasStaleEntries = true;
+        }
+        if (hasStaleEntries) {
+            this.removeMatching(null);
+        }
+    }
+
+    private void removeMatching(T listener) {
+        ListenerRef<T>[] current = this.snapshot;
+        ListenerRef<T>[] updated = null;
+        int count = 0;
+        for (int i = 0; i < current.length; i++) {
+            T original = current[i].get();
+            boolean isStale = (original == null);
+            if (isStale || (original == listener)) {
+                if (updated == null) {
+                    updated = Arrays.copyOf(current, current.length - 1);
+                    count = i;
+                }
+                if (isStale) {
+                    this.expungedCount++;
+                }
+            } else if (updated != null) {
+                updated[count++] = current[i];
+            }
+        }
+        if (updated != null) {
+            this.snapshot = (count == 0) ? emptySnapshot() : Arrays.copyOf(updated, count);
+        }
+    }
+
+    int getLiveCount() {
+        int result = 0;
+        for (ListenerRef<T> entry : this.snapshot) {
+            if (entry.get() != null) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    int getDeadCount() {
+        return this.snapshot.length - this.getLiveCount();
+    }
+
+    long getExpungedCount() {
+        return this.expungedCount;
+    }
+}
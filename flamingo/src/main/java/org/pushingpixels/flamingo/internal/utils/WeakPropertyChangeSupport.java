@@ -33,54 +33,11 @@ import org.pushingpixels.flamingo.api.common.model.PropertyChangeAware;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.List;
 
 public class WeakPropertyChangeSupport {
-    // The weak-reference wrapper is not available for usage outside of this class. Otherwise
-    // it's hard to enforce the specific pattern usage that the call site holds a strong reference
-    // to the original listener, and we are wrapping it as a weak reference here.
-    private static class WeakPropertyChangeListener implements PropertyChangeListener {
-        private WeakReference<PropertyChangeAware> sourceRef;
-        private WeakReference<PropertyChangeListener> listenerRef;
-
-        public WeakPropertyChangeListener(PropertyChangeAware source, PropertyChangeListener listener) {
-            if (source == null) {
-                throw new IllegalArgumentException("Cannot wrap a null source");
-            }
-            if (listener == null) {
-                throw new IllegalArgumentException("Cannot wrap a null listener");
-            }
-            this.sourceRef = new WeakReference<>(source);
-            this.listenerRef = new WeakReference<>(listener);
-        }
-
-        public PropertyChangeListener getOriginalPropertyChangeListener() {
-            if (this.listenerRef == null) {
-                return null;
-            }
-            return this.listenerRef.get();
-        }
-
-        @Override
-        public void propertyChange(PropertyChangeEvent evt) {
-            PropertyChangeListener originalListener = this.listenerRef.get();
-            if (originalListener != null) {
-                originalListener.propertyChange(evt);
-            } else {
-                // the original is gone - unregister explicitly
-                PropertyChangeAware source = this.sourceRef.get();
-                if (source != null) {
-                    source.removePropertyChangeListener(this);
-                }
-                this.listenerRef = null;
-                this.sourceRef = null;
-            }
-        }
-    }
-
-    private final List<WeakPropertyChangeListener> listenerList = new ArrayList<>();
+    // The listeners are held weakly, so the call site needs to hold a strong reference
+    // to the original listener for as long as it needs to be notified
+    private final WeakListenerList<PropertyChangeListener> listenerList = new WeakListenerList<>();
     private final PropertyChangeAware source;
 
     public WeakPropertyChangeSupport(PropertyChangeAware source) {
@@ -94,10 +51,10 @@ public class WeakPropertyChangeSupport {
      * @see #removePropertyChangeListener(PropertyChangeListener)
      */
     public void addPropertyChangeListener(PropertyChangeListener l) {
-        if (l instanceof WeakPropertyChangeListener) {
-            throw new IllegalArgumentException("Don't pass an explicitly wrapped listener");
+        if (l == null) {
+            throw new IllegalArgumentException("Cannot add a null listener");
         }
-        this.listenerList.add(new WeakPropertyChangeListener(this.source, l));
+        this.listenerList.add(l);
     }
 
     /**
@@ -107,29 +64,55 @@ public class WeakPropertyChangeSupport {
      * @see #addPropertyChangeListener(PropertyChangeListener)
      */
     public void removePropertyChangeListener(PropertyChangeListener l) {
-        if (l instanceof WeakPropertyChangeListener) {
-            this.listenerList.remove(l);
-            return;
-        }
-
-        // In addition to removing the specified property change listener, this will also remove all
-        // wrappers around listeners that have been reclaimed
-        for (int i = this.listenerList.size() - 1; i >= 0; i--) {
-            WeakPropertyChangeListener current = this.listenerList.get(i);
-            PropertyChangeListener original = current.getOriginalPropertyChangeListener();
-            if ((original == null) || (original == l)) {
-                this.listenerList.remove(i);
-            }
-        }
+        // In addition to removing the specified property change listener, this will also remove
+        // all entries of listeners that have been reclaimed
+        this.listenerList.remove(l);
     }
 
     /**
      * Notifies all registered listeners that a specific property of the tracked source has changed.
      */
     public void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+        WeakListenerList.ListenerRef<PropertyChangeListener>[] listeners =
+                this.listenerList.getSnapshot();
+        if (listeners.length == 0) {
+            return;
+        }
         PropertyChangeEvent event = new PropertyChangeEvent(this.source, propertyName, oldValue, newValue);
-        for (int i = this.listenerList.size() - 1; i >= 0; i--) {
-            this.listenerList.get(i).propertyChange(event);
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            PropertyChangeListener listener = listeners[i].get();
+            if (listener != null) {
+                listener.propertyChange(event);
+            }
         }
     }
+
+    /**
+     * Returns the number of registered listeners that have not been reclaimed.
+     *
+     * @return The number of registered listeners that have not been reclaimed.
+     */
+    public int getLiveListenerCount() {
+        return this.listenerList.getLiveCount();
+    }
+
+    /**
+     * Returns the number of registered listeners that have been reclaimed, but not yet
+     * expunged from this support.
+     *
+     * @return The number of reclaimed listeners that have not been expunged yet.
+     */
+    public int getDeadListenerCount() {
+        return this.listenerList.getDeadCount();
+    }
+
+    /**
+     * Returns the total number of reclaimed listeners that have been expunged from this
+     * support.
+     *
+     * @return The total number of expunged listeners.
+     */
+    public long getExpungedListenerCount() {
+        return this.listenerList.getExpungedCount();
+    }
 }
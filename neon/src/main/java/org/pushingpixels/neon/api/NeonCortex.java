@@ -254,6 +254,9 @@ public class NeonCortex {
     public static BufferedImage getBlankImage(int width, int height) {
         if (UIUtil.getScaleFactor() > 1.0) {
             return JBHiDPIScaledImage.create(width, height, BufferedImage.TYPE_INT_ARGB);
+        } else if (GraphicsEnvironment.isHeadless()) {
+            // No screen device to be compatible with in headless mode
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         } else {
             GraphicsEnvironment e = GraphicsEnvironment.getLocalGraphicsEnvironment();
             GraphicsDevice d = e.getDefaultScreenDevice();
@@ -272,6 +275,9 @@ public class NeonCortex {
     public static BufferedImage getBlankUnscaledImage(int width, int height) {
         if (UIUtil.getScaleFactor() > 1.0) {
             return JBHiDPIScaledImage.createUnscaled(width, height, BufferedImage.TYPE_INT_ARGB);
+        } else if (GraphicsEnvironment.isHeadless()) {
+            // No screen device to be compatible with in headless mode
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         } else {
             GraphicsEnvironment e = GraphicsEnvironment.getLocalGraphicsEnvironment();
             GraphicsDevice d = e.getDefaultScreenDevice();
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.neon.api.filter;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Base class for filters that compute every pixel of the destination image from the pixel at
+ * the same location in the source image. Subclasses only implement
+ * {@link #filterPixels(int[], int, int)}, and this class takes care of moving the pixels
+ * between the images:
+ *
+ * <ul>
+ * <li>The pixels are processed in bands of rows, using a band buffer instead of a copy of the
+ * whole image. The pixels of <code>TYPE_INT_ARGB</code> and <code>TYPE_INT_RGB</code> images
+ * are copied straight from and to their rasters, without unmanaging the images.</li>
+ * <li>The source and the destination can be the same image, in which case the image is
+ * filtered in place.</li>
+ * <li>The bands of large images are processed in parallel on the common fork-join pool.</li>
+ * </ul>
+ *
+ * <p>Pixel filters can be fused with {@link #andThen(NeonPixelFilter)}. The resulting filter
+ * runs all the fused filters on every band while it is in the band buffer, making a single
+ * pass over the image.</p>
+ */
+public abstract class NeonPixelFilter extends NeonAbstractFilter {
+    /**
+     * Images with at least this many pixels are filtered in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 128 * 128;
+
+    /**
+     * Minimum number of rows in a single band.
+     */
+    private static final int MIN_BAND_ROWS = 16;
+
+    /**
+     * Maximum number of pixels in a single band buffer.
+     */
+    private static final int MAX_BAND_PIXELS = 64 * 1024;
+
+    /**
+     * Filters the specified range of pixels in place. The pixels are in the non-premultiplied
+     * ARGB format. Implementations must only depend on the value of each pixel, and not on
+     * its position or on the values of the other pixels, and must be safe to call from
+     * multiple threads at the same time.
+     *
+     * @param pixels Pixels to filter.
+     * @param offset Index of the first pixel to filter.
+     * @param length Number of pixels to filter.
+     */
+    protected abstract void filterPixels(int[] pixels, int offset, int length);
+
+    /**
+     * Returns a filter that applies this filter, and then the specified filter, in a single
+     * pass over the image.
+     *
+     * @param next Filter to apply after this filter.
+     * @return Fused filter.
+     */
+    public NeonPixelFilter andThen(NeonPixelFilter next) {
+        return chain(this, next);
+    }
+
+    /**
+     * Returns a filter that applies all the specified filters in order, in a single pass over
+     * the image.
+     *
+     * @param filters Filters to apply.
+     * @return Fused filter.
+     */
+    public static NeonPixelFilter chain(NeonPixelFilter... filters) {
+        if (filters.length == 0) {
+            throw new IllegalArgumentException("Must have at least one filter");
+        }
+        if (filters.length == 1) {
+            return filters[0];
+        }
+        return new FusedPixelFilter(filters);
+    }
+
+    @Override
+    public final BufferedImage filter(BufferedImage src, BufferedImage dst) {
+        if (dst == null) {
+            dst = createCompatibleDestImage(src, null);
+        }
+
+        int width = src.getWidth();
+        int height = src.getHeight();
+        if ((width == 0) || (height == 0)) {
+            return dst;
+        }
+
+        int bandRows = Math.max(1, Math.min(height, MAX_BAND_PIXELS / width));
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if ((parallelism > 1) && (width * height >= PARALLEL_THRESHOLD)) {
+            // Make sure that there are enough bands to keep all the workers busy
+            bandRows = Math.min(bandRows,
+                    Math.max(MIN_BAND_ROWS, height / (4 * parallelism)));
+            int bandCount = (height + bandRows - 1) / bandRows;
+            final int rowsPerBand = bandRows;
+            final BufferedImage target = dst;
+            IntStream.range(0, bandCount).parallel().forEach((int band) -> {
+                int bandStart = band * rowsPerBand;
+                int rows = Math.min(rowsPerBand, height - bandStart);
+                this.filterBand(src, target, bandStart, rows, new int[rows * width]);
+            });
+        } else {
+            int[] buffer = new int[bandRows * width];
+            for (int bandStart = 0; bandStart < height; bandStart += bandRows) {
+                int rows = Math.min(bandRows, height - bandStart);
+                this.filterBand(src, dst, bandStart, rows, buffer);
+            }
+        }
+
+        return dst;
+    }
+
+    private void filterBand(BufferedImage src, BufferedImage dst, int y, int rows,
+            int[] buffer) {
+        int width = src.getWidth();
+        int length = width * rows;
+
+        if (isIntRaster(src)) {
+            Raster raster = src.getRaster();
+            raster.getDataElements(0, y, width, rows, buffer);
+        } else {
+            // Unmanages the image
+            src.getRGB(0, y, width, rows, buffer, 0, width);
+        }
+
+        this.filterPixels(buffer, 0, length);
+
+        if (isIntRaster(dst)) {
+            WritableRaster raster = dst.getRaster();
+            raster.setDataElements(0, y, width, rows, buffer);
+        } else {
+            // Unmanages the image
+            dst.setRGB(0, y, width, rows, buffer, 0, width);
+        }
+    }
+
+    private static boolean isIntRaster(BufferedImage image) {
+        int imageType = image.getType();
+        return (imageType == BufferedImage.TYPE_INT_ARGB)
+                || (imageType == BufferedImage.TYPE_INT_RGB);
+    }
+
+    private static class FusedPixelFilter extends NeonPixelFilter {
+        private final NeonPixelFilter[] filters;
+
+        private FusedPixelFilter(NeonPixelFilter[] filters) {
+            this.filters = filters.clone();
+        }
+
+        @Override
+        protected void filterPixels(int[] pixels, int offset, int length) {
+            for (NeonPixelFilter filter : this.filters) {
+                filter.filterPixels(pixels, offset, length);
+            }
+        }
+    }
+}
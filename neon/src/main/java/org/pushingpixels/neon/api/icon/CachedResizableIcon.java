@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+package org.pushingpixels.neon.api.icon;
+
+import org.pushingpixels.neon.internal.ColorFilter;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.print.PrinterGraphics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Implementation of {@link ResizableIcon} that paints another icon from a rasterized copy.
+ * The delegate icon is rasterized once per combination of icon size, scale factor of the
+ * target graphics and colorization color. Rasterized copies are shared across all the icons
+ * created by {@link #factory(Factory)} and {@link #factory(Factory, Color)} for the same
+ * delegate factory instance. The delegate factory is expected to create icons with the same
+ * content every time it is called, as is the case for the factories of the icons generated
+ * by the Photon transcoder.
+ *
+ * <p>Painting falls back to the delegate icon when the target graphics has a transformation
+ * that cannot be matched by a rasterized copy, such as rotation, shear, non-uniform or
+ * non-integer scale, or when painting to a printer.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public class CachedResizableIcon implements ResizableIcon {
+    /**
+     * Maximum number of rasterized copies kept for a single delegate factory.
+     */
+    private static final int MAX_CACHED_PER_FACTORY = 16;
+
+    /**
+     * Rasterized copies of icons, keyed by the identity of the delegate factory. Icons of the
+     * same class can have different content (for example, wrapped images), so the icon class
+     * alone cannot be used as the key.
+     */
+    private static final Map<Factory, Map<RasterKey, BufferedImage>> rasters =
+            new WeakHashMap<>();
+
+    /**
+     * The main (vector) icon.
+     */
+    private ResizableIcon delegate;
+
+    /**
+     * Colorization color. Can be <code>null</code>.
+     */
+    private Color colorization;
+
+    /**
+     * Rasterized copies for the factory of the main icon.
+     */
+    private Map<RasterKey, BufferedImage> factoryRasters;
+
+    /**
+     * The last rasterized copy used by this icon, along with the scale factor it was rasterized
+     * for. This allows skipping the shared cache lookup as long as the icon is painted at the
+     * same size and scale.
+     */
+    private BufferedImage lastRaster;
+
+    private int lastRasterScale;
+
+    /**
+     * Creates a new cached icon.
+     *
+     * @param delegate     The main (vector) icon.
+     * @param colorization   Colorization color. Can be <code>null</code>.
+     * @param factoryRasters Rasterized copies shared by the icons of the same delegate factory.
+     */
+    private CachedResizableIcon(ResizableIcon delegate, Color colorization,
+            Map<RasterKey, BufferedImage> factoryRasters) {
+        this.delegate = delegate;
+        this.colorization = colorization;
+        this.factoryRasters = factoryRasters;
+    }
+
+    @Override
+    public int getIconHeight() {
+        return delegate.getIconHeight();
+    }
+
+    @Override
+    public int getIconWidth() {
+        return delegate.getIconWidth();
+    }
+
+    @Override
+    public void setDimension(Dimension newDimension) {
+        delegate.setDimension(newDimension);
+        this.lastRaster = null;
+    }
+
+    @Override
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        int width = this.getIconWidth();
+        int height = this.getIconHeight();
+        if ((width <= 0) || (height <= 0)) {
+            return;
+        }
+
+        Graphics2D g2d = (Graphics2D) g;
+        int scale = getRasterScale(g2d, x, y);
+        if (scale <= 0) {
+            this.paintVector(c, g, x, y);
+            return;
+        }
+
+        if ((this.lastRaster == null) || (this.lastRasterScale != scale)) {
+            this.lastRaster = this.getRaster(width, height, scale);
+            this.lastRasterScale = scale;
+        }
+        g2d.drawImage(this.lastRaster, x, y, width, height, null);
+    }
+
+    /**
+     * Returns the integer scale factor of the rasterized copy that matches the transformation
+     * of the specified graphics, or 0 if the icon should be painted as vector content.
+     *
+     * @param g Graphics.
+     * @param x X coordinate of the icon.
+     * @param y Y coordinate of the icon.
+     * @return The scale factor of the rasterized copy, or 0 if the rasterized copy cannot be
+     * used.
+     */
+    private static int getRasterScale(Graphics2D g, int x, int y) {
+        if (g instanceof PrinterGraphics) {
+            return 0;
+        }
+        AffineTransform transform = g.getTransform();
+        int type = transform.getType();
+        if ((type & ~(AffineTransform.TYPE_TRANSLATION
+                | AffineTransform.TYPE_UNIFORM_SCALE)) != 0) {
+            return 0;
+        }
+        double scale = transform.getScaleX();
+        if ((scale < 1.0) || (scale != Math.rint(scale))) {
+            return 0;
+        }
+        // A rasterized copy at a fractional device offset would be resampled
+        double deviceX = transform.getTranslateX() + x * scale;
+        double deviceY = transform.getTranslateY() + y * scale;
+        if ((deviceX != Math.rint(deviceX)) || (deviceY != Math.rint(deviceY))) {
+            return 0;
+        }
+        return (int) scale;
+    }
+
+    private BufferedImage getRaster(int width, int height, int scale) {
+        RasterKey key = new RasterKey(width, height, scale, this.colorization);
+        synchronized (this.factoryRasters) {
+            BufferedImage raster = this.factoryRasters.get(key);
+            if (raster != null) {
+                return raster;
+            }
+        }
+
+        BufferedImage raster = new BufferedImage(width * scale, height * scale,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D rasterGraphics = raster.createGraphics();
+        rasterGraphics.scale(scale, scale);
+        this.delegate.paintIcon(null, rasterGraphics, 0, 0);
+        rasterGraphics.dispose();
+        if (this.colorization != null) {
+            raster = new ColorFilter(this.colorization).filter(raster, null);
+        }
+
+        synchronized (this.factoryRasters) {
+            this.factoryRasters.put(key, raster);
+        }
+        return raster;
+    }
+
+    private void paintVector(Component c, Graphics g, int x, int y) {
+        if (this.colorization == null) {
+            this.delegate.paintIcon(c, g, x, y);
+            return;
+        }
+        // Colorization is defined on pixels, so it is applied on a rasterized copy at the
+        // scale of the target graphics
+        this.paintColorized(c, g, x, y);
+    }
+
+    private void paintColorized(Component c, Graphics g, int x, int y) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        AffineTransform transform = g2d.getTransform();
+        double scale = Math.max(1.0, Math.ceil(Math.max(
+                Math.hypot(transform.getScaleX(), transform.getShearY()),
+                Math.hypot(transform.getShearX(), transform.getScaleY()))));
+        int width = this.getIconWidth();
+        int height = this.getIconHeight();
+        BufferedImage flat = new BufferedImage((int) (width * scale), (int) (height * scale),
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D flatGraphics = flat.createGraphics();
+        flatGraphics.scale(scale, scale);
+        this.delegate.paintIcon(c, flatGraphics, 0, 0);
+        flatGraphics.dispose();
+        BufferedImage colorized = new ColorFilter(this.colorization).filter(flat, null);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(colorized, x, y, width, height, null);
+        g2d.dispose();
+    }
+
+    /**
+     * Returns a factory that creates cached versions of the icons returned by the specified
+     * factory.
+     *
+     * @param delegateFactory Factory for the main (vector) icons.
+     * @return Factory that creates cached versions of the icons returned by the specified
+     * factory.
+     */
+    public static Factory factory(Factory delegateFactory) {
+        return factory(delegateFactory, null);
+    }
+
+    /**
+     * Returns a factory that creates cached colorized versions of the icons returned by the
+     * specified factory.
+     *
+     * @param delegateFactory Factory for the main (vector) icons.
+     * @param colorization    Colorization color. Can be <code>null</code>.
+     * @return Factory that creates cached colorized versions of the icons returned by the
+     * specified factory.
+     */
+    public static Factory factory(Factory delegateFactory, Color colorization) {
+        Map<RasterKey, BufferedImage> factoryRasters = getFactoryRasters(delegateFactory);
+        return () -> new CachedResizableIcon(delegateFactory.createNewIcon(), colorization,
+                factoryRasters);
+    }
+
+    private static Map<RasterKey, BufferedImage> getFactoryRasters(Factory delegateFactory) {
+        synchronized (rasters) {
+            return rasters.computeIfAbsent(delegateFactory,
+                    (Factory factory) -> new LinkedHashMap<RasterKey, BufferedImage>(16, 0.75f,
+                            true) {
+                        @Override
+                        protected boolean removeEldestEntry(
+                                Map.Entry<RasterKey, BufferedImage> eldest) {
+                            return size() > MAX_CACHED_PER_FACTORY;
+                        }
+                    });
+        }
+    }
+
+    private static final class RasterKey {
+        private final int width;
+        private final int height;
+        private final int scale;
+        private final Color colorization;
+
+        private RasterKey(int width, int height, int scale, Color colorization) {
+            this.width = width;
+            this.height = height;
+            this.scale = scale;
+            this.colorization = colorization;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof RasterKey)) {
+                return false;
+            }
+            RasterKey other = (RasterKey) obj;
+            return (this.width == other.width) && (this.height == other.height)
+                    && (this.scale == other.scale)
+                    && ((this.colorization == null) ? (other.colorization == null)
+                    : this.colorization.equals(other.colorization));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = this.width;
+            result = 31 * result + this.height;
+            result = 31 * result + this.scale;
+            result = 31 * result + ((this.colorization == null) ? 0 : this.colorization.hashCode());
+            return result;
+        }
+    }
+}
@@ -29,45 +29,32 @@
  */
 package org.pushingpixels.neon.internal;
 
-import org.pushingpixels.neon.api.filter.NeonAbstractFilter;
+import org.pushingpixels.neon.api.filter.NeonPixelFilter;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 
 /**
  * @author Kirill Grouchnikov
  */
-public class ColorFilter extends NeonAbstractFilter {
-	private int color;
+public class ColorFilter extends NeonPixelFilter {
+	private int colorAlpha;
+	private int colorRgb;
 	
 	public ColorFilter(Color color) {
-		this.color = color.getRGB();
+		int rgba = color.getRGB();
+		this.colorAlpha = (rgba >>> 24) & 0xFF;
+		this.colorRgb = rgba & 0x00FFFFFF;
 	}
 
 	@Override
-	public BufferedImage filter(BufferedImage src, BufferedImage dst) {
-		if (dst == null) {
-			dst = createCompatibleDestImage(src, null);
-		}
-
-		int width = src.getWidth();
-		int height = src.getHeight();
-
-		int[] pixels = new int[width * height];
-		getPixels(src, 0, 0, width, height, pixels);
-		
-		int colorAlpha = (this.color >>> 24) & 0xFF;
-		int colorRed = (this.color >>> 16) & 0xFF;
-		int colorGreen = (this.color >>> 8) & 0xFF;
-		int colorBlue = this.color & 0xFF;
-		for (int i = 0; i < pixels.length; i++) {
+	protected void filterPixels(int[] pixels, int offset, int length) {
+		int colorAlpha = this.colorAlpha;
+		int colorRgb = this.colorRgb;
+		for (int i = offset; i < offset + length; i++) {
 			// Multiply source alpha by the alpha in our target color
 			int alpha = ((pixels[i] >>> 24) & 0xFF) * colorAlpha / 256;
 			// and use R/G/B from our target color
-			pixels[i] = alpha << 24 | colorRed << 16 | colorGreen << 8 | colorBlue;
+			pixels[i] = alpha << 24 | colorRgb;
 		}
-		setPixels(dst, 0, 0, width, height, pixels);
-
-		return dst;
 	}
 }
@@ -193,7 +193,11 @@ public final class LookUtils {
      * @return true if the screen resolution is smaller than 120 dpi
      */
     private static boolean isLowResolution() {
-        return Toolkit.getDefaultToolkit().getScreenResolution() < 120;
+        try {
+            return Toolkit.getDefaultToolkit().getScreenResolution() < 120;
+        } catch (HeadlessException e) {
+            return true;
+        }
     }
 
     private static boolean startsWith(String str, String prefix) {
@@ -70,5 +70,11 @@ public interface LanguageRenderer {
 
     String endMethod();
 
+    String startStaticMethod(String methodName, String returnTypeName, MethodArgument... arguments);
+
+    String getStaticFieldDefinition(String typeName, String fieldName, String initializer);
+
+    String getNullableVariableDefinition(String variableTypeName, String variableName);
+
     String getPrimitiveTypeFor(Class<?> clazz);
 }
@@ -45,6 +45,7 @@ import java.awt.image.*;
 import java.io.*;
 import java.util.List;
 import java.util.*;
+import java.util.regex.Pattern;
 
 /**
  * SVG to Java2D transcoder.
@@ -79,12 +80,58 @@ abstract class SvgBaseTranscoder {
      */
     private String packageName;
 
+    /**
+     * If <code>true</code>, all shapes, paints, strokes, composites and transformations are
+     * emitted as static fields that are created once when the generated class is loaded.
+     */
+    private boolean staticGeometry;
+
+    /**
+     * Print writer for the static fields and the static shape factory methods.
+     */
+    private PrintWriter staticCodeWriter;
+
+    /**
+     * Maps the creation code of each static field to the name of that field, so that
+     * identical shapes, paints and transformations are shared within the generated class.
+     */
+    private Map<String, String> staticFields;
+
+    /**
+     * In the static geometry mode, the transformation of the node that is being transcoded,
+     * relative to the root node.
+     */
+    private AffineTransform staticTransform;
+
+    /**
+     * In the static geometry mode, the name of the static composite that was last set on the
+     * graphics context by the transcoded code, or <code>null</code> if none was set yet.
+     */
+    private String currentStaticComposite;
+
+    /**
+     * In the static geometry mode, the name of the static transformation that was last applied
+     * on top of the base transformation of the graphics context, or <code>""</code> for the base
+     * transformation itself that the graphics context has when the painting starts.
+     */
+    private String currentStaticTransform;
+
     private final static String TOKEN_PACKAGE = "TOKEN_PACKAGE";
 
     private final static String TOKEN_CLASSNAME = "TOKEN_CLASSNAME";
 
+    private final static String TOKEN_RASTER_IMPORTS = "TOKEN_RASTER_IMPORTS";
+
     private final static String TOKEN_RASTER_CODE = "TOKEN_RASTER_CODE";
 
+    /**
+     * Imports of the classes that are only used by the code that decodes embedded raster images.
+     */
+    private final static String[] RASTER_IMPORTS = { "java.awt.image.BufferedImage", "java.io.*",
+            "java.lang.ref.WeakReference", "java.util.Base64", "javax.imageio.ImageIO" };
+
+    private final static String TOKEN_STATIC_CODE = "TOKEN_STATIC_CODE";
+
     private final static String TOKEN_PAINTING_CODE = "TOKEN_PAINTING_CODE";
 
     private final static String TOKEN_PAINTING_INVOCATIONS = "TOKEN_PAINTING_INVOCATIONS";
@@ -162,6 +209,20 @@ abstract class SvgBaseTranscoder {
         this.packageName = packageName;
     }
 
+    /**
+     * Configures the transcoder to emit all shapes, paints, strokes, composites and
+     * transformations as static fields. The geometry is created once when the generated class is
+     * loaded, identity transformations are skipped, and the generated painting code does not
+     * allocate or mutate any state. This requires a template that has the
+     * <code>TOKEN_STATIC_CODE</code> placeholder, such as
+     * <code>SvgTranscoderTemplateResizableStatic.templ</code>.
+     *
+     * @param staticGeometry If <code>true</code>, the transcoded code uses static geometry.
+     */
+    public void setStaticGeometry(boolean staticGeometry) {
+        this.staticGeometry = staticGeometry;
+    }
+
     /**
      * Sets the listener.
      *
@@ -217,12 +278,40 @@ abstract class SvgBaseTranscoder {
         rasterPrintWriter.close();
 
         String rasterCode = new String(rasterCodeStream.toByteArray());
-        templateString = templateString.replaceAll(TOKEN_RASTER_CODE, rasterCode);
+        if (this.staticGeometry) {
+            // Only import the classes needed to decode raster images when there are any
+            StringBuilder rasterImports = new StringBuilder();
+            if (!rasterCode.trim().isEmpty()) {
+                for (String rasterImport : RASTER_IMPORTS) {
+                    rasterImports.append("import " + rasterImport
+                            + languageRenderer.getStatementEnd() + "\n");
+                }
+            }
+            templateString = replaceIndented(templateString, TOKEN_RASTER_IMPORTS,
+                    rasterImports.toString());
+            templateString = replaceIndented(templateString, TOKEN_RASTER_CODE, rasterCode);
+        } else {
+            templateString = templateString.replaceAll(TOKEN_RASTER_CODE, rasterCode);
+        }
 
         // Pass 2 - transcode the rest of the content
+        ByteArrayOutputStream staticCodeStream = new ByteArrayOutputStream();
+        this.staticCodeWriter = new PrintWriter(staticCodeStream);
+        this.staticFields = new HashMap<>();
+        this.staticTransform = new AffineTransform();
+        this.currentStaticComposite = null;
+        this.currentStaticTransform = "";
         this.printWriterManager = new PrintWriterManager();
         transcodeGraphicsNode(gvtRoot, "");
         this.printWriterManager.close();
+        this.staticCodeWriter.close();
+
+        String staticCode = new String(staticCodeStream.toByteArray());
+        if (this.staticGeometry) {
+            templateString = replaceIndented(templateString, TOKEN_STATIC_CODE, staticCode);
+        } else {
+            templateString = templateString.replace(TOKEN_STATIC_CODE, staticCode);
+        }
 
         List<ByteArrayOutputStream> paintingCodeStreams = this.printWriterManager.getStreamList();
         int streamCount = paintingCodeStreams.size();
@@ -230,22 +319,54 @@ abstract class SvgBaseTranscoder {
         for (int i = 0; i < streamCount; i++) {
             ByteArrayOutputStream currentPaintingCodeStream = paintingCodeStreams.get(i);
             String paintingCode = new String(currentPaintingCodeStream.toByteArray());
-            String paintingCodeMethod = languageRenderer.startMethod("_paint" + i,
+            if (this.staticGeometry) {
+                // Painting state is kept in local variables so that painting is re-entrant.
+                // Only declare the locals that this painting method actually uses.
+                String localDefinitions = "";
+                String[][] locals = { { "Shape", "shape" }, { "Paint", "paint" },
+                        { "Stroke", "stroke" }, { "Shape", "clip" } };
+                for (String[] local : locals) {
+                    if (usesVariable(paintingCode, local[1])) {
+                        localDefinitions += languageRenderer.getNullableVariableDefinition(
+                                local[0], local[1]) + "\n";
+                    }
+                }
+                paintingCode = localDefinitions + paintingCode.trim();
+            }
+            LanguageRenderer.MethodArgument[] paintingCodeArguments = this.staticGeometry
+                    ? new LanguageRenderer.MethodArgument[] {
+                    new LanguageRenderer.MethodArgument("g", "Graphics2D"),
+                    new LanguageRenderer.MethodArgument("origAlpha", languageRenderer.getPrimitiveTypeFor(float.class)),
+                    new LanguageRenderer.MethodArgument("base", "AffineTransform") }
+                    : new LanguageRenderer.MethodArgument[] {
                     new LanguageRenderer.MethodArgument("g", "Graphics2D"),
-                    new LanguageRenderer.MethodArgument("origAlpha", languageRenderer.getPrimitiveTypeFor(float.class)))
+                    new LanguageRenderer.MethodArgument("origAlpha", languageRenderer.getPrimitiveTypeFor(float.class)) };
+            String paintingCodeMethod = languageRenderer.startMethod("_paint" + i, paintingCodeArguments)
                     + "\n" + paintingCode + "\n" + languageRenderer.endMethod();
             combinedPaintingCode.append(paintingCodeMethod);
             combinedPaintingCode.append("\n\n");
         }
-        templateString = templateString.replaceAll(TOKEN_PAINTING_CODE, combinedPaintingCode.toString());
+        if (this.staticGeometry) {
+            templateString = replaceIndented(templateString, TOKEN_PAINTING_CODE,
+                    combinedPaintingCode.toString());
+        } else {
+            templateString = templateString.replaceAll(TOKEN_PAINTING_CODE,
+                    combinedPaintingCode.toString());
+        }
 
         StringBuffer combinedPaintingInvocations = new StringBuffer();
         for (int i = 0; i < streamCount; i++) {
-            combinedPaintingInvocations.append("_paint" + i + "(g, origAlpha)" +
-                    languageRenderer.getStatementEnd() + "\n");
+            combinedPaintingInvocations.append("_paint" + i
+                    + (this.staticGeometry ? "(g, origAlpha, base)" : "(g, origAlpha)")
+                    + languageRenderer.getStatementEnd() + "\n");
+        }
+        if (this.staticGeometry) {
+            templateString = replaceIndented(templateString, TOKEN_PAINTING_INVOCATIONS,
+                    combinedPaintingInvocations.toString());
+        } else {
+            templateString = templateString.replaceAll(TOKEN_PAINTING_INVOCATIONS,
+                    combinedPaintingInvocations.toString());
         }
-        templateString = templateString.replaceAll(TOKEN_PAINTING_INVOCATIONS,
-                combinedPaintingInvocations.toString());
 
         Rectangle2D bounds = gvtRoot.getBounds();
 
@@ -271,6 +392,10 @@ abstract class SvgBaseTranscoder {
      * @param pathIterator Path iterator.
      */
     private void transcodePathIterator(PathIterator pathIterator, String suffix) {
+        if (this.staticGeometry) {
+            transcodeStaticPathIterator(pathIterator, suffix);
+            return;
+        }
         float[] coords = new float[6];
         printWriterManager.println("if (generalPath" + suffix + " == null) {");
         printWriterManager.println("   generalPath" + suffix + " = "
@@ -321,6 +446,261 @@ abstract class SvgBaseTranscoder {
 
     }
 
+    /**
+     * Transcodes the specified path iterator into a static shape field, created once with a
+     * static factory method.
+     *
+     * @param pathIterator Path iterator.
+     */
+    private void transcodeStaticPathIterator(PathIterator pathIterator, String suffix) {
+        float[] coords = new float[6];
+        List<String> segments = new ArrayList<>();
+        for (; !pathIterator.isDone(); pathIterator.next()) {
+            int type = pathIterator.currentSegment(coords);
+            switch (type) {
+                case PathIterator.SEG_CUBICTO:
+                    segments.add("path.curveTo(" + coords[0] + "f, " + coords[1] + "f, " + coords[2] + "f, "
+                            + coords[3] + "f, " + coords[4] + "f, " + coords[5] + "f)"
+                            + languageRenderer.getStatementEnd());
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    segments.add("path.quadTo(" + coords[0] + "f, " + coords[1] + "f, " + coords[2] + "f, "
+                            + coords[3] + "f)" + languageRenderer.getStatementEnd());
+                    break;
+                case PathIterator.SEG_MOVETO:
+                    segments.add("path.moveTo(" + coords[0] + "f, " + coords[1] + "f)"
+                            + languageRenderer.getStatementEnd());
+                    break;
+                case PathIterator.SEG_LINETO:
+                    segments.add("path.lineTo(" + coords[0] + "f, " + coords[1] + "f)"
+                            + languageRenderer.getStatementEnd());
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    segments.add("path.closePath()" + languageRenderer.getStatementEnd());
+                    break;
+            }
+        }
+
+        // Identical paths share the same static field
+        String pathKey = "Path2D.Float:" + String.join("", segments);
+        String fieldName = this.staticFields.get(pathKey);
+        if (fieldName == null) {
+            int methodIndex = this.staticFields.size();
+            String methodName = "createShape" + methodIndex;
+            fieldName = "shape" + methodIndex;
+
+            this.staticCodeWriter.println(languageRenderer.getStaticFieldDefinition("Shape",
+                    fieldName, methodName + "()"));
+            this.staticCodeWriter.println(languageRenderer.startStaticMethod(methodName, "Shape"));
+            // Path2D.Float is sized to the exact number of segments, and uses the same winding
+            // rule as the GeneralPath in the non-static mode
+            this.staticCodeWriter.println("    " + languageRenderer.startVariableDefinition("Path2D.Float")
+                    + "path = " + languageRenderer.getObjectCreation("Path2D.Float")
+                    + "(Path2D.WIND_NON_ZERO, " + Math.max(1, segments.size()) + ")"
+                    + languageRenderer.getStatementEnd());
+            if (segments.size() <= PrintWriterManager.ROTATION_THRESHOLD) {
+                for (String segment : segments) {
+                    this.staticCodeWriter.println("    " + segment);
+                }
+                this.staticCodeWriter.println("    return path" + languageRenderer.getStatementEnd());
+                this.staticCodeWriter.println(languageRenderer.endMethod());
+            } else {
+                // Split very long paths into multiple methods to stay under the limit on the
+                // size of a single method
+                int chunkCount = (segments.size() + PrintWriterManager.ROTATION_THRESHOLD - 1)
+                        / PrintWriterManager.ROTATION_THRESHOLD;
+                for (int chunk = 0; chunk < chunkCount; chunk++) {
+                    this.staticCodeWriter.println("    append" + methodIndex + "_" + chunk + "(path)"
+                            + languageRenderer.getStatementEnd());
+                }
+                this.staticCodeWriter.println("    return path" + languageRenderer.getStatementEnd());
+                this.staticCodeWriter.println(languageRenderer.endMethod());
+                for (int chunk = 0; chunk < chunkCount; chunk++) {
+                    this.staticCodeWriter.println(languageRenderer.startStaticMethod(
+                            "append" + methodIndex + "_" + chunk, null,
+                            new LanguageRenderer.MethodArgument("path", "Path2D.Float")));
+                    int start = chunk * PrintWriterManager.ROTATION_THRESHOLD;
+                    int end = Math.min(segments.size(), start + PrintWriterManager.ROTATION_THRESHOLD);
+                    for (String segment : segments.subList(start, end)) {
+                        this.staticCodeWriter.println("    " + segment);
+                    }
+                    this.staticCodeWriter.println(languageRenderer.endMethod());
+                }
+            }
+            this.staticCodeWriter.println();
+            this.staticFields.put(pathKey, fieldName);
+        }
+        printWriterManager.println("shape" + suffix + " = " + fieldName
+                + languageRenderer.getStatementEnd());
+    }
+
+    /**
+     * Checks whether the specified code references the specified local variable. Member
+     * accesses such as <code>g.clip(...)</code> and longer identifiers such as
+     * <code>shape12</code> are not considered to be references.
+     *
+     * @param code         Code.
+     * @param variableName Local variable name.
+     * @return <code>true</code> if the code references the local variable.
+     */
+    private static boolean usesVariable(String code, String variableName) {
+        return Pattern.compile("(?<![.\\w])" + variableName + "\\b")
+                .matcher(code).find();
+    }
+
+    /**
+     * Replaces the specified token in the template with the specified code. The code is
+     * re-indented based on the nesting level of its braces, using the indentation of the token
+     * line in the template as the base indentation.
+     *
+     * @param templateString Template.
+     * @param token          Token to replace.
+     * @param code           Code to place instead of the token.
+     * @return Template with the token replaced by the indented code.
+     */
+    private static String replaceIndented(String templateString, String token, String code) {
+        int tokenIndex = templateString.indexOf(token);
+        if (tokenIndex < 0) {
+            return templateString;
+        }
+        int lineStart = templateString.lastIndexOf('\n', tokenIndex) + 1;
+        String baseIndent = templateString.substring(lineStart, tokenIndex);
+        if (!baseIndent.trim().isEmpty()) {
+            // The token is not at the start of its line
+            return templateString.replace(token, code);
+        }
+        if (code.trim().isEmpty()) {
+            // Remove the token line, along with the blank line that separates it from the
+            // next section of the template
+            String remainder = templateString.substring(tokenIndex + token.length());
+            if (remainder.startsWith("\n\n")) {
+                remainder = remainder.substring(2);
+            } else if (remainder.startsWith("\n")) {
+                remainder = remainder.substring(1);
+            }
+            return templateString.substring(0, lineStart) + remainder;
+        }
+        baseIndent = baseIndent.replace("\t", "    ");
+
+        StringBuilder result = new StringBuilder();
+        int depth = 0;
+        for (String line : code.trim().split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                result.append("\n");
+                continue;
+            }
+            int lineDepth = (trimmed.charAt(0) == '}') ? depth - 1 : depth;
+            if (result.length() > 0) {
+                result.append(baseIndent);
+            }
+            for (int i = 0; i < lineDepth; i++) {
+                result.append("    ");
+            }
+            result.append(trimmed).append("\n");
+            depth += getBraceBalance(trimmed);
+        }
+        // Remove the trailing new line, as the template already has it
+        if (result.length() > 0) {
+            result.setLength(result.length() - 1);
+        }
+        return templateString.substring(0, lineStart) + baseIndent + result
+                + templateString.substring(tokenIndex + token.length());
+    }
+
+    /**
+     * Returns the number of opening braces minus the number of closing braces in the
+     * specified line of code, ignoring braces in comments and in string literals.
+     *
+     * @param line Line of code.
+     * @return Brace balance of the line.
+     */
+    private static int getBraceBalance(String line) {
+        int balance = 0;
+        char quote = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if ((c == '"') || (c == '\'')) {
+                quote = c;
+            } else if ((c == '/') && (i + 1 < line.length()) && (line.charAt(i + 1) == '/')) {
+                break;
+            } else if (c == '{') {
+                balance++;
+            } else if (c == '}') {
+                balance--;
+            }
+        }
+        return balance;
+    }
+
+    /**
+     * Returns the code to reference an object with the specified creation code. In the static
+     * geometry mode, this is the name of a static field that holds the object, created once
+     * and shared between all the usages of identical objects. Otherwise this is the creation
+     * code itself.
+     *
+     * @param typeName Type name of the object.
+     * @param fieldNamePrefix Prefix of the static field name.
+     * @param creation Code that creates the object.
+     * @return Code to reference the object.
+     */
+    private String getObjectReference(String typeName, String fieldNamePrefix, String creation) {
+        if (!this.staticGeometry) {
+            return creation;
+        }
+        String key = typeName + ":" + creation;
+        String fieldName = this.staticFields.get(key);
+        if (fieldName == null) {
+            fieldName = fieldNamePrefix + this.staticFields.size();
+            this.staticCodeWriter.println(languageRenderer.getStaticFieldDefinition(typeName,
+                    fieldName, creation));
+            this.staticFields.put(key, fieldName);
+        }
+        return fieldName;
+    }
+
+    /**
+     * Transcodes the specified alpha composite on the specified graphics context. In the static
+     * geometry mode, a shared static composite is used when the icon is painted fully opaque,
+     * and the composite of the main graphics context is only set when it changes.
+     *
+     * @param graphicsName Name of the graphics context.
+     * @param rule Compositing rule.
+     * @param alpha Composite alpha.
+     */
+    private void transcodeComposite(String graphicsName, int rule, float alpha) {
+        String composite = "AlphaComposite.getInstance(" + rule + ", " + alpha + "f * origAlpha)";
+        if (!this.staticGeometry) {
+            printWriterManager.println(graphicsName + languageRenderer.startSetterAssignment("composite")
+                    + composite + languageRenderer.endSetterAssignment()
+                    + languageRenderer.getStatementEnd());
+            return;
+        }
+        String staticComposite = getObjectReference("AlphaComposite", "composite",
+                "AlphaComposite.getInstance(" + rule + ", " + alpha + "f)");
+        if ("g".equals(graphicsName)) {
+            if (staticComposite.equals(this.currentStaticComposite)) {
+                return;
+            }
+            this.currentStaticComposite = staticComposite;
+        }
+        printWriterManager.println("if (origAlpha == 1.0f) {");
+        printWriterManager.println("    " + graphicsName + languageRenderer.startSetterAssignment("composite")
+                + staticComposite + languageRenderer.endSetterAssignment()
+                + languageRenderer.getStatementEnd());
+        printWriterManager.println("} else {");
+        printWriterManager.println("    " + graphicsName + languageRenderer.startSetterAssignment("composite")
+                + composite + languageRenderer.endSetterAssignment()
+                + languageRenderer.getStatementEnd());
+        printWriterManager.println("}");
+    }
+
     /**
      * Transcodes the specified shape.
      *
@@ -338,36 +718,36 @@ abstract class SvgBaseTranscoder {
         }
         if (shape instanceof Rectangle2D) {
             Rectangle2D rect = (Rectangle2D) shape;
-            printWriterManager.println("shape" + suffix + " = "
-                    + languageRenderer.getObjectCreation("Rectangle2D.Double")
-                    + "(" + rect.getX() + ", " + rect.getY() + ", " + rect.getWidth() + ", "
-                    + rect.getHeight() + ")" + languageRenderer.getStatementEnd());
+            printWriterManager.println("shape" + suffix + " = " + getObjectReference("Shape", "shape",
+                    languageRenderer.getObjectCreation("Rectangle2D.Double")
+                            + "(" + rect.getX() + ", " + rect.getY() + ", " + rect.getWidth() + ", "
+                            + rect.getHeight() + ")") + languageRenderer.getStatementEnd());
             return;
         }
         if (shape instanceof RoundRectangle2D) {
             RoundRectangle2D rRect = (RoundRectangle2D) shape;
-            printWriterManager.println("shape" + suffix + " = " +
+            printWriterManager.println("shape" + suffix + " = " + getObjectReference("Shape", "shape",
                     languageRenderer.getObjectCreation("RoundRectangle2D.Double") + "("
-                    + rRect.getX() + ", " + rRect.getY() + ", " + rRect.getWidth() + ", "
-                    + rRect.getHeight() + ", " + rRect.getArcWidth() + ", "
-                    + rRect.getArcHeight() + ")" + languageRenderer.getStatementEnd());
+                            + rRect.getX() + ", " + rRect.getY() + ", " + rRect.getWidth() + ", "
+                            + rRect.getHeight() + ", " + rRect.getArcWidth() + ", "
+                            + rRect.getArcHeight() + ")") + languageRenderer.getStatementEnd());
             return;
         }
         if (shape instanceof Ellipse2D) {
             Ellipse2D ell = (Ellipse2D) shape;
-            printWriterManager.println("shape" + suffix + " = "
-                    + languageRenderer.getObjectCreation("Ellipse2D.Double")
-                    + "(" + ell.getX() + ", " + ell.getY() + ", " + ell.getWidth() + ", "
-                    + ell.getHeight() + ")" + languageRenderer.getStatementEnd());
+            printWriterManager.println("shape" + suffix + " = " + getObjectReference("Shape", "shape",
+                    languageRenderer.getObjectCreation("Ellipse2D.Double")
+                            + "(" + ell.getX() + ", " + ell.getY() + ", " + ell.getWidth() + ", "
+                            + ell.getHeight() + ")") + languageRenderer.getStatementEnd());
             return;
         }
         if (shape instanceof Line2D) {
             Line2D l2df = (Line2D) shape;
-            printWriterManager.print("shape" + suffix + " = "
-                    + languageRenderer.getObjectCreation("Line2D.Float"));
-            printWriterManager.format("(%ff,%ff,%ff,%ff)", (float) l2df.getX1(), (float) l2df.getY1(),
-                    (float) l2df.getX2(), (float) l2df.getY2());
-            printWriterManager.println(languageRenderer.getStatementEnd());
+            printWriterManager.println("shape" + suffix + " = " + getObjectReference("Shape", "shape",
+                    languageRenderer.getObjectCreation("Line2D.Float")
+                            + String.format("(%ff,%ff,%ff,%ff)", (float) l2df.getX1(), (float) l2df.getY1(),
+                            (float) l2df.getX2(), (float) l2df.getY2()))
+                    + languageRenderer.getStatementEnd());
             return;
         }
         throw new UnsupportedOperationException(shape.getClass().getCanonicalName());
@@ -462,16 +842,17 @@ abstract class SvgBaseTranscoder {
         transform.getMatrix(transfMatrix);
 
         this.printWriterManager
-                .println("paint = " + languageRenderer.getObjectCreation("LinearGradientPaint")
-                        + "(" + languageRenderer.getObjectCreation("Point2D.Double") + "("
-                        + startPoint.getX() + ", " + startPoint.getY() + "), "
-                        + languageRenderer.getObjectCreation("Point2D.Double") + "("
-                        + endPoint.getX() + ", " + endPoint.getY() + "), " + fractionsRep.toString()
-                        + ", " + colorsRep.toString() + ", " + cycleMethodRep + ", " + colorSpaceRep
-                        + ", " + languageRenderer.getObjectCreation("AffineTransform") + "("
-                        + transfMatrix[0] + "f, " + transfMatrix[1] + "f, " + transfMatrix[2]
-                        + "f, " + transfMatrix[3] + "f, " + transfMatrix[4] + "f, "
-                        + transfMatrix[5] + "f))" + languageRenderer.getStatementEnd());
+                .println("paint = " + getObjectReference("Paint", "paint",
+                        languageRenderer.getObjectCreation("LinearGradientPaint")
+                                + "(" + languageRenderer.getObjectCreation("Point2D.Double") + "("
+                                + startPoint.getX() + ", " + startPoint.getY() + "), "
+                                + languageRenderer.getObjectCreation("Point2D.Double") + "("
+                                + endPoint.getX() + ", " + endPoint.getY() + "), " + fractionsRep.toString()
+                                + ", " + colorsRep.toString() + ", " + cycleMethodRep + ", " + colorSpaceRep
+                                + ", " + languageRenderer.getObjectCreation("AffineTransform") + "("
+                                + transfMatrix[0] + "f, " + transfMatrix[1] + "f, " + transfMatrix[2]
+                                + "f, " + transfMatrix[3] + "f, " + transfMatrix[4] + "f, "
+                                + transfMatrix[5] + "f))") + languageRenderer.getStatementEnd());
     }
 
     private void transcodePatternPaint(PatternPaint paint) {
@@ -569,9 +950,7 @@ abstract class SvgBaseTranscoder {
                 this.composite = composite;
                 int rule = ((AlphaComposite) composite).getRule();
                 float alpha = ((AlphaComposite) composite).getAlpha();
-                printWriterManager.println("gTiled" + languageRenderer.startSetterAssignment("composite")
-                        + "AlphaComposite.getInstance(" + rule + ", " + alpha + "f * origAlpha)"
-                        + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
+                transcodeComposite("gTiled", rule, alpha);
             }
 
             public void setPaint(Paint paint) {
@@ -604,9 +983,10 @@ abstract class SvgBaseTranscoder {
                     dashRep.append("}");
                 }
                 printWriterManager.println("gTiled" + languageRenderer.startSetterAssignment("stroke")
-                        + languageRenderer.getObjectCreation("BasicStroke")
-                        + "(" + strokeWidth + "f," + endCap + "," + lineJoin + "," + miterLimit
-                        + "f," + dashRep + "," + dash_phase + "f)"
+                        + getObjectReference("Stroke", "stroke",
+                        languageRenderer.getObjectCreation("BasicStroke")
+                                + "(" + strokeWidth + "f," + endCap + "," + lineJoin + "," + miterLimit
+                                + "f," + dashRep + "," + dash_phase + "f)")
                         + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
             }
 
@@ -860,16 +1240,16 @@ abstract class SvgBaseTranscoder {
         double[] transfMatrix = new double[6];
         transform.getMatrix(transfMatrix);
 
-        this.printWriterManager.println("paint = "
-                + languageRenderer.getObjectCreation("RadialGradientPaint") + "("
-                + languageRenderer.getObjectCreation("Point2D.Double") + "(" + centerPoint.getX()
-                + ", " + centerPoint.getY() + "), " + radius + "f, "
-                + languageRenderer.getObjectCreation("Point2D.Double") + "(" + focusPoint.getX()
-                + ", " + focusPoint.getY() + "), " + fractionsRep.toString() + ", "
-                + colorsRep.toString() + ", " + cycleMethodRep + ", " + colorSpaceRep + ", "
-                + languageRenderer.getObjectCreation("AffineTransform") + "(" + transfMatrix[0]
-                + "f, " + transfMatrix[1] + "f, " + transfMatrix[2] + "f, " + transfMatrix[3]
-                + "f, " + transfMatrix[4] + "f, " + transfMatrix[5] + "f))"
+        this.printWriterManager.println("paint = " + getObjectReference("Paint", "paint",
+                languageRenderer.getObjectCreation("RadialGradientPaint") + "("
+                        + languageRenderer.getObjectCreation("Point2D.Double") + "(" + centerPoint.getX()
+                        + ", " + centerPoint.getY() + "), " + radius + "f, "
+                        + languageRenderer.getObjectCreation("Point2D.Double") + "(" + focusPoint.getX()
+                        + ", " + focusPoint.getY() + "), " + fractionsRep.toString() + ", "
+                        + colorsRep.toString() + ", " + cycleMethodRep + ", " + colorSpaceRep + ", "
+                        + languageRenderer.getObjectCreation("AffineTransform") + "(" + transfMatrix[0]
+                        + "f, " + transfMatrix[1] + "f, " + transfMatrix[2] + "f, " + transfMatrix[3]
+                        + "f, " + transfMatrix[4] + "f, " + transfMatrix[5] + "f))")
                 + languageRenderer.getStatementEnd());
     }
 
@@ -894,9 +1274,10 @@ abstract class SvgBaseTranscoder {
         }
         if (paint instanceof Color) {
             Color c = (Color) paint;
-            printWriterManager.println("paint = " + languageRenderer.getObjectCreation("Color") + "("
-                    + c.getRed() + ", " + c.getGreen() + ", " + c.getBlue() + ", " + c.getAlpha()
-                    + ")" + languageRenderer.getStatementEnd());
+            printWriterManager.println("paint = " + getObjectReference("Color", "color",
+                    languageRenderer.getObjectCreation("Color") + "("
+                            + c.getRed() + ", " + c.getGreen() + ", " + c.getBlue() + ", " + c.getAlpha()
+                            + ")") + languageRenderer.getStatementEnd());
             return;
         }
         if (paint == null) {
@@ -934,9 +1315,10 @@ abstract class SvgBaseTranscoder {
         }
         if (paint instanceof Color) {
             Color c = (Color) paint;
-            printWriterManager.println("paint = " + languageRenderer.getObjectCreation("Color") + "("
-                    + c.getRed() + ", " + c.getGreen() + ", " + c.getBlue() + ", " + c.getAlpha()
-                    + ")" + languageRenderer.getStatementEnd());
+            printWriterManager.println("paint = " + getObjectReference("Color", "color",
+                    languageRenderer.getObjectCreation("Color") + "("
+                            + c.getRed() + ", " + c.getGreen() + ", " + c.getBlue() + ", " + c.getAlpha()
+                            + ")") + languageRenderer.getStatementEnd());
             printWriterManager.println("g" + languageRenderer.startSetterAssignment("paint") + "paint"
                     + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
             printWriterManager.println("g.fill(shape)" + languageRenderer.getStatementEnd());
@@ -1039,9 +1421,10 @@ abstract class SvgBaseTranscoder {
             }
             dashRep.append("}");
         }
-        printWriterManager.println("stroke = " + languageRenderer.getObjectCreation("BasicStroke")
-                + "(" + width + "f," + cap + "," + join + "," + miterlimit + "f," + dashRep
-                + "," + dash_phase + "f)" + languageRenderer.getStatementEnd());
+        printWriterManager.println("stroke = " + getObjectReference("Stroke", "stroke",
+                languageRenderer.getObjectCreation("BasicStroke")
+                        + "(" + width + "f," + cap + "," + join + "," + miterlimit + "f," + dashRep
+                        + "," + dash_phase + "f)") + languageRenderer.getStatementEnd());
 
         transcodeShape(shape, "");
         printWriterManager.println("g" + languageRenderer.startSetterAssignment("paint") + "paint"
@@ -1082,56 +1465,64 @@ abstract class SvgBaseTranscoder {
 
         // Transcode the start marker if it's there. This only applies to the first point.
         if (painter.getStartMarker() != null) {
-            Point2D firstPoint = pathPoints.get(0);
-            Marker startMarker = painter.getStartMarker();
-            double dx = firstPoint.getX() - startMarker.getRef().getX();
-            double dy = firstPoint.getY() - startMarker.getRef().getY();
-            printWriterManager.println("g.translate(" + dx + ", " + dy + ")"
-                    + languageRenderer.getStatementEnd());
-            rotate(startMarker.getOrient());
-            transcodeGraphicsNode(startMarker.getMarkerNode(), comment + "_" + "m0");
-            rotate(-startMarker.getOrient());
-            printWriterManager.println("g.translate(" + (-dx) + ", " + (-dy) + ")"
-                    + languageRenderer.getStatementEnd());
+            transcodeMarker(painter.getStartMarker(), pathPoints.get(0), comment + "_" + "m0");
         }
 
         // Transcode the middle marker if it's there. This only applies to the points between
         // the first and the last.
         if (painter.getMiddleMarker() != null) {
             if (pathPointCount > 2) {
-                Marker middleMarker = painter.getMiddleMarker();
                 for (int i = 1; i < pathPointCount - 1; i++) {
-                    Point2D middlePoint = pathPoints.get(i);
-                    double dx = middlePoint.getX() - middleMarker.getRef().getX();
-                    double dy = middlePoint.getY() - middleMarker.getRef().getY();
-                    printWriterManager.println("g.translate(" + dx + ", " + dy + ")"
-                            + languageRenderer.getStatementEnd());
-                    rotate(middleMarker.getOrient());
-                    transcodeGraphicsNode(middleMarker.getMarkerNode(), comment + "_" + "m" + i);
-                    rotate(-middleMarker.getOrient());
-                    printWriterManager.println("g.translate(" + (-dx) + ", " + (-dy) + ")"
-                            + languageRenderer.getStatementEnd());
+                    transcodeMarker(painter.getMiddleMarker(), pathPoints.get(i),
+                            comment + "_" + "m" + i);
                 }
             }
         }
 
         // Transcode the end marker if it's there. This only applies to the last point.
         if (painter.getEndMarker() != null) {
-            Point2D lastPoint = pathPoints.get(pathPointCount - 1);
-            Marker endMarker = painter.getEndMarker();
-            double dx = lastPoint.getX() - endMarker.getRef().getX();
-            double dy = lastPoint.getY() - endMarker.getRef().getY();
-            printWriterManager.println("g.translate(" + dx + ", " + dy + ")"
-                    + languageRenderer.getStatementEnd());
-            rotate(endMarker.getOrient());
-            transcodeGraphicsNode(endMarker.getMarkerNode(),
+            transcodeMarker(painter.getEndMarker(), pathPoints.get(pathPointCount - 1),
                     comment + "_" + "m" + (pathPointCount - 1));
-            rotate(-endMarker.getOrient());
-            printWriterManager.println("g.translate(" + (-dx) + ", " + (-dy) + ")"
-                    + languageRenderer.getStatementEnd());
         }
     }
 
+    /**
+     * Transcodes the specified marker at the specified path point.
+     *
+     * @param marker  Marker.
+     * @param point   Path point.
+     * @param comment Comment (for associating the Java2D section with the corresponding SVG
+     *                section).
+     */
+    private void transcodeMarker(Marker marker, Point2D point, String comment) {
+        double dx = point.getX() - marker.getRef().getX();
+        double dy = point.getY() - marker.getRef().getY();
+        if (this.staticGeometry) {
+            AffineTransform parentTransform = this.staticTransform;
+            this.staticTransform = new AffineTransform(parentTransform);
+            this.staticTransform.translate(dx, dy);
+            if (Double.isFinite(marker.getOrient()) && marker.getOrient() != 0.0) {
+                this.staticTransform.rotate(marker.getOrient());
+            }
+            try {
+                transcodeGraphicsNode(marker.getMarkerNode(), comment);
+            } finally {
+                this.staticTransform = parentTransform;
+            }
+            // Restore the transformation for the rest of the painters of the marked shape
+            transcodeStaticTransform();
+            return;
+        }
+
+        printWriterManager.println("g.translate(" + dx + ", " + dy + ")"
+                + languageRenderer.getStatementEnd());
+        rotate(marker.getOrient());
+        transcodeGraphicsNode(marker.getMarkerNode(), comment);
+        rotate(-marker.getOrient());
+        printWriterManager.println("g.translate(" + (-dx) + ", " + (-dy) + ")"
+                + languageRenderer.getStatementEnd());
+    }
+
     private void rotate(double angle) {
         if (Double.isFinite(angle) && angle != 0.0) {
             printWriterManager.println("g.rotate(" + angle + ")" + languageRenderer.getStatementEnd());
@@ -1147,10 +1538,42 @@ abstract class SvgBaseTranscoder {
      */
     private void transcodeShapeNode(ShapeNode node, String comment) {
         printWriterManager.println("// " + comment);
+        if (isPainting(node.getShapePainter())) {
+            transcodeStaticTransform();
+        }
         transcodeShapePainter(node.getShapePainter(), node.getShape(), comment);
         printWriterManager.checkin();
     }
 
+    /**
+     * Checks whether the specified shape painter paints anything.
+     *
+     * @param painter Shape painter.
+     * @return <code>true</code> if the specified shape painter paints anything,
+     * <code>false</code> otherwise.
+     */
+    private boolean isPainting(ShapePainter painter) {
+        if (painter == null) {
+            return false;
+        }
+        if (painter instanceof CompositeShapePainter) {
+            CompositeShapePainter compositePainter = (CompositeShapePainter) painter;
+            for (int i = 0; i < compositePainter.getShapePainterCount(); i++) {
+                if (isPainting(compositePainter.getShapePainter(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (painter instanceof FillShapePainter) {
+            return ((FillShapePainter) painter).getPaint() != null;
+        }
+        if (painter instanceof StrokeShapePainter) {
+            return ((StrokeShapePainter) painter).getPaint() != null;
+        }
+        return true;
+    }
+
     /**
      * Transcodes the specified composite graphics node.
      *
@@ -1181,6 +1604,7 @@ abstract class SvgBaseTranscoder {
 
     private void transcodeRasterImageNode(RasterImageNode node, String comment) {
         printWriterManager.println("// " + comment);
+        transcodeStaticTransform();
 
         RenderedImage image = node.getImage().createDefaultRendering();
         transcodeRenderedImage(image, "g");
@@ -1188,6 +1612,7 @@ abstract class SvgBaseTranscoder {
 
     private void transcodeTextNode(TextNode node, String comment) {
         printWriterManager.println("// " + comment);
+        transcodeStaticTransform();
         printWriterManager.println("{");
         // Create a new Graphics2D object
         printWriterManager.println("    " + languageRenderer.startVariableDefinition("Graphics2D")
@@ -1227,9 +1652,7 @@ abstract class SvgBaseTranscoder {
                 this.composite = composite;
                 int rule = ((AlphaComposite) composite).getRule();
                 float alpha = ((AlphaComposite) composite).getAlpha();
-                printWriterManager.println("gText" + languageRenderer.startSetterAssignment("composite")
-                        + "AlphaComposite.getInstance(" + rule + ", " + alpha + "f * origAlpha)"
-                        + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
+                transcodeComposite("gText", rule, alpha);
             }
 
             public void setPaint(Paint paint) {
@@ -1262,9 +1685,10 @@ abstract class SvgBaseTranscoder {
                     dashRep.append("}");
                 }
                 printWriterManager.println("gText" + languageRenderer.startSetterAssignment("stroke")
-                        + languageRenderer.getObjectCreation("BasicStroke")
-                        + "(" + strokeWidth + "f," + endCap + "," + lineJoin + "," + miterLimit
-                        + "f," + dashRep + "," + dash_phase + "f)"
+                        + getObjectReference("Stroke", "stroke",
+                        languageRenderer.getObjectCreation("BasicStroke")
+                                + "(" + strokeWidth + "f," + endCap + "," + lineJoin + "," + miterLimit
+                                + "f," + dashRep + "," + dash_phase + "f)")
                         + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
             }
 
@@ -1415,13 +1839,13 @@ abstract class SvgBaseTranscoder {
             throws UnsupportedOperationException {
         AlphaComposite composite = (AlphaComposite) node.getComposite();
         if (composite != null) {
-            int rule = composite.getRule();
-            float alpha = composite.getAlpha();
-            printWriterManager.println("g" + languageRenderer.startSetterAssignment("composite")
-                    + "AlphaComposite.getInstance(" + rule + ", " + alpha + "f * origAlpha)"
-                    + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
+            transcodeComposite("g", composite.getRule(), composite.getAlpha());
         }
         AffineTransform transform = node.getTransform();
+        if (this.staticGeometry) {
+            transcodeStaticGraphicsNode(node, transform, comment);
+            return;
+        }
         printWriterManager.println("transformsStack.push(g"
                 + languageRenderer.getGetter("transform") + ")"
                 + languageRenderer.getStatementEnd());
@@ -1436,28 +1860,104 @@ abstract class SvgBaseTranscoder {
         }
 
         try {
-            if (node instanceof ShapeNode) {
-                transcodeShapeNode((ShapeNode) node, comment);
-                return;
-            }
-            if (node instanceof CompositeGraphicsNode) {
-                transcodeCompositeGraphicsNode((CompositeGraphicsNode) node, comment);
-                return;
-            }
-            if (node instanceof RasterImageNode) {
-                transcodeRasterImageNode((RasterImageNode) node, comment);
-                return;
-            }
-            if (node instanceof TextNode) {
-                transcodeTextNode((TextNode) node, comment);
-                return;
-            }
-            throw new UnsupportedOperationException(node.getClass().getCanonicalName());
+            transcodeGraphicsNodeContent(node, comment);
         } finally {
             printWriterManager.println("g" + languageRenderer.startSetterAssignment("transform")
                     + "transformsStack.pop()" + languageRenderer.endSetterAssignment()
                     + languageRenderer.getStatementEnd());
         }
     }
+
+    /**
+     * Transcodes the specified graphics node in the static geometry mode. Instead of saving and
+     * restoring the transformation of the graphics context around each node, the transformation
+     * of each node relative to the root is computed during transcoding, and applied on top of the
+     * base transformation before painting the node content.
+     *
+     * @param node      Graphics node.
+     * @param transform Transformation of the graphics node.
+     * @param comment   Comment (for associating the Java2D section with the corresponding SVG
+     *                  section).
+     * @throws UnsupportedOperationException if the graphics node is unsupported.
+     */
+    private void transcodeStaticGraphicsNode(GraphicsNode node, AffineTransform transform,
+            String comment) throws UnsupportedOperationException {
+        AffineTransform parentTransform = this.staticTransform;
+        if (transform != null) {
+            double[] transfMatrix = new double[6];
+            transform.getMatrix(transfMatrix);
+            // Match the float precision of the transformations in the non-static mode
+            this.staticTransform = new AffineTransform(parentTransform);
+            this.staticTransform.concatenate(new AffineTransform((float) transfMatrix[0],
+                    (float) transfMatrix[1], (float) transfMatrix[2], (float) transfMatrix[3],
+                    (float) transfMatrix[4], (float) transfMatrix[5]));
+        }
+
+        try {
+            transcodeGraphicsNodeContent(node, comment);
+        } finally {
+            this.staticTransform = parentTransform;
+        }
+    }
+
+    /**
+     * In the static geometry mode, sets the transformation of the graphics context to the
+     * transformation of the node that is being transcoded. Identity transformations are skipped,
+     * and nothing is emitted if the graphics context already has that transformation.
+     */
+    private void transcodeStaticTransform() {
+        if (!this.staticGeometry) {
+            return;
+        }
+        String staticTransformName = "";
+        if (!this.staticTransform.isIdentity()) {
+            double[] transfMatrix = new double[6];
+            this.staticTransform.getMatrix(transfMatrix);
+            staticTransformName = getObjectReference("AffineTransform", "transform",
+                    languageRenderer.getObjectCreation("AffineTransform")
+                            + "(" + transfMatrix[0] + ", " + transfMatrix[1] + ", "
+                            + transfMatrix[2] + ", " + transfMatrix[3] + ", " + transfMatrix[4]
+                            + ", " + transfMatrix[5] + ")");
+        }
+        if (staticTransformName.equals(this.currentStaticTransform)) {
+            return;
+        }
+        this.currentStaticTransform = staticTransformName;
+        printWriterManager.println("g" + languageRenderer.startSetterAssignment("transform")
+                + "base" + languageRenderer.endSetterAssignment() + languageRenderer.getStatementEnd());
+        if (!staticTransformName.isEmpty()) {
+            printWriterManager.println("g.transform(" + staticTransformName + ")"
+                    + languageRenderer.getStatementEnd());
+        }
+    }
+
+    /**
+     * Transcodes the content of the specified graphics node.
+     *
+     * @param node    Graphics node.
+     * @param comment Comment (for associating the Java2D section with the corresponding SVG
+     *                section).
+     * @throws UnsupportedOperationException if the graphics node is unsupported.
+     */
+    private void transcodeGraphicsNodeContent(GraphicsNode node, String comment)
+            throws UnsupportedOperationException {
+        if (node instanceof ShapeNode) {
+            transcodeShapeNode((ShapeNode) node, comment);
+            return;
+        }
+        if (node instanceof CompositeGraphicsNode) {
+            transcodeCompositeGraphicsNode((CompositeGraphicsNode) node, comment);
+            return;
+        }
+        if (node instanceof RasterImageNode) {
+            transcodeRasterImageNode((RasterImageNode) node, comment);
+            return;
+        }
+        if (node instanceof TextNode) {
+            transcodeTextNode((TextNode) node, comment);
+            return;
+        }
+        throw new UnsupportedOperationException(node.getClass().getCanonicalName());
+    }
 }
 
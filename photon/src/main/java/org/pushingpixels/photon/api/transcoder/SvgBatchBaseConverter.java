@@ -31,15 +31,86 @@ package org.pushingpixels.photon.api.transcoder;
 
 import java.io.*;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Objects;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Stream;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class SvgBatchBaseConverter {
     protected static final String CHECK_DOCUMENTATION = "Check the documentation for the parameters to pass";
 
+    /**
+     * Name of the manifest file written next to the transcoded classes in incremental mode.
+     */
+    protected static final String MANIFEST_FILE_NAME = ".photon-manifest.properties";
+
+    /**
+     * Maximum time to wait for a single file to be transcoded, in seconds.
+     */
+    private static final int FILE_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Number of worker threads used to transcode SVG files. Values larger than 1 enable
+     * the parallel mode.
+     */
+    private int parallelism = 1;
+
+    /**
+     * If <code>true</code>, files whose SVG content and template have not changed since the
+     * last run (as recorded in the manifest) are not transcoded again.
+     */
+    private boolean incremental = false;
+
+    /**
+     * If <code>true</code>, the transcoded classes use static geometry.
+     *
+     * @see SvgBaseTranscoder#setStaticGeometry(boolean)
+     */
+    private boolean staticGeometry = false;
+
+    private ExecutorService executorService;
+
+    /**
+     * Pending per-folder batches scheduled since the last call to {@link #awaitAll()}.
+     */
+    private final List<FolderBatch> pendingBatches = new ArrayList<>();
+
+    /**
+     * Reports on all the files processed so far.
+     */
+    private final List<FileReport> reports = new ArrayList<>();
+
+    private enum FileStatus {
+        TRANSCODED, SKIPPED, FAILED
+    }
+
+    private static class FileReport {
+        private final File svgFile;
+        private final FileStatus status;
+        private final long durationNanos;
+
+        private FileReport(File svgFile, FileStatus status, long durationNanos) {
+            this.svgFile = svgFile;
+            this.status = status;
+            this.durationNanos = durationNanos;
+        }
+    }
+
+    /**
+     * All the files scheduled for a single output folder, along with the manifest for
+     * that folder.
+     */
+    private static class FolderBatch {
+        private final File outputFolder;
+        private final Properties manifest;
+        private final List<Future<FileReport>> futures = new ArrayList<>();
+
+        private FolderBatch(File outputFolder, Properties manifest) {
+            this.outputFolder = outputFolder;
+            this.manifest = manifest;
+        }
+    }
+
     protected String getInputArgument(String[] args, String argumentName, String defaultValue) {
         for (String arg : args) {
             String[] split = arg.split("=");
@@ -55,51 +126,317 @@ public abstract class SvgBatchBaseConverter {
         return defaultValue;
     }
 
+    /**
+     * Configures the parallel, incremental and static geometry modes from the optional
+     * <code>parallelism=</code>, <code>incremental=</code> and <code>staticGeometry=</code>
+     * arguments.
+     *
+     * @param args Command-line arguments.
+     */
+    protected void configureProcessing(String[] args) {
+        String parallelismArgument = getInputArgument(args, "parallelism", "1");
+        if ("auto".equals(parallelismArgument)) {
+            this.setParallelism(Runtime.getRuntime().availableProcessors());
+        } else {
+            try {
+                this.setParallelism(Integer.parseInt(parallelismArgument));
+            } catch (NumberFormatException nfe) {
+                throw new IllegalArgumentException("Parallelism must be a positive number or 'auto'. "
+                        + CHECK_DOCUMENTATION);
+            }
+        }
+        this.setIncremental(Boolean.parseBoolean(getInputArgument(args, "incremental", "false")));
+        this.setStaticGeometry(Boolean.parseBoolean(getInputArgument(args, "staticGeometry", "false")));
+    }
+
+    /**
+     * Sets the number of worker threads used to transcode SVG files.
+     *
+     * @param parallelism Number of worker threads. Must be positive.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be a positive number");
+        }
+        if (this.executorService != null) {
+            throw new IllegalStateException("Can't change parallelism once processing has started");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the incremental mode. In incremental mode a manifest with the content hash of each
+     * SVG file and of the template is written next to the transcoded classes, and files that
+     * match the manifest from the previous run are skipped.
+     *
+     * @param incremental Incremental mode.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Sets the static geometry mode for the transcoded classes. This requires a template that
+     * supports static geometry, such as <code>SvgTranscoderTemplateResizableStatic.templ</code>.
+     *
+     * @param staticGeometry Static geometry mode.
+     * @see SvgBaseTranscoder#setStaticGeometry(boolean)
+     */
+    public void setStaticGeometry(boolean staticGeometry) {
+        this.staticGeometry = staticGeometry;
+    }
+
     protected void transcodeAllFilesInFolder(File inputFolder, File outputFolder,
             String outputClassNamePrefix, String outputFileNameExtension,
             String outputPackageName, LanguageRenderer languageRenderer,
             String templateFile) {
+        scheduleAllFilesInFolder(inputFolder, outputFolder, outputClassNamePrefix,
+                outputFileNameExtension, outputPackageName, languageRenderer, templateFile);
+        awaitAll();
+    }
+
+    /**
+     * Schedules all SVG files in the specified folder for transcoding. Call {@link #awaitAll()}
+     * to wait for all the scheduled files and to write the manifests.
+     */
+    protected void scheduleAllFilesInFolder(File inputFolder, File outputFolder,
+            String outputClassNamePrefix, String outputFileNameExtension,
+            String outputPackageName, LanguageRenderer languageRenderer,
+            String templateFile) {
 
         File[] svgFiles = inputFolder.listFiles(
                 (File dir, String name) -> name.endsWith(".svg"));
         if (svgFiles == null) {
             return;
         }
+
+        // Load the template once for all the files in this folder
+        final byte[] templateContent;
+        try (InputStream templateStream = SvgBatchBaseConverter.class.getResourceAsStream(templateFile)) {
+            Objects.requireNonNull(templateStream, "Couldn't load " + templateFile);
+            templateContent = templateStream.readAllBytes();
+        } catch (IOException ioe) {
+            ioe.printStackTrace(System.err);
+            return;
+        }
+        // The generated content depends not only on the template itself, but also on the
+        // target language, the package name, the class name prefix and the geometry mode
+        final String templateHash = getHash(templateContent,
+                languageRenderer.getClass().getName(), outputPackageName, outputClassNamePrefix,
+                String.valueOf(this.staticGeometry));
+
+        FolderBatch batch = new FolderBatch(outputFolder, loadManifest(outputFolder));
+        // Drop manifest entries for SVG files that are no longer there
+        Set<String> svgFileNames = new HashSet<>();
+        for (File file : svgFiles) {
+            svgFileNames.add(file.getName());
+        }
+        batch.manifest.keySet().retainAll(svgFileNames);
         for (File file : svgFiles) {
             final String filename = file.getName();
             final String svgClassName = (outputClassNamePrefix + filename.substring(0, filename.length() - 4))
                     .replace('-', '_')
                     .replace(' ', '_');
 
-            final String classFilename = outputFolder.getAbsolutePath() + File.separator +
-                    svgClassName + outputFileNameExtension;
-            System.out.println("Processing " + file.getAbsolutePath() + "\n\tto " + classFilename);
-
-            try (Writer writer = new PrintWriter(classFilename);
-                 InputStream templateStream = SvgBatchBaseConverter.class.getResourceAsStream(templateFile)) {
-                Objects.requireNonNull(templateStream, "Couldn't load " + templateFile);
-                final CountDownLatch latch = new CountDownLatch(1);
-
-                final String uri = file.toURI().toURL().toString();
-                final SvgTranscoder transcoder = new SvgTranscoder(uri, svgClassName, languageRenderer);
-                transcoder.setPackageName(outputPackageName);
-                transcoder.setListener(new TranscoderListener() {
-                    public Writer getWriter() {
-                        return writer;
-                    }
+            final File classFile = new File(outputFolder, svgClassName + outputFileNameExtension);
+            batch.futures.add(getExecutorService().submit(() ->
+                    transcodeFile(file, classFile, svgClassName, outputPackageName,
+                            languageRenderer, templateContent, templateHash, batch.manifest)));
+        }
+        synchronized (this.pendingBatches) {
+            this.pendingBatches.add(batch);
+        }
+    }
 
-                    public void finished() {
-                        latch.countDown();
+    /**
+     * Waits for all the scheduled files to be processed, and writes the manifests of
+     * all the processed folders if running in incremental mode.
+     */
+    protected void awaitAll() {
+        List<FolderBatch> batches;
+        synchronized (this.pendingBatches) {
+            batches = new ArrayList<>(this.pendingBatches);
+            this.pendingBatches.clear();
+        }
+        for (FolderBatch batch : batches) {
+            for (Future<FileReport> future : batch.futures) {
+                try {
+                    FileReport report = future.get();
+                    synchronized (this.reports) {
+                        this.reports.add(report);
                     }
-                });
-                transcoder.transcode(templateStream);
-                // Limit the processing to 10 seconds to prevent infinite hang
-                latch.await(10, TimeUnit.SECONDS);
-            } catch (Throwable t) {
-                t.printStackTrace(System.err);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException ee) {
+                    ee.getCause().printStackTrace(System.err);
+                }
+            }
+            if (this.incremental) {
+                storeManifest(batch.outputFolder, batch.manifest);
+            }
+        }
+    }
+
+    /**
+     * Waits for all the scheduled files, shuts down the worker pool and prints the summary
+     * report with the processing time of each file.
+     */
+    protected void finish() {
+        awaitAll();
+        if (this.executorService != null) {
+            this.executorService.shutdown();
+            this.executorService = null;
+        }
+
+        List<FileReport> sortedReports;
+        synchronized (this.reports) {
+            sortedReports = new ArrayList<>(this.reports);
+        }
+        sortedReports.sort((r1, r2) -> Long.compare(r2.durationNanos, r1.durationNanos));
+
+        int transcoded = 0, skipped = 0, failed = 0;
+        long totalNanos = 0;
+        for (FileReport report : sortedReports) {
+            switch (report.status) {
+                case TRANSCODED:
+                    transcoded++;
+                    break;
+                case SKIPPED:
+                    skipped++;
+                    break;
+                case FAILED:
+                    failed++;
+                    break;
+            }
+            totalNanos += report.durationNanos;
+        }
+
+        System.out.println(
+                "******************************************************************************");
+        System.out.println("Summary");
+        System.out.println("\tfiles: " + sortedReports.size() + " (" + transcoded + " transcoded, "
+                + skipped + " skipped, " + failed + " failed)");
+        System.out.println("\tworker threads: " + this.parallelism);
+        System.out.println("\ttotal transcoding time: " + (totalNanos / 1000000) + " ms");
+        for (FileReport report : sortedReports) {
+            System.out.println(String.format("\t%8d ms  %-10s %s", report.durationNanos / 1000000,
+                    report.status.name().toLowerCase(Locale.ENGLISH),
+                    report.svgFile.getAbsolutePath()));
+        }
+        System.out.println(
+                "******************************************************************************");
+    }
+
+    private FileReport transcodeFile(File file, File classFile, String svgClassName,
+            String outputPackageName, LanguageRenderer languageRenderer,
+            byte[] templateContent, String templateHash, Properties manifest) {
+        long start = System.nanoTime();
+
+        final String manifestValue;
+        try {
+            manifestValue = getHash(Files.readAllBytes(file.toPath())) + ":" + templateHash;
+        } catch (IOException ioe) {
+            ioe.printStackTrace(System.err);
+            return new FileReport(file, FileStatus.FAILED, System.nanoTime() - start);
+        }
+
+        if (this.incremental && classFile.exists() &&
+                manifestValue.equals(manifest.getProperty(file.getName()))) {
+            return new FileReport(file, FileStatus.SKIPPED, System.nanoTime() - start);
+        }
+
+        System.out.println("Processing " + file.getAbsolutePath() + "\n\tto " + classFile.getAbsolutePath());
+
+        boolean succeeded = false;
+        try (Writer writer = new PrintWriter(classFile);
+             InputStream templateStream = new ByteArrayInputStream(templateContent)) {
+            final CountDownLatch latch = new CountDownLatch(1);
+
+            final String uri = file.toURI().toURL().toString();
+            // Each file gets its own transcoder so that no state is shared between worker threads
+            final SvgTranscoder transcoder = new SvgTranscoder(uri, svgClassName, languageRenderer);
+            transcoder.setPackageName(outputPackageName);
+            transcoder.setStaticGeometry(this.staticGeometry);
+            transcoder.setListener(new TranscoderListener() {
+                public Writer getWriter() {
+                    return writer;
+                }
+
+                public void finished() {
+                    latch.countDown();
+                }
+            });
+            transcoder.transcode(templateStream);
+            // Limit the processing to 10 seconds to prevent infinite hang
+            succeeded = latch.await(FILE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Throwable t) {
+            t.printStackTrace(System.err);
+        }
+
+        if (succeeded) {
+            manifest.setProperty(file.getName(), manifestValue);
+        } else {
+            manifest.remove(file.getName());
+        }
+        return new FileReport(file, succeeded ? FileStatus.TRANSCODED : FileStatus.FAILED,
+                System.nanoTime() - start);
+    }
+
+    private synchronized ExecutorService getExecutorService() {
+        if (this.executorService == null) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            this.executorService = Executors.newFixedThreadPool(this.parallelism, (Runnable r) -> {
+                Thread thread = new Thread(r, "Photon transcoder " + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return this.executorService;
+    }
+
+    private Properties loadManifest(File outputFolder) {
+        Properties manifest = new Properties();
+        File manifestFile = new File(outputFolder, MANIFEST_FILE_NAME);
+        if (this.incremental && manifestFile.exists()) {
+            try (InputStream is = new FileInputStream(manifestFile)) {
+                manifest.load(is);
+            } catch (IOException ioe) {
+                // Treat a broken manifest as missing, forcing a full transcoding of this folder
+                ioe.printStackTrace(System.err);
+                manifest.clear();
             }
         }
+        return manifest;
+    }
+
+    private void storeManifest(File outputFolder, Properties manifest) {
+        File manifestFile = new File(outputFolder, MANIFEST_FILE_NAME);
+        try (OutputStream os = new FileOutputStream(manifestFile)) {
+            manifest.store(os, "Generated by Photon. Do not edit.");
+        } catch (IOException ioe) {
+            ioe.printStackTrace(System.err);
+        }
+    }
 
-        System.out.println();
+    private static String getHash(byte[] content, String... extras) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content);
+            for (String extra : extras) {
+                digest.update((byte) 0);
+                if (extra != null) {
+                    digest.update(extra.getBytes("UTF-8"));
+                }
+            }
+            byte[] hash = digest.digest();
+            StringBuilder result = new StringBuilder();
+            for (int i = 0; i < hash.length; i++) {
+                result.append(Integer.toString((hash[i] & 0xff) + 0x100, 16).substring(1));
+            }
+            return result.toString();
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
     }
 }
@@ -49,7 +49,10 @@ public class SvgBatchConverter extends SvgBatchBaseConverter {
                     "  templateFile=xyz - the template file for creating the transcoded classes",
                     "  outputLanguage=java|kotlin - the language for the transcoded classes",
                     "  outputFolder=xyz - optional location of output files. If not specified, output files will be placed in the 'sourceFolder'",
-                    "  outputClassNamePrefix=xyz - optional prefix for the class name of each transcoded class"
+                    "  outputClassNamePrefix=xyz - optional prefix for the class name of each transcoded class",
+                    "  parallelism=N|auto - optional number of worker threads to transcode SVG images. Defaults to 1",
+                    "  incremental=true|false - optional flag to skip SVG images that haven't changed since the last run. Defaults to false",
+                    "  staticGeometry=true|false - optional flag to create all shapes and paints once per transcoded class. Requires a static template. Defaults to false"
             ).forEach(System.out::println);
             System.out.println(CHECK_DOCUMENTATION);
             System.exit(1);
@@ -84,6 +87,8 @@ public class SvgBatchConverter extends SvgBatchBaseConverter {
         String outputClassNamePrefix = converter.getInputArgument(args, "outputClassNamePrefix", "");
         String outputFolderName = converter.getInputArgument(args, "outputFolder", sourceFolderName);
 
+        converter.configureProcessing(args);
+
         File inputFolder = new File(sourceFolderName);
         if (!inputFolder.exists()) {
             throw new NoSuchFileException(sourceFolderName);
@@ -104,5 +109,6 @@ public class SvgBatchConverter extends SvgBatchBaseConverter {
 
         converter.transcodeAllFilesInFolder(inputFolder, outputFolder, outputClassNamePrefix, outputFileNameExtension,
                 outputPackageName, languageRenderer, templateFile);
+        converter.finish();
     }
 }
@@ -49,7 +49,10 @@ public class SvgDeepBatchConverter extends SvgBatchBaseConverter {
                     "  templateFile=xyz - the template file for creating the transcoded classes",
                     "  outputLanguage=java|kotlin - the language for the transcoded classes",
                     "  outputRootFolder=xyz - optional root location of output files. If not specified, output files will be placed under the 'sourceRootFolder'",
-                    "  outputClassNamePrefix=xyz - optional prefix for the class name of each transcoded class"
+                    "  outputClassNamePrefix=xyz - optional prefix for the class name of each transcoded class",
+                    "  parallelism=N|auto - optional number of worker threads to transcode SVG images. Defaults to 1",
+                    "  incremental=true|false - optional flag to skip SVG images that haven't changed since the last run. Defaults to false",
+                    "  staticGeometry=true|false - optional flag to create all shapes and paints once per transcoded class. Requires a static template. Defaults to false"
             ).forEach(System.out::println);
             System.out.println(CHECK_DOCUMENTATION);
             System.exit(1);
@@ -84,6 +87,8 @@ public class SvgDeepBatchConverter extends SvgBatchBaseConverter {
         String outputClassNamePrefix = converter.getInputArgument(args, "outputClassNamePrefix", "");
         String outputRootFolderName = converter.getInputArgument(args, "outputRootFolder", sourceRootFolderName);
 
+        converter.configureProcessing(args);
+
         File inputRootFolder = new File(sourceRootFolderName);
         if (!inputRootFolder.exists()) {
             throw new NoSuchFileException(sourceRootFolderName);
@@ -105,6 +110,7 @@ public class SvgDeepBatchConverter extends SvgBatchBaseConverter {
 
         converter.processFolder(inputRootFolder, outputRootFolder, outputClassNamePrefix, outputFileNameExtension,
                 outputRootPackageName, languageRenderer, templateFile);
+        converter.finish();
     }
 
     protected void processFolder(File inputFolder, File outputFolder,
@@ -120,8 +126,9 @@ public class SvgDeepBatchConverter extends SvgBatchBaseConverter {
         System.out.println(
                 "******************************************************************************");
 
-        // Transcode all SVG files in this folder
-        transcodeAllFilesInFolder(inputFolder, outputFolder, outputClassNamePrefix, outputFileNameExtension,
+        // Schedule all SVG files in this folder. These are transcoded in the background while
+        // we go into the sub-folders
+        scheduleAllFilesInFolder(inputFolder, outputFolder, outputClassNamePrefix, outputFileNameExtension,
                 outputPackageName, languageRenderer, templateFile);
 
         // Now scan the folder for sub-folders
@@ -107,6 +107,25 @@ public class JavaLanguageRenderer implements LanguageRenderer {
         return "}";
     }
 
+    @Override
+    public String startStaticMethod(String methodName, String returnTypeName,
+            MethodArgument... arguments) {
+        return "private static " + ((returnTypeName == null) ? "void" : returnTypeName) + " "
+                + methodName + "(" +
+                Stream.of(arguments).map(e -> e.type + " " + e.name).collect(Collectors.joining(",")) +
+                ") {";
+    }
+
+    @Override
+    public String getStaticFieldDefinition(String typeName, String fieldName, String initializer) {
+        return "private static final " + typeName + " " + fieldName + " = " + initializer + ";";
+    }
+
+    @Override
+    public String getNullableVariableDefinition(String variableTypeName, String variableName) {
+        return variableTypeName + " " + variableName + " = null;";
+    }
+
     @Override
     public String getPrimitiveTypeFor(Class<?> clazz) {
         if (clazz == int.class) return "int";
@@ -108,6 +108,26 @@ public class KotlinLanguageRenderer implements LanguageRenderer {
         return "}";
     }
 
+    @Override
+    public String startStaticMethod(String methodName, String returnTypeName,
+            MethodArgument... arguments) {
+        // Static methods are placed in the companion object
+        return "private fun " + methodName + "(" +
+                Stream.of(arguments).map(e -> e.name + " : " + e.type).collect(Collectors.joining(",")) +
+                ")" + ((returnTypeName == null) ? "" : (" : " + returnTypeName)) + " {";
+    }
+
+    @Override
+    public String getStaticFieldDefinition(String typeName, String fieldName, String initializer) {
+        // Static fields are placed in the companion object
+        return "private val " + fieldName + " : " + typeName + " = " + initializer;
+    }
+
+    @Override
+    public String getNullableVariableDefinition(String variableTypeName, String variableName) {
+        return "var " + variableName + " : " + variableTypeName + "? = null";
+    }
+
     @Override
     public String getPrimitiveTypeFor(Class<?> clazz) {
         if (clazz == int.class) return "Int";
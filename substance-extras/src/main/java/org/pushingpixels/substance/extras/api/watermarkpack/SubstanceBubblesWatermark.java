@@ -33,6 +33,7 @@ import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.watermark.SubstanceWatermark;
+import org.pushingpixels.substance.internal.utils.AcceleratedImageCache;
 
 import java.awt.*;
 import java.awt.geom.GeneralPath;
@@ -59,7 +60,7 @@ public class SubstanceBubblesWatermark implements SubstanceWatermark {
             return;
         int dx = c.getLocationOnScreen().x;
         int dy = c.getLocationOnScreen().y;
-        NeonCortex.drawImage(graphics, SubstanceBubblesWatermark.watermarkImage, x, y, width,
+        AcceleratedImageCache.drawImage(graphics, SubstanceBubblesWatermark.watermarkImage, x, y, width,
                 height, dx, dy);
     }
 
@@ -33,6 +33,7 @@ import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.watermark.SubstanceWatermark;
+import org.pushingpixels.substance.internal.utils.AcceleratedImageCache;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -58,7 +59,7 @@ public class SubstanceCrosshatchWatermark implements SubstanceWatermark {
             return;
         int dx = c.getLocationOnScreen().x;
         int dy = c.getLocationOnScreen().y;
-        NeonCortex.drawImage(graphics, SubstanceCrosshatchWatermark.watermarkImage, x, y, width,
+        AcceleratedImageCache.drawImage(graphics, SubstanceCrosshatchWatermark.watermarkImage, x, y, width,
                 height, dx, dy);
     }
 
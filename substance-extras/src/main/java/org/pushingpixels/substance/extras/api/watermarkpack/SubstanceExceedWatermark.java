@@ -33,6 +33,7 @@ import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.watermark.SubstanceWatermark;
+import org.pushingpixels.substance.internal.utils.AcceleratedImageCache;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -55,7 +56,7 @@ public class SubstanceExceedWatermark implements SubstanceWatermark {
             int y, int width, int height) {
         int dx = c.getLocationOnScreen().x;
         int dy = c.getLocationOnScreen().y;
-        NeonCortex.drawImage(graphics, SubstanceExceedWatermark.watermarkImage, x, y, width,
+        AcceleratedImageCache.drawImage(graphics, SubstanceExceedWatermark.watermarkImage, x, y, width,
                 height, dx, dy);
     }
 
@@ -33,6 +33,7 @@ import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.watermark.SubstanceWatermark;
+import org.pushingpixels.substance.internal.utils.AcceleratedImageCache;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 
 import java.awt.*;
@@ -94,7 +95,7 @@ public class SubstanceKatakanaWatermark implements SubstanceWatermark {
         }
         int dx = c.getLocationOnScreen().x;
         int dy = c.getLocationOnScreen().y;
-        NeonCortex.drawImage(graphics, SubstanceKatakanaWatermark.watermarkImage, x, y, width,
+        AcceleratedImageCache.drawImage(graphics, SubstanceKatakanaWatermark.watermarkImage, x, y, width,
                 height, dx, dy);
     }
 
@@ -33,6 +33,7 @@ import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.watermark.SubstanceWatermark;
+import org.pushingpixels.substance.internal.utils.AcceleratedImageCache;
 import org.pushingpixels.substance.internal.utils.SubstanceColorUtilities;
 
 import java.awt.*;
@@ -59,7 +60,7 @@ public class SubstanceLatchWatermark implements SubstanceWatermark {
             return;
         int dx = c.getLocationOnScreen().x;
         int dy = c.getLocationOnScreen().y;
-        NeonCortex.drawImage(graphics, SubstanceLatchWatermark.watermarkImage, x, y, width,
+        AcceleratedImageCache.drawImage(graphics, SubstanceLatchWatermark.watermarkImage, x, y, width,
                 height, dx, dy);
     }
 
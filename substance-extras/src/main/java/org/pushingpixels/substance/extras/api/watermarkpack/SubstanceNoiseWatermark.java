@@ -6,6 +6,7 @@ import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.watermark.SubstanceWatermark;
 import org.pushingpixels.substance.extras.api.painterpack.noise.NoiseFactory;
 import org.pushingpixels.substance.extras.api.painterpack.noise.NoiseFilter;
+import org.pushingpixels.substance.internal.utils.AcceleratedImageCache;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -83,7 +84,7 @@ public class SubstanceNoiseWatermark implements SubstanceWatermark {
             return;
         int dx = c.getLocationOnScreen().x;
         int dy = c.getLocationOnScreen().y;
-        NeonCortex.drawImage(graphics, this.watermarkImage, x, y, width, height, dx, dy);
+        AcceleratedImageCache.drawImage(graphics, this.watermarkImage, x, y, width, height, dx, dy);
     }
 
     @Override
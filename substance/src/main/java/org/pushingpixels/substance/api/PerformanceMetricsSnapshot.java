@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.api;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Point-in-time snapshot of the performance metrics collected by <b>Substance</b>. The metrics
+ * are only collected while enabled with
+ * {@link SubstanceCortex.GlobalScope#setPerformanceMetricsEnabled(boolean)}, and a snapshot is
+ * obtained with {@link SubstanceCortex.GlobalScope#getPerformanceMetricsSnapshot()}.
+ *
+ * <p>Paint durations are inclusive. The duration of painting a table includes the painting of
+ * the renderer components of its cells, and the renderer paints are also reported under
+ * their own UI delegates.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class PerformanceMetricsSnapshot {
+    /**
+     * Access statistics of a single named cache. Caches that share the same name are reported
+     * together.
+     */
+    public static final class CacheStatistics {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+
+        public CacheStatistics(long hits, long misses, long evictions, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        /**
+         * Returns the number of lookups that found a cached value.
+         *
+         * @return The number of lookups that found a cached value.
+         */
+        public long getHits() {
+            return this.hits;
+        }
+
+        /**
+         * Returns the number of lookups that did not find a cached value.
+         *
+         * @return The number of lookups that did not find a cached value.
+         */
+        public long getMisses() {
+            return this.misses;
+        }
+
+        /**
+         * Returns the number of cached values that were reclaimed by the garbage collector.
+         * Unlike hits and misses, evictions are always counted.
+         *
+         * @return The number of cached values that were reclaimed by the garbage collector.
+         */
+        public long getEvictions() {
+            return this.evictions;
+        }
+
+        /**
+         * Returns the number of values in the cache at the time of the snapshot.
+         *
+         * @return The number of values in the cache at the time of the snapshot.
+         */
+        public int getSize() {
+            return this.size;
+        }
+
+        @Override
+        public String toString() {
+            return "hits " + this.hits + ", misses " + this.misses + ", evictions "
+                    + this.evictions + ", size " + this.size;
+        }
+    }
+
+    /**
+     * Statistics of images allocated for a single call site category.
+     */
+    public static final class AllocationStatistics {
+        private final long count;
+        private final long pixels;
+
+        public AllocationStatistics(long count, long pixels) {
+            this.count = count;
+            this.pixels = pixels;
+        }
+
+        /**
+         * Returns the number of allocated images.
+         *
+         * @return The number of allocated images.
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * Returns the total number of pixels in the allocated images, in logical (unscaled)
+         * pixels.
+         *
+         * @return The total number of pixels in the allocated images.
+         */
+        public long getPixels() {
+            return this.pixels;
+        }
+
+        @Override
+        public String toString() {
+            return this.count + " images, " + this.pixels + " pixels";
+        }
+    }
+
+    /**
+     * Statistics of a single timed operation.
+     */
+    public static final class TimingStatistics {
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        public TimingStatistics(long count, long totalNanos, long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * Returns the number of times the operation was done.
+         *
+         * @return The number of times the operation was done.
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * Returns the total time spent in the operation, in nanoseconds.
+         *
+         * @return The total time spent in the operation, in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        /**
+         * Returns the longest single run of the operation, in nanoseconds.
+         *
+         * @return The longest single run of the operation, in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return this.maxNanos;
+        }
+
+        /**
+         * Returns the average time of the operation, in nanoseconds.
+         *
+         * @return The average time of the operation, in nanoseconds.
+         */
+        public long getAverageNanos() {
+            return (this.count == 0) ? 0 : this.totalNanos / this.count;
+        }
+
+        @Override
+        public String toString() {
+            return this.count + " times, average " + this.getAverageNanos() + "ns, max "
+                    + this.maxNanos + "ns";
+        }
+    }
+
+    private final Map<String, CacheStatistics> cacheStatistics;
+    private final Map<String, AllocationStatistics> imageAllocations;
+    private final Map<String, TimingStatistics> paintTimings;
+    private final TimingStatistics skinChanges;
+    private final TimingStatistics timelinePulses;
+
+    public PerformanceMetricsSnapshot(Map<String, CacheStatistics> cacheStatistics,
+            Map<String, AllocationStatistics> imageAllocations,
+            Map<String, TimingStatistics> paintTimings, TimingStatistics skinChanges,
+            TimingStatistics timelinePulses) {
+        this.cacheStatistics = Collections.unmodifiableMap(new TreeMap<>(cacheStatistics));
+        this.imageAllocations = Collections.unmodifiableMap(new TreeMap<>(imageAllocations));
+        this.paintTimings = Collections.unmodifiableMap(new TreeMap<>(paintTimings));
+        this.skinChanges = skinChanges;
+        this.timelinePulses = timelinePulses;
+    }
+
+    /**
+     * Returns the access statistics of all the internal caches, keyed by cache name.
+     *
+     * @return Unmodifiable map of cache statistics, sorted by cache name.
+     */
+    public Map<String, CacheStatistics> getCacheStatistics() {
+        return this.cacheStatistics;
+    }
+
+    /**
+     * Returns the statistics of allocated offscreen images, keyed by the simple name of the
+     * class that requested the image.
+     *
+     * @return Unmodifiable map of image allocation statistics, sorted by call site category.
+     */
+    public Map<String, AllocationStatistics> getImageAllocations() {
+        return this.imageAllocations;
+    }
+
+    /**
+     * Returns the paint durations of the UI delegates, keyed by the simple name of the UI
+     * delegate class.
+     *
+     * @return Unmodifiable map of paint timings, sorted by UI delegate name.
+     */
+    public Map<String, TimingStatistics> getPaintTimings() {
+        return this.paintTimings;
+    }
+
+    /**
+     * Returns the durations of skin changes.
+     *
+     * @return The durations of skin changes.
+     */
+    public TimingStatistics getSkinChanges() {
+        return this.skinChanges;
+    }
+
+    /**
+     * Returns the durations of the animation timeline engine pulses.
+     *
+     * @return The durations of the animation timeline engine pulses.
+     */
+    public TimingStatistics getTimelinePulses() {
+        return this.timelinePulses;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.api;
+
+/**
+ * Outcome of precomputing the color schemes of a skin with
+ * {@link SubstanceCortex.GlobalScope#precomputeSkin(SubstanceSkin)}.
+ */
+public final class SkinPrecomputation {
+    private final String skinDisplayName;
+    private final int colorSchemeCount;
+    private final int derivedColorSchemeCount;
+    private final long durationNanos;
+
+    SkinPrecomputation(String skinDisplayName, int colorSchemeCount,
+            int derivedColorSchemeCount, long durationNanos) {
+        this.skinDisplayName = skinDisplayName;
+        this.colorSchemeCount = colorSchemeCount;
+        this.derivedColorSchemeCount = derivedColorSchemeCount;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Returns the display name of the precomputed skin.
+     *
+     * @return The display name of the precomputed skin.
+     */
+    public String getSkinDisplayName() {
+        return this.skinDisplayName;
+    }
+
+    /**
+     * Returns the number of distinct color schemes resolved from the color scheme bundles of
+     * the skin, including the schemes synthesized for states without a registered scheme.
+     *
+     * @return The number of distinct color schemes resolved from the skin.
+     */
+    public int getColorSchemeCount() {
+        return this.colorSchemeCount;
+    }
+
+    /**
+     * Returns the number of color schemes derived by the transformations of the border
+     * painters of the skin.
+     *
+     * @return The number of color schemes derived by the border painters of the skin.
+     */
+    public int getDerivedColorSchemeCount() {
+        return this.derivedColorSchemeCount;
+    }
+
+    /**
+     * Returns the duration of the precomputation in nanoseconds.
+     *
+     * @return The duration of the precomputation in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return this.skinDisplayName + ": " + this.colorSchemeCount + " color schemes, "
+                + this.derivedColorSchemeCount + " derived color schemes in "
+                + (this.durationNanos / 1000) + " us";
+    }
+}
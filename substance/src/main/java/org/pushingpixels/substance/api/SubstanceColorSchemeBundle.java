@@ -36,6 +36,7 @@ import org.pushingpixels.substance.api.colorscheme.ColorSchemeTransform;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Color scheme bundle. Defines the visual appearance of a single decoration area of a skin.
@@ -83,7 +84,7 @@ public class SubstanceColorSchemeBundle {
      * @see ComponentState#PRESSED_SELECTED
      * @see ComponentState#PRESSED_UNSELECTED
      */
-    private SubstanceColorScheme pressedScheme;
+    private volatile SubstanceColorScheme pressedScheme;
 
     /**
      * If there is no explicitly registered color scheme for the disabled
@@ -92,7 +93,7 @@ public class SubstanceColorSchemeBundle {
      *
      * @see ComponentState#DISABLED_SELECTED
      */
-    private SubstanceColorScheme disabledSelectedScheme;
+    private volatile SubstanceColorScheme disabledSelectedScheme;
 
     /**
      * If there is no explicitly registered color scheme for the selected
@@ -101,7 +102,7 @@ public class SubstanceColorSchemeBundle {
      *
      * @see ComponentState#SELECTED
      */
-    private SubstanceColorScheme selectedScheme;
+    private volatile SubstanceColorScheme selectedScheme;
 
     /**
      * If there is no explicitly registered color scheme for the rollover
@@ -110,7 +111,7 @@ public class SubstanceColorSchemeBundle {
      *
      * @see ComponentState#ROLLOVER_SELECTED
      */
-    private SubstanceColorScheme rolloverSelectedScheme;
+    private volatile SubstanceColorScheme rolloverSelectedScheme;
 
     /**
      * Maps from color scheme association kinds to the map of color schemes.
@@ -130,6 +131,12 @@ public class SubstanceColorSchemeBundle {
      */
     private Map<ColorSchemeAssociationKind, Map<ComponentState, SubstanceColorScheme>> colorSchemeMap;
 
+    /**
+     * Maps from color scheme association kinds to the map of best fit states. The best fit
+     * maps are filled lazily, and can be filled off the Event Dispatch Thread by
+     * {@link SubstanceCortex.GlobalScope#precomputeSkin(SubstanceSkin)}. A state that has no
+     * best fit is mapped to itself.
+     */
     private Map<ColorSchemeAssociationKind, Map<ComponentState, ComponentState>> bestFillMap;
 
     /**
@@ -160,7 +167,7 @@ public class SubstanceColorSchemeBundle {
 
         this.bestFillMap = new HashMap<>();
         for (ColorSchemeAssociationKind associationKind : ColorSchemeAssociationKind.values()) {
-            this.bestFillMap.put(associationKind, new HashMap<>());
+            this.bestFillMap.put(associationKind, new ConcurrentHashMap<>());
         }
     }
 
@@ -243,6 +250,33 @@ public class SubstanceColorSchemeBundle {
         }
     }
 
+    /**
+     * Returns the registered state that best fits the specified component state for the
+     * specified association kind.
+     *
+     * @param associationKind Color scheme association kind.
+     * @param componentState  Component state.
+     * @return The best fit state, or <code>null</code> if none of the registered states fits
+     * the specified component state.
+     */
+    private ComponentState getBestFit(ColorSchemeAssociationKind associationKind,
+            ComponentState componentState) {
+        Map<ComponentState, ComponentState> bestFitForState =
+                this.bestFillMap.get(associationKind);
+        ComponentState bestFit = bestFitForState.get(componentState);
+        if (bestFit == null) {
+            Collection<ComponentState> registeredStates =
+                    this.colorSchemeMap.get(associationKind).keySet();
+            bestFit = componentState.bestFit(registeredStates);
+            if (bestFit == null) {
+                bestFit = componentState;
+            }
+            // Concurrent lookups compute the same value
+            bestFitForState.put(componentState, bestFit);
+        }
+        return (bestFit == componentState) ? null : bestFit;
+    }
+
     /**
      * Returns the color scheme of the specified component in the specified
      * component state.
@@ -259,15 +293,7 @@ public class SubstanceColorSchemeBundle {
         }
 
         // for now look for the best fit only on active states
-        Map<ComponentState, ComponentState> bestFitForFill = this.bestFillMap
-                .get(ColorSchemeAssociationKind.FILL);
-        if (!bestFitForFill.containsKey(componentState)) {
-            Collection<ComponentState> registeredStates = this.colorSchemeMap
-                    .get(ColorSchemeAssociationKind.FILL).keySet();
-            bestFitForFill.put(componentState, componentState
-                    .bestFit(registeredStates));
-        }
-        ComponentState bestFit = bestFitForFill.get(componentState);
+        ComponentState bestFit = this.getBestFit(ColorSchemeAssociationKind.FILL, componentState);
         if (bestFit != null) {
             registered = this.colorSchemeMap.get(ColorSchemeAssociationKind.FILL).get(bestFit);
             if (registered != null) {
@@ -441,15 +467,7 @@ public class SubstanceColorSchemeBundle {
 
         // if (componentState.isActive()) {
         // for now look for the best fit only on active states
-        Map<ComponentState, ComponentState> bestFitForState = this.bestFillMap
-                .get(associationKind);
-        if (!bestFitForState.containsKey(componentState)) {
-            Collection<ComponentState> registeredStates = this.colorSchemeMap
-                    .get(associationKind).keySet();
-            bestFitForState.put(componentState, componentState
-                    .bestFit(registeredStates));
-        }
-        ComponentState bestFit = bestFitForState.get(componentState);
+        ComponentState bestFit = this.getBestFit(associationKind, componentState);
         if (bestFit != null) {
             registered = this.colorSchemeMap.get(associationKind).get(bestFit);
             if (registered != null)
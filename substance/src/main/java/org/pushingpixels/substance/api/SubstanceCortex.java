@@ -63,6 +63,9 @@ import javax.swing.text.JTextComponent;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * This class is the only officially-supported entry point into configuring the behavior of
@@ -104,6 +107,17 @@ public class SubstanceCortex {
          */
         private static ClassLoader labelBundleClassLoader;
 
+        /**
+         * Executor for {@link #precomputeSkin(SubstanceSkin)}. Skins are precomputed one at a
+         * time on a single daemon thread.
+         */
+        private static final ExecutorService precomputeExecutor =
+                Executors.newSingleThreadExecutor((Runnable runnable) -> {
+                    Thread thread = new Thread(runnable, "Substance skin precomputation");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
         /**
          * The current Substance skin.
          */
@@ -176,6 +190,7 @@ public class SubstanceCortex {
                 return true;
             }
 
+            long skinChangeStart = PerformanceMetrics.startTiming();
             try {
                 // Required skin settings must be non-null
                 if (!newSkin.isValid()) {
@@ -215,9 +230,16 @@ public class SubstanceCortex {
 
                 if (isSubstance) {
                     LazyResettableHashMap.reset();
+                    // The atlas pages hold the images of the cached icons, and the
+                    // volatile mirrors and the scratch images are only valid for the
+                    // previous skin
+                    SubstanceImageAtlas.reset();
+                    AcceleratedImageCache.reset();
+                    ScratchImagePool.reset();
                 }
 
                 currentSkin = newSkin;
+                DerivedColorSchemes.skinChanged(newSkin);
 
                 if (toUpdateWindows) {
                     SubstanceCoreUtilities.updateActiveUi();
@@ -226,6 +248,7 @@ public class SubstanceCortex {
                 for (SkinChangeListener skinChangeListener : skinChangeListeners) {
                     skinChangeListener.skinChanged();
                 }
+                PerformanceMetrics.skinChanged(newSkin.getDisplayName(), skinChangeStart);
                 return true;
             } catch (NoClassDefFoundError ncdfe) {
                 // this may happen when a skin references some class
@@ -240,6 +263,7 @@ public class SubstanceCortex {
 
         static void unsetSkin() {
             currentSkin = null;
+            DerivedColorSchemes.skinChanged(null);
         }
 
         /**
@@ -1088,6 +1112,179 @@ public class SubstanceCortex {
             UIManager.put(SubstanceSynapse.WATERMARK_VISIBLE, watermarkVisible);
         }
 
+        /**
+         * Specifies whether large long-lived background images, such as decoration area
+         * backgrounds and watermarks, should be mirrored into accelerated
+         * {@link java.awt.image.VolatileImage}s for painting on screen. This is disabled by
+         * default.
+         *
+         * @param acceleratedImageCacheEnabled If <code>true</code>, large background images will
+         *                                     be painted from accelerated mirrors when possible.
+         * @see #isAcceleratedImageCacheEnabled()
+         */
+        public static void setAcceleratedImageCacheEnabled(boolean acceleratedImageCacheEnabled) {
+            AcceleratedImageCache.setEnabled(acceleratedImageCacheEnabled);
+        }
+
+        /**
+         * Returns indication whether large long-lived background images are mirrored into
+         * accelerated {@link java.awt.image.VolatileImage}s for painting on screen.
+         *
+         * @return <code>true</code> if large background images are painted from accelerated
+         * mirrors when possible.
+         * @see #setAcceleratedImageCacheEnabled(boolean)
+         */
+        public static boolean isAcceleratedImageCacheEnabled() {
+            return AcceleratedImageCache.isEnabled();
+        }
+
+        /**
+         * Specifies whether the backgrounds of buttons, comboboxes and text components should be
+         * cached as nine-slice images that are rendered once at a small canonical size and
+         * stretched to the size of each component. A background is only stretched when that
+         * reproduces the output of its painters pixel for pixel. This is enabled by default.
+         *
+         * @param nineSliceBackgroundsEnabled If <code>true</code>, component backgrounds will be
+         *                                    cached as nine-slice images when possible.
+         * @see #isNineSliceBackgroundsEnabled()
+         */
+        public static void setNineSliceBackgroundsEnabled(boolean nineSliceBackgroundsEnabled) {
+            NineSliceImage.setEnabled(nineSliceBackgroundsEnabled);
+        }
+
+        /**
+         * Returns indication whether the backgrounds of buttons, comboboxes and text components
+         * are cached as nine-slice images.
+         *
+         * @return <code>true</code> if component backgrounds are cached as nine-slice images when
+         * possible.
+         * @see #setNineSliceBackgroundsEnabled(boolean)
+         */
+        public static boolean isNineSliceBackgroundsEnabled() {
+            return NineSliceImage.isEnabled();
+        }
+
+        /**
+         * Specifies whether the borders, icons, font-dependent metrics and input maps that
+         * <b>Substance</b> adds to the UI defaults table should be computed on first access
+         * instead of when the skin is set. The deferred values are computed once for each skin
+         * that is set. Enabling this shortens the installation of the look-and-feel and the
+         * skin changes, as most applications only use a fraction of the Swing component types.
+         * This is disabled by default, and should be called before the first skin is set.
+         *
+         * @param lazyUIDefaultsEnabled If <code>true</code>, the costlier UI defaults entries
+         *                              will be computed on first access.
+         * @see #isLazyUIDefaultsEnabled()
+         */
+        public static void setLazyUIDefaultsEnabled(boolean lazyUIDefaultsEnabled) {
+            SkinUtilities.setLazyDefaults(lazyUIDefaultsEnabled);
+        }
+
+        /**
+         * Returns indication whether the costlier UI defaults entries are computed on first
+         * access.
+         *
+         * @return <code>true</code> if the costlier UI defaults entries are computed on first
+         * access.
+         * @see #setLazyUIDefaultsEnabled(boolean)
+         */
+        public static boolean isLazyUIDefaultsEnabled() {
+            return SkinUtilities.isLazyDefaults();
+        }
+
+        /**
+         * Specifies whether performance metrics should be collected. This is disabled by
+         * default, and the instrumented code paths have no measurable overhead in that case.
+         * When enabled, <b>Substance</b> tracks the hits, misses and evictions of its internal
+         * caches, the offscreen image allocations, the paint durations of its UI delegates,
+         * the skin changes and the pulses of the animation timeline engine. On runtimes that
+         * support Java Flight Recorder, the same metrics are also emitted as events in the
+         * "Radiance / Substance" category.
+         *
+         * @param performanceMetricsEnabled If <code>true</code>, performance metrics will be
+         *                                  collected.
+         * @see #isPerformanceMetricsEnabled()
+         * @see #getPerformanceMetricsSnapshot()
+         * @see #resetPerformanceMetrics()
+         */
+        public static void setPerformanceMetricsEnabled(boolean performanceMetricsEnabled) {
+            PerformanceMetrics.setEnabled(performanceMetricsEnabled);
+        }
+
+        /**
+         * Returns indication whether performance metrics are collected.
+         *
+         * @return <code>true</code> if performance metrics are collected.
+         * @see #setPerformanceMetricsEnabled(boolean)
+         */
+        public static boolean isPerformanceMetricsEnabled() {
+            return PerformanceMetrics.isEnabled();
+        }
+
+        /**
+         * Returns a snapshot of the performance metrics collected so far.
+         *
+         * @return Snapshot of the performance metrics collected so far.
+         * @see #setPerformanceMetricsEnabled(boolean)
+         * @see #resetPerformanceMetrics()
+         */
+        public static PerformanceMetricsSnapshot getPerformanceMetricsSnapshot() {
+            return PerformanceMetrics.getSnapshot();
+        }
+
+        /**
+         * Clears the performance metrics collected so far.
+         *
+         * @see #setPerformanceMetricsEnabled(boolean)
+         * @see #getPerformanceMetricsSnapshot()
+         */
+        public static void resetPerformanceMetrics() {
+            PerformanceMetrics.reset();
+        }
+
+        /**
+         * Precomputes the color schemes of the specified skin on a background thread. This
+         * resolves the schemes of all the decoration area bundles of the skin for all component
+         * states and color scheme association kinds, including the schemes synthesized for
+         * states that have no registered scheme, and derives the schemes used by the border
+         * painters of the skin. The derived schemes are kept in a strongly-held table for as
+         * long as the skin is reachable, and are used once the same skin instance is set with
+         * {@link #setSkin(SubstanceSkin)}. This way the first paint after the skin change does
+         * not compute them on the Event Dispatch Thread, and they are not discarded under
+         * memory pressure.
+         *
+         * <p>Schemes derived from the colors of specific components (such as colorized
+         * backgrounds) depend on those components and are still computed on demand.</p>
+         *
+         * <p>This method can be called on any thread.</p>
+         *
+         * @param skin Skin to precompute.
+         * @return Future that completes with the counts and the duration of the
+         * precomputation.
+         * @see #setSkin(SubstanceSkin)
+         */
+        public static CompletableFuture<SkinPrecomputation> precomputeSkin(SubstanceSkin skin) {
+            if (skin == null) {
+                throw new IllegalArgumentException("Cannot pass null skin");
+            }
+            CompletableFuture<SkinPrecomputation> result = new CompletableFuture<>();
+            precomputeExecutor.execute(() -> {
+                try {
+                    long start = System.nanoTime();
+                    Set<SubstanceColorScheme> schemes = skin.resolveAllColorSchemes();
+                    Map<HashMapKey, SubstanceColorScheme> derived =
+                            DerivedColorSchemes.transformAll(schemes,
+                                    skin.getBorderPainter(), skin.getHighlightBorderPainter());
+                    DerivedColorSchemes.register(skin, derived);
+                    result.complete(new SkinPrecomputation(skin.getDisplayName(),
+                            schemes.size(), derived.size(), System.nanoTime() - start));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+            return result;
+        }
+
         /**
          * Specifies whether buttons should ignore the default (minimum) dimension. Note that
          * {@link SubstanceButtonShaper} implementations are not required to respect this call. The
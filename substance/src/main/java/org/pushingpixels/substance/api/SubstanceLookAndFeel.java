@@ -266,20 +266,10 @@ public abstract class SubstanceLookAndFeel extends BasicLookAndFeel {
         }
         SubstanceColorScheme colorScheme = SubstanceColorSchemeUtilities.getColorScheme(component,
                 ComponentState.DISABLED_UNSELECTED);
-        BufferedImage result = SubstanceImageCreator.getColorSchemeImage(component, icon, colorScheme, 0.5f);
         float alpha = SubstanceColorSchemeUtilities.getAlpha(component,
                 ComponentState.DISABLED_UNSELECTED);
-        if (alpha < 1.0f) {
-            BufferedImage intermediate = SubstanceCoreUtilities
-                    .getBlankUnscaledImage(result.getWidth(), result.getHeight());
-            Graphics2D g2d = intermediate.createGraphics();
-            g2d.setComposite(AlphaComposite.SrcOver.derive(alpha));
-            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
-                    RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-            g2d.drawImage(result, 0, 0, result.getWidth(), result.getHeight(), null);
-            g2d.dispose();
-            result = intermediate;
-        }
+        BufferedImage result = SubstanceImageCreator.getColorSchemeImage(component, icon,
+                colorScheme, 0.5f, alpha);
 
         return new ImageWrapperIcon(result);
     }
@@ -403,6 +403,34 @@ public abstract class SubstanceSkin implements SubstanceTrait {
         SkinUtilities.addCustomEntriesToTable(table, this);
     }
 
+    /**
+     * Resolves the color schemes of all the decoration area bundles of this skin
+     * for all component states and color scheme association kinds. This fills the
+     * lazily computed best fits and synthesized schemes of the bundles.
+     *
+     * @return All distinct color schemes used by this skin.
+     */
+    Set<SubstanceColorScheme> resolveAllColorSchemes() {
+        Set<SubstanceColorScheme> result = new LinkedHashSet<>();
+        List<ComponentState> states = new ArrayList<>(ComponentState.getAllStates());
+        for (SubstanceColorSchemeBundle bundle : this.colorSchemeBundleMap.values()) {
+            for (ComponentState state : states) {
+                result.add(bundle.getColorScheme(state));
+                for (ColorSchemeAssociationKind associationKind :
+                        ColorSchemeAssociationKind.values()) {
+                    SubstanceColorScheme scheme = bundle.getColorScheme(associationKind,
+                            state, true);
+                    if (scheme != null) {
+                        result.add(scheme);
+                    }
+                }
+            }
+        }
+        result.addAll(this.backgroundColorSchemeMap.values());
+        result.add(this.getWatermarkColorScheme());
+        return result;
+    }
+
     /**
      * Returns the color scheme of the specified component in the specified
      * component state.
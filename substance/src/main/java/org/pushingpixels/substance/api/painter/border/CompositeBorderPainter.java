@@ -94,6 +94,24 @@ public class CompositeBorderPainter implements SubstanceBorderPainter {
 	public String getDisplayName() {
 		return this.displayName;
 	}
+
+	/**
+	 * Returns the delegate painter for painting the outer contours.
+	 * 
+	 * @return Delegate painter for painting the outer contours.
+	 */
+	public SubstanceBorderPainter getOuter() {
+		return this.outer;
+	}
+
+	/**
+	 * Returns the delegate painter for painting the inner contours.
+	 * 
+	 * @return Delegate painter for painting the inner contours.
+	 */
+	public SubstanceBorderPainter getInner() {
+		return this.inner;
+	}
 	
 	@Override
 	public Color getRepresentativeColor(SubstanceColorScheme borderScheme) {
@@ -31,9 +31,8 @@ package org.pushingpixels.substance.api.painter.border;
 
 import org.pushingpixels.substance.api.colorscheme.ColorSchemeTransform;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
-import org.pushingpixels.substance.internal.utils.HashMapKey;
+import org.pushingpixels.substance.internal.utils.DerivedColorSchemes;
 import org.pushingpixels.substance.internal.utils.LazyResettableHashMap;
-import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 
 import java.awt.*;
 
@@ -169,6 +168,16 @@ public class DelegateBorderPainter extends StandardBorderPainter {
 		return this.displayName;
 	}
 
+	/**
+	 * Returns the transformation applied on the color schemes prior to
+	 * computing the colors to be used for border painting.
+	 * 
+	 * @return Color scheme transformation of this border painter.
+	 */
+	public ColorSchemeTransform getTransform() {
+		return this.transform;
+	}
+
 	/**
 	 * Retrieves a transformed color scheme.
 	 * 
@@ -177,14 +186,8 @@ public class DelegateBorderPainter extends StandardBorderPainter {
 	 * @return Transformed color scheme.
 	 */
 	private SubstanceColorScheme getShiftScheme(SubstanceColorScheme orig) {
-		HashMapKey key = SubstanceCoreUtilities.getHashKey(orig
-				.getDisplayName(), this.getDisplayName(), this.transform);
-		SubstanceColorScheme result = transformMap.get(key);
-		if (result == null) {
-			result = this.transform.transform(orig);
-			transformMap.put(key, result);
-		}
-		return result;
+		return DerivedColorSchemes.getTransformedScheme(transformMap, orig,
+				this.getDisplayName(), this.transform);
 	}
 
 	@Override
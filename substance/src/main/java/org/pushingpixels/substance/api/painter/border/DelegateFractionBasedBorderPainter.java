@@ -147,6 +147,16 @@ public class DelegateFractionBasedBorderPainter implements SubstanceBorderPainte
 		return this.displayName;
 	}
 
+	/**
+	 * Returns the transformation applied on the color schemes prior to
+	 * computing the colors to be used for border painting.
+	 * 
+	 * @return Color scheme transformation of this border painter.
+	 */
+	public ColorSchemeTransform getTransform() {
+		return this.transform;
+	}
+
 	/**
 	 * Retrieves a transformed color scheme.
 	 * 
@@ -155,14 +165,8 @@ public class DelegateFractionBasedBorderPainter implements SubstanceBorderPainte
 	 * @return Transformed color scheme.
 	 */
 	private SubstanceColorScheme getShiftScheme(SubstanceColorScheme orig) {
-		HashMapKey key = SubstanceCoreUtilities.getHashKey(orig.getDisplayName(),
+		return DerivedColorSchemes.getTransformedScheme(transformMap, orig,
 				this.getDisplayName(), this.transform);
-		SubstanceColorScheme result = transformMap.get(key);
-		if (result == null) {
-			result = this.transform.transform(orig);
-			transformMap.put(key, result);
-		}
-		return result;
 	}
 
 	@Override
@@ -29,11 +29,11 @@
  */
 package org.pushingpixels.substance.api.painter.decoration;
 
-import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.painter.fill.ClassicFillPainter;
+import org.pushingpixels.substance.internal.utils.AcceleratedImageCache;
 import org.pushingpixels.substance.internal.utils.HashMapKey;
 import org.pushingpixels.substance.internal.utils.LazyResettableHashMap;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
@@ -90,7 +90,7 @@ public class ClassicDecorationPainter implements SubstanceDecorationPainter {
 				this.internalPaint((Graphics2D) result.getGraphics(), comp, width, height, scheme);
 				smallImageCache.put(key, result);
 			}
-			NeonCortex.drawImage(graphics, result, 0, 0);
+			AcceleratedImageCache.drawImage(graphics, result, 0, 0);
 			return;
 		}
 
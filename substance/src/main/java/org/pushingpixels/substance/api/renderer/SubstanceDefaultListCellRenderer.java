@@ -40,8 +40,8 @@ import org.pushingpixels.substance.internal.ui.SubstanceListUI;
 import org.pushingpixels.substance.internal.utils.*;
 
 import javax.swing.*;
+import javax.swing.border.Border;
 import javax.swing.border.EmptyBorder;
-import javax.swing.plaf.ColorUIResource;
 import javax.swing.plaf.ListUI;
 import java.awt.*;
 import java.util.Map;
@@ -57,6 +57,22 @@ public class SubstanceDefaultListCellRenderer extends DefaultListCellRenderer
         implements ThemedIconAwareRenderer {
     protected float rolloverArmAmount;
 
+    /**
+     * Foreground colors of this renderer. Reusing the same color instances avoids creating
+     * new colors for every rendered cell.
+     */
+    private final ForegroundColorTable foregroundColors = new ForegroundColorTable();
+
+    /**
+     * Border of this renderer. Recreated only when the font size of the list changes.
+     */
+    private Border regularBorder;
+
+    /**
+     * Font size of {@link #regularBorder}.
+     */
+    private int regularBorderFontSize;
+
     /**
      * Constructs a default renderer object for an item in a list.
      */
@@ -90,7 +106,8 @@ public class SubstanceDefaultListCellRenderer extends DefaultListCellRenderer
                 SubstanceColorScheme colorScheme = getColorSchemeForState(list, ui, currState);
                 if (currState.isDisabled() || (activeStates == null)
                         || (activeStates.size() == 1)) {
-                    super.setForeground(new ColorUIResource(colorScheme.getForegroundColor()));
+                    super.setForeground(this.foregroundColors.get(
+                            colorScheme.getForegroundColor()));
                     this.rolloverArmAmount = 0.0f;
                 } else {
                     float aggrRed = 0;
@@ -113,8 +130,8 @@ public class SubstanceDefaultListCellRenderer extends DefaultListCellRenderer
                         aggrGreen += schemeFg.getGreen() * contribution;
                         aggrBlue += schemeFg.getBlue() * contribution;
                     }
-                    super.setForeground(new ColorUIResource(
-                            new Color((int) aggrRed, (int) aggrGreen, (int) aggrBlue)));
+                    super.setForeground(this.foregroundColors.get(
+                            (int) aggrRed, (int) aggrGreen, (int) aggrBlue));
                 }
             } else {
                 SubstanceColorScheme scheme = getColorSchemeForState(list, ui, currState);
@@ -127,7 +144,7 @@ public class SubstanceDefaultListCellRenderer extends DefaultListCellRenderer
                         currState.isFacetActive(SubstanceSlices.ComponentStateFacet.SELECTION) ||
                         currState.isFacetActive(SubstanceSlices.ComponentStateFacet.ARM);
                 this.rolloverArmAmount = isActive ? 1.0f : 0.0f;
-                super.setForeground(new ColorUIResource(scheme.getForegroundColor()));
+                super.setForeground(this.foregroundColors.get(scheme.getForegroundColor()));
             }
         } else {
             if (isSelected) {
@@ -153,14 +170,31 @@ public class SubstanceDefaultListCellRenderer extends DefaultListCellRenderer
         this.setEnabled(list.isEnabled());
         this.setFont(list.getFont());
 
-        Insets ins = SubstanceSizeUtils.getListCellRendererInsets(
-                SubstanceSizeUtils.getComponentFontSize(list));
-        this.setBorder(new EmptyBorder(ins.top, ins.left, ins.bottom, ins.right));
+        int fontSize = SubstanceSizeUtils.getComponentFontSize(list);
+        if ((this.regularBorder == null) || (this.regularBorderFontSize != fontSize)) {
+            Insets ins = SubstanceSizeUtils.getListCellRendererInsets(fontSize);
+            this.regularBorder = new EmptyBorder(ins.top, ins.left, ins.bottom, ins.right);
+            this.regularBorderFontSize = fontSize;
+        }
+        this.setBorder(this.regularBorder);
 
         this.setOpaque(false);
         return this;
     }
 
+    /**
+     * Overridden for performance reasons. Changes between plain texts are not reported, since
+     * the text of the renderer changes for pretty much every rendered cell.
+     */
+    @Override
+    protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+        if ("text".equals(propertyName)
+                && !SubstanceCoreUtilities.isRendererTextChangeReported(oldValue, newValue)) {
+            return;
+        }
+        super.firePropertyChange(propertyName, oldValue, newValue);
+    }
+
     @Override
     public float getRolloverArmAmount() {
         return this.rolloverArmAmount;
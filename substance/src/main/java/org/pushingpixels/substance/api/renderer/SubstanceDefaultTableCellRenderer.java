@@ -37,7 +37,6 @@ import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.internal.animation.StateTransitionTracker;
 import org.pushingpixels.substance.internal.animation.StateTransitionTracker.StateContributionInfo;
 import org.pushingpixels.substance.internal.ui.SubstanceTableUI;
-import org.pushingpixels.substance.internal.ui.SubstanceTableUI.TableCellId;
 import org.pushingpixels.substance.internal.utils.*;
 import org.pushingpixels.substance.internal.utils.border.SubstanceTableCellBorder;
 
@@ -45,7 +44,6 @@ import javax.swing.*;
 import javax.swing.border.Border;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
-import javax.swing.plaf.ColorUIResource;
 import javax.swing.plaf.TableUI;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableCellRenderer;
@@ -64,6 +62,39 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
         implements ThemedIconAwareRenderer {
     private float rolloverArmAmount;
 
+    /**
+     * Foreground colors of this renderer. Reusing the same color instances avoids creating
+     * new colors for every rendered cell.
+     */
+    private final ForegroundColorTable foregroundColors = new ForegroundColorTable();
+
+    /**
+     * Border for cells that do not have focus. Recreated only when the cell renderer insets of
+     * the table change.
+     */
+    private Border regularBorder;
+
+    /**
+     * Insets of {@link #regularBorder}.
+     */
+    private Insets regularBorderInsets;
+
+    /**
+     * Border for the focused cell, reused across all the cells painted by this renderer.
+     */
+    private SubstanceTableCellBorder focusBorder;
+
+    /**
+     * Border for the focused cell in tables that do not show grid lines. Wraps
+     * {@link #focusBorder}, and is recreated only when the row margin of the table changes.
+     */
+    private Border noGridFocusBorder;
+
+    /**
+     * Row margin of {@link #noGridFocusBorder}.
+     */
+    private int noGridRowMargin;
+
     /**
      * Renderer for boolean columns.
      *
@@ -76,6 +107,16 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
          */
         private static final Border noFocusBorder = new EmptyBorder(1, 1, 1, 1);
 
+        /**
+         * Insets of the border for the focused cell.
+         */
+        private static final Insets focusBorderInsets = new Insets(0, 0, 0, 0);
+
+        /**
+         * Border for the focused cell, reused across all the cells painted by this renderer.
+         */
+        private SubstanceTableCellBorder focusBorder;
+
         /**
          * Creates a new renderer for boolean columns.
          */
@@ -110,17 +151,21 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
                 // focus indication.
                 hasFocus = ui.isFocusedCell(row, column);
 
-                TableCellId cellFocusId = new TableCellId(row, column);
-
                 StateTransitionTracker stateTransitionTracker = ui
-                        .getStateTransitionTracker(cellFocusId);
+                        .getStateTransitionTracker(row, column);
                 if (hasFocus || (stateTransitionTracker != null)) {
-                    SubstanceTableCellBorder border = new SubstanceTableCellBorder(
-                            new Insets(0, 0, 0, 0), ui, cellFocusId);
+                    if (this.focusBorder == null) {
+                        this.focusBorder = new SubstanceTableCellBorder(
+                                BooleanRenderer.focusBorderInsets, ui, row, column);
+                    } else {
+                        this.focusBorder.reset(BooleanRenderer.focusBorderInsets,
+                                ui, row, column);
+                    }
                     if (stateTransitionTracker != null) {
-                        border.setAlpha(stateTransitionTracker.getFocusStrength(hasFocus));
+                        this.focusBorder.setAlpha(
+                                stateTransitionTracker.getFocusStrength(hasFocus));
                     }
-                    this.setBorder(border);
+                    this.setBorder(this.focusBorder);
                 } else {
                     this.setBorder(BooleanRenderer.noFocusBorder);
                 }
@@ -255,6 +300,19 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
         SubstanceCortex.ComponentOrParentChainScope.setColorizationFactor(this, 1.0);
     }
 
+    /**
+     * Overridden for performance reasons. Changes between plain texts are not reported, since
+     * the text of the renderer changes for pretty much every rendered cell.
+     */
+    @Override
+    protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+        if ("text".equals(propertyName)
+                && !SubstanceCoreUtilities.isRendererTextChangeReported(oldValue, newValue)) {
+            return;
+        }
+        super.firePropertyChange(propertyName, oldValue, newValue);
+    }
+
     @Override
     public float getRolloverArmAmount() {
         return this.rolloverArmAmount;
@@ -282,10 +340,8 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
         // focus indication.
         hasFocus = ui.isFocusedCell(row, column);
 
-        TableCellId cellId = new TableCellId(row, column);
-
-        StateTransitionTracker.ModelStateInfo modelStateInfo = ui.getModelStateInfo(cellId);
-        ComponentState currState = ui.getCellState(cellId);
+        StateTransitionTracker.ModelStateInfo modelStateInfo = ui.getModelStateInfo(row, column);
+        ComponentState currState = ui.getCellState(row, column);
         // special case for drop location
         JTable.DropLocation dropLocation = table.getDropLocation();
         boolean isDropLocation = (dropLocation != null)
@@ -301,7 +357,8 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
                 SubstanceColorScheme colorScheme = getColorSchemeForState(table, ui, currState);
                 if (currState.isDisabled() || (activeStates == null)
                         || (activeStates.size() == 1)) {
-                    super.setForeground(new ColorUIResource(colorScheme.getForegroundColor()));
+                    super.setForeground(this.foregroundColors.get(
+                            colorScheme.getForegroundColor()));
                     this.rolloverArmAmount = 0.0f;
                 } else {
                     float aggrRed = 0;
@@ -323,12 +380,12 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
                         aggrGreen += schemeFg.getGreen() * contribution;
                         aggrBlue += schemeFg.getBlue() * contribution;
                     }
-                    super.setForeground(new ColorUIResource(new Color(
-                            (int) aggrRed, (int) aggrGreen, (int) aggrBlue)));
+                    super.setForeground(this.foregroundColors.get(
+                            (int) aggrRed, (int) aggrGreen, (int) aggrBlue));
                 }
             } else {
                 SubstanceColorScheme scheme = getColorSchemeForState(table, ui, currState);
-                super.setForeground(new ColorUIResource(scheme.getForegroundColor()));
+                super.setForeground(this.foregroundColors.get(scheme.getForegroundColor()));
             }
         } else {
             SubstanceColorScheme scheme = getColorSchemeForState(table, ui, currState);
@@ -341,39 +398,49 @@ public class SubstanceDefaultTableCellRenderer extends DefaultTableCellRenderer
                     currState.isFacetActive(SubstanceSlices.ComponentStateFacet.SELECTION) ||
                     currState.isFacetActive(SubstanceSlices.ComponentStateFacet.ARM);
             this.rolloverArmAmount = isActive ? 1.0f : 0.0f;
-            super.setForeground(new ColorUIResource(scheme.getForegroundColor()));
+            super.setForeground(this.foregroundColors.get(scheme.getForegroundColor()));
         }
 
         SubstanceStripingUtils.applyStripedBackground(table, row, this);
 
         this.setFont(table.getFont());
 
-        TableCellId cellFocusId = new TableCellId(row, column);
-
         StateTransitionTracker focusStateTransitionTracker =
-                ui.getStateTransitionTracker(cellFocusId);
+                ui.getStateTransitionTracker(row, column);
 
         Insets regInsets = ui.getCellRendererInsets();
         if (hasFocus || (focusStateTransitionTracker != null)) {
-            SubstanceTableCellBorder border = new SubstanceTableCellBorder(
-                    regInsets, ui, cellFocusId);
+            if (this.focusBorder == null) {
+                this.focusBorder = new SubstanceTableCellBorder(regInsets, ui, row, column);
+            } else {
+                this.focusBorder.reset(regInsets, ui, row, column);
+            }
 
             // System.out.println("[" + row + ":" + column + "] hasFocus : "
             // + hasFocus + ", focusState : " + focusState);
             if (focusStateTransitionTracker != null) {
-                border.setAlpha(focusStateTransitionTracker.getFocusStrength(hasFocus));
+                this.focusBorder.setAlpha(focusStateTransitionTracker.getFocusStrength(hasFocus));
             }
 
             // special case for tables with no grids
             if (!table.getShowHorizontalLines() && !table.getShowVerticalLines()) {
-                this.setBorder(new CompoundBorder(new EmptyBorder(table.getRowMargin() / 2, 0,
-                        table.getRowMargin() / 2, 0), border));
+                int rowMargin = table.getRowMargin();
+                if ((this.noGridFocusBorder == null) || (this.noGridRowMargin != rowMargin)) {
+                    this.noGridFocusBorder = new CompoundBorder(new EmptyBorder(rowMargin / 2, 0,
+                            rowMargin / 2, 0), this.focusBorder);
+                    this.noGridRowMargin = rowMargin;
+                }
+                this.setBorder(this.noGridFocusBorder);
             } else {
-                this.setBorder(border);
+                this.setBorder(this.focusBorder);
             }
         } else {
-            this.setBorder(new EmptyBorder(regInsets.top, regInsets.left,
-                    regInsets.bottom, regInsets.right));
+            if ((this.regularBorder == null) || !regInsets.equals(this.regularBorderInsets)) {
+                this.regularBorder = new EmptyBorder(regInsets.top, regInsets.left,
+                        regInsets.bottom, regInsets.right);
+                this.regularBorderInsets = (Insets) regInsets.clone();
+            }
+            this.setBorder(this.regularBorder);
         }
 
         this.setValue(value);
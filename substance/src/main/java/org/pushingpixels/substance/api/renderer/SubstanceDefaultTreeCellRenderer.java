@@ -37,13 +37,14 @@ import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.internal.animation.StateTransitionTracker;
 import org.pushingpixels.substance.internal.animation.StateTransitionTracker.StateContributionInfo;
 import org.pushingpixels.substance.internal.ui.SubstanceTreeUI;
-import org.pushingpixels.substance.internal.ui.SubstanceTreeUI.TreePathId;
 import org.pushingpixels.substance.internal.utils.*;
 
 import javax.swing.*;
+import javax.swing.border.Border;
 import javax.swing.plaf.*;
 import javax.swing.tree.DefaultTreeCellRenderer;
 import javax.swing.tree.TreeCellRenderer;
+import javax.swing.tree.TreePath;
 import java.awt.*;
 import java.util.Map;
 
@@ -75,6 +76,22 @@ public class SubstanceDefaultTreeCellRenderer extends JLabel implements TreeCell
 
     private float rolloverArmAmount;
 
+    /**
+     * Foreground colors of this renderer. Reusing the same color instances avoids creating
+     * new colors for every rendered cell.
+     */
+    private final ForegroundColorTable foregroundColors = new ForegroundColorTable();
+
+    /**
+     * Border of this renderer. Recreated only when the cell renderer insets of the tree change.
+     */
+    private Border regularBorder;
+
+    /**
+     * Insets of {@link #regularBorder}.
+     */
+    private Insets regularBorderInsets;
+
     /**
      * Returns a new instance of SubstanceDefaultTreeCellRenderer. Alignment is set to start
      * aligned. Icons and text color are determined from the UIManager.
@@ -163,10 +180,10 @@ public class SubstanceDefaultTreeCellRenderer extends JLabel implements TreeCell
         TreeUI treeUI = tree.getUI();
         if (treeUI instanceof SubstanceTreeUI) {
             SubstanceTreeUI ui = (SubstanceTreeUI) treeUI;
-            TreePathId pathId = new TreePathId(tree.getPathForRow(row));
+            TreePath path = tree.getPathForRow(row);
 
-            StateTransitionTracker.ModelStateInfo modelStateInfo = ui.getModelStateInfo(pathId);
-            ComponentState currState = ui.getPathState(pathId);
+            StateTransitionTracker.ModelStateInfo modelStateInfo = ui.getModelStateInfo(path);
+            ComponentState currState = ui.getPathState(path, row);
 
             // special case for drop location
             JTree.DropLocation dropLocation = tree.getDropLocation();
@@ -180,7 +197,8 @@ public class SubstanceDefaultTreeCellRenderer extends JLabel implements TreeCell
                 SubstanceColorScheme colorScheme = getColorSchemeForState(tree, ui, currState);
                 if (currState.isDisabled() || (activeStates == null)
                         || (activeStates.size() == 1)) {
-                    super.setForeground(new ColorUIResource(colorScheme.getForegroundColor()));
+                    super.setForeground(this.foregroundColors.get(
+                            colorScheme.getForegroundColor()));
                     this.rolloverArmAmount = 0.0f;
                 } else {
                     float aggrRed = 0;
@@ -203,8 +221,8 @@ public class SubstanceDefaultTreeCellRenderer extends JLabel implements TreeCell
                         aggrGreen += schemeFg.getGreen() * contribution;
                         aggrBlue += schemeFg.getBlue() * contribution;
                     }
-                    super.setForeground(new ColorUIResource(
-                            new Color((int) aggrRed, (int) aggrGreen, (int) aggrBlue)));
+                    super.setForeground(this.foregroundColors.get(
+                            (int) aggrRed, (int) aggrGreen, (int) aggrBlue));
                 }
             } else {
                 SubstanceColorScheme scheme = getColorSchemeForState(tree, ui, currState);
@@ -213,7 +231,7 @@ public class SubstanceDefaultTreeCellRenderer extends JLabel implements TreeCell
                             ColorSchemeAssociationKind.HIGHLIGHT, currState);
                 }
                 if (scheme != null) {
-                    super.setForeground(new ColorUIResource(scheme.getForegroundColor()));
+                    super.setForeground(this.foregroundColors.get(scheme.getForegroundColor()));
                 }
                 boolean isActive = currState.isFacetActive(SubstanceSlices.ComponentStateFacet.ROLLOVER)
                         || currState.isFacetActive(SubstanceSlices.ComponentStateFacet.SELECTION)
@@ -264,7 +282,11 @@ public class SubstanceDefaultTreeCellRenderer extends JLabel implements TreeCell
         if (treeUI instanceof SubstanceTreeUI) {
             SubstanceTreeUI ui = (SubstanceTreeUI) treeUI;
             Insets regInsets = ui.getCellRendererInsets();
-            this.setBorder(new BorderUIResource.EmptyBorderUIResource(regInsets));
+            if ((this.regularBorder == null) || !regInsets.equals(this.regularBorderInsets)) {
+                this.regularBorder = new BorderUIResource.EmptyBorderUIResource(regInsets);
+                this.regularBorderInsets = (Insets) regInsets.clone();
+            }
+            this.setBorder(this.regularBorder);
         }
 
         return this;
@@ -356,7 +378,8 @@ public class SubstanceDefaultTreeCellRenderer extends JLabel implements TreeCell
      */
     @Override
     protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
-        if ("text".equals(propertyName))
+        if ("text".equals(propertyName)
+                && SubstanceCoreUtilities.isRendererTextChangeReported(oldValue, newValue))
             super.firePropertyChange(propertyName, oldValue, newValue);
     }
 
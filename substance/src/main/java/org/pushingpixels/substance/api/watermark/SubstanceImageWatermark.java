@@ -32,6 +32,7 @@ package org.pushingpixels.substance.api.watermark;
 import org.pushingpixels.substance.api.SubstanceCortex;
 import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.SubstanceSlices.ImageWatermarkKind;
+import org.pushingpixels.substance.internal.utils.AcceleratedImageCache;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 
 import javax.imageio.IIOException;
@@ -180,8 +181,13 @@ public class SubstanceImageWatermark implements SubstanceWatermark {
 			dy -= (topParent.getHeight() / 2 - this.origImage.getHeight() / 2);
 		}
 
-		graphics.drawImage(watermarkImage, x, y, x + width, y + height, x + dx,
-				y + dy, x + dx + width, y + dy + height, null);
+		if (watermarkImage instanceof BufferedImage) {
+			AcceleratedImageCache.drawImage(graphics, (BufferedImage) watermarkImage, x, y,
+					x + width, y + height, x + dx, y + dy, x + dx + width, y + dy + height);
+		} else {
+			graphics.drawImage(watermarkImage, x, y, x + width, y + height, x + dx,
+					y + dy, x + dx + width, y + dy + height, null);
+		}
 	}
 
 	@Override
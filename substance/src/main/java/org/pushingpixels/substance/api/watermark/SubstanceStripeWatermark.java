@@ -32,6 +32,7 @@ package org.pushingpixels.substance.api.watermark;
 import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.SubstanceSkin;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
+import org.pushingpixels.substance.internal.utils.AcceleratedImageCache;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 
 import java.awt.*;
@@ -60,7 +61,7 @@ public class SubstanceStripeWatermark implements SubstanceWatermark {
 			return;
 		int dx = c.getLocationOnScreen().x;
 		int dy = c.getLocationOnScreen().y;
-        NeonCortex.drawImage(graphics, SubstanceStripeWatermark.watermarkImage, x, y, width,
+        AcceleratedImageCache.drawImage(graphics, SubstanceStripeWatermark.watermarkImage, x, y, width,
                 height, dx, dy);
 	}
 
@@ -34,13 +34,16 @@ import org.pushingpixels.trident.api.ease.Spline;
 import org.pushingpixels.trident.api.swing.SwingComponentTimeline;
 
 import java.awt.*;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.List;
 
 /**
- * Internal implementation of animation configuration.
+ * Internal implementation of animation configuration. The configuration is only changed on rare
+ * occasions, while {@link #isAnimationAllowed(AnimationFacet, Component)} is consulted from many
+ * paint and event paths. The configuration changes are therefore synchronized, and each of them
+ * publishes a new immutable {@link Policy}. Animation queries do not lock, and resolve class
+ * rules from per-class bitmasks that each policy memoizes with a {@link ClassValue}.
  *
  * @author Kirill Grouchnikov
  * @see org.pushingpixels.substance.api.SubstanceCortex
@@ -71,14 +74,216 @@ public class AnimationConfigurationManager {
     private Map<AnimationFacet, Set<Class<?>>> classDisallowed;
 
     /**
-     * Key - {@link AnimationFacet}, value - set of {@link Component} instances.
+     * Snapshot of the global and class configuration above. Replaced on every change of that
+     * configuration.
      */
-    private Map<AnimationFacet, Set<Component>> instanceAllowed;
+    private volatile Policy policy;
 
     /**
-     * Key - {@link AnimationFacet}, value - set of {@link Component} instances.
+     * Per-instance overrides. Replaced on every change of an override.
      */
-    private Map<AnimationFacet, Set<Component>> instanceDisallowed;
+    private volatile InstanceOverrides instanceOverrides;
+
+    /**
+     * Immutable snapshot of the global and class configuration.
+     */
+    private static final class Policy {
+        /**
+         * Index of each configured animation facet in the bitmasks of this policy.
+         */
+        private final Map<AnimationFacet, Integer> facetIndices;
+
+        private final long[] globalAllowed;
+
+        private final Map<AnimationFacet, Set<Class<?>>> classAllowed;
+
+        private final Map<AnimationFacet, Set<Class<?>>> classDisallowed;
+
+        private final ClassValue<ClassPolicy> classPolicies = new ClassValue<ClassPolicy>() {
+            @Override
+            protected ClassPolicy computeValue(Class<?> clazz) {
+                long[] allowed = new long[globalAllowed.length];
+                long[] disallowed = new long[globalAllowed.length];
+                for (Map.Entry<AnimationFacet, Integer> facetIndex : facetIndices.entrySet()) {
+                    int index = facetIndex.getValue();
+                    if (isAssignableToAny(clazz, classAllowed.get(facetIndex.getKey()))) {
+                        set(allowed, index);
+                    }
+                    if (isAssignableToAny(clazz, classDisallowed.get(facetIndex.getKey()))) {
+                        set(disallowed, index);
+                    }
+                }
+                return new ClassPolicy(allowed, disallowed);
+            }
+        };
+
+        private Policy(Set<AnimationFacet> globalAllowed,
+                Map<AnimationFacet, Set<Class<?>>> classAllowed,
+                Map<AnimationFacet, Set<Class<?>>> classDisallowed) {
+            this.facetIndices = new HashMap<>();
+            for (AnimationFacet facet : globalAllowed) {
+                this.facetIndices.putIfAbsent(facet, this.facetIndices.size());
+            }
+            for (AnimationFacet facet : classAllowed.keySet()) {
+                this.facetIndices.putIfAbsent(facet, this.facetIndices.size());
+            }
+            for (AnimationFacet facet : classDisallowed.keySet()) {
+                this.facetIndices.putIfAbsent(facet, this.facetIndices.size());
+            }
+
+            this.globalAllowed = new long[(this.facetIndices.size() + 63) >>> 6];
+            for (AnimationFacet facet : globalAllowed) {
+                set(this.globalAllowed, this.facetIndices.get(facet));
+            }
+            this.classAllowed = copy(classAllowed);
+            this.classDisallowed = copy(classDisallowed);
+        }
+
+        private static Map<AnimationFacet, Set<Class<?>>> copy(
+                Map<AnimationFacet, Set<Class<?>>> classMap) {
+            Map<AnimationFacet, Set<Class<?>>> result = new HashMap<>();
+            for (Map.Entry<AnimationFacet, Set<Class<?>>> entry : classMap.entrySet()) {
+                result.put(entry.getKey(), new HashSet<>(entry.getValue()));
+            }
+            return result;
+        }
+
+        private static boolean isAssignableToAny(Class<?> clazz, Set<Class<?>> classes) {
+            if (classes != null) {
+                for (Class<?> candidate : classes) {
+                    if (candidate.isAssignableFrom(clazz)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Class rules of a {@link Policy} resolved for a single component class, as bitmasks indexed
+     * by {@link Policy#facetIndices}.
+     */
+    private static final class ClassPolicy {
+        private final long[] allowed;
+
+        private final long[] disallowed;
+
+        private ClassPolicy(long[] allowed, long[] disallowed) {
+            this.allowed = allowed;
+            this.disallowed = disallowed;
+        }
+    }
+
+    /**
+     * Weak reference to a component along with its per-instance overrides.
+     */
+    private static final class InstanceOverride extends WeakReference<Component> {
+        private final int hash;
+
+        /**
+         * Immutable map from {@link AnimationFacet} to whether it is allowed on the component.
+         */
+        private final Map<AnimationFacet, Boolean> overrides;
+
+        private InstanceOverride(Component comp, int hash,
+                Map<AnimationFacet, Boolean> overrides) {
+            super(comp);
+            this.hash = hash;
+            this.overrides = overrides;
+        }
+    }
+
+    /**
+     * Immutable open-addressing hash table of the per-instance overrides, keyed by the
+     * identity of the components. Lookups compare the referents directly, so that they do not
+     * allocate a key. The entries of garbage collected components are dropped the next time
+     * the table is rebuilt.
+     */
+    private static final class InstanceOverrides {
+        private static final InstanceOverrides EMPTY =
+                new InstanceOverrides(new InstanceOverride[0], 0);
+
+        private final InstanceOverride[] table;
+
+        private final int size;
+
+        private InstanceOverrides(InstanceOverride[] table, int size) {
+            this.table = table;
+            this.size = size;
+        }
+
+        private static int indexFor(int hash, int length) {
+            // spread the identity hash bits, as the table size is a power of two
+            return (hash ^ (hash >>> 16)) & (length - 1);
+        }
+
+        private Map<AnimationFacet, Boolean> get(Component comp) {
+            if (this.size == 0) {
+                return null;
+            }
+            int hash = System.identityHashCode(comp);
+            int length = this.table.length;
+            for (int i = indexFor(hash, length); ; i = (i + 1) & (length - 1)) {
+                InstanceOverride entry = this.table[i];
+                if (entry == null) {
+                    return null;
+                }
+                if ((entry.hash == hash) && (entry.get() == comp)) {
+                    return entry.overrides;
+                }
+            }
+        }
+
+        /**
+         * Returns a new table with the specified override added to the overrides of the
+         * specified component.
+         */
+        private InstanceOverrides with(Component comp, AnimationFacet animationFacet,
+                boolean isAllowed) {
+            List<InstanceOverride> live = new ArrayList<>(this.size + 1);
+            Map<AnimationFacet, Boolean> existing = null;
+            for (InstanceOverride entry : this.table) {
+                if (entry == null) {
+                    continue;
+                }
+                Component entryComp = entry.get();
+                if (entryComp == comp) {
+                    existing = entry.overrides;
+                } else if (entryComp != null) {
+                    live.add(entry);
+                }
+            }
+            Map<AnimationFacet, Boolean> updated = (existing == null) ? new HashMap<>()
+                    : new HashMap<>(existing);
+            updated.put(animationFacet, isAllowed);
+            live.add(new InstanceOverride(comp, System.identityHashCode(comp),
+                    Collections.unmodifiableMap(updated)));
+
+            // keep the load factor at or below one half
+            int length = 8;
+            while (length < 2 * live.size()) {
+                length <<= 1;
+            }
+            InstanceOverride[] table = new InstanceOverride[length];
+            for (InstanceOverride entry : live) {
+                int i = indexFor(entry.hash, length);
+                while (table[i] != null) {
+                    i = (i + 1) & (length - 1);
+                }
+                table[i] = entry;
+            }
+            return new InstanceOverrides(table, live.size());
+        }
+    }
+
+    private static void set(long[] mask, int index) {
+        mask[index >>> 6] |= (1L << index);
+    }
+
+    private static boolean isSet(long[] mask, int index) {
+        return (mask[index >>> 6] & (1L << index)) != 0;
+    }
 
     /**
      * Returns the configuration manager instance.
@@ -99,11 +304,34 @@ public class AnimationConfigurationManager {
         this.globalAllowed = new HashSet<>();
         this.classAllowed = new HashMap<>();
         this.classDisallowed = new HashMap<>();
-        this.instanceAllowed = new HashMap<>();
-        this.instanceDisallowed = new HashMap<>();
+        this.policy = new Policy(this.globalAllowed, this.classAllowed, this.classDisallowed);
+        this.instanceOverrides = InstanceOverrides.EMPTY;
         this.timelineDuration = 200;
     }
 
+    /**
+     * Publishes the current global and class configuration to the animation queries.
+     */
+    private void updatePolicy() {
+        this.policy = new Policy(this.globalAllowed, this.classAllowed, this.classDisallowed);
+    }
+
+    /**
+     * Sets the per-instance override of the specified facet on the specified control.
+     *
+     * @param animationFacet Animation facet.
+     * @param comp           Control.
+     * @param isAllowed      Indicates whether the animation facet is allowed on the control.
+     */
+    private void setInstanceOverride(AnimationFacet animationFacet, Component comp,
+            boolean isAllowed) {
+        if (comp == null) {
+            return;
+        }
+
+        this.instanceOverrides = this.instanceOverrides.with(comp, animationFacet, isAllowed);
+    }
+
     /**
      * Allows animations of the specified facet on all controls.
      *
@@ -111,6 +339,7 @@ public class AnimationConfigurationManager {
      */
     public synchronized void allowAnimations(AnimationFacet animationFacet) {
         this.globalAllowed.add(animationFacet);
+        this.updatePolicy();
     }
 
     /**
@@ -120,6 +349,11 @@ public class AnimationConfigurationManager {
      * @param clazz          Control class for allowing the animation facet.
      */
     public synchronized void allowAnimations(AnimationFacet animationFacet, Class<?> clazz) {
+        this.allowClassAnimations(animationFacet, clazz);
+        this.updatePolicy();
+    }
+
+    private void allowClassAnimations(AnimationFacet animationFacet, Class<?> clazz) {
         Set<Class<?>> existingAllowed = this.classAllowed.get(animationFacet);
         if (existingAllowed == null) {
             existingAllowed = new HashSet<>();
@@ -141,8 +375,9 @@ public class AnimationConfigurationManager {
      */
     public synchronized void allowAnimations(AnimationFacet animationFacet, Class<?>[] clazz) {
         for (int i = 0; i < clazz.length; i++) {
-            allowAnimations(animationFacet, clazz[i]);
+            this.allowClassAnimations(animationFacet, clazz[i]);
         }
+        this.updatePolicy();
     }
 
     /**
@@ -152,17 +387,7 @@ public class AnimationConfigurationManager {
      * @param comp           Control for allowing the animation facet.
      */
     public synchronized void allowAnimations(AnimationFacet animationFacet, Component comp) {
-        Set<Component> existingAllowed = this.instanceAllowed.get(animationFacet);
-        if (existingAllowed == null) {
-            existingAllowed = new HashSet<>();
-            this.instanceAllowed.put(animationFacet, existingAllowed);
-        }
-        existingAllowed.add(comp);
-
-        Set<Component> existingDisallowed = this.instanceDisallowed.get(animationFacet);
-        if (existingDisallowed != null) {
-            existingDisallowed.remove(comp);
-        }
+        this.setInstanceOverride(animationFacet, comp, true);
     }
 
     /**
@@ -172,6 +397,7 @@ public class AnimationConfigurationManager {
      */
     public synchronized void disallowAnimations(AnimationFacet animationFacet) {
         this.globalAllowed.remove(animationFacet);
+        this.updatePolicy();
     }
 
     /**
@@ -181,6 +407,11 @@ public class AnimationConfigurationManager {
      * @param clazz          Control class for disallowing the animation facet.
      */
     public synchronized void disallowAnimations(AnimationFacet animationFacet, Class<?> clazz) {
+        this.disallowClassAnimations(animationFacet, clazz);
+        this.updatePolicy();
+    }
+
+    private void disallowClassAnimations(AnimationFacet animationFacet, Class<?> clazz) {
         Set<Class<?>> existingAllowed = this.classAllowed.get(animationFacet);
         if (existingAllowed != null) {
             existingAllowed.remove(clazz);
@@ -204,8 +435,9 @@ public class AnimationConfigurationManager {
      */
     public synchronized void disallowAnimations(AnimationFacet animationFacet, Class<?>[] clazz) {
         for (int i = 0; i < clazz.length; i++) {
-            disallowAnimations(animationFacet, clazz[i]);
+            this.disallowClassAnimations(animationFacet, clazz[i]);
         }
+        this.updatePolicy();
     }
 
     /**
@@ -215,59 +447,44 @@ public class AnimationConfigurationManager {
      * @param comp           Control for disallowing the animation facet.
      */
     public synchronized void disallowAnimations(AnimationFacet animationFacet, Component comp) {
-        Set<Component> existingAllowed = this.instanceAllowed.get(animationFacet);
-        if (existingAllowed != null) {
-            existingAllowed.remove(comp);
-            if (existingAllowed.size() == 0)
-                this.instanceAllowed.remove(animationFacet);
-        }
-
-        Set<Component> existingDisallowed = this.instanceDisallowed.get(animationFacet);
-        if (existingDisallowed == null) {
-            existingDisallowed = new HashSet<>();
-            this.instanceDisallowed.put(animationFacet, existingDisallowed);
-        }
-        existingDisallowed.add(comp);
+        this.setInstanceOverride(animationFacet, comp, false);
     }
 
     /**
      * Checks whether the specified animation facet is allowed on the specified component.
+     * This method does not lock and can be called on any thread.
      *
      * @param animationFacet Animation facet.
      * @param comp           Component. Can be <code>null</code>.
      * @return <code>true</code> if the specified animation facet is allowed on the specified
      * component, <code>false</code> otherwise.
      */
-    public synchronized boolean isAnimationAllowed(AnimationFacet animationFacet, Component comp) {
-        Set<Component> instanceDisallowed = this.instanceDisallowed.get(animationFacet);
-        if (instanceDisallowed != null) {
-            if (instanceDisallowed.contains(comp))
-                return false;
-        }
-        Set<Component> instanceAllowed = this.instanceAllowed.get(animationFacet);
-        if (instanceAllowed != null) {
-            if (instanceAllowed.contains(comp))
-                return true;
+    public boolean isAnimationAllowed(AnimationFacet animationFacet, Component comp) {
+        if (comp != null) {
+            Map<AnimationFacet, Boolean> overrides = this.instanceOverrides.get(comp);
+            if (overrides != null) {
+                Boolean isAllowed = overrides.get(animationFacet);
+                if (isAllowed != null) {
+                    return isAllowed;
+                }
+            }
         }
 
+        Policy policy = this.policy;
+        Integer index = policy.facetIndices.get(animationFacet);
+        if (index == null) {
+            return false;
+        }
         if (comp != null) {
-            Class<?> clazz = comp.getClass();
-            Set<Class<?>> classAllowed = this.classAllowed.get(animationFacet);
-            Set<Class<?>> classDisallowed = this.classDisallowed.get(animationFacet);
-            if (classDisallowed != null) {
-                for (Class<?> disallowed : classDisallowed) {
-                    if (disallowed.isAssignableFrom(clazz))
-                        return false;
-                }
+            ClassPolicy classPolicy = policy.classPolicies.get(comp.getClass());
+            if (isSet(classPolicy.disallowed, index)) {
+                return false;
             }
-            if (classAllowed != null) {
-                for (Class<?> allowed : classAllowed) {
-                    if (allowed.isAssignableFrom(clazz))
-                        return true;
-                }
+            if (isSet(classPolicy.allowed, index)) {
+                return true;
             }
         }
-        return this.globalAllowed.contains(animationFacet);
+        return isSet(policy.globalAllowed, index);
     }
 
     public void setTimelineDuration(long timelineDuration) {
@@ -2,13 +2,6 @@ package org.pushingpixels.substance.internal.svg;
 
 import java.awt.*;
 import java.awt.geom.*;
-import java.awt.image.BufferedImage;
-import java.io.*;
-import java.lang.ref.WeakReference;
-import java.util.Base64;
-import java.util.Stack;
-import javax.imageio.ImageIO;
-import javax.swing.SwingUtilities;
 import javax.swing.plaf.UIResource;
 
 import org.pushingpixels.neon.api.icon.ResizableIcon;
@@ -17,214 +10,183 @@ import org.pushingpixels.neon.api.icon.ResizableIconUIResource;
 /**
  * This class has been automatically generated using <a
  * href="https://github.com/kirill-grouchnikov/radiance">Photon SVG transcoder</a>.
+ * All shapes, paints and transformations are created once when this class is loaded,
+ * and painting does not allocate geometry or mutate any shared state.
  */
 public class autoscroll_v implements ResizableIcon {
-    private Shape shape = null;
-    private GeneralPath generalPath = null;
-    private Paint paint = null;
-    private Stroke stroke = null;
-    private Shape clip = null;
-    private Stack<AffineTransform> transformsStack = new Stack<>();
-
-    
-
-	private void _paint0(Graphics2D g,float origAlpha) {
-transformsStack.push(g.getTransform());
-// 
-g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
-transformsStack.push(g.getTransform());
-g.transform(new AffineTransform(0.0020000000949949026f, 0.0f, 0.0f, 0.0020000000949949026f, 0.018000000854954123f, 0.004000000189989805f));
-// _0
-g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
-transformsStack.push(g.getTransform());
-g.transform(new AffineTransform(-0.6782799959182739f, 0.7348039746284485f, -0.7348030209541321f, -0.6782799959182739f, 1215.0908203125f, 9.868412971496582f));
-// _0_0
-shape = new Ellipse2D.Double(755.333984375, 474.52398681640625, 160.70399475097656, 159.44400024414062);
-paint = new Color(74, 74, 74, 255);
-g.setPaint(paint);
-g.fill(shape);
-paint = new Color(0, 0, 0, 255);
-stroke = new BasicStroke(1.0f,0,0,4.0f,null,0.0f);
-shape = new Ellipse2D.Double(755.333984375, 474.52398681640625, 160.70399475097656, 159.44400024414062);
-g.setPaint(paint);
-g.setStroke(stroke);
-g.draw(shape);
-g.setTransform(transformsStack.pop());
-g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
-transformsStack.push(g.getTransform());
-g.transform(new AffineTransform(0.9999989867210388f, 0.0011970000341534615f, -0.0011970000341534615f, 0.9999989867210388f, -733.0624389648438f, -50.88409423828125f));
-// _0_1
-if (generalPath == null) {
-   generalPath = new GeneralPath();
-} else {
-   generalPath.reset();
-}
-generalPath.moveTo(974.188f, 51.146f);
-generalPath.lineTo(1081.254f, 156.12f);
-generalPath.lineTo(867.121f, 156.12f);
-generalPath.lineTo(974.188f, 51.146f);
-generalPath.closePath();
-shape = generalPath;
-paint = new Color(74, 74, 74, 255);
-g.setPaint(paint);
-g.fill(shape);
-paint = new Color(0, 0, 0, 255);
-stroke = new BasicStroke(1.0f,0,0,4.0f,null,0.0f);
-if (generalPath == null) {
-   generalPath = new GeneralPath();
-} else {
-   generalPath.reset();
-}
-generalPath.moveTo(974.188f, 51.146f);
-generalPath.lineTo(1081.254f, 156.12f);
-generalPath.lineTo(867.121f, 156.12f);
-generalPath.lineTo(974.188f, 51.146f);
-generalPath.closePath();
-shape = generalPath;
-g.setPaint(paint);
-g.setStroke(stroke);
-g.draw(shape);
-g.setTransform(transformsStack.pop());
-g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
-transformsStack.push(g.getTransform());
-g.transform(new AffineTransform(0.9999989867210388f, -0.0011970000341534615f, -0.0011970000341534615f, -0.9999989867210388f, 1001.0562133789062f, 439.6627502441406f));
-// _0_2
-if (generalPath == null) {
-   generalPath = new GeneralPath();
-} else {
-   generalPath.reset();
-}
-generalPath.moveTo(-760.055f, -51.146f);
-generalPath.lineTo(-652.989f, 53.828f);
-generalPath.lineTo(-867.122f, 53.828f);
-generalPath.lineTo(-760.055f, -51.146f);
-generalPath.closePath();
-shape = generalPath;
-paint = new Color(74, 74, 74, 255);
-g.setPaint(paint);
-g.fill(shape);
-paint = new Color(0, 0, 0, 255);
-stroke = new BasicStroke(1.0f,0,0,4.0f,null,0.0f);
-if (generalPath == null) {
-   generalPath = new GeneralPath();
-} else {
-   generalPath.reset();
-}
-generalPath.moveTo(-760.055f, -51.146f);
-generalPath.lineTo(-652.989f, 53.828f);
-generalPath.lineTo(-867.122f, 53.828f);
-generalPath.lineTo(-760.055f, -51.146f);
-generalPath.closePath();
-shape = generalPath;
-g.setPaint(paint);
-g.setStroke(stroke);
-g.draw(shape);
-g.setTransform(transformsStack.pop());
-g.setTransform(transformsStack.pop());
-g.setTransform(transformsStack.pop());
-
-}
+    private static final AlphaComposite composite0 = AlphaComposite.getInstance(3, 1.0f);
+    private static final AffineTransform transform1 = new AffineTransform(-0.00135656005626969, 0.001469608019059529, -0.0014696061117108056, -0.00135656005626969, 2.448181757140219, 0.0237368270704319);
+    private static final Shape shape2 = new Ellipse2D.Double(755.333984375, 474.52398681640625, 160.70399475097656, 159.44400024414062);
+    private static final Color color3 = new Color(74, 74, 74, 255);
+    private static final Color color4 = new Color(0, 0, 0, 255);
+    private static final Stroke stroke5 = new BasicStroke(1.0f,0,0,4.0f,null,0.0f);
+    private static final AffineTransform transform6 = new AffineTransform(0.001999998068436884, 2.3940001820158246E-6, -2.3940001820158246E-6, 0.001999998068436884, -1.4481249464790977, -0.09776819312030227);
+    private static final Shape shape7 = createShape7();
+    private static Shape createShape7() {
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, 5);
+        path.moveTo(974.188f, 51.146f);
+        path.lineTo(1081.254f, 156.12f);
+        path.lineTo(867.121f, 156.12f);
+        path.lineTo(974.188f, 51.146f);
+        path.closePath();
+        return path;
+    }
 
+    private static final AffineTransform transform8 = new AffineTransform(0.001999998068436884, -2.3940001820158246E-6, -2.3940001820158246E-6, -0.001999998068436884, 2.0201125229408348, 0.8833255424439912);
+    private static final Shape shape9 = createShape9();
+    private static Shape createShape9() {
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, 5);
+        path.moveTo(-760.055f, -51.146f);
+        path.lineTo(-652.989f, 53.828f);
+        path.lineTo(-867.122f, 53.828f);
+        path.lineTo(-760.055f, -51.146f);
+        path.closePath();
+        return path;
+    }
 
+    private void _paint0(Graphics2D g,float origAlpha,AffineTransform base) {
+        Shape shape = null;
+        Paint paint = null;
+        Stroke stroke = null;
+        //
+        if (origAlpha == 1.0f) {
+            g.setComposite(composite0);
+        } else {
+            g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
+        }
+        // _0
+        // _0_0
+        g.setTransform(base);
+        g.transform(transform1);
+        shape = shape2;
+        paint = color3;
+        g.setPaint(paint);
+        g.fill(shape);
+        paint = color4;
+        stroke = stroke5;
+        shape = shape2;
+        g.setPaint(paint);
+        g.setStroke(stroke);
+        g.draw(shape);
+        // _0_1
+        g.setTransform(base);
+        g.transform(transform6);
+        shape = shape7;
+        paint = color3;
+        g.setPaint(paint);
+        g.fill(shape);
+        paint = color4;
+        stroke = stroke5;
+        shape = shape7;
+        g.setPaint(paint);
+        g.setStroke(stroke);
+        g.draw(shape);
+        // _0_2
+        g.setTransform(base);
+        g.transform(transform8);
+        shape = shape9;
+        paint = color3;
+        g.setPaint(paint);
+        g.fill(shape);
+        paint = color4;
+        stroke = stroke5;
+        shape = shape9;
+        g.setPaint(paint);
+        g.setStroke(stroke);
+        g.draw(shape);
+    }
 
     @SuppressWarnings("unused")
-	private void innerPaint(Graphics2D g) {
+    private void innerPaint(Graphics2D g) {
         float origAlpha = 1.0f;
         Composite origComposite = g.getComposite();
         if (origComposite instanceof AlphaComposite) {
-            AlphaComposite origAlphaComposite = 
+            AlphaComposite origAlphaComposite =
                 (AlphaComposite)origComposite;
             if (origAlphaComposite.getRule() == AlphaComposite.SRC_OVER) {
                 origAlpha = origAlphaComposite.getAlpha();
             }
         }
-        
-	    _paint0(g, origAlpha);
-
+        AffineTransform base = g.getTransform();
 
-	    shape = null;
-	    generalPath = null;
-	    paint = null;
-	    stroke = null;
-	    clip = null;
-        transformsStack.clear();
-	}
+        _paint0(g, origAlpha, base);
+    }
 
     /**
      * Returns the X of the bounding box of the original SVG image.
-     * 
+     *
      * @return The X of the bounding box of the original SVG image.
      */
     public static double getOrigX() {
-        return 0.2724248766899109;
+        return 0.2724249064922333;
     }
 
     /**
      * Returns the Y of the bounding box of the original SVG image.
-     * 
+     *
      * @return The Y of the bounding box of the original SVG image.
      */
     public static double getOrigY() {
-        return 0.005196222569793463;
+        return 0.005196207202970982;
     }
 
-	/**
-	 * Returns the width of the bounding box of the original SVG image.
-	 * 
-	 * @return The width of the bounding box of the original SVG image.
-	 */
-	public static double getOrigWidth() {
-		return 0.45515069365501404;
-	}
+    /**
+     * Returns the width of the bounding box of the original SVG image.
+     *
+     * @return The width of the bounding box of the original SVG image.
+     */
+    public static double getOrigWidth() {
+        return 0.45515066385269165;
+    }
 
-	/**
-	 * Returns the height of the bounding box of the original SVG image.
-	 * 
-	 * @return The height of the bounding box of the original SVG image.
-	 */
-	public static double getOrigHeight() {
-		return 0.9839004874229431;
-	}
+    /**
+     * Returns the height of the bounding box of the original SVG image.
+     *
+     * @return The height of the bounding box of the original SVG image.
+     */
+    public static double getOrigHeight() {
+        return 0.9839004874229431;
+    }
 
-	/** The current width of this resizable icon. */
-	private int width;
+    /** The current width of this resizable icon. */
+    private int width;
 
     /** The current height of this resizable icon. */
-	private int height;
+    private int height;
 
-	/**
-	 * Creates a new transcoded SVG image. This is marked as private to indicate that app
-	 * code should be using the {@link #of(int, int)} method to obtain a pre-configured instance.
-	 */
-	private autoscroll_v() {
+    /**
+     * Creates a new transcoded SVG image. This is marked as private to indicate that app
+     * code should be using the {@link #of(int, int)} method to obtain a pre-configured instance.
+     */
+    private autoscroll_v() {
         this.width = (int) getOrigWidth();
         this.height = (int) getOrigHeight();
-	}
+    }
 
     @Override
-	public int getIconHeight() {
-		return height;
-	}
+    public int getIconHeight() {
+        return height;
+    }
 
     @Override
-	public int getIconWidth() {
-		return width;
-	}
+    public int getIconWidth() {
+        return width;
+    }
 
-	@Override
-	public synchronized void setDimension(Dimension newDimension) {
-		this.width = newDimension.width;
-		this.height = newDimension.height;
-	}
+    @Override
+    public void setDimension(Dimension newDimension) {
+        this.width = newDimension.width;
+        this.height = newDimension.height;
+    }
 
     @Override
-	public synchronized void paintIcon(Component c, Graphics g, int x, int y) {
-		Graphics2D g2d = (Graphics2D) g.create();
-		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-				RenderingHints.VALUE_ANTIALIAS_ON);
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
                 RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-		g2d.translate(x, y);
+        g2d.translate(x, y);
 
         double coef1 = (double) this.width / getOrigWidth();
         double coef2 = (double) this.height / getOrigHeight();
@@ -241,12 +203,10 @@ g.setTransform(transformsStack.pop());
                g2d.translate(extraDx, 0);
             }
         }
-        Graphics2D g2ForInner = (Graphics2D) g2d.create();
-        innerPaint(g2ForInner);
-        g2ForInner.dispose();
+        innerPaint(g2d);
         g2d.dispose();
-	}
-    
+    }
+
     /**
      * Returns a new instance of this icon with specified dimensions.
      *
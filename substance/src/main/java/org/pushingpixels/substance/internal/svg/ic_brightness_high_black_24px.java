@@ -2,13 +2,6 @@ package org.pushingpixels.substance.internal.svg;
 
 import java.awt.*;
 import java.awt.geom.*;
-import java.awt.image.BufferedImage;
-import java.io.*;
-import java.lang.ref.WeakReference;
-import java.util.Base64;
-import java.util.Stack;
-import javax.imageio.ImageIO;
-import javax.swing.SwingUtilities;
 import javax.swing.plaf.UIResource;
 
 import org.pushingpixels.neon.api.icon.ResizableIcon;
@@ -17,106 +10,86 @@ import org.pushingpixels.neon.api.icon.ResizableIconUIResource;
 /**
  * This class has been automatically generated using <a
  * href="https://github.com/kirill-grouchnikov/radiance">Photon SVG transcoder</a>.
+ * All shapes, paints and transformations are created once when this class is loaded,
+ * and painting does not allocate geometry or mutate any shared state.
  */
 public class ic_brightness_high_black_24px implements ResizableIcon {
-    private Shape shape = null;
-    private GeneralPath generalPath = null;
-    private Paint paint = null;
-    private Stroke stroke = null;
-    private Shape clip = null;
-    private Stack<AffineTransform> transformsStack = new Stack<>();
-
-    
-
-	private void _paint0(Graphics2D g,float origAlpha) {
-transformsStack.push(g.getTransform());
-// 
-g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
-transformsStack.push(g.getTransform());
-g.transform(new AffineTransform(1.0f, 0.0f, 0.0f, 1.0f, -0.0f, -0.0f));
-// _0
-g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
-transformsStack.push(g.getTransform());
-g.transform(new AffineTransform(1.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f));
-// _0_0
-g.setTransform(transformsStack.pop());
-g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
-transformsStack.push(g.getTransform());
-g.transform(new AffineTransform(1.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f));
-// _0_1
-if (generalPath == null) {
-   generalPath = new GeneralPath();
-} else {
-   generalPath.reset();
-}
-generalPath.moveTo(20.0f, 8.69f);
-generalPath.lineTo(20.0f, 4.0f);
-generalPath.lineTo(15.309999f, 4.0f);
-generalPath.lineTo(12.0f, 0.69f);
-generalPath.lineTo(8.69f, 4.0f);
-generalPath.lineTo(4.0f, 4.0f);
-generalPath.lineTo(4.0f, 8.690001f);
-generalPath.lineTo(0.69f, 12.0f);
-generalPath.lineTo(4.0f, 15.31f);
-generalPath.lineTo(4.0f, 20.0f);
-generalPath.lineTo(8.690001f, 20.0f);
-generalPath.lineTo(12.0f, 23.31f);
-generalPath.lineTo(15.31f, 20.0f);
-generalPath.lineTo(20.0f, 20.0f);
-generalPath.lineTo(20.0f, 15.309999f);
-generalPath.lineTo(23.31f, 12.0f);
-generalPath.lineTo(20.0f, 8.69f);
-generalPath.closePath();
-generalPath.moveTo(12.0f, 18.0f);
-generalPath.curveTo(8.690001f, 18.0f, 6.0f, 15.309999f, 6.0f, 12.0f);
-generalPath.curveTo(6.0f, 8.690001f, 8.690001f, 6.0f, 12.0f, 6.0f);
-generalPath.curveTo(15.309999f, 6.0f, 18.0f, 8.690001f, 18.0f, 12.0f);
-generalPath.curveTo(18.0f, 15.309999f, 15.309999f, 18.0f, 12.0f, 18.0f);
-generalPath.closePath();
-generalPath.moveTo(12.0f, 8.0f);
-generalPath.curveTo(9.79f, 8.0f, 8.0f, 9.79f, 8.0f, 12.0f);
-generalPath.curveTo(8.0f, 14.21f, 9.79f, 16.0f, 12.0f, 16.0f);
-generalPath.curveTo(14.21f, 16.0f, 16.0f, 14.21f, 16.0f, 12.0f);
-generalPath.curveTo(16.0f, 9.79f, 14.21f, 8.0f, 12.0f, 8.0f);
-generalPath.closePath();
-shape = generalPath;
-paint = new Color(0, 0, 0, 255);
-g.setPaint(paint);
-g.fill(shape);
-g.setTransform(transformsStack.pop());
-g.setTransform(transformsStack.pop());
-g.setTransform(transformsStack.pop());
-
-}
+    private static final AlphaComposite composite0 = AlphaComposite.getInstance(3, 1.0f);
+    private static final Shape shape1 = createShape1();
+    private static Shape createShape1() {
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, 30);
+        path.moveTo(20.0f, 8.69f);
+        path.lineTo(20.0f, 4.0f);
+        path.lineTo(15.309999f, 4.0f);
+        path.lineTo(12.0f, 0.69f);
+        path.lineTo(8.69f, 4.0f);
+        path.lineTo(4.0f, 4.0f);
+        path.lineTo(4.0f, 8.690001f);
+        path.lineTo(0.69f, 12.0f);
+        path.lineTo(4.0f, 15.31f);
+        path.lineTo(4.0f, 20.0f);
+        path.lineTo(8.690001f, 20.0f);
+        path.lineTo(12.0f, 23.31f);
+        path.lineTo(15.31f, 20.0f);
+        path.lineTo(20.0f, 20.0f);
+        path.lineTo(20.0f, 15.309999f);
+        path.lineTo(23.31f, 12.0f);
+        path.lineTo(20.0f, 8.69f);
+        path.closePath();
+        path.moveTo(12.0f, 18.0f);
+        path.curveTo(8.690001f, 18.0f, 6.0f, 15.309999f, 6.0f, 12.0f);
+        path.curveTo(6.0f, 8.690001f, 8.690001f, 6.0f, 12.0f, 6.0f);
+        path.curveTo(15.309999f, 6.0f, 18.0f, 8.690001f, 18.0f, 12.0f);
+        path.curveTo(18.0f, 15.309999f, 15.309999f, 18.0f, 12.0f, 18.0f);
+        path.closePath();
+        path.moveTo(12.0f, 8.0f);
+        path.curveTo(9.79f, 8.0f, 8.0f, 9.79f, 8.0f, 12.0f);
+        path.curveTo(8.0f, 14.21f, 9.79f, 16.0f, 12.0f, 16.0f);
+        path.curveTo(14.21f, 16.0f, 16.0f, 14.21f, 16.0f, 12.0f);
+        path.curveTo(16.0f, 9.79f, 14.21f, 8.0f, 12.0f, 8.0f);
+        path.closePath();
+        return path;
+    }
 
+    private static final Color color2 = new Color(0, 0, 0, 255);
 
+    private void _paint0(Graphics2D g,float origAlpha,AffineTransform base) {
+        Shape shape = null;
+        Paint paint = null;
+        //
+        if (origAlpha == 1.0f) {
+            g.setComposite(composite0);
+        } else {
+            g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
+        }
+        // _0
+        // _0_0
+        // _0_1
+        shape = shape1;
+        paint = color2;
+        g.setPaint(paint);
+        g.fill(shape);
+    }
 
     @SuppressWarnings("unused")
-	private void innerPaint(Graphics2D g) {
+    private void innerPaint(Graphics2D g) {
         float origAlpha = 1.0f;
         Composite origComposite = g.getComposite();
         if (origComposite instanceof AlphaComposite) {
-            AlphaComposite origAlphaComposite = 
+            AlphaComposite origAlphaComposite =
                 (AlphaComposite)origComposite;
             if (origAlphaComposite.getRule() == AlphaComposite.SRC_OVER) {
                 origAlpha = origAlphaComposite.getAlpha();
             }
         }
-        
-	    _paint0(g, origAlpha);
+        AffineTransform base = g.getTransform();
 
-
-	    shape = null;
-	    generalPath = null;
-	    paint = null;
-	    stroke = null;
-	    clip = null;
-        transformsStack.clear();
-	}
+        _paint0(g, origAlpha, base);
+    }
 
     /**
      * Returns the X of the bounding box of the original SVG image.
-     * 
+     *
      * @return The X of the bounding box of the original SVG image.
      */
     public static double getOrigX() {
@@ -125,70 +98,70 @@ g.setTransform(transformsStack.pop());
 
     /**
      * Returns the Y of the bounding box of the original SVG image.
-     * 
+     *
      * @return The Y of the bounding box of the original SVG image.
      */
     public static double getOrigY() {
         return 0.6899999976158142;
     }
 
-	/**
-	 * Returns the width of the bounding box of the original SVG image.
-	 * 
-	 * @return The width of the bounding box of the original SVG image.
-	 */
-	public static double getOrigWidth() {
-		return 22.619998931884766;
-	}
-
-	/**
-	 * Returns the height of the bounding box of the original SVG image.
-	 * 
-	 * @return The height of the bounding box of the original SVG image.
-	 */
-	public static double getOrigHeight() {
-		return 22.619998931884766;
-	}
-
-	/** The current width of this resizable icon. */
-	private int width;
+    /**
+     * Returns the width of the bounding box of the original SVG image.
+     *
+     * @return The width of the bounding box of the original SVG image.
+     */
+    public static double getOrigWidth() {
+        return 22.619998931884766;
+    }
+
+    /**
+     * Returns the height of the bounding box of the original SVG image.
+     *
+     * @return The height of the bounding box of the original SVG image.
+     */
+    public static double getOrigHeight() {
+        return 22.619998931884766;
+    }
+
+    /** The current width of this resizable icon. */
+    private int width;
 
     /** The current height of this resizable icon. */
-	private int height;
+    private int height;
 
-	/**
-	 * Creates a new transcoded SVG image. This is marked as private to indicate that app
-	 * code should be using the {@link #of(int, int)} method to obtain a pre-configured instance.
-	 */
-	private ic_brightness_high_black_24px() {
+    /**
+     * Creates a new transcoded SVG image. This is marked as private to indicate that app
+     * code should be using the {@link #of(int, int)} method to obtain a pre-configured instance.
+     */
+    private ic_brightness_high_black_24px() {
         this.width = (int) getOrigWidth();
         this.height = (int) getOrigHeight();
-	}
+    }
 
     @Override
-	public int getIconHeight() {
-		return height;
-	}
+    public int getIconHeight() {
+        return height;
+    }
 
     @Override
-	public int getIconWidth() {
-		return width;
-	}
+    public int getIconWidth() {
+        return width;
+    }
 
-	@Override
-	public synchronized void setDimension(Dimension newDimension) {
-		this.width = newDimension.width;
-		this.height = newDimension.height;
-	}
+    @Override
+    public void setDimension(Dimension newDimension) {
+        this.width = newDimension.width;
+        this.height = newDimension.height;
+    }
 
     @Override
-	public synchronized void paintIcon(Component c, Graphics g, int x, int y) {
-		Graphics2D g2d = (Graphics2D) g.create();
-		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-				RenderingHints.VALUE_ANTIALIAS_ON);
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
                 RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-		g2d.translate(x, y);
+        g2d.translate(x, y);
 
         double coef1 = (double) this.width / getOrigWidth();
         double coef2 = (double) this.height / getOrigHeight();
@@ -205,12 +178,10 @@ g.setTransform(transformsStack.pop());
                g2d.translate(extraDx, 0);
             }
         }
-        Graphics2D g2ForInner = (Graphics2D) g2d.create();
-        innerPaint(g2ForInner);
-        g2ForInner.dispose();
+        innerPaint(g2d);
         g2d.dispose();
-	}
-    
+    }
+
     /**
      * Returns a new instance of this icon with specified dimensions.
      *
@@ -2,13 +2,6 @@ package org.pushingpixels.substance.internal.svg;
 
 import java.awt.*;
 import java.awt.geom.*;
-import java.awt.image.BufferedImage;
-import java.io.*;
-import java.lang.ref.WeakReference;
-import java.util.Base64;
-import java.util.Stack;
-import javax.imageio.ImageIO;
-import javax.swing.SwingUtilities;
 import javax.swing.plaf.UIResource;
 
 import org.pushingpixels.neon.api.icon.ResizableIcon;
@@ -17,140 +10,120 @@ import org.pushingpixels.neon.api.icon.ResizableIconUIResource;
 /**
  * This class has been automatically generated using <a
  * href="https://github.com/kirill-grouchnikov/radiance">Photon SVG transcoder</a>.
+ * All shapes, paints and transformations are created once when this class is loaded,
+ * and painting does not allocate geometry or mutate any shared state.
  */
 public class ic_grid_on_black_24px implements ResizableIcon {
-    private Shape shape = null;
-    private GeneralPath generalPath = null;
-    private Paint paint = null;
-    private Stroke stroke = null;
-    private Shape clip = null;
-    private Stack<AffineTransform> transformsStack = new Stack<>();
-
-    
-
-	private void _paint0(Graphics2D g,float origAlpha) {
-transformsStack.push(g.getTransform());
-// 
-g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
-transformsStack.push(g.getTransform());
-g.transform(new AffineTransform(1.0f, 0.0f, 0.0f, 1.0f, -0.0f, -0.0f));
-// _0
-g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
-transformsStack.push(g.getTransform());
-g.transform(new AffineTransform(1.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f));
-// _0_0
-g.setTransform(transformsStack.pop());
-g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
-transformsStack.push(g.getTransform());
-g.transform(new AffineTransform(1.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f));
-// _0_1
-if (generalPath == null) {
-   generalPath = new GeneralPath();
-} else {
-   generalPath.reset();
-}
-generalPath.moveTo(20.0f, 2.0f);
-generalPath.lineTo(4.0f, 2.0f);
-generalPath.curveTo(2.9f, 2.0f, 2.0f, 2.9f, 2.0f, 4.0f);
-generalPath.lineTo(2.0f, 20.0f);
-generalPath.curveTo(2.0f, 21.1f, 2.9f, 22.0f, 4.0f, 22.0f);
-generalPath.lineTo(20.0f, 22.0f);
-generalPath.curveTo(21.1f, 22.0f, 22.0f, 21.1f, 22.0f, 20.0f);
-generalPath.lineTo(22.0f, 4.0f);
-generalPath.curveTo(22.0f, 2.9f, 21.1f, 2.0f, 20.0f, 2.0f);
-generalPath.closePath();
-generalPath.moveTo(8.0f, 20.0f);
-generalPath.lineTo(4.0f, 20.0f);
-generalPath.lineTo(4.0f, 16.0f);
-generalPath.lineTo(8.0f, 16.0f);
-generalPath.lineTo(8.0f, 20.0f);
-generalPath.closePath();
-generalPath.moveTo(8.0f, 14.0f);
-generalPath.lineTo(4.0f, 14.0f);
-generalPath.lineTo(4.0f, 10.0f);
-generalPath.lineTo(8.0f, 10.0f);
-generalPath.lineTo(8.0f, 14.0f);
-generalPath.closePath();
-generalPath.moveTo(8.0f, 8.0f);
-generalPath.lineTo(4.0f, 8.0f);
-generalPath.lineTo(4.0f, 4.0f);
-generalPath.lineTo(8.0f, 4.0f);
-generalPath.lineTo(8.0f, 8.0f);
-generalPath.closePath();
-generalPath.moveTo(14.0f, 20.0f);
-generalPath.lineTo(10.0f, 20.0f);
-generalPath.lineTo(10.0f, 16.0f);
-generalPath.lineTo(14.0f, 16.0f);
-generalPath.lineTo(14.0f, 20.0f);
-generalPath.closePath();
-generalPath.moveTo(14.0f, 14.0f);
-generalPath.lineTo(10.0f, 14.0f);
-generalPath.lineTo(10.0f, 10.0f);
-generalPath.lineTo(14.0f, 10.0f);
-generalPath.lineTo(14.0f, 14.0f);
-generalPath.closePath();
-generalPath.moveTo(14.0f, 8.0f);
-generalPath.lineTo(10.0f, 8.0f);
-generalPath.lineTo(10.0f, 4.0f);
-generalPath.lineTo(14.0f, 4.0f);
-generalPath.lineTo(14.0f, 8.0f);
-generalPath.closePath();
-generalPath.moveTo(20.0f, 20.0f);
-generalPath.lineTo(16.0f, 20.0f);
-generalPath.lineTo(16.0f, 16.0f);
-generalPath.lineTo(20.0f, 16.0f);
-generalPath.lineTo(20.0f, 20.0f);
-generalPath.closePath();
-generalPath.moveTo(20.0f, 14.0f);
-generalPath.lineTo(16.0f, 14.0f);
-generalPath.lineTo(16.0f, 10.0f);
-generalPath.lineTo(20.0f, 10.0f);
-generalPath.lineTo(20.0f, 14.0f);
-generalPath.closePath();
-generalPath.moveTo(20.0f, 8.0f);
-generalPath.lineTo(16.0f, 8.0f);
-generalPath.lineTo(16.0f, 4.0f);
-generalPath.lineTo(20.0f, 4.0f);
-generalPath.lineTo(20.0f, 8.0f);
-generalPath.closePath();
-shape = generalPath;
-paint = new Color(0, 0, 0, 255);
-g.setPaint(paint);
-g.fill(shape);
-g.setTransform(transformsStack.pop());
-g.setTransform(transformsStack.pop());
-g.setTransform(transformsStack.pop());
-
-}
+    private static final AlphaComposite composite0 = AlphaComposite.getInstance(3, 1.0f);
+    private static final Shape shape1 = createShape1();
+    private static Shape createShape1() {
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, 64);
+        path.moveTo(20.0f, 2.0f);
+        path.lineTo(4.0f, 2.0f);
+        path.curveTo(2.9f, 2.0f, 2.0f, 2.9f, 2.0f, 4.0f);
+        path.lineTo(2.0f, 20.0f);
+        path.curveTo(2.0f, 21.1f, 2.9f, 22.0f, 4.0f, 22.0f);
+        path.lineTo(20.0f, 22.0f);
+        path.curveTo(21.1f, 22.0f, 22.0f, 21.1f, 22.0f, 20.0f);
+        path.lineTo(22.0f, 4.0f);
+        path.curveTo(22.0f, 2.9f, 21.1f, 2.0f, 20.0f, 2.0f);
+        path.closePath();
+        path.moveTo(8.0f, 20.0f);
+        path.lineTo(4.0f, 20.0f);
+        path.lineTo(4.0f, 16.0f);
+        path.lineTo(8.0f, 16.0f);
+        path.lineTo(8.0f, 20.0f);
+        path.closePath();
+        path.moveTo(8.0f, 14.0f);
+        path.lineTo(4.0f, 14.0f);
+        path.lineTo(4.0f, 10.0f);
+        path.lineTo(8.0f, 10.0f);
+        path.lineTo(8.0f, 14.0f);
+        path.closePath();
+        path.moveTo(8.0f, 8.0f);
+        path.lineTo(4.0f, 8.0f);
+        path.lineTo(4.0f, 4.0f);
+        path.lineTo(8.0f, 4.0f);
+        path.lineTo(8.0f, 8.0f);
+        path.closePath();
+        path.moveTo(14.0f, 20.0f);
+        path.lineTo(10.0f, 20.0f);
+        path.lineTo(10.0f, 16.0f);
+        path.lineTo(14.0f, 16.0f);
+        path.lineTo(14.0f, 20.0f);
+        path.closePath();
+        path.moveTo(14.0f, 14.0f);
+        path.lineTo(10.0f, 14.0f);
+        path.lineTo(10.0f, 10.0f);
+        path.lineTo(14.0f, 10.0f);
+        path.lineTo(14.0f, 14.0f);
+        path.closePath();
+        path.moveTo(14.0f, 8.0f);
+        path.lineTo(10.0f, 8.0f);
+        path.lineTo(10.0f, 4.0f);
+        path.lineTo(14.0f, 4.0f);
+        path.lineTo(14.0f, 8.0f);
+        path.closePath();
+        path.moveTo(20.0f, 20.0f);
+        path.lineTo(16.0f, 20.0f);
+        path.lineTo(16.0f, 16.0f);
+        path.lineTo(20.0f, 16.0f);
+        path.lineTo(20.0f, 20.0f);
+        path.closePath();
+        path.moveTo(20.0f, 14.0f);
+        path.lineTo(16.0f, 14.0f);
+        path.lineTo(16.0f, 10.0f);
+        path.lineTo(20.0f, 10.0f);
+        path.lineTo(20.0f, 14.0f);
+        path.closePath();
+        path.moveTo(20.0f, 8.0f);
+        path.lineTo(16.0f, 8.0f);
+        path.lineTo(16.0f, 4.0f);
+        path.lineTo(20.0f, 4.0f);
+        path.lineTo(20.0f, 8.0f);
+        path.closePath();
+        return path;
+    }
 
+    private static final Color color2 = new Color(0, 0, 0, 255);
 
+    private void _paint0(Graphics2D g,float origAlpha,AffineTransform base) {
+        Shape shape = null;
+        Paint paint = null;
+        //
+        if (origAlpha == 1.0f) {
+            g.setComposite(composite0);
+        } else {
+            g.setComposite(AlphaComposite.getInstance(3, 1.0f * origAlpha));
+        }
+        // _0
+        // _0_0
+        // _0_1
+        shape = shape1;
+        paint = color2;
+        g.setPaint(paint);
+        g.fill(shape);
+    }
 
     @SuppressWarnings("unused")
-	private void innerPaint(Graphics2D g) {
+    private void innerPaint(Graphics2D g) {
         float origAlpha = 1.0f;
         Composite origComposite = g.getComposite();
         if (origComposite instanceof AlphaComposite) {
-            AlphaComposite origAlphaComposite = 
+            AlphaComposite origAlphaComposite =
                 (AlphaComposite)origComposite;
             if (origAlphaComposite.getRule() == AlphaComposite.SRC_OVER) {
                 origAlpha = origAlphaComposite.getAlpha();
             }
         }
-        
-	    _paint0(g, origAlpha);
+        AffineTransform base = g.getTransform();
 
-
-	    shape = null;
-	    generalPath = null;
-	    paint = null;
-	    stroke = null;
-	    clip = null;
-        transformsStack.clear();
-	}
+        _paint0(g, origAlpha, base);
+    }
 
     /**
      * Returns the X of the bounding box of the original SVG image.
-     * 
+     *
      * @return The X of the bounding box of the original SVG image.
      */
     public static double getOrigX() {
@@ -159,70 +132,70 @@ g.setTransform(transformsStack.pop());
 
     /**
      * Returns the Y of the bounding box of the original SVG image.
-     * 
+     *
      * @return The Y of the bounding box of the original SVG image.
      */
     public static double getOrigY() {
         return 2.0;
     }
 
-	/**
-	 * Returns the width of the bounding box of the original SVG image.
-	 * 
-	 * @return The width of the bounding box of the original SVG image.
-	 */
-	public static double getOrigWidth() {
-		return 20.0;
-	}
+    /**
+     * Returns the width of the bounding box of the original SVG image.
+     *
+     * @return The width of the bounding box of the original SVG image.
+     */
+    public static double getOrigWidth() {
+        return 20.0;
+    }
 
-	/**
-	 * Returns the height of the bounding box of the original SVG image.
-	 * 
-	 * @return The height of the bounding box of the original SVG image.
-	 */
-	public static double getOrigHeight() {
-		return 20.0;
-	}
+    /**
+     * Returns the height of the bounding box of the original SVG image.
+     *
+     * @return The height of the bounding box of the original SVG image.
+     */
+    public static double getOrigHeight() {
+        return 20.0;
+    }
 
-	/** The current width of this resizable icon. */
-	private int width;
+    /** The current width of this resizable icon. */
+    private int width;
 
     /** The current height of this resizable icon. */
-	private int height;
+    private int height;
 
-	/**
-	 * Creates a new transcoded SVG image. This is marked as private to indicate that app
-	 * code should be using the {@link #of(int, int)} method to obtain a pre-configured instance.
-	 */
-	private ic_grid_on_black_24px() {
+    /**
+     * Creates a new transcoded SVG image. This is marked as private to indicate that app
+     * code should be using the {@link #of(int, int)} method to obtain a pre-configured instance.
+     */
+    private ic_grid_on_black_24px() {
         this.width = (int) getOrigWidth();
         this.height = (int) getOrigHeight();
-	}
+    }
 
     @Override
-	public int getIconHeight() {
-		return height;
-	}
+    public int getIconHeight() {
+        return height;
+    }
 
     @Override
-	public int getIconWidth() {
-		return width;
-	}
+    public int getIconWidth() {
+        return width;
+    }
 
-	@Override
-	public synchronized void setDimension(Dimension newDimension) {
-		this.width = newDimension.width;
-		this.height = newDimension.height;
-	}
+    @Override
+    public void setDimension(Dimension newDimension) {
+        this.width = newDimension.width;
+        this.height = newDimension.height;
+    }
 
     @Override
-	public synchronized void paintIcon(Component c, Graphics g, int x, int y) {
-		Graphics2D g2d = (Graphics2D) g.create();
-		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-				RenderingHints.VALUE_ANTIALIAS_ON);
+    public void paintIcon(Component c, Graphics g, int x, int y) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
                 RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-		g2d.translate(x, y);
+        g2d.translate(x, y);
 
         double coef1 = (double) this.width / getOrigWidth();
         double coef2 = (double) this.height / getOrigHeight();
@@ -239,12 +212,10 @@ g.setTransform(transformsStack.pop());
                g2d.translate(extraDx, 0);
             }
         }
-        Graphics2D g2ForInner = (Graphics2D) g2d.create();
-        innerPaint(g2ForInner);
-        g2ForInner.dispose();
+        innerPaint(g2d);
         g2d.dispose();
-	}
-    
+    }
+
     /**
      * Returns a new instance of this icon with specified dimensions.
      *
@@ -459,10 +459,15 @@ public class SubstanceButtonUI extends BasicButtonUI implements
 
     @Override
     public void update(Graphics g, JComponent c) {
-        Graphics2D g2d = (Graphics2D) g.create();
-        NeonCortex.installDesktopHints(g2d, c.getFont());
-        this.paint(g2d, c);
-        g2d.dispose();
+        long paintStart = PerformanceMetrics.startTiming();
+        try {
+            Graphics2D g2d = (Graphics2D) g.create();
+            NeonCortex.installDesktopHints(g2d, c.getFont());
+            this.paint(g2d, c);
+            g2d.dispose();
+        } finally {
+            PerformanceMetrics.paintFinished(this, paintStart);
+        }
     }
 
     @Override
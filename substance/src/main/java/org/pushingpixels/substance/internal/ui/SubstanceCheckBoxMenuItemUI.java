@@ -32,6 +32,7 @@ package org.pushingpixels.substance.internal.ui;
 import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.internal.animation.StateTransitionTracker;
 import org.pushingpixels.substance.internal.animation.TransitionAwareUI;
+import org.pushingpixels.substance.internal.utils.PerformanceMetrics;
 import org.pushingpixels.substance.internal.utils.RolloverMenuItemListener;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 import org.pushingpixels.substance.internal.utils.SubstanceSizeUtils;
@@ -201,9 +202,14 @@ public class SubstanceCheckBoxMenuItemUI extends BasicCheckBoxMenuItemUI
 
     @Override
     public void update(Graphics g, JComponent c) {
-        Graphics2D g2d = (Graphics2D) g.create();
-        NeonCortex.installDesktopHints(g2d, c.getFont());
-        super.update(g2d, c);
-        g2d.dispose();
+        long paintStart = PerformanceMetrics.startTiming();
+        try {
+            Graphics2D g2d = (Graphics2D) g.create();
+            NeonCortex.installDesktopHints(g2d, c.getFont());
+            super.update(g2d, c);
+            g2d.dispose();
+        } finally {
+            PerformanceMetrics.paintFinished(this, paintStart);
+        }
     }
 }
@@ -136,7 +136,7 @@ public class SubstanceCheckBoxUI extends SubstanceRadioButtonUI {
                 alpha);
         ImageWrapperIcon iconBase = icons.get(keyBase);
         if (iconBase == null) {
-            iconBase = new ImageWrapperIcon(
+            iconBase = ImageWrapperIcon.packed(
                     SubstanceImageCreator.getCheckBox(button, fillPainter, borderPainter,
                             checkMarkSize, currState, baseFillColorScheme, baseMarkColorScheme,
                             baseBorderColorScheme, visibility, isCheckMarkFadingOut,
@@ -179,7 +179,7 @@ public class SubstanceCheckBoxUI extends SubstanceRadioButtonUI {
                         borderColorScheme.getDisplayName(), visibility);
                 ImageWrapperIcon iconLayer = icons.get(keyLayer);
                 if (iconLayer == null) {
-                    iconLayer = new ImageWrapperIcon(
+                    iconLayer = ImageWrapperIcon.packed(
                             SubstanceImageCreator.getCheckBox(button, fillPainter, borderPainter,
                                     checkMarkSize, currState, fillColorScheme, markColorScheme,
                                     borderColorScheme, visibility, isCheckMarkFadingOut, alpha));
@@ -216,10 +216,15 @@ public class SubstanceCheckBoxUI extends SubstanceRadioButtonUI {
 
     @Override
     public void update(Graphics g, JComponent c) {
-        Graphics2D g2d = (Graphics2D) g.create();
-        NeonCortex.installDesktopHints(g2d, c.getFont());
-        super.update(g2d, c);
-        g2d.dispose();
+        long paintStart = PerformanceMetrics.startTiming();
+        try {
+            Graphics2D g2d = (Graphics2D) g.create();
+            NeonCortex.installDesktopHints(g2d, c.getFont());
+            super.update(g2d, c);
+            g2d.dispose();
+        } finally {
+            PerformanceMetrics.paintFinished(this, paintStart);
+        }
     }
 
     /**
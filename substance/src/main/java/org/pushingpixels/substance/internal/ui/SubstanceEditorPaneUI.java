@@ -36,6 +36,7 @@ import org.pushingpixels.substance.api.SubstanceWidget;
 import org.pushingpixels.substance.internal.SubstanceWidgetRepository;
 import org.pushingpixels.substance.internal.animation.StateTransitionTracker;
 import org.pushingpixels.substance.internal.animation.TransitionAwareUI;
+import org.pushingpixels.substance.internal.utils.PerformanceMetrics;
 import org.pushingpixels.substance.internal.utils.RolloverTextControlListener;
 import org.pushingpixels.substance.internal.utils.SubstanceColorUtilities;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
@@ -228,9 +229,14 @@ public class SubstanceEditorPaneUI extends BasicEditorPaneUI implements Transiti
 
     @Override
     public void update(Graphics g, JComponent c) {
-        Graphics2D g2d = (Graphics2D) g.create();
-        NeonCortex.installDesktopHints(g2d, c.getFont());
-        super.update(g2d, c);
-        g2d.dispose();
+        long paintStart = PerformanceMetrics.startTiming();
+        try {
+            Graphics2D g2d = (Graphics2D) g.create();
+            NeonCortex.installDesktopHints(g2d, c.getFont());
+            super.update(g2d, c);
+            g2d.dispose();
+        } finally {
+            PerformanceMetrics.paintFinished(this, paintStart);
+        }
     }
 }
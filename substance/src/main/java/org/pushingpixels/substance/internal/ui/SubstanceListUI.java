@@ -630,10 +630,14 @@ public class SubstanceListUI extends BasicListUI implements UpdateOptimizationAw
         if (rendererComponent != null) {
             isEnabled = isEnabled && rendererComponent.isEnabled();
         }
-        StateTransitionTracker tracker = this.stateTransitionMultiTracker.getTracker(cellIndex);
+        // skip the boxed index lookups when there is nothing to find - this is called
+        // by the cell renderer for every painted cell
+        StateTransitionTracker tracker = (this.stateTransitionMultiTracker.size() == 0)
+                ? null : this.stateTransitionMultiTracker.getTracker(cellIndex);
         if (tracker == null) {
             boolean isRollover = (rolledOverIndex >= 0) && (rolledOverIndex == cellIndex);
-            boolean isSelected = selectedIndices.containsKey(cellIndex);
+            boolean isSelected = !selectedIndices.isEmpty()
+                    && selectedIndices.containsKey(cellIndex);
             return ComponentState.getState(isEnabled, isRollover, isSelected);
         } else {
             ComponentState fromTracker = tracker.getModelStateInfo().getCurrModelState();
@@ -676,16 +680,21 @@ public class SubstanceListUI extends BasicListUI implements UpdateOptimizationAw
 
     @Override
     public void update(Graphics g, JComponent c) {
-        BackgroundPaintingUtils.updateIfOpaque(g, c);
-
-        Graphics2D g2d = (Graphics2D) g.create();
-        NeonCortex.installDesktopHints(g2d, c.getFont());
-        SubstanceStripingUtils.setup(c);
-        this.updateInfo = new UpdateOptimizationInfo(c);
-        this.paint(g2d, c);
-        SubstanceStripingUtils.tearDown(c);
-        g2d.dispose();
-        this.updateInfo = null;
+        long paintStart = PerformanceMetrics.startTiming();
+        try {
+            BackgroundPaintingUtils.updateIfOpaque(g, c);
+
+            Graphics2D g2d = (Graphics2D) g.create();
+            NeonCortex.installDesktopHints(g2d, c.getFont());
+            SubstanceStripingUtils.setup(c);
+            this.updateInfo = new UpdateOptimizationInfo(c);
+            this.paint(g2d, c);
+            SubstanceStripingUtils.tearDown(c);
+            g2d.dispose();
+            this.updateInfo = null;
+        } finally {
+            PerformanceMetrics.paintFinished(this, paintStart);
+        }
     }
 
     private UpdateOptimizationInfo updateInfo;
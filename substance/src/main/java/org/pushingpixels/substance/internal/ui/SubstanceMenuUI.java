@@ -33,6 +33,7 @@ import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.SubstanceCortex;
 import org.pushingpixels.substance.internal.animation.StateTransitionTracker;
 import org.pushingpixels.substance.internal.animation.TransitionAwareUI;
+import org.pushingpixels.substance.internal.utils.PerformanceMetrics;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 import org.pushingpixels.substance.internal.utils.SubstanceSizeUtils;
 import org.pushingpixels.substance.internal.utils.icon.MenuArrowIcon;
@@ -287,11 +288,16 @@ public class SubstanceMenuUI extends BasicMenuUI implements SubstanceMenu,
 
 	@Override
 	public void update(Graphics g, JComponent c) {
-		Graphics2D g2d = (Graphics2D) g.create();
-		NeonCortex.installDesktopHints(g2d, c.getFont());
-		super.update(g2d, c);
-		GhostPaintingUtils.paintGhostImages(c, g2d);
-		g2d.dispose();
+		long paintStart = PerformanceMetrics.startTiming();
+		try {
+			Graphics2D g2d = (Graphics2D) g.create();
+			NeonCortex.installDesktopHints(g2d, c.getFont());
+			super.update(g2d, c);
+			GhostPaintingUtils.paintGhostImages(c, g2d);
+			g2d.dispose();
+		} finally {
+			PerformanceMetrics.paintFinished(this, paintStart);
+		}
 	}
 	
 	public void updateCheckIconIfNeeded() {
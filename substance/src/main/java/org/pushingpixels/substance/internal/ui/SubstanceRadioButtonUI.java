@@ -170,7 +170,7 @@ public class SubstanceRadioButtonUI extends BasicRadioButtonUI implements Transi
                 baseBorderColorScheme.getDisplayName(), visibility, alpha);
         ImageWrapperIcon iconBase = icons.get(keyBase);
         if (iconBase == null) {
-            iconBase = new ImageWrapperIcon(SubstanceImageCreator.getRadioButton(button, fillPainter,
+            iconBase = ImageWrapperIcon.packed(SubstanceImageCreator.getRadioButton(button, fillPainter,
                     borderPainter, checkMarkSize, currState, 0, baseFillColorScheme,
                     baseMarkColorScheme, baseBorderColorScheme, visibility, alpha));
             icons.put(keyBase, iconBase);
@@ -210,7 +210,7 @@ public class SubstanceRadioButtonUI extends BasicRadioButtonUI implements Transi
                         borderColorScheme.getDisplayName(), visibility, alpha);
                 ImageWrapperIcon iconLayer = icons.get(keyLayer);
                 if (iconLayer == null) {
-                    iconLayer = new ImageWrapperIcon(
+                    iconLayer = ImageWrapperIcon.packed(
                             SubstanceImageCreator.getRadioButton(button, fillPainter, borderPainter,
                                     checkMarkSize, currState, 0, fillColorScheme, markColorScheme,
                                     borderColorScheme, visibility, alpha));
@@ -378,9 +378,14 @@ public class SubstanceRadioButtonUI extends BasicRadioButtonUI implements Transi
 
     @Override
     public void update(Graphics g, JComponent c) {
-        Graphics2D g2d = (Graphics2D) g.create();
-        NeonCortex.installDesktopHints(g2d, c.getFont());
-        super.update(g2d, c);
-        g2d.dispose();
+        long paintStart = PerformanceMetrics.startTiming();
+        try {
+            Graphics2D g2d = (Graphics2D) g.create();
+            NeonCortex.installDesktopHints(g2d, c.getFont());
+            super.update(g2d, c);
+            g2d.dispose();
+        } finally {
+            PerformanceMetrics.paintFinished(this, paintStart);
+        }
     }
 }
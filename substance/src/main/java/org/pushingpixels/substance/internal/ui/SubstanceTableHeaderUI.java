@@ -40,6 +40,7 @@ import org.pushingpixels.substance.internal.AnimationConfigurationManager;
 import org.pushingpixels.substance.internal.animation.StateTransitionMultiTracker;
 import org.pushingpixels.substance.internal.animation.StateTransitionTracker;
 import org.pushingpixels.substance.internal.painter.HighlightPainterUtils;
+import org.pushingpixels.substance.internal.utils.PerformanceMetrics;
 import org.pushingpixels.substance.internal.utils.SubstanceColorSchemeUtilities;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 import org.pushingpixels.substance.internal.utils.SubstanceSizeUtils;
@@ -671,35 +672,40 @@ public class SubstanceTableHeaderUI extends BasicTableHeaderUI {
 
     @Override
     public void update(Graphics g, JComponent c) {
-        // fix for issue 175 - table header under resize mode off
-        // was painted in color scheme-agnostic (gray) color.
-        boolean isEnabled = this.header.isEnabled();
-        if (this.header.getTable() != null) {
-            // fix for issue 472 - handle standalone table headers
-            isEnabled = isEnabled && this.header.getTable().isEnabled();
+        long paintStart = PerformanceMetrics.startTiming();
+        try {
+            // fix for issue 175 - table header under resize mode off
+            // was painted in color scheme-agnostic (gray) color.
+            boolean isEnabled = this.header.isEnabled();
+            if (this.header.getTable() != null) {
+                // fix for issue 472 - handle standalone table headers
+                isEnabled = isEnabled && this.header.getTable().isEnabled();
+            }
+            ComponentState backgroundState = isEnabled ? ComponentState.ENABLED
+                    : ComponentState.DISABLED_UNSELECTED;
+
+            // fix for issue 360 - respect the clip bounds of the
+            // table header
+            Rectangle clip = g.getClipBounds();
+            if (clip == null)
+                clip = c.getBounds();
+
+            // do not use the highlight scheme for painting the
+            // table header background
+            SubstanceColorScheme fillScheme = SubstanceColorSchemeUtilities.getColorScheme(c,
+                    backgroundState);
+            SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities.getColorScheme(c,
+                    ColorSchemeAssociationKind.HIGHLIGHT_BORDER, backgroundState);
+
+            HighlightPainterUtils.paintHighlight(g, null, c, clip, 0.0f, null, fillScheme,
+                    borderScheme);
+            Graphics2D g2d = (Graphics2D) g.create();
+            NeonCortex.installDesktopHints(g2d, c.getFont());
+            paint(g2d, c);
+            g2d.dispose();
+        } finally {
+            PerformanceMetrics.paintFinished(this, paintStart);
         }
-        ComponentState backgroundState = isEnabled ? ComponentState.ENABLED
-                : ComponentState.DISABLED_UNSELECTED;
-
-        // fix for issue 360 - respect the clip bounds of the
-        // table header
-        Rectangle clip = g.getClipBounds();
-        if (clip == null)
-            clip = c.getBounds();
-
-        // do not use the highlight scheme for painting the
-        // table header background
-        SubstanceColorScheme fillScheme = SubstanceColorSchemeUtilities.getColorScheme(c,
-                backgroundState);
-        SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities.getColorScheme(c,
-                ColorSchemeAssociationKind.HIGHLIGHT_BORDER, backgroundState);
-
-        HighlightPainterUtils.paintHighlight(g, null, c, clip, 0.0f, null, fillScheme,
-                borderScheme);
-        Graphics2D g2d = (Graphics2D) g.create();
-        NeonCortex.installDesktopHints(g2d, c.getFont());
-        paint(g2d, c);
-        g2d.dispose();
     }
 
     @Override
@@ -1009,7 +1009,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
             }
             if (row > 1) {
                 ComponentState upperNeighbourState = this
-                        .getCellState(new TableCellId(row - 1, column));
+                        .getCellState(row - 1, column);
                 if (currState == upperNeighbourState) {
                     // the cell above it is in the same state
                     highlightOpenSides.add(SubstanceSlices.Side.TOP);
@@ -1017,7 +1017,7 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
             }
             if (column > 1) {
                 ComponentState leftNeighbourState = this
-                        .getCellState(new TableCellId(row, column - 1));
+                        .getCellState(row, column - 1);
                 if (currState == leftNeighbourState) {
                     // the cell to the left is in the same state
                     highlightOpenSides.add(SubstanceSlices.Side.LEFT);
@@ -1583,6 +1583,24 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
             this.column = column;
         }
 
+        /**
+         * Returns the cell row.
+         * 
+         * @return Cell row.
+         */
+        public int getRow() {
+            return this.row;
+        }
+
+        /**
+         * Returns the cell column.
+         * 
+         * @return Cell column.
+         */
+        public int getColumn() {
+            return this.column;
+        }
+
         @Override
         public int compareTo(TableCellId o) {
             if (row == o.row) {
@@ -2166,6 +2184,20 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
         }
     }
 
+    /**
+     * Returns the current state for the specified cell. Unlike {@link #getCellState(TableCellId)},
+     * this method does not allocate a new cell ID and is used by the cell renderers.
+     * 
+     * @param row
+     *            Cell row.
+     * @param column
+     *            Cell column.
+     * @return The current state for the specified cell.
+     */
+    public ComponentState getCellState(int row, int column) {
+        return this.getCellState(this.getId(row, column));
+    }
+
     /**
      * Returns the current state for the specified cell.
      * 
@@ -2184,6 +2216,23 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
         }
     }
 
+    /**
+     * Returns the current state for the specified cell. Unlike
+     * {@link #getModelStateInfo(TableCellId)}, this method does not allocate a new cell ID and
+     * is used by the cell renderers.
+     * 
+     * @param row
+     *            Cell row.
+     * @param column
+     *            Cell column.
+     * @return The current state for the specified cell.
+     */
+    public StateTransitionTracker.ModelStateInfo getModelStateInfo(int row, int column) {
+        if (this.stateTransitionMultiTracker.size() == 0)
+            return null;
+        return this.getModelStateInfo(this.getId(row, column));
+    }
+
     /**
      * Checks whether the table has animations.
      * 
@@ -2256,15 +2305,20 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
 
     @Override
     public void update(Graphics g, JComponent c) {
-        BackgroundPaintingUtils.updateIfOpaque(g, c);
-        Graphics2D g2d = (Graphics2D) g.create();
-        NeonCortex.installDesktopHints(g2d, c.getFont());
-        SubstanceStripingUtils.setup(c);
-        this.updateInfo = new TableUpdateOptimizationInfo();
-        this.paint(g2d, c);
-        SubstanceStripingUtils.tearDown(c);
-        g2d.dispose();
-        this.updateInfo = null;
+        long paintStart = PerformanceMetrics.startTiming();
+        try {
+            BackgroundPaintingUtils.updateIfOpaque(g, c);
+            Graphics2D g2d = (Graphics2D) g.create();
+            NeonCortex.installDesktopHints(g2d, c.getFont());
+            SubstanceStripingUtils.setup(c);
+            this.updateInfo = new TableUpdateOptimizationInfo();
+            this.paint(g2d, c);
+            SubstanceStripingUtils.tearDown(c);
+            g2d.dispose();
+            this.updateInfo = null;
+        } finally {
+            PerformanceMetrics.paintFinished(this, paintStart);
+        }
     }
 
     /**
@@ -2367,4 +2421,22 @@ public class SubstanceTableUI extends BasicTableUI implements UpdateOptimization
     public StateTransitionTracker getStateTransitionTracker(TableCellId tableId) {
         return this.stateTransitionMultiTracker.getTracker(tableId);
     }
+
+    /**
+     * Returns the state transition tracker for the specified cell. Unlike
+     * {@link #getStateTransitionTracker(TableCellId)}, this method does not allocate a new cell
+     * ID and is used by the cell renderers.
+     * 
+     * @param row
+     *            Cell row.
+     * @param column
+     *            Cell column.
+     * @return The state transition tracker for the specified cell, or <code>null</code> if the
+     *         cell has no active transitions.
+     */
+    public StateTransitionTracker getStateTransitionTracker(int row, int column) {
+        if (this.stateTransitionMultiTracker.size() == 0)
+            return null;
+        return this.stateTransitionMultiTracker.getTracker(this.getId(row, column));
+    }
 }
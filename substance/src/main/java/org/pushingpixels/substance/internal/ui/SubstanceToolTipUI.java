@@ -30,6 +30,7 @@
 package org.pushingpixels.substance.internal.ui;
 
 import org.pushingpixels.neon.api.NeonCortex;
+import org.pushingpixels.substance.internal.utils.PerformanceMetrics;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 import org.pushingpixels.substance.internal.utils.SubstanceMetricsUtilities;
 import org.pushingpixels.substance.internal.utils.SubstanceTextUtilities;
@@ -120,9 +121,14 @@ public class SubstanceToolTipUI extends BasicToolTipUI {
 
 	@Override
 	public void update(Graphics g, JComponent c) {
-		Graphics2D g2d = (Graphics2D) g.create();
-		NeonCortex.installDesktopHints(g2d, c.getFont());
-		super.update(g2d, c);
-		g2d.dispose();
+		long paintStart = PerformanceMetrics.startTiming();
+		try {
+			Graphics2D g2d = (Graphics2D) g.create();
+			NeonCortex.installDesktopHints(g2d, c.getFont());
+			super.update(g2d, c);
+			g2d.dispose();
+		} finally {
+			PerformanceMetrics.paintFinished(this, paintStart);
+		}
 	}
 }
@@ -104,6 +104,11 @@ public class SubstanceTreeUI extends BasicTreeUI {
 
 	private StateTransitionMultiTracker<TreePathId> stateTransitionMultiTracker;
 
+	/**
+	 * Reusable path ID for the tracker lookups of the cell renderers. Must not be stored.
+	 */
+	private TreePathId lookupPathId;
+
 	/**
 	 * The current default color scheme. Is computed in
 	 * {@link #update(Graphics, JComponent)} and reused in
@@ -134,6 +139,7 @@ public class SubstanceTreeUI extends BasicTreeUI {
 		super();
 		this.selectedPaths = new HashMap<>();
 		this.stateTransitionMultiTracker = new StateTransitionMultiTracker<>();
+		this.lookupPathId = new TreePathId(null);
 	}
 
 	@Override
@@ -547,13 +553,18 @@ public class SubstanceTreeUI extends BasicTreeUI {
 				return 1;
 			if ((otherId.path == null) && (this.path != null))
 				return -1;
-			Object[] path1Objs = this.path.getPath();
-			Object[] path2Objs = otherId.path.getPath();
-			if (path1Objs.length != path2Objs.length)
+			TreePath path1 = this.path;
+			TreePath path2 = otherId.path;
+			if (path1.getPathCount() != path2.getPathCount())
 				return 1;
-			for (int i = 0; i < path1Objs.length; i++)
-				if (!path1Objs[i].equals(path2Objs[i]))
+			// walk up the paths instead of copying them with getPath(), as this is
+			// called for every tracker lookup
+			while (path1 != null) {
+				if (!path1.getLastPathComponent().equals(path2.getLastPathComponent()))
 					return 1;
+				path1 = path1.getParentPath();
+				path2 = path2.getParentPath();
+			}
 			return 0;
 		}
 
@@ -565,10 +576,10 @@ public class SubstanceTreeUI extends BasicTreeUI {
 		public int hashCode() {
 			if (this.path == null)
 				return 0;
-			Object[] pathObjs = this.path.getPath();
-			int result = pathObjs[0].hashCode();
-			for (int i = 1; i < pathObjs.length; i++)
-				result = result ^ pathObjs[i].hashCode();
+			int result = 0;
+			for (TreePath current = this.path; current != null; current = current
+					.getParentPath())
+				result = result ^ current.getLastPathComponent().hashCode();
 			return result;
 		}
 	}
@@ -901,6 +912,47 @@ public class SubstanceTreeUI extends BasicTreeUI {
 		}
 	}
 
+	/**
+	 * Returns the current state of the specified row. Unlike {@link #getPathState(TreePathId)},
+	 * this method does not create a path ID, and is used by the cell renderers.
+	 * 
+	 * @param path
+	 *            Tree path of the row.
+	 * @param row
+	 *            Row index.
+	 * @return The current state of the specified row.
+	 */
+	public ComponentState getPathState(TreePath path, int row) {
+		if (this.stateTransitionMultiTracker.size() > 0) {
+			return this.getPathState(this.getLookupPathId(path));
+		}
+		boolean isEnabled = this.tree.isEnabled();
+		boolean isRollover = (path != null) && (this.currRolloverPathId != null)
+				&& path.equals(this.currRolloverPathId.path);
+		boolean isSelected = this.tree.isRowSelected(row);
+		return ComponentState.getState(isEnabled, isRollover, isSelected);
+	}
+
+	/**
+	 * Returns the model state info of the specified path. Unlike
+	 * {@link #getModelStateInfo(TreePathId)}, this method does not create a path ID, and is
+	 * used by the cell renderers.
+	 * 
+	 * @param path
+	 *            Tree path.
+	 * @return The model state info of the specified path.
+	 */
+	public StateTransitionTracker.ModelStateInfo getModelStateInfo(TreePath path) {
+		if (this.stateTransitionMultiTracker.size() == 0)
+			return null;
+		return this.getModelStateInfo(this.getLookupPathId(path));
+	}
+
+	private TreePathId getLookupPathId(TreePath path) {
+		this.lookupPathId.path = path;
+		return this.lookupPathId;
+	}
+
 	@Override
 	public void update(Graphics g, JComponent c) {
 		BackgroundPaintingUtils.updateIfOpaque(g, c);
@@ -910,73 +962,78 @@ public class SubstanceTreeUI extends BasicTreeUI {
 			return;
 		}
 
-		// compute the default color scheme - to optimize the performance
-		// SubstanceColorScheme scheme = SubstanceColorSchemeUtilities
-		// .getColorScheme(this.tree,
-		// this.tree.isEnabled() ? ComponentState.DEFAULT
-		// : ComponentState.DISABLED_UNSELECTED);
-		// this.currHashColor = scheme.getLineColor();
-		this.currDefaultColorScheme = SubstanceColorSchemeUtilities.getColorScheme(tree,
-				ComponentState.ENABLED);
-
-		Rectangle paintBounds = g.getClipBounds();
-		Insets insets = tree.getInsets();
-
-		TreePath initialPath = getClosestPathForLocation(tree, 0, paintBounds.y);
-		Enumeration<?> paintingEnumerator = treeState.getVisiblePathsFrom(initialPath);
-		int row = treeState.getRowForPath(initialPath);
-		int endY = paintBounds.y + paintBounds.height;
+		long paintStart = PerformanceMetrics.startTiming();
+		try {
+			// compute the default color scheme - to optimize the performance
+			// SubstanceColorScheme scheme = SubstanceColorSchemeUtilities
+			// .getColorScheme(this.tree,
+			// this.tree.isEnabled() ? ComponentState.DEFAULT
+			// : ComponentState.DISABLED_UNSELECTED);
+			// this.currHashColor = scheme.getLineColor();
+			this.currDefaultColorScheme = SubstanceColorSchemeUtilities.getColorScheme(tree,
+					ComponentState.ENABLED);
+
+			Rectangle paintBounds = g.getClipBounds();
+			Insets insets = tree.getInsets();
 
-		// second part - fix for defect 214 (rollover effects on non-opaque
-		// trees resulted in inconsistent behaviour)
-		boolean isWatermarkBleed = SubstanceCoreUtilities.toDrawWatermark(tree) || !tree.isOpaque();
+			TreePath initialPath = getClosestPathForLocation(tree, 0, paintBounds.y);
+			Enumeration<?> paintingEnumerator = treeState.getVisiblePathsFrom(initialPath);
+			int row = treeState.getRowForPath(initialPath);
+			int endY = paintBounds.y + paintBounds.height;
 
-		Graphics2D g2d = (Graphics2D) g.create();
-		NeonCortex.installDesktopHints(g2d, c.getFont());
+			// second part - fix for defect 214 (rollover effects on non-opaque
+			// trees resulted in inconsistent behaviour)
+			boolean isWatermarkBleed = SubstanceCoreUtilities.toDrawWatermark(tree) || !tree.isOpaque();
 
-		SubstanceStripingUtils.setup(c);
-		if (initialPath != null && paintingEnumerator != null) {
-			boolean done = false;
-			Rectangle boundsBuffer = new Rectangle();
-			Rectangle bounds;
-			TreePath path;
+			Graphics2D g2d = (Graphics2D) g.create();
+			NeonCortex.installDesktopHints(g2d, c.getFont());
 
-			while (!done && paintingEnumerator.hasMoreElements()) {
-				path = (TreePath) paintingEnumerator.nextElement();
-				if (path != null) {
-					// respect the background color of the renderer.
-					boolean isLeaf = treeModel.isLeaf(path.getLastPathComponent());
-					boolean isExpanded = !isLeaf && treeState.getExpandedState(path);
-					Component renderer = this.currentCellRenderer.getTreeCellRendererComponent(
-							this.tree, path.getLastPathComponent(), this.tree.isRowSelected(row),
-							isExpanded, isLeaf, row,
-							tree.hasFocus() && (tree.getLeadSelectionRow() == row));
-					Color background = renderer.getBackground();
-					if (background == null)
-						background = tree.getBackground();
-					bounds = treeState.getBounds(path, boundsBuffer);
-					bounds.x += insets.left;
-					bounds.y += insets.top;
-					if (!isWatermarkBleed) {
-						g2d.setColor(background);
-						g2d.fillRect(paintBounds.x, bounds.y, paintBounds.width, bounds.height);
+			SubstanceStripingUtils.setup(c);
+			if (initialPath != null && paintingEnumerator != null) {
+				boolean done = false;
+				Rectangle boundsBuffer = new Rectangle();
+				Rectangle bounds;
+				TreePath path;
+
+				while (!done && paintingEnumerator.hasMoreElements()) {
+					path = (TreePath) paintingEnumerator.nextElement();
+					if (path != null) {
+						// respect the background color of the renderer.
+						boolean isLeaf = treeModel.isLeaf(path.getLastPathComponent());
+						boolean isExpanded = !isLeaf && treeState.getExpandedState(path);
+						Component renderer = this.currentCellRenderer.getTreeCellRendererComponent(
+								this.tree, path.getLastPathComponent(), this.tree.isRowSelected(row),
+								isExpanded, isLeaf, row,
+								tree.hasFocus() && (tree.getLeadSelectionRow() == row));
+						Color background = renderer.getBackground();
+						if (background == null)
+							background = tree.getBackground();
+						bounds = treeState.getBounds(path, boundsBuffer);
+						bounds.x += insets.left;
+						bounds.y += insets.top;
+						if (!isWatermarkBleed) {
+							g2d.setColor(background);
+							g2d.fillRect(paintBounds.x, bounds.y, paintBounds.width, bounds.height);
+						} else {
+							BackgroundPaintingUtils.fillAndWatermark(g2d, this.tree, background,
+									new Rectangle(paintBounds.x, bounds.y, paintBounds.width,
+											bounds.height));
+						}
+						if ((bounds.y + bounds.height) >= endY)
+							done = true;
 					} else {
-						BackgroundPaintingUtils.fillAndWatermark(g2d, this.tree, background,
-								new Rectangle(paintBounds.x, bounds.y, paintBounds.width,
-										bounds.height));
-					}
-					if ((bounds.y + bounds.height) >= endY)
 						done = true;
-				} else {
-					done = true;
+					}
+					row++;
 				}
-				row++;
 			}
-		}
 
-		this.paint(g2d, c);
-		SubstanceStripingUtils.tearDown(c);
-		g2d.dispose();
+			this.paint(g2d, c);
+			SubstanceStripingUtils.tearDown(c);
+			g2d.dispose();
+		} finally {
+			PerformanceMetrics.paintFinished(this, paintStart);
+		}
 	}
 
 	/**
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.neon.api.NeonCortex;
+import org.pushingpixels.neon.internal.contrib.intellij.JBHiDPIScaledImage;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Optional cache that mirrors large long-lived images (such as decoration area backgrounds and
+ * watermarks) into {@link VolatileImage}s, one for each {@link GraphicsConfiguration} they are
+ * painted to. Volatile images can live in accelerated video memory, which makes painting them to
+ * the screen faster than painting the matching {@link BufferedImage}s. This is most noticeable
+ * on large windows.
+ *
+ * <p>The cache is disabled by default. When it is disabled, when the target graphics is not a
+ * screen graphics (such as an offscreen image or a printer), when the image is small, or when the
+ * contents of the volatile image are lost during painting, the original image is painted
+ * instead.</p>
+ *
+ * @author Kirill Grouchnikov
+ * @see org.pushingpixels.substance.api.SubstanceCortex.GlobalScope#setAcceleratedImageCacheEnabled(boolean)
+ */
+public final class AcceleratedImageCache {
+    /**
+     * Images with fewer pixels than this value are painted directly.
+     */
+    private static final int MIN_PIXEL_COUNT = 128 * 128;
+
+    private static volatile boolean enabled = false;
+
+    /**
+     * Volatile mirrors of the source images, keyed by source image and graphics configuration.
+     * Entries are dropped when the source image is no longer used.
+     */
+    private static final Map<BufferedImage, Map<GraphicsConfiguration, VolatileImage>> mirrors =
+            new WeakHashMap<>();
+
+    private AcceleratedImageCache() {
+    }
+
+    public static void setEnabled(boolean enabled) {
+        AcceleratedImageCache.enabled = enabled;
+        if (!enabled) {
+            reset();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Releases all the volatile mirrors.
+     */
+    public static synchronized void reset() {
+        for (Map<GraphicsConfiguration, VolatileImage> configurationMirrors : mirrors.values()) {
+            for (VolatileImage mirror : configurationMirrors.values()) {
+                mirror.flush();
+            }
+        }
+        mirrors.clear();
+    }
+
+    /**
+     * Paints the specified image. This is the cache-aware equivalent of
+     * {@link NeonCortex#drawImage(Graphics, Image, int, int)}.
+     *
+     * @param g     Graphics context.
+     * @param image Image to paint.
+     * @param x     X coordinate.
+     * @param y     Y coordinate.
+     */
+    public static void drawImage(Graphics g, BufferedImage image, int x, int y) {
+        double scaleFactor = (image instanceof JBHiDPIScaledImage) ? NeonCortex.getScaleFactor()
+                : 1.0;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        drawImage(g, image, x, y, x + (int) (width / scaleFactor),
+                y + (int) (height / scaleFactor), 0, 0, width, height);
+    }
+
+    /**
+     * Paints the specified area of the image. This is the cache-aware equivalent of
+     * {@link NeonCortex#drawImage(Graphics, Image, int, int, int, int, int, int)}.
+     *
+     * @param g       Graphics context.
+     * @param image   Image to paint.
+     * @param x       X coordinate.
+     * @param y       Y coordinate.
+     * @param width   Width of the area to paint.
+     * @param height  Height of the area to paint.
+     * @param offsetX Horizontal offset of the area to paint within the image.
+     * @param offsetY Vertical offset of the area to paint within the image.
+     */
+    public static void drawImage(Graphics g, BufferedImage image, int x, int y,
+            int width, int height, int offsetX, int offsetY) {
+        double scaleFactor = (image instanceof JBHiDPIScaledImage) ? NeonCortex.getScaleFactor()
+                : 1.0;
+        drawImage(g, image, x, y, x + width, y + height,
+                x + (int) (offsetX * scaleFactor), y + (int) (offsetY * scaleFactor),
+                x + (int) ((offsetX + width) * scaleFactor),
+                y + (int) ((offsetY + height) * scaleFactor));
+    }
+
+    /**
+     * Paints the specified area of the image to the specified area of the graphics context.
+     * This is the cache-aware equivalent of
+     * {@link Graphics#drawImage(Image, int, int, int, int, int, int, int, int, java.awt.image.ImageObserver)}.
+     *
+     * @param g     Graphics context.
+     * @param image Image to paint.
+     * @param dx1   X coordinate of the first corner of the destination area.
+     * @param dy1   Y coordinate of the first corner of the destination area.
+     * @param dx2   X coordinate of the second corner of the destination area.
+     * @param dy2   Y coordinate of the second corner of the destination area.
+     * @param sx1   X coordinate of the first corner of the source area.
+     * @param sy1   Y coordinate of the first corner of the source area.
+     * @param sx2   X coordinate of the second corner of the source area.
+     * @param sy2   Y coordinate of the second corner of the source area.
+     */
+    public static void drawImage(Graphics g, BufferedImage image, int dx1, int dy1, int dx2,
+            int dy2, int sx1, int sy1, int sx2, int sy2) {
+        VolatileImage mirror = getMirror(g, image);
+        while (mirror != null) {
+            g.drawImage(mirror, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null);
+            if (!mirror.contentsLost()) {
+                return;
+            }
+            mirror = getMirror(g, image);
+        }
+        g.drawImage(image, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null);
+    }
+
+    /**
+     * Returns a valid volatile mirror of the specified image for the graphics configuration of
+     * the specified graphics context, or <code>null</code> if the image should be painted
+     * directly.
+     */
+    private static VolatileImage getMirror(Graphics g, BufferedImage image) {
+        if (!enabled || (image == null) || !(g instanceof Graphics2D)) {
+            return null;
+        }
+        if (image.getWidth() * image.getHeight() < MIN_PIXEL_COUNT) {
+            return null;
+        }
+        GraphicsConfiguration gc = ((Graphics2D) g).getDeviceConfiguration();
+        if ((gc == null) || (gc.getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN)) {
+            return null;
+        }
+
+        synchronized (AcceleratedImageCache.class) {
+            Map<GraphicsConfiguration, VolatileImage> configurationMirrors =
+                    mirrors.computeIfAbsent(image, (BufferedImage key) -> new WeakHashMap<>());
+            VolatileImage mirror = configurationMirrors.get(gc);
+            // A couple of attempts to restore the contents, after which the image is painted
+            // directly
+            for (int attempt = 0; attempt < 2; attempt++) {
+                int validation = (mirror == null) ? VolatileImage.IMAGE_INCOMPATIBLE
+                        : mirror.validate(gc);
+                if (validation == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    if (mirror != null) {
+                        mirror.flush();
+                    }
+                    try {
+                        mirror = gc.createCompatibleVolatileImage(image.getWidth(),
+                                image.getHeight(), Transparency.TRANSLUCENT);
+                    } catch (Exception exc) {
+                        mirror = null;
+                    }
+                    if (mirror == null) {
+                        configurationMirrors.remove(gc);
+                        return null;
+                    }
+                    configurationMirrors.put(gc, mirror);
+                    validation = VolatileImage.IMAGE_RESTORED;
+                }
+                if (validation == VolatileImage.IMAGE_RESTORED) {
+                    Graphics2D mirrorGraphics = mirror.createGraphics();
+                    mirrorGraphics.setComposite(AlphaComposite.Src);
+                    mirrorGraphics.drawImage(image, 0, 0, null);
+                    mirrorGraphics.dispose();
+                }
+                if (!mirror.contentsLost()) {
+                    return mirror;
+                }
+            }
+            return null;
+        }
+    }
+}
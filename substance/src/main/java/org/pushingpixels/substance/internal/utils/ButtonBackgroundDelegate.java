@@ -63,21 +63,23 @@ public class ButtonBackgroundDelegate {
     /**
      * Cache for background images.
      */
-    private static LazyResettableHashMap<BufferedImage> regularBackgrounds =
+    private static LazyResettableHashMap<NineSliceImage> regularBackgrounds =
             new LazyResettableHashMap<>("ButtonBackgroundDelegate");
 
     /**
-     * Retrieves the background for the specified button.
+     * Paints the full-opacity background of the specified button. When the button is
+     * transitioning between states, the cached background layers of all the active states are
+     * composited onto the graphics context.
      *
+     * @param graphics      Graphics context.
      * @param button        Button.
      * @param shaper        Button shaper.
      * @param fillPainter   Button fill painter.
      * @param borderPainter Button border painter.
      * @param width         Button width.
      * @param height        Button height.
-     * @return Button background.
      */
-    private static BufferedImage getFullAlphaBackground(AbstractButton button,
+    private static void paintFullAlphaBackground(Graphics2D graphics, AbstractButton button,
             SubstanceButtonShaper shaper, SubstanceFillPainter fillPainter,
             SubstanceBorderPainter borderPainter, int width, int height) {
         TransitionAwareUI transitionAwareUI = (TransitionAwareUI) button.getUI();
@@ -132,45 +134,24 @@ public class ButtonBackgroundDelegate {
                     SubstanceColorScheme colorScheme = SubstanceColorSchemeUtilities.ORANGE;
                     float cyclePos = modificationTimeline.getTimelinePosition();
 
-                    HashMapKey key1 = SubstanceCoreUtilities.getHashKey(width, height,
-                            colorScheme.getDisplayName(), baseBorderScheme.getDisplayName(),
-                            shaper.getDisplayName(), fillPainter.getDisplayName(),
-                            borderPainter.getDisplayName(), straightSides, openSides,
-                            button.getClass().getName(), isRoundButton, radius, isContentAreaFilled,
-                            isBorderPainted, SubstanceSizeUtils.getComponentFontSize(button));
-                    BufferedImage layer1 = regularBackgrounds.get(key1);
-                    if (layer1 == null) {
-                        layer1 = createBackgroundImage(button, shaper, fillPainter, borderPainter,
-                                width, height, colorScheme, baseBorderScheme, openSides,
-                                isContentAreaFilled, isBorderPainted);
-
-                        regularBackgrounds.put(key1, layer1);
-                    }
-                    HashMapKey key2 = SubstanceCoreUtilities.getHashKey(width, height,
-                            colorScheme2.getDisplayName(), baseBorderScheme.getDisplayName(),
-                            shaper.getDisplayName(), fillPainter.getDisplayName(),
-                            borderPainter.getDisplayName(), straightSides, openSides,
-                            button.getClass().getName(), isRoundButton, radius, isContentAreaFilled,
-                            isBorderPainted, SubstanceSizeUtils.getComponentFontSize(button));
-                    BufferedImage layer2 = regularBackgrounds.get(key2);
-                    if (layer2 == null) {
-                        layer2 = createBackgroundImage(button, shaper, fillPainter, borderPainter,
-                                width, height, colorScheme2, baseBorderScheme, openSides,
-                                isContentAreaFilled, isBorderPainted);
-
-                        regularBackgrounds.put(key2, layer2);
-                    }
+                    NineSliceImage layer1 = getBackgroundLayer(button, shaper, fillPainter,
+                            borderPainter, width, height, colorScheme, baseBorderScheme,
+                            straightSides, openSides, isRoundButton, radius, isContentAreaFilled,
+                            isBorderPainted);
+                    NineSliceImage layer2 = getBackgroundLayer(button, shaper, fillPainter,
+                            borderPainter, width, height, colorScheme2, baseBorderScheme,
+                            straightSides, openSides, isRoundButton, radius, isContentAreaFilled,
+                            isBorderPainted);
 
-                    BufferedImage result = SubstanceCoreUtilities.getBlankUnscaledImage(layer1);
-                    Graphics2D g2d = result.createGraphics();
+                    LayerCompositor compositor = new LayerCompositor(graphics, 0, 0, width,
+                            height);
                     if (cyclePos < 1.0f)
-                        g2d.drawImage(layer1, 0, 0, layer1.getWidth(), layer1.getHeight(), null);
+                        compositor.paintLayer(layer1, 1.0f);
                     if (cyclePos > 0.0f) {
-                        g2d.setComposite(AlphaComposite.SrcOver.derive(cyclePos));
-                        g2d.drawImage(layer2, 0, 0, layer2.getWidth(), layer2.getHeight(), null);
+                        compositor.paintLayer(layer2, cyclePos);
                     }
-                    g2d.dispose();
-                    return result;
+                    compositor.finish();
+                    return;
                 }
             }
         }
@@ -184,28 +165,17 @@ public class ButtonBackgroundDelegate {
 
         SubstanceColorScheme baseFillScheme = SubstanceColorSchemeUtilities.getColorScheme(button,
                 currState);
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(width, height,
-                baseFillScheme.getDisplayName(), baseBorderScheme.getDisplayName(),
-                shaper.getDisplayName(), fillPainter.getDisplayName(),
-                borderPainter.getDisplayName(), straightSides, openSides,
-                button.getClass().getName(), isRoundButton, (int) (1000 * radius),
-                isContentAreaFilled, isBorderPainted,
-                SubstanceSizeUtils.getComponentFontSize(button));
-        BufferedImage layerBase = regularBackgrounds.get(keyBase);
-        if (layerBase == null) {
-            layerBase = createBackgroundImage(button, shaper, fillPainter, borderPainter, width,
-                    height, baseFillScheme, baseBorderScheme, openSides, isContentAreaFilled,
-                    isBorderPainted);
-            regularBackgrounds.put(keyBase, layerBase);
-        }
+        NineSliceImage layerBase = getBackgroundLayer(button, shaper, fillPainter, borderPainter,
+                width, height, baseFillScheme, baseBorderScheme, straightSides, openSides,
+                isRoundButton, radius, isContentAreaFilled, isBorderPainted);
         if (currState.isDisabled() || (activeStates.size() == 1)) {
-            return layerBase;
+            layerBase.paint(graphics, 0, 0, width, height);
+            return;
         }
 
-        BufferedImage result = SubstanceCoreUtilities.getBlankUnscaledImage(layerBase);
-        Graphics2D g2d = result.createGraphics();
+        LayerCompositor compositor = new LayerCompositor(graphics, 0, 0, width, height);
         // draw the base layer
-        g2d.drawImage(layerBase, 0, 0, layerBase.getWidth(), layerBase.getHeight(), null);
+        compositor.paintLayer(layerBase, 1.0f);
         // System.out.println("\nPainting base state " + currState);
 
         // draw the other active layers
@@ -220,31 +190,59 @@ public class ButtonBackgroundDelegate {
 
             float stateContribution = activeEntry.getValue().getContribution();
             if (stateContribution > 0.0f) {
-                g2d.setComposite(AlphaComposite.SrcOver.derive(stateContribution));
-
                 SubstanceColorScheme fillScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(button, activeState);
                 SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(button, ColorSchemeAssociationKind.BORDER, activeState);
-                HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height,
-                        fillScheme.getDisplayName(), borderScheme.getDisplayName(),
-                        shaper.getDisplayName(), fillPainter.getDisplayName(),
-                        borderPainter.getDisplayName(), straightSides, openSides,
-                        button.getClass().getName(), isRoundButton, (int) (1000 * radius),
-                        isContentAreaFilled, isBorderPainted,
-                        SubstanceSizeUtils.getComponentFontSize(button));
-                BufferedImage layer = regularBackgrounds.get(key);
-                if (layer == null) {
-                    layer = createBackgroundImage(button, shaper, fillPainter, borderPainter, width,
-                            height, fillScheme, borderScheme, openSides, isContentAreaFilled,
-                            isBorderPainted);
-                    regularBackgrounds.put(key, layer);
-                }
-                g2d.drawImage(layer, 0, 0, layer.getWidth(), layer.getHeight(), null);
+                NineSliceImage layer = getBackgroundLayer(button, shaper, fillPainter,
+                        borderPainter, width, height, fillScheme, borderScheme, straightSides,
+                        openSides, isRoundButton, radius, isContentAreaFilled, isBorderPainted);
+                compositor.paintLayer(layer, stateContribution);
             }
         }
-        g2d.dispose();
-        return result;
+        compositor.finish();
+    }
+
+    /**
+     * Returns the cached background layer of the specified button for the specified color
+     * schemes. Whenever the fill and border painters allow it, the layer is a nine-slice image
+     * shared by all the buttons that differ only in size.
+     */
+    private static NineSliceImage getBackgroundLayer(AbstractButton button,
+            SubstanceButtonShaper shaper, SubstanceFillPainter fillPainter,
+            SubstanceBorderPainter borderPainter, int width, int height,
+            SubstanceColorScheme fillScheme, SubstanceColorScheme borderScheme,
+            Set<Side> straightSides, Set<Side> openSides, boolean isRoundButton, float radius,
+            boolean isContentAreaFilled, boolean isBorderPainted) {
+        HashMapKey key = SubstanceCoreUtilities.getHashKey(fillScheme.getDisplayName(),
+                borderScheme.getDisplayName(), shaper.getDisplayName(),
+                fillPainter.getDisplayName(), borderPainter.getDisplayName(), straightSides,
+                openSides, button.getClass().getName(), isRoundButton, (int) (1000 * radius),
+                isContentAreaFilled, isBorderPainted,
+                SubstanceSizeUtils.getComponentFontSize(button));
+
+        // The edge slices cover the rounded corners and the extra space of open sides
+        int edge = (Math.min(width, height) + 1) / 2 + 2;
+        if ((openSides != null) && !openSides.isEmpty()) {
+            edge += (int) Math.ceil(3.0 * SubstanceSizeUtils.getBorderStrokeWidth());
+        }
+        NineSliceImage sliced = NineSliceImage.getSliced(key, width, height, edge,
+                (sliceWidth, sliceHeight) -> createBackgroundImage(button, shaper,
+                        fillPainter, borderPainter, sliceWidth, sliceHeight, fillScheme,
+                        borderScheme, openSides, isContentAreaFilled, isBorderPainted));
+        if (sliced != null) {
+            return sliced;
+        }
+
+        HashMapKey exactKey = SubstanceCoreUtilities.getHashKey(key, width, height);
+        NineSliceImage layer = regularBackgrounds.get(exactKey);
+        if (layer == null) {
+            layer = NineSliceImage.exact(createBackgroundImage(button, shaper, fillPainter,
+                    borderPainter, width, height, fillScheme, borderScheme, openSides,
+                    isContentAreaFilled, isBorderPainted), width, height);
+            regularBackgrounds.put(exactKey, layer);
+        }
+        return layer;
     }
 
     private static BufferedImage createBackgroundImage(AbstractButton button,
@@ -303,7 +301,6 @@ public class ButtonBackgroundDelegate {
 
         int width = button.getWidth();
         int height = button.getHeight();
-        int y = 0;
         if (SubstanceCoreUtilities.isScrollButton(button)
                 || SubstanceCoreUtilities.isSpinnerButton(button)) {
             PairwiseButtonBackgroundDelegate.updatePairwiseBackground(g, button, width, height,
@@ -315,9 +312,6 @@ public class ButtonBackgroundDelegate {
         SubstanceButtonShaper shaper = SubstanceCoreUtilities.getButtonShaper(button);
         SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(button);
 
-        BufferedImage bgImage = getFullAlphaBackground(button, shaper,
-                fillPainter, borderPainter, width, height);
-
         TransitionAwareUI transitionAwareUI = (TransitionAwareUI) button.getUI();
         StateTransitionTracker stateTransitionTracker = transitionAwareUI.getTransitionTracker();
         StateTransitionTracker.ModelStateInfo modelStateInfo = stateTransitionTracker
@@ -357,7 +351,8 @@ public class ButtonBackgroundDelegate {
             graphics.setComposite(WidgetUtilities.getAlphaComposite(button, extraAlpha, g));
             graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
             graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-            NeonCortex.drawImage(graphics, bgImage, 0, y);
+            paintFullAlphaBackground(graphics, button, shaper, fillPainter, borderPainter, width,
+                    height);
             graphics.dispose();
         }
     }
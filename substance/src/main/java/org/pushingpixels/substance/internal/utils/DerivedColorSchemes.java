@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.SubstanceSkin;
+import org.pushingpixels.substance.api.colorscheme.ColorSchemeTransform;
+import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
+import org.pushingpixels.substance.api.painter.border.CompositeBorderPainter;
+import org.pushingpixels.substance.api.painter.border.DelegateBorderPainter;
+import org.pushingpixels.substance.api.painter.border.DelegateFractionBasedBorderPainter;
+import org.pushingpixels.substance.api.painter.border.SubstanceBorderPainter;
+
+import javax.swing.*;
+import java.util.*;
+
+/**
+ * Strongly-held tables of the derived color schemes of precomputed skins. Unlike the soft
+ * caches of {@link LazyResettableHashMap}, these tables are not reset on skin change and are
+ * not cleared under memory pressure. A table is kept for as long as its skin is reachable, and
+ * the table of the current global skin is consulted before the soft caches.
+ *
+ * @see SubstanceCortex.GlobalScope#precomputeSkin(SubstanceSkin)
+ */
+public final class DerivedColorSchemes {
+    private static final Map<SubstanceSkin, Map<HashMapKey, SubstanceColorScheme>> skinTables =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static volatile Map<HashMapKey, SubstanceColorScheme> currentTable =
+            Collections.emptyMap();
+
+    private DerivedColorSchemes() {
+    }
+
+    /**
+     * Returns the color scheme derived from the specified scheme by the transformation of a
+     * border painter. The precomputed table of the current skin is consulted first, and the
+     * specified soft cache is used for schemes that have not been precomputed.
+     *
+     * @param cache       Soft cache of the transformed color schemes.
+     * @param orig        Original color scheme.
+     * @param painterName Display name of the border painter.
+     * @param transform   Color scheme transformation of the border painter.
+     * @return Transformed color scheme.
+     */
+    public static SubstanceColorScheme getTransformedScheme(
+            LazyResettableHashMap<SubstanceColorScheme> cache, SubstanceColorScheme orig,
+            String painterName, ColorSchemeTransform transform) {
+        HashMapKey key = SubstanceCoreUtilities.getHashKey(orig.getDisplayName(), painterName,
+                transform);
+        SubstanceColorScheme result = currentTable.get(key);
+        if (result != null) {
+            return result;
+        }
+        result = cache.get(key);
+        if (result == null) {
+            result = transform.transform(orig);
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the transformations of all the specified color schemes by the specified border
+     * painters. Composite border painters are traversed, and border painters that do not
+     * transform color schemes are ignored.
+     *
+     * @param schemes  Color schemes to transform.
+     * @param painters Border painters, some of which may be <code>null</code>.
+     * @return Table of the transformed color schemes.
+     */
+    public static Map<HashMapKey, SubstanceColorScheme> transformAll(
+            Collection<SubstanceColorScheme> schemes, SubstanceBorderPainter... painters) {
+        Map<HashMapKey, SubstanceColorScheme> result = new HashMap<>();
+        for (SubstanceBorderPainter painter : painters) {
+            transformAll(schemes, painter, result);
+        }
+        return result;
+    }
+
+    private static void transformAll(Collection<SubstanceColorScheme> schemes,
+            SubstanceBorderPainter painter, Map<HashMapKey, SubstanceColorScheme> result) {
+        if (painter instanceof CompositeBorderPainter) {
+            CompositeBorderPainter composite = (CompositeBorderPainter) painter;
+            transformAll(schemes, composite.getOuter(), result);
+            transformAll(schemes, composite.getInner(), result);
+            return;
+        }
+
+        ColorSchemeTransform transform = null;
+        if (painter instanceof DelegateBorderPainter) {
+            transform = ((DelegateBorderPainter) painter).getTransform();
+        } else if (painter instanceof DelegateFractionBasedBorderPainter) {
+            transform = ((DelegateFractionBasedBorderPainter) painter).getTransform();
+        }
+        if (transform == null) {
+            return;
+        }
+        for (SubstanceColorScheme scheme : schemes) {
+            result.put(SubstanceCoreUtilities.getHashKey(scheme.getDisplayName(),
+                    painter.getDisplayName(), transform), transform.transform(scheme));
+        }
+    }
+
+    /**
+     * Registers the table of derived color schemes of the specified skin. This method can be
+     * called off the Event Dispatch Thread. If the skin is the current global skin, its table
+     * is installed on the Event Dispatch Thread.
+     *
+     * @param skin  Skin.
+     * @param table Table of the derived color schemes of the skin.
+     */
+    public static void register(SubstanceSkin skin, Map<HashMapKey, SubstanceColorScheme> table) {
+        Map<HashMapKey, SubstanceColorScheme> unmodifiable = Collections.unmodifiableMap(table);
+        skinTables.put(skin, unmodifiable);
+        SwingUtilities.invokeLater(() -> {
+            if (SubstanceCortex.GlobalScope.getCurrentSkin() == skin) {
+                currentTable = unmodifiable;
+            }
+        });
+    }
+
+    /**
+     * Installs the table of derived color schemes of the new global skin. Must be called on
+     * the Event Dispatch Thread.
+     *
+     * @param skin The new global skin, can be <code>null</code>.
+     */
+    public static void skinChanged(SubstanceSkin skin) {
+        Map<HashMapKey, SubstanceColorScheme> table = (skin == null) ? null : skinTables.get(skin);
+        currentTable = (table == null) ? Collections.emptyMap() : table;
+    }
+}
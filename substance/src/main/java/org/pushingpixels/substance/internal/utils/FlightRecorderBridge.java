@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Emits the performance metrics collected by {@link PerformanceMetrics} as Java Flight Recorder
+ * events. <b>Substance</b> is compiled against Java 9, where the <code>jdk.jfr</code> API is not
+ * available. The event types are created at runtime with <code>jdk.jfr.EventFactory</code>
+ * through reflection, and this bridge is inactive on runtimes that do not have it.
+ *
+ * <p>The following events are defined, all in the "Radiance / Substance" category:</p>
+ * <ul>
+ * <li><code>org.pushingpixels.substance.ImageAllocation</code> - offscreen image allocation,
+ * with the image size and the call site category.</li>
+ * <li><code>org.pushingpixels.substance.Paint</code> - paint of a single component by its UI
+ * delegate.</li>
+ * <li><code>org.pushingpixels.substance.SkinChange</code> - switch to another skin.</li>
+ * <li><code>org.pushingpixels.substance.TimelinePulse</code> - single pulse of the animation
+ * timeline engine.</li>
+ * <li><code>org.pushingpixels.substance.CacheStatistics</code> - periodic event with the
+ * cumulative access statistics of every named cache.</li>
+ * </ul>
+ *
+ * @author Kirill Grouchnikov
+ */
+final class FlightRecorderBridge {
+    private static final String EVENT_PREFIX = "org.pushingpixels.substance.";
+
+    /**
+     * Reflective handle to a single event type created with <code>jdk.jfr.EventFactory</code>.
+     */
+    private static final class DynamicEventType {
+        private final Object factory;
+        private final Object eventType;
+        private final Method newEvent;
+        private final Method isEnabled;
+        private final Method shouldCommit;
+        private final Method set;
+        private final Method commit;
+
+        private DynamicEventType(Object factory, Object eventType, EventTypeBuilder builder) {
+            this.factory = factory;
+            this.eventType = eventType;
+            this.newEvent = builder.newEvent;
+            this.isEnabled = builder.isEnabled;
+            this.shouldCommit = builder.shouldCommit;
+            this.set = builder.set;
+            this.commit = builder.commit;
+        }
+
+        /**
+         * Returns indication whether this event type is enabled in at least one running
+         * recording. Is checked before the event and its values are created, so that the
+         * instrumented code does not pay for events that would not be recorded.
+         */
+        private boolean isEnabled() {
+            try {
+                return (Boolean) this.isEnabled.invoke(this.eventType);
+            } catch (ReflectiveOperationException roe) {
+                return false;
+            }
+        }
+
+        private Object newEvent() throws ReflectiveOperationException {
+            return this.newEvent.invoke(this.factory);
+        }
+
+        private void commit(Object... values) {
+            try {
+                Object event = this.newEvent();
+                if (!((Boolean) this.shouldCommit.invoke(event))) {
+                    return;
+                }
+                for (int i = 0; i < values.length; i++) {
+                    this.set.invoke(event, i, values[i]);
+                }
+                this.commit.invoke(event);
+            } catch (ReflectiveOperationException roe) {
+                // the event is lost, but painting goes on
+            }
+        }
+    }
+
+    /**
+     * Reflective access to the <code>jdk.jfr</code> types needed to define the events.
+     */
+    private static final class EventTypeBuilder {
+        private final Constructor<?> annotationElement;
+        private final Constructor<?> valueDescriptor;
+        private final Method create;
+        private final Method newEvent;
+        private final Method getEventType;
+        private final Method isEnabled;
+        private final Method shouldCommit;
+        private final Method set;
+        private final Method commit;
+        private final Class<? extends Annotation> nameAnnotation;
+        private final Class<? extends Annotation> labelAnnotation;
+        private final Class<? extends Annotation> categoryAnnotation;
+        private final Class<? extends Annotation> timespanAnnotation;
+
+        private EventTypeBuilder() throws ReflectiveOperationException {
+            Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+            Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+            Class<?> eventClass = Class.forName("jdk.jfr.Event");
+            Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+            this.annotationElement = annotationElementClass.getConstructor(Class.class,
+                    Object.class);
+            this.valueDescriptor = valueDescriptorClass.getConstructor(Class.class,
+                    String.class, List.class);
+            this.create = eventFactoryClass.getMethod("create", List.class, List.class);
+            this.newEvent = eventFactoryClass.getMethod("newEvent");
+            this.getEventType = eventFactoryClass.getMethod("getEventType");
+            this.isEnabled = eventTypeClass.getMethod("isEnabled");
+            this.shouldCommit = eventClass.getMethod("shouldCommit");
+            this.set = eventClass.getMethod("set", int.class, Object.class);
+            this.commit = eventClass.getMethod("commit");
+            this.nameAnnotation = annotationClass("jdk.jfr.Name");
+            this.labelAnnotation = annotationClass("jdk.jfr.Label");
+            this.categoryAnnotation = annotationClass("jdk.jfr.Category");
+            this.timespanAnnotation = annotationClass("jdk.jfr.Timespan");
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Class<? extends Annotation> annotationClass(String name)
+                throws ClassNotFoundException {
+            return (Class<? extends Annotation>) Class.forName(name);
+        }
+
+        private Object annotation(Class<? extends Annotation> type, Object value)
+                throws ReflectiveOperationException {
+            return this.annotationElement.newInstance(type, value);
+        }
+
+        private Object field(Class<?> type, String name, String label)
+                throws ReflectiveOperationException {
+            return this.valueDescriptor.newInstance(type, name,
+                    Arrays.asList(this.annotation(this.labelAnnotation, label)));
+        }
+
+        private Object elapsedTimeField() throws ReflectiveOperationException {
+            return this.valueDescriptor.newInstance(long.class, "elapsed",
+                    Arrays.asList(this.annotation(this.labelAnnotation, "Elapsed Time"),
+                            this.annotation(this.timespanAnnotation, "NANOSECONDS")));
+        }
+
+        private DynamicEventType build(String name, String label, Object... fields)
+                throws ReflectiveOperationException {
+            List<Object> annotations = new ArrayList<>();
+            annotations.add(this.annotation(this.nameAnnotation, EVENT_PREFIX + name));
+            annotations.add(this.annotation(this.labelAnnotation, label));
+            annotations.add(this.annotation(this.categoryAnnotation,
+                    new String[] { "Radiance", "Substance" }));
+            Object factory = this.create.invoke(null, annotations, Arrays.asList(fields));
+            return new DynamicEventType(factory, this.getEventType.invoke(factory), this);
+        }
+    }
+
+    private static boolean initialized;
+
+    private static DynamicEventType imageAllocationEvent;
+    private static DynamicEventType paintEvent;
+    private static DynamicEventType skinChangeEvent;
+    private static DynamicEventType timelinePulseEvent;
+    private static DynamicEventType cacheStatisticsEvent;
+
+    private FlightRecorderBridge() {
+    }
+
+    /**
+     * Defines the event types on the first call. Does nothing when the runtime does not have
+     * the <code>jdk.jfr</code> API.
+     */
+    static synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        initialized = true;
+        try {
+            EventTypeBuilder builder = new EventTypeBuilder();
+            DynamicEventType imageAllocation = builder.build("ImageAllocation",
+                    "Substance Image Allocation",
+                    builder.field(String.class, "category", "Call Site Category"),
+                    builder.field(int.class, "width", "Width"),
+                    builder.field(int.class, "height", "Height"));
+            DynamicEventType paint = builder.build("Paint", "Substance Paint",
+                    builder.field(String.class, "delegate", "UI Delegate"),
+                    builder.elapsedTimeField());
+            DynamicEventType skinChange = builder.build("SkinChange", "Substance Skin Change",
+                    builder.field(String.class, "skin", "Skin"), builder.elapsedTimeField());
+            DynamicEventType timelinePulse = builder.build("TimelinePulse",
+                    "Trident Timeline Pulse", builder.elapsedTimeField());
+            DynamicEventType cacheStatistics = builder.build("CacheStatistics",
+                    "Substance Cache Statistics",
+                    builder.field(String.class, "cache", "Cache"),
+                    builder.field(long.class, "hits", "Hits"),
+                    builder.field(long.class, "misses", "Misses"),
+                    builder.field(long.class, "evictions", "Evictions"),
+                    builder.field(int.class, "size", "Size"));
+
+            // Cache statistics are emitted by the recorder itself at the beginning and the end
+            // of every recording chunk
+            Class<?> flightRecorderClass = Class.forName("jdk.jfr.FlightRecorder");
+            Method addPeriodicEvent = flightRecorderClass.getMethod("addPeriodicEvent",
+                    Class.class, Runnable.class);
+            addPeriodicEvent.invoke(null, cacheStatistics.newEvent().getClass(),
+                    (Runnable) FlightRecorderBridge::emitCacheStatistics);
+
+            imageAllocationEvent = imageAllocation;
+            paintEvent = paint;
+            skinChangeEvent = skinChange;
+            timelinePulseEvent = timelinePulse;
+            cacheStatisticsEvent = cacheStatistics;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError exc) {
+            // Flight Recorder is not available on this runtime
+        }
+    }
+
+    static void imageAllocated(String category, int width, int height) {
+        DynamicEventType eventType = imageAllocationEvent;
+        if ((eventType != null) && eventType.isEnabled()) {
+            eventType.commit(category, width, height);
+        }
+    }
+
+    static void painted(String delegate, long durationNanos) {
+        DynamicEventType eventType = paintEvent;
+        if ((eventType != null) && eventType.isEnabled()) {
+            eventType.commit(delegate, durationNanos);
+        }
+    }
+
+    static void skinChanged(String skin, long durationNanos) {
+        DynamicEventType eventType = skinChangeEvent;
+        if ((eventType != null) && eventType.isEnabled()) {
+            eventType.commit(skin, durationNanos);
+        }
+    }
+
+    static void pulsed(long durationNanos) {
+        DynamicEventType eventType = timelinePulseEvent;
+        if ((eventType != null) && eventType.isEnabled()) {
+            eventType.commit(durationNanos);
+        }
+    }
+
+    private static void emitCacheStatistics() {
+        DynamicEventType eventType = cacheStatisticsEvent;
+        if ((eventType == null) || !PerformanceMetrics.isEnabled() || !eventType.isEnabled()) {
+            return;
+        }
+        LazyResettableHashMap.getStatistics().forEach((name, statistics) ->
+                eventType.commit(name, statistics.getHits(), statistics.getMisses(),
+                        statistics.getEvictions(), statistics.getSize()));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import javax.swing.plaf.ColorUIResource;
+import java.awt.*;
+
+/**
+ * Small per-renderer table of {@link ColorUIResource} foreground colors. Cell renderers set a
+ * foreground color on every call, and wrapping the color scheme foreground (or the foreground
+ * aggregated from several animated states) in a new {@link ColorUIResource} each time creates
+ * garbage for every painted cell. This table is direct-mapped on the ARGB value, so that the
+ * handful of foreground colors used by a single renderer are created once and then reused.
+ *
+ * <p>This class is not thread-safe, and is meant to be owned by a single cell renderer that is
+ * only used on the Event Dispatch Thread.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class ForegroundColorTable {
+    /**
+     * The number of table slots. Must be a power of two.
+     */
+    private static final int SIZE = 16;
+
+    private final int[] keys = new int[SIZE];
+
+    private final ColorUIResource[] values = new ColorUIResource[SIZE];
+
+    /**
+     * Returns a {@link ColorUIResource} with the same RGB and alpha values as the specified
+     * color.
+     *
+     * @param color Color.
+     * @return A {@link ColorUIResource} with the same RGB and alpha values as the specified
+     * color.
+     */
+    public ColorUIResource get(Color color) {
+        if (color instanceof ColorUIResource) {
+            return (ColorUIResource) color;
+        }
+        return this.get(color.getRGB());
+    }
+
+    /**
+     * Returns an opaque {@link ColorUIResource} with the specified RGB components.
+     *
+     * @param red   Red component.
+     * @param green Green component.
+     * @param blue  Blue component.
+     * @return An opaque {@link ColorUIResource} with the specified RGB components.
+     */
+    public ColorUIResource get(int red, int green, int blue) {
+        return this.get(0xFF000000 | (clamp(red) << 16) | (clamp(green) << 8) | clamp(blue));
+    }
+
+    private static int clamp(int component) {
+        return Math.max(0, Math.min(255, component));
+    }
+
+    private ColorUIResource get(int argb) {
+        int hash = argb ^ (argb >>> 16);
+        int index = (hash ^ (hash >>> 8)) & (SIZE - 1);
+        ColorUIResource result = this.values[index];
+        if ((result == null) || (this.keys[index] != argb)) {
+            result = new ColorUIResource(new Color(argb, true));
+            this.keys[index] = argb;
+            this.values[index] = result;
+        }
+        return result;
+    }
+}
@@ -49,6 +49,11 @@ public class ImageWrapperIcon implements ResizableIcon, UIResource {
 
     private BufferedImage imageSource;
 
+    /**
+     * If not <code>null</code>, the image of this icon is packed in {@link SubstanceImageAtlas}.
+     */
+    private SubstanceImageAtlas.Region atlasRegion;
+
     private int width;
     private int height;
 
@@ -59,6 +64,30 @@ public class ImageWrapperIcon implements ResizableIcon, UIResource {
         this.height = getInternalHeight();
     }
 
+    private ImageWrapperIcon(SubstanceImageAtlas.Region atlasRegion, double factor) {
+        this.atlasRegion = atlasRegion;
+        this.factor = factor;
+        this.width = getInternalWidth();
+        this.height = getInternalHeight();
+    }
+
+    /**
+     * Returns an icon for the specified image. Small images are packed in
+     * {@link SubstanceImageAtlas}, and should be used for icons that are cached and painted
+     * many times.
+     *
+     * @param image Image.
+     * @return Icon for the specified image.
+     */
+    public static ImageWrapperIcon packed(BufferedImage image) {
+        double factor = NeonCortex.getScaleFactor();
+        SubstanceImageAtlas.Region region = SubstanceImageAtlas.pack(image, factor);
+        if (region == null) {
+            return new ImageWrapperIcon(image);
+        }
+        return new ImageWrapperIcon(region, factor);
+    }
+
     @Override
     public void setDimension(Dimension newDimension) {
         this.width = newDimension.width;
@@ -73,13 +102,19 @@ public class ImageWrapperIcon implements ResizableIcon, UIResource {
         g2d.translate(x + dx, y + dy);
         g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
                 RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-        g2d.drawImage(this.imageSource, 0, 0, (int) (this.imageSource.getWidth() / this.factor),
-                (int) (this.imageSource.getHeight() / this.factor), null);
+        if (this.atlasRegion != null) {
+            this.atlasRegion.paint(g2d, 0, 0, this.getInternalWidth(), this.getInternalHeight());
+        } else {
+            g2d.drawImage(this.imageSource, 0, 0, this.getInternalWidth(),
+                    this.getInternalHeight(), null);
+        }
         g2d.dispose();
     }
 
     private int getInternalWidth() {
-        return (int) (this.imageSource.getWidth() / this.factor);
+        int imageWidth = (this.atlasRegion != null) ? this.atlasRegion.getWidth()
+                : this.imageSource.getWidth();
+        return (int) (imageWidth / this.factor);
     }
 
     @Override
@@ -88,7 +123,9 @@ public class ImageWrapperIcon implements ResizableIcon, UIResource {
     }
 
     private int getInternalHeight() {
-        return (int) (this.imageSource.getHeight() / this.factor);
+        int imageHeight = (this.atlasRegion != null) ? this.atlasRegion.getHeight()
+                : this.imageSource.getHeight();
+        return (int) (imageHeight / this.factor);
     }
 
     @Override
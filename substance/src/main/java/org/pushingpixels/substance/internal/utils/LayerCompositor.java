@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.neon.api.NeonCortex;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Composites a stack of cached full-size layers (such as the per-state backgrounds of a button
+ * that is transitioning between states) onto a target graphics context.
+ *
+ * <p>When the target graphics uses the default fully opaque {@link AlphaComposite#SrcOver}
+ * composite, the layers are painted directly onto the target, each with its own alpha. Since
+ * source-over compositing is associative, this produces the same result as first combining the
+ * layers into an intermediate image. Otherwise (for example, for translucent flat or disabled
+ * buttons), the layers are combined into a scratch image from {@link ScratchImagePool} that is
+ * then painted with the target composite.</p>
+ *
+ * <p>Call {@link #paintLayer(BufferedImage, float)} or {@link #paintLayer(NineSliceImage, float)}
+ * for each layer, bottom to top, and then {@link #finish()}.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class LayerCompositor {
+    private final Graphics2D target;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private final boolean isDirect;
+
+    private BufferedImage scratch;
+    private Graphics2D scratchGraphics;
+
+    /**
+     * Creates a new compositor.
+     *
+     * @param target Target graphics context. Its composite must not change until
+     *               {@link #finish()} is called.
+     * @param x      X location of the layers in the target.
+     * @param y      Y location of the layers in the target.
+     * @param width  Width of the layers.
+     * @param height Height of the layers.
+     */
+    public LayerCompositor(Graphics2D target, int x, int y, int width, int height) {
+        this.target = target;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.isDirect = isOpaqueSourceOver(target.getComposite());
+    }
+
+    /**
+     * Paints the next layer.
+     *
+     * @param layer Layer image. Its logical size must match the size of this compositor.
+     * @param alpha Layer alpha.
+     */
+    public void paintLayer(BufferedImage layer, float alpha) {
+        Graphics2D g2d = this.getLayerGraphics(alpha);
+        if (g2d != null) {
+            NeonCortex.drawImage(g2d, layer, this.getLayerX(), this.getLayerY());
+            this.restoreTarget(g2d);
+        }
+    }
+
+    /**
+     * Paints the next layer, stretching it to the size of this compositor.
+     *
+     * @param layer Layer image.
+     * @param alpha Layer alpha.
+     */
+    public void paintLayer(NineSliceImage layer, float alpha) {
+        Graphics2D g2d = this.getLayerGraphics(alpha);
+        if (g2d != null) {
+            layer.paint(g2d, this.getLayerX(), this.getLayerY(), this.width, this.height);
+            this.restoreTarget(g2d);
+        }
+    }
+
+    private Graphics2D getLayerGraphics(float alpha) {
+        if (alpha <= 0.0f) {
+            return null;
+        }
+        if (this.isDirect) {
+            if (alpha < 1.0f) {
+                this.target.setComposite(AlphaComposite.SrcOver.derive(alpha));
+            }
+            return this.target;
+        }
+
+        if (this.scratch == null) {
+            this.scratch = ScratchImagePool.acquire(this.width, this.height);
+            this.scratchGraphics = this.scratch.createGraphics();
+        }
+        this.scratchGraphics.setComposite(AlphaComposite.SrcOver.derive(Math.min(1.0f, alpha)));
+        return this.scratchGraphics;
+    }
+
+    private int getLayerX() {
+        return this.isDirect ? this.x : 0;
+    }
+
+    private int getLayerY() {
+        return this.isDirect ? this.y : 0;
+    }
+
+    private void restoreTarget(Graphics2D g2d) {
+        if (g2d == this.target) {
+            // The target composite is the default opaque source-over
+            this.target.setComposite(AlphaComposite.SrcOver);
+        }
+    }
+
+    /**
+     * Completes the compositing. If the layers were combined into a scratch image, that image is
+     * painted onto the target and returned to the pool.
+     */
+    public void finish() {
+        if (this.scratch == null) {
+            return;
+        }
+        this.scratchGraphics.dispose();
+        NeonCortex.drawImage(this.target, this.scratch, this.x, this.y);
+        ScratchImagePool.release(this.scratch);
+        this.scratch = null;
+        this.scratchGraphics = null;
+    }
+
+    /**
+     * Returns <code>true</code> if the specified composite is the default fully opaque
+     * source-over composite.
+     *
+     * @param composite Composite.
+     * @return <code>true</code> if the specified composite is the default fully opaque
+     * source-over composite, <code>false</code> otherwise.
+     */
+    public static boolean isOpaqueSourceOver(Composite composite) {
+        if (!(composite instanceof AlphaComposite)) {
+            return false;
+        }
+        AlphaComposite alphaComposite = (AlphaComposite) composite;
+        return (alphaComposite.getRule() == AlphaComposite.SRC_OVER)
+                && (alphaComposite.getAlpha() == 1.0f);
+    }
+}
@@ -29,6 +29,9 @@
  */
 package org.pushingpixels.substance.internal.utils;
 
+import org.pushingpixels.substance.api.PerformanceMetricsSnapshot.CacheStatistics;
+
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -50,13 +53,25 @@ public class LazyResettableHashMap<T> {
 	/**
 	 * The delegate cache.
 	 */
-	private Map<HashMapKey, T> cache;
+	private SoftHashMap<HashMapKey, T> cache;
 
 	/**
 	 * Display name of this hash map. Is used for tracking the statistics.
 	 */
 	private String displayName;
 
+	/**
+	 * Number of lookups that found a value. Only counted while
+	 * {@link PerformanceMetrics} are enabled.
+	 */
+	private long hits;
+
+	/**
+	 * Number of lookups that did not find a value. Only counted while
+	 * {@link PerformanceMetrics} are enabled.
+	 */
+	private long misses;
+
 	/**
 	 * Creates a new hash map.
 	 * 
@@ -100,9 +115,15 @@ public class LazyResettableHashMap<T> {
 	 * @return Registered value or <code>null</code> if none.
 	 */
 	public synchronized T get(HashMapKey key) {
-		if (this.cache == null)
-			return null;
-		return this.cache.get(key);
+		T result = (this.cache == null) ? null : this.cache.get(key);
+		if (PerformanceMetrics.isEnabled()) {
+			if (result == null) {
+				this.misses++;
+			} else {
+				this.hits++;
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -145,6 +166,58 @@ public class LazyResettableHashMap<T> {
 		}
 	}
 
+	/**
+	 * Returns the access statistics of the existing hash maps. Hash maps that
+	 * share the same display name are reported together.
+	 * 
+	 * @return Access statistics of the existing hash maps, keyed by display
+	 *         name.
+	 */
+	public static Map<String, CacheStatistics> getStatistics() {
+		Map<String, CacheStatistics> result = new HashMap<>();
+		if (all != null) {
+			for (LazyResettableHashMap<?> map : all) {
+				long hits;
+				long misses;
+				long evictions;
+				int size;
+				synchronized (map) {
+					hits = map.hits;
+					misses = map.misses;
+					evictions = (map.cache == null) ? 0 : map.cache.getEvictionCount();
+					size = map.size();
+				}
+				CacheStatistics existing = result.get(map.displayName);
+				if (existing != null) {
+					hits += existing.getHits();
+					misses += existing.getMisses();
+					evictions += existing.getEvictions();
+					size += existing.getSize();
+				}
+				result.put(map.displayName, new CacheStatistics(hits, misses,
+						evictions, size));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Resets the access statistics of the existing hash maps.
+	 */
+	public static void resetStatistics() {
+		if (all != null) {
+			for (LazyResettableHashMap<?> map : all) {
+				synchronized (map) {
+					map.hits = 0;
+					map.misses = 0;
+					if (map.cache != null) {
+						map.cache.resetEvictionCount();
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * Returns statistical information of the existing hash maps.
 	 * 
@@ -236,6 +236,7 @@ public class MemoryAnalyzer extends TrackableThread {
 						bw.write(stat + "\n");
 					}
 				}
+				bw.write(SubstanceImageAtlas.getMemoryUsage());
 				ArrayList<String> usages = getUsages();
 				for (String usage : usages) {
 					bw.write(usage + "\n");
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.neon.api.NeonCortex;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Background image that is rendered once at a canonical minimal size and is then stretched to
+ * the requested size. The image is split into nine slices by horizontal and vertical edge
+ * insets. The corner slices are painted as is, the edge slices are stretched along one axis,
+ * and the center slice is stretched along both axes. This allows a single cached image to serve
+ * all the buttons, combos and text components that share the same visual state and differ only
+ * in their size.
+ *
+ * <p>Not all painters produce output that can be stretched in this way. A fill painter that
+ * paints a vertical gradient, for example, can be stretched horizontally but not vertically.
+ * Instead of relying on painter metadata, {@link #getSliced(HashMapKey, int, int, int, Renderer)}
+ * renders a second probe image that is a few pixels larger than the canonical one along each
+ * stretched axis, and only uses the canonical image if stretching it reproduces the probe pixel
+ * for pixel. It tries stretching along both axes first, then along each axis alone. The outcome
+ * is cached, and the caller falls back to rendering at the exact size when no combination is
+ * accepted.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class NineSliceImage {
+    /**
+     * Renders a background at the specified size.
+     */
+    @FunctionalInterface
+    public interface Renderer {
+        /**
+         * Renders a background at the specified size.
+         *
+         * @param width  Background width.
+         * @param height Background height.
+         * @return High-DPI aware image of the background, such as the one returned by
+         * {@link SubstanceCoreUtilities#getBlankImage(int, int)}.
+         */
+        BufferedImage render(int width, int height);
+    }
+
+    /**
+     * How much larger the probe image is along each stretched axis.
+     */
+    private static final int PROBE_DELTA = 3;
+
+    /**
+     * Marks a stretch mode that does not reproduce the probe image.
+     */
+    private static final NineSliceImage NOT_SLICEABLE = new NineSliceImage(null, 0, 0, 0, 0, 0);
+
+    private static volatile boolean enabled = true;
+
+    private static final LazyResettableHashMap<NineSliceImage> slicedImages =
+            new LazyResettableHashMap<>("NineSliceImage");
+
+    private final BufferedImage image;
+
+    private final int scale;
+
+    private final int width;
+
+    private final int height;
+
+    private final int edgeWidth;
+
+    private final int edgeHeight;
+
+    private NineSliceImage(BufferedImage image, int scale, int width, int height, int edgeWidth,
+            int edgeHeight) {
+        this.image = image;
+        this.scale = scale;
+        this.width = width;
+        this.height = height;
+        this.edgeWidth = edgeWidth;
+        this.edgeHeight = edgeHeight;
+    }
+
+    /**
+     * Wraps an image that was rendered at its exact size. The returned instance paints the image
+     * without stretching.
+     *
+     * @param image  High-DPI aware image.
+     * @param width  Image width.
+     * @param height Image height.
+     * @return Image wrapper.
+     */
+    public static NineSliceImage exact(BufferedImage image, int width, int height) {
+        return new NineSliceImage(image, 0, width, height, width, height);
+    }
+
+    /**
+     * Enables or disables nine-slice rendering. When it is disabled,
+     * {@link #getSliced(HashMapKey, int, int, int, Renderer)} always returns <code>null</code>.
+     *
+     * @param enabled If <code>true</code>, nine-slice rendering is enabled.
+     */
+    public static void setEnabled(boolean enabled) {
+        NineSliceImage.enabled = enabled;
+    }
+
+    /**
+     * Returns indication whether nine-slice rendering is enabled.
+     *
+     * @return <code>true</code> if nine-slice rendering is enabled, <code>false</code> otherwise.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a stretchable image for the background identified by the specified key.
+     *
+     * @param key      Key of the background. Must not contain the background size.
+     * @param width    Requested width.
+     * @param height   Requested height.
+     * @param edge     Size of the edge slices. Must cover the corners of the background.
+     * @param renderer Renders the background at the specified size.
+     * @return Stretchable image, or <code>null</code> if the background must be rendered at the
+     * exact requested size.
+     */
+    public static NineSliceImage getSliced(HashMapKey key, int width, int height, int edge,
+            Renderer renderer) {
+        if (!enabled) {
+            return null;
+        }
+        double scaleFactor = NeonCortex.getScaleFactor();
+        if (scaleFactor != Math.rint(scaleFactor)) {
+            // Fractional scaling does not map slice edges to whole pixels
+            return null;
+        }
+        int canonicalSize = 2 * edge + 1;
+        boolean canStretchHorizontally = (width > canonicalSize);
+        boolean canStretchVertically = (height > canonicalSize);
+
+        if (canStretchHorizontally && canStretchVertically) {
+            NineSliceImage result = getSliced(key, width, height, edge, true, true,
+                    (int) scaleFactor, renderer);
+            if (result != null) {
+                return result;
+            }
+        }
+        if (canStretchHorizontally) {
+            NineSliceImage result = getSliced(key, width, height, edge, true, false,
+                    (int) scaleFactor, renderer);
+            if (result != null) {
+                return result;
+            }
+        }
+        if (canStretchVertically) {
+            return getSliced(key, width, height, edge, false, true, (int) scaleFactor, renderer);
+        }
+        return null;
+    }
+
+    private static NineSliceImage getSliced(HashMapKey key, int width, int height, int edge,
+            boolean stretchHorizontally, boolean stretchVertically, int scale,
+            Renderer renderer) {
+        int canonicalWidth = stretchHorizontally ? 2 * edge + 1 : width;
+        int canonicalHeight = stretchVertically ? 2 * edge + 1 : height;
+        HashMapKey slicedKey = SubstanceCoreUtilities.getHashKey(key, canonicalWidth,
+                canonicalHeight, edge, scale);
+        NineSliceImage result = slicedImages.get(slicedKey);
+        if (result == null) {
+            BufferedImage canonical = renderer.render(canonicalWidth, canonicalHeight);
+            result = new NineSliceImage(canonical, scale, canonicalWidth, canonicalHeight,
+                    stretchHorizontally ? edge : canonicalWidth,
+                    stretchVertically ? edge : canonicalHeight);
+
+            int probeWidth = canonicalWidth + (stretchHorizontally ? PROBE_DELTA : 0);
+            int probeHeight = canonicalHeight + (stretchVertically ? PROBE_DELTA : 0);
+            if (!result.reproduces(renderer.render(probeWidth, probeHeight), probeWidth,
+                    probeHeight)) {
+                result = NOT_SLICEABLE;
+            }
+            slicedImages.put(slicedKey, result);
+        }
+        return (result == NOT_SLICEABLE) ? null : result;
+    }
+
+    private boolean reproduces(BufferedImage probe, int probeWidth, int probeHeight) {
+        BufferedImage stretched = SubstanceCoreUtilities.getBlankImage(probeWidth, probeHeight);
+        if ((stretched.getWidth() != probe.getWidth())
+                || (stretched.getHeight() != probe.getHeight())) {
+            return false;
+        }
+        Graphics2D g2d = stretched.createGraphics();
+        this.paint(g2d, 0, 0, probeWidth, probeHeight);
+        g2d.dispose();
+
+        int pixelWidth = probe.getWidth();
+        int[] probeRow = new int[pixelWidth];
+        int[] stretchedRow = new int[pixelWidth];
+        for (int row = 0; row < probe.getHeight(); row++) {
+            probe.getRGB(0, row, pixelWidth, 1, probeRow, 0, pixelWidth);
+            stretched.getRGB(0, row, pixelWidth, 1, stretchedRow, 0, pixelWidth);
+            for (int column = 0; column < pixelWidth; column++) {
+                if (probeRow[column] != stretchedRow[column]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Paints this image stretched to the specified size.
+     *
+     * @param g      Graphics context.
+     * @param x      X location.
+     * @param y      Y location.
+     * @param width  Width to stretch to.
+     * @param height Height to stretch to.
+     */
+    public void paint(Graphics2D g, int x, int y, int width, int height) {
+        if ((this.scale == 0) || ((width == this.width) && (height == this.height))) {
+            NeonCortex.drawImage(g, this.image, x, y);
+            return;
+        }
+
+        // Set the interpolation on a copy, so that the caller's graphics context is left as is
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        for (int row = 0; row < 3; row++) {
+            int dy1 = slice(row, y, height, this.edgeHeight);
+            int dy2 = slice(row + 1, y, height, this.edgeHeight);
+            if (dy2 <= dy1) {
+                continue;
+            }
+            int sy1 = this.scale * slice(row, 0, this.height, this.edgeHeight);
+            int sy2 = this.scale * slice(row + 1, 0, this.height, this.edgeHeight);
+            for (int column = 0; column < 3; column++) {
+                int dx1 = slice(column, x, width, this.edgeWidth);
+                int dx2 = slice(column + 1, x, width, this.edgeWidth);
+                if (dx2 <= dx1) {
+                    continue;
+                }
+                int sx1 = this.scale * slice(column, 0, this.width, this.edgeWidth);
+                int sx2 = this.scale * slice(column + 1, 0, this.width, this.edgeWidth);
+                g2d.drawImage(this.image, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null);
+            }
+        }
+        g2d.dispose();
+    }
+
+    /**
+     * Returns the boundary of a slice along one axis.
+     *
+     * @param index  Boundary index, from 0 (leading edge) to 3 (trailing edge).
+     * @param origin Location of the leading edge.
+     * @param size   Full size along the axis.
+     * @param edge   Size of the leading and trailing slices. If it is the full size, the image is
+     *               not stretched along the axis.
+     * @return Boundary location.
+     */
+    private static int slice(int index, int origin, int size, int edge) {
+        switch (index) {
+            case 0:
+                return origin;
+            case 1:
+                return origin + Math.min(edge, size);
+            case 2:
+                return origin + Math.max(size - edge, Math.min(edge, size));
+            default:
+                return origin + size;
+        }
+    }
+}
@@ -111,47 +111,10 @@ public class PairwiseButtonBackgroundDelegate {
 
         BufferedImage baseLayer = getPairwiseFullAlphaBackground(button, fillPainter, shaper, width,
                 height, baseFillScheme, baseBorderScheme, toIgnoreOpenSides, needsRotation);
-        BufferedImage fullOpacity = null;
 
         Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates =
                 modelStateInfo.getStateContributionMap();
 
-        if (currState.isDisabled() || (activeStates.size() == 1)) {
-            fullOpacity = baseLayer;
-        } else {
-            fullOpacity = SubstanceCoreUtilities.getBlankUnscaledImage(baseLayer);
-            Graphics2D g2fullOpacity = fullOpacity.createGraphics();
-
-            // draw the base layer
-            g2fullOpacity.drawImage(baseLayer, 0, 0, baseLayer.getWidth(), baseLayer.getHeight(),
-                    null);
-
-            for (Map.Entry<ComponentState, StateTransitionTracker.StateContributionInfo> activeEntry :
-                    activeStates.entrySet()) {
-                ComponentState activeState = activeEntry.getKey();
-                if (activeState == currState) {
-                    continue;
-                }
-
-                float contribution = activeEntry.getValue().getContribution();
-                if (contribution == 0.0f) {
-                    continue;
-                }
-
-                SubstanceColorScheme fillScheme = SubstanceColorSchemeUtilities
-                        .getColorScheme(button, activeState);
-                SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
-                        .getColorScheme(button, ColorSchemeAssociationKind.BORDER, activeState);
-                BufferedImage layer = getPairwiseFullAlphaBackground(button, fillPainter, shaper,
-                        width, height, fillScheme, borderScheme, toIgnoreOpenSides, needsRotation);
-
-                g2fullOpacity.setComposite(AlphaComposite.SrcOver.derive(contribution));
-                g2fullOpacity.drawImage(layer, 0, 0, layer.getWidth(), layer.getHeight(), null);
-            }
-
-            g2fullOpacity.dispose();
-        }
-
         boolean isFlat = SubstanceCoreUtilities.hasFlatAppearance(button);
         boolean isSpecial = isFlat || !button.isEnabled();
         float extraAlpha = 1.0f;
@@ -180,7 +143,40 @@ public class PairwiseButtonBackgroundDelegate {
         if (extraAlpha > 0.0f) {
             Graphics2D graphics = (Graphics2D) g.create();
             graphics.setComposite(WidgetUtilities.getAlphaComposite(button, extraAlpha, g));
-            NeonCortex.drawImage(graphics, fullOpacity, 0, 0);
+            if (currState.isDisabled() || (activeStates.size() == 1)) {
+                NeonCortex.drawImage(graphics, baseLayer, 0, 0);
+            } else {
+                LayerCompositor compositor = new LayerCompositor(graphics, 0, 0, width,
+                        height);
+
+                // draw the base layer
+                compositor.paintLayer(baseLayer, 1.0f);
+
+                for (Map.Entry<ComponentState, StateTransitionTracker.StateContributionInfo> activeEntry :
+                        activeStates.entrySet()) {
+                    ComponentState activeState = activeEntry.getKey();
+                    if (activeState == currState) {
+                        continue;
+                    }
+
+                    float contribution = activeEntry.getValue().getContribution();
+                    if (contribution == 0.0f) {
+                        continue;
+                    }
+
+                    SubstanceColorScheme fillScheme = SubstanceColorSchemeUtilities
+                            .getColorScheme(button, activeState);
+                    SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
+                            .getColorScheme(button, ColorSchemeAssociationKind.BORDER, activeState);
+                    BufferedImage layer = getPairwiseFullAlphaBackground(button, fillPainter,
+                            shaper, width, height, fillScheme, borderScheme, toIgnoreOpenSides,
+                            needsRotation);
+
+                    compositor.paintLayer(layer, contribution);
+                }
+
+                compositor.finish();
+            }
             graphics.dispose();
         }
     }
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.substance.api.PerformanceMetricsSnapshot;
+import org.pushingpixels.substance.api.PerformanceMetricsSnapshot.AllocationStatistics;
+import org.pushingpixels.substance.api.PerformanceMetricsSnapshot.TimingStatistics;
+import org.pushingpixels.trident.api.TridentConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collector of the performance metrics of <b>Substance</b> - cache hits and misses, offscreen
+ * image allocations, paint durations of UI delegates, skin changes and animation timeline
+ * pulses. Collection is disabled by default, and every instrumented call site only reads a
+ * single volatile flag in that case. When enabled, the metrics are aggregated in memory for
+ * {@link #getSnapshot()}, and are also emitted as Java Flight Recorder events when the runtime
+ * supports that (see {@link FlightRecorderBridge}).
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class PerformanceMetrics {
+    /**
+     * Aggregated durations of a single timed operation.
+     */
+    private static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void record(long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private TimingStatistics toStatistics() {
+            return new TimingStatistics(this.count.sum(), this.totalNanos.sum(),
+                    this.maxNanos.get());
+        }
+    }
+
+    /**
+     * Aggregated image allocations of a single call site category.
+     */
+    private static final class Allocations {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder pixels = new LongAdder();
+    }
+
+    private static volatile boolean enabled;
+
+    private static final Map<Class<?>, Timing> paintTimings = new ConcurrentHashMap<>();
+
+    private static final Map<String, Allocations> imageAllocations = new ConcurrentHashMap<>();
+
+    private static volatile Timing skinChanges = new Timing();
+
+    private static volatile Timing timelinePulses = new Timing();
+
+    private static final StackWalker stackWalker = StackWalker.getInstance(
+            StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final TridentConfig.PulseListener pulseListener = (long durationNanos) -> {
+        timelinePulses.record(durationNanos);
+        FlightRecorderBridge.pulsed(durationNanos);
+    };
+
+    private PerformanceMetrics() {
+    }
+
+    /**
+     * Enables or disables the collection of the performance metrics. Disabling the collection
+     * keeps the metrics collected so far.
+     *
+     * @param enabled If <code>true</code>, performance metrics will be collected.
+     */
+    public static synchronized void setEnabled(boolean enabled) {
+        if (enabled) {
+            FlightRecorderBridge.initialize();
+        }
+        PerformanceMetrics.enabled = enabled;
+        TridentConfig.getInstance().setPulseListener(enabled ? pulseListener : null);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Clears all the collected metrics.
+     */
+    public static synchronized void reset() {
+        paintTimings.clear();
+        imageAllocations.clear();
+        skinChanges = new Timing();
+        timelinePulses = new Timing();
+        LazyResettableHashMap.resetStatistics();
+    }
+
+    /**
+     * Returns a snapshot of the metrics collected so far.
+     *
+     * @return Snapshot of the metrics collected so far.
+     */
+    public static PerformanceMetricsSnapshot getSnapshot() {
+        Map<String, TimingStatistics> paintStatistics = new HashMap<>();
+        for (Map.Entry<Class<?>, Timing> entry : paintTimings.entrySet()) {
+            paintStatistics.put(entry.getKey().getSimpleName(), entry.getValue().toStatistics());
+        }
+        Map<String, AllocationStatistics> allocationStatistics = new HashMap<>();
+        for (Map.Entry<String, Allocations> entry : imageAllocations.entrySet()) {
+            allocationStatistics.put(entry.getKey(), new AllocationStatistics(
+                    entry.getValue().count.sum(), entry.getValue().pixels.sum()));
+        }
+        return new PerformanceMetricsSnapshot(LazyResettableHashMap.getStatistics(),
+                allocationStatistics, paintStatistics, skinChanges.toStatistics(),
+                timelinePulses.toStatistics());
+    }
+
+    /**
+     * Marks the start of a timed operation, such as painting a component. The returned value is
+     * passed to {@link #paintFinished(Object, long)} or {@link #skinChanged(String, long)} once
+     * the operation is done.
+     *
+     * @return Start time of the operation, or <code>0</code> if the metrics are not collected.
+     */
+    public static long startTiming() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Marks the end of painting a component.
+     *
+     * @param uiDelegate UI delegate that painted the component.
+     * @param startNanos Value returned by the matching {@link #startTiming()} call.
+     */
+    public static void paintFinished(Object uiDelegate, long startNanos) {
+        if (startNanos == 0L) {
+            return;
+        }
+        long durationNanos = System.nanoTime() - startNanos;
+        Class<?> uiClass = uiDelegate.getClass();
+        paintTimings.computeIfAbsent(uiClass, (Class<?> key) -> new Timing())
+                .record(durationNanos);
+        FlightRecorderBridge.painted(uiClass.getSimpleName(), durationNanos);
+    }
+
+    /**
+     * Records an offscreen image allocation. The call site category is the simple name of the
+     * top-level class that requested the image.
+     *
+     * @param width  Image width.
+     * @param height Image height.
+     */
+    public static void imageAllocated(int width, int height) {
+        if (!enabled) {
+            return;
+        }
+        String category = stackWalker.walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter((Class<?> frameClass) -> (frameClass != PerformanceMetrics.class)
+                        && (frameClass != SubstanceCoreUtilities.class))
+                .findFirst()
+                .map(PerformanceMetrics::getCategory)
+                .orElse("Unknown"));
+        Allocations allocations = imageAllocations.computeIfAbsent(category,
+                (String key) -> new Allocations());
+        allocations.count.increment();
+        allocations.pixels.add((long) width * height);
+        FlightRecorderBridge.imageAllocated(category, width, height);
+    }
+
+    /**
+     * Records a skin change.
+     *
+     * @param skinName   Name of the new skin.
+     * @param startNanos Value returned by the matching {@link #startTiming()} call.
+     */
+    public static void skinChanged(String skinName, long startNanos) {
+        if (startNanos == 0L) {
+            return;
+        }
+        long durationNanos = System.nanoTime() - startNanos;
+        skinChanges.record(durationNanos);
+        FlightRecorderBridge.skinChanged(skinName, durationNanos);
+    }
+
+    private static String getCategory(Class<?> frameClass) {
+        String name = frameClass.getName();
+        int lastDot = name.lastIndexOf('.');
+        int firstDollar = name.indexOf('$', lastDot + 1);
+        return (firstDollar < 0) ? name.substring(lastDot + 1)
+                : name.substring(lastDot + 1, firstDollar);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import org.pushingpixels.neon.api.NeonCortex;
+import org.pushingpixels.neon.internal.contrib.intellij.JBHiDPIScaledImage;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of short-lived scratch images that are used to composite a few cached layers into a
+ * single image that is painted once and then discarded. Animated controls do this on every
+ * animation frame, and pooling the scratch images removes one full-size image allocation per
+ * control per frame.
+ *
+ * <p>An image obtained from {@link #acquire(int, int)} is fully transparent, and must be
+ * returned with {@link #release(BufferedImage)} once it is no longer used. It is safe to call
+ * {@link #release(BufferedImage)} on an image that did not come from this pool - such an image
+ * is ignored.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class ScratchImagePool {
+    /**
+     * The maximum number of released images kept for reuse.
+     */
+    private static final int MAX_POOLED = 8;
+
+    /**
+     * Images with more pixels than this value are not pooled.
+     */
+    private static final int MAX_PIXEL_COUNT = 512 * 512;
+
+    /**
+     * Released images available for reuse, most recently released first.
+     */
+    private static final LinkedList<BufferedImage> available = new LinkedList<>();
+
+    /**
+     * Images that are currently leased out. This map is weak so that an image that is never
+     * released does not leak.
+     */
+    private static final Map<BufferedImage, Boolean> leased = new WeakHashMap<>();
+
+    private ScratchImagePool() {
+    }
+
+    /**
+     * Returns a transparent high-DPI aware image of the specified logical dimensions. This is
+     * the pooled counterpart of {@link SubstanceCoreUtilities#getBlankImage(int, int)}.
+     *
+     * @param width  Image width.
+     * @param height Image height.
+     * @return Transparent image that must be returned with {@link #release(BufferedImage)}.
+     */
+    public static BufferedImage acquire(int width, int height) {
+        double scaleFactor = NeonCortex.getScaleFactor();
+        int pixelWidth = (scaleFactor > 1.0) ? (int) Math.ceil(scaleFactor * width) : width;
+        int pixelHeight = (scaleFactor > 1.0) ? (int) Math.ceil(scaleFactor * height) : height;
+        BufferedImage result = take(pixelWidth, pixelHeight);
+        if (result == null) {
+            result = SubstanceCoreUtilities.getBlankImage(width, height);
+        } else {
+            Graphics2D g2d = (Graphics2D) result.getGraphics();
+            g2d.setComposite(AlphaComposite.Clear);
+            g2d.fillRect(0, 0, result.getWidth(), result.getHeight());
+            g2d.dispose();
+        }
+        synchronized (ScratchImagePool.class) {
+            leased.put(result, Boolean.TRUE);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the specified image to the pool.
+     *
+     * @param image Image obtained from this pool. Images that did not come from this pool are
+     *              ignored.
+     */
+    public static synchronized void release(BufferedImage image) {
+        if ((leased.remove(image) == null)
+                || ((long) image.getWidth() * image.getHeight() > MAX_PIXEL_COUNT)) {
+            return;
+        }
+        available.addFirst(image);
+        if (available.size() > MAX_POOLED) {
+            available.removeLast();
+        }
+    }
+
+    /**
+     * Drops all the pooled images. Images that are currently leased out are not affected.
+     */
+    public static synchronized void reset() {
+        available.clear();
+    }
+
+    private static synchronized BufferedImage take(int pixelWidth, int pixelHeight) {
+        boolean isHiDPI = (NeonCortex.getScaleFactor() > 1.0);
+        for (Iterator<BufferedImage> it = available.iterator(); it.hasNext(); ) {
+            BufferedImage image = it.next();
+            if (isHiDPI && !(image instanceof JBHiDPIScaledImage)) {
+                // Created before the scale factor has changed
+                it.remove();
+                continue;
+            }
+            if ((image.getWidth() == pixelWidth) && (image.getHeight() == pixelHeight)) {
+                it.remove();
+                return image;
+            }
+        }
+        return null;
+    }
+}
@@ -38,6 +38,7 @@ import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKin
 import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.api.inputmap.InputMapSet;
+import org.pushingpixels.substance.api.inputmap.SubstanceInputMap;
 import org.pushingpixels.substance.api.inputmap.SubstanceInputMapUtilities;
 import org.pushingpixels.substance.api.renderer.SubstanceDefaultListCellRenderer;
 import org.pushingpixels.substance.internal.utils.border.*;
@@ -54,8 +55,59 @@ import javax.swing.plaf.basic.BasicBorders;
 import javax.swing.plaf.basic.BasicBorders.MarginBorder;
 import java.awt.*;
 import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class SkinUtilities {
+    private static volatile boolean lazyDefaults = false;
+
+    /**
+     * Sets indication whether the borders, icons, font-dependent metrics and input maps
+     * added by {@link #addCustomEntriesToTable(UIDefaults, SubstanceSkin)} should be
+     * computed on first access instead of when the skin is set.
+     *
+     * @param lazyDefaults If <code>true</code>, the costlier UI defaults entries will be
+     *                     computed on first access.
+     */
+    public static void setLazyDefaults(boolean lazyDefaults) {
+        SkinUtilities.lazyDefaults = lazyDefaults;
+    }
+
+    /**
+     * Returns indication whether the costlier UI defaults entries are computed on first
+     * access.
+     *
+     * @return <code>true</code> if the costlier UI defaults entries are computed on first
+     * access.
+     */
+    public static boolean isLazyDefaults() {
+        return lazyDefaults;
+    }
+
+    /**
+     * UI defaults entry that computes its value on first access. The value is computed once
+     * and then shared by all the tables that the entry has been put in, so that all of them
+     * return the same instance for the same skin.
+     */
+    private static final class MemoizedValue implements UIDefaults.LazyValue {
+        private Supplier<?> supplier;
+
+        private Object value;
+
+        private MemoizedValue(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public synchronized Object createValue(UIDefaults table) {
+            if (this.supplier != null) {
+                this.value = this.supplier.get();
+                this.supplier = null;
+            }
+            return this.value;
+        }
+    }
+
     /**
      * Adds skin-specific entries to the UI defaults table.
      *
@@ -63,6 +115,9 @@ public class SkinUtilities {
      */
     public static void addCustomEntriesToTable(UIDefaults uiDefaults,
             SubstanceSkin skin) {
+        boolean lazy = lazyDefaults;
+        Function<Supplier<?>, Object> deferred = lazy ? MemoizedValue::new : Supplier::get;
+
         UIDefaults.LazyValue menuArrowIcon = (UIDefaults table) -> new MenuArrowIcon(null);
 
         UIDefaults.ActiveValue listCellRendererActiveValue =
@@ -216,12 +271,12 @@ public class SkinUtilities {
                 defaultEnabledBackgroundColor,
 
                 "CheckBox.border",
-                new BorderUIResource.CompoundBorderUIResource(
+                deferred.apply(() -> new BorderUIResource.CompoundBorderUIResource(
                         SubstanceSizeUtils.getCheckBoxBorder(
                                 SubstanceSizeUtils.getControlFontSize(),
                                 ComponentOrientation.getOrientation(
                                         Locale.getDefault()).isLeftToRight()),
-                        new MarginBorder()),
+                        new MarginBorder())),
 
                 "CheckBox.disabledText",
                 disabledForegroundColor,
@@ -242,9 +297,9 @@ public class SkinUtilities {
                 Boolean.FALSE,
 
                 "CheckBoxMenuItem.checkIcon",
-                new CheckBoxMenuItemIcon(null,
+                deferred.apply(() -> new CheckBoxMenuItemIcon(null,
                         1 + SubstanceSizeUtils.getMenuCheckMarkSize(SubstanceSizeUtils
-                                .getControlFontSize())),
+                                .getControlFontSize()))),
 
                 "CheckBoxMenuItem.disabledForeground",
                 disabledForegroundColor,
@@ -419,7 +474,7 @@ public class SkinUtilities {
                 foregroundColor,
 
                 "InternalFrame.border",
-                new BorderUIResource(new SubstancePaneBorder()),
+                deferred.apply(() -> new BorderUIResource(new SubstancePaneBorder())),
 
                 "InternalFrame.closeIcon",
                 (UIDefaults.LazyValue) ((UIDefaults table) ->
@@ -460,7 +515,7 @@ public class SkinUtilities {
                 listCellRendererActiveValue,
 
                 "List.focusCellHighlightBorder",
-                new SubstanceBorder(new Insets(1, 1, 1, 1)),
+                deferred.apply(() -> new SubstanceBorder(new Insets(1, 1, 1, 1))),
 
                 "List.focusSelectedCellHighlightBorder",
                 new BorderUIResource.EmptyBorderUIResource(1, 1, 1, 1),
@@ -621,7 +676,7 @@ public class SkinUtilities {
                 popupMenuBorder,
 
                 "ProgressBar.border",
-                new BorderUIResource(new SubstanceBorder()),
+                deferred.apply(() -> new BorderUIResource(new SubstanceBorder())),
 
                 "ProgressBar.cycleTime",
                 Integer.valueOf(1000),
@@ -630,12 +685,12 @@ public class SkinUtilities {
                 Integer.valueOf(50),
 
                 "ProgressBar.horizontalSize",
-                new DimensionUIResource(146,
-                        SubstanceSizeUtils.getControlFontSize()),
+                deferred.apply(() -> new DimensionUIResource(146,
+                        SubstanceSizeUtils.getControlFontSize())),
 
                 "ProgressBar.verticalSize",
-                new DimensionUIResource(
-                        SubstanceSizeUtils.getControlFontSize(), 146),
+                deferred.apply(() -> new DimensionUIResource(
+                        SubstanceSizeUtils.getControlFontSize(), 146)),
 
                 "ProgressBar.selectionBackground",
                 foregroundColor,
@@ -647,12 +702,12 @@ public class SkinUtilities {
                 defaultEnabledBackgroundColor,
 
                 "RadioButton.border",
-                new BorderUIResource.CompoundBorderUIResource(
+                deferred.apply(() -> new BorderUIResource.CompoundBorderUIResource(
                         SubstanceSizeUtils.getRadioButtonBorder(
                                 SubstanceSizeUtils.getControlFontSize(),
                                 ComponentOrientation.getOrientation(
                                         Locale.getDefault()).isLeftToRight()),
-                        new MarginBorder()),
+                        new MarginBorder())),
 
                 "RadioButton.foreground",
                 foregroundColor,
@@ -673,9 +728,9 @@ public class SkinUtilities {
                 Boolean.FALSE,
 
                 "RadioButtonMenuItem.checkIcon",
-                new RadioButtonMenuItemIcon(null,
+                deferred.apply(() -> new RadioButtonMenuItemIcon(null,
                         SubstanceSizeUtils.getMenuCheckMarkSize(SubstanceSizeUtils
-                                        .getControlFontSize())),
+                                        .getControlFontSize()))),
 
                 "RadioButtonMenuItem.disabledForeground",
                 disabledForegroundColor,
@@ -693,21 +748,21 @@ public class SkinUtilities {
                 defaultEnabledBackgroundColor,
 
                 "RootPane.border",
-                new SubstancePaneBorder(),
+                deferred.apply(() -> new SubstancePaneBorder()),
 
                 "ScrollBar.background",
                 defaultEnabledBackgroundColor,
 
                 "ScrollBar.width",
-                Integer.valueOf(SubstanceSizeUtils.getScrollBarWidth(SubstanceSizeUtils
-                                .getControlFontSize())),
+                deferred.apply(() -> SubstanceSizeUtils.getScrollBarWidth(
+                        SubstanceSizeUtils.getControlFontSize())),
 
                 "ScrollBar.minimumThumbSize",
-                new DimensionUIResource(
+                deferred.apply(() -> new DimensionUIResource(
                         SubstanceSizeUtils.getScrollBarWidth(SubstanceSizeUtils
                                 .getControlFontSize()) - 2,
                         SubstanceSizeUtils.getScrollBarWidth(SubstanceSizeUtils
-                                .getControlFontSize()) - 2),
+                                .getControlFontSize()) - 2)),
 
                 "ScrollPane.background",
                 defaultEnabledBackgroundColor,
@@ -716,7 +771,7 @@ public class SkinUtilities {
                 foregroundColor,
 
                 "ScrollPane.border",
-                new SubstanceScrollPaneBorder(),
+                deferred.apply(() -> new SubstanceScrollPaneBorder()),
 
                 "Separator.background",
                 backgroundDefaultColor,
@@ -752,8 +807,8 @@ public class SkinUtilities {
                 foregroundColor,
 
                 "Spinner.arrowButtonInsets",
-                SubstanceSizeUtils.getSpinnerArrowButtonInsets(SubstanceSizeUtils
-                        .getControlFontSize()),
+                deferred.apply(() -> SubstanceSizeUtils.getSpinnerArrowButtonInsets(
+                        SubstanceSizeUtils.getControlFontSize())),
 
                 "Spinner.background",
                 defaultEnabledTextBackgroundColor,
@@ -786,11 +841,11 @@ public class SkinUtilities {
                 new BorderUIResource(new EmptyBorder(0, 0, 0, 0)),
 
                 "SplitPane.dividerSize",
-                (int) (SubstanceSizeUtils.getArrowIconWidth(SubstanceSizeUtils
-                        .getControlFontSize()) + SubstanceSizeUtils
+                deferred.apply(() -> (int) (SubstanceSizeUtils.getArrowIconWidth(
+                        SubstanceSizeUtils.getControlFontSize()) + SubstanceSizeUtils
                         .getAdjustedSize(
                                 SubstanceSizeUtils.getControlFontSize(), -1, 6,
-                                -1, true)),
+                                -1, true))),
 
                 "SplitPaneDivider.border",
                 new BorderUIResource(new EmptyBorder(1, 1, 1, 1)),
@@ -858,10 +913,10 @@ public class SkinUtilities {
                 defaultEnabledBackgroundColor,
 
                 "Table.cellNoFocusBorder",
-                new BorderUIResource.EmptyBorderUIResource(
+                deferred.apply(() -> new BorderUIResource.EmptyBorderUIResource(
                         SubstanceSizeUtils
                                 .getDefaultBorderInsets(SubstanceSizeUtils
-                                        .getComponentFontSize(null))),
+                                        .getComponentFontSize(null)))),
 
                 "Table.focusCellBackground",
                 backgroundActiveColor,
@@ -870,7 +925,7 @@ public class SkinUtilities {
                 foregroundColor,
 
                 "Table.focusCellHighlightBorder",
-                new SubstanceBorder(),
+                deferred.apply(() -> new SubstanceBorder()),
 
                 "Table.foreground",
                 foregroundColor,
@@ -879,7 +934,7 @@ public class SkinUtilities {
                 lineColorDefault,
 
                 "Table.scrollPaneBorder",
-                new SubstanceScrollPaneBorder(),
+                deferred.apply(() -> new SubstanceScrollPaneBorder()),
 
                 "Table.selectionBackground",
                 selectionCellBackgroundColor,
@@ -981,7 +1036,7 @@ public class SkinUtilities {
                 foregroundColor,
 
                 "TitledBorder.border",
-                new SubstanceEtchedBorder(),
+                deferred.apply(() -> new SubstanceEtchedBorder()),
 
                 "ToggleButton.foreground",
                 foregroundColor,
@@ -996,7 +1051,7 @@ public class SkinUtilities {
                 defaultEnabledBackgroundColor,
 
                 "ToolBar.border",
-                new BorderUIResource(new SubstanceToolBarBorder()),
+                deferred.apply(() -> new BorderUIResource(new SubstanceToolBarBorder())),
 
                 "ToolBar.isRollover",
                 Boolean.TRUE,
@@ -1042,11 +1097,11 @@ public class SkinUtilities {
                 (UIDefaults.LazyValue) ((UIDefaults table) ->
                         new ResizableIconUIResource(SubstanceIconFactory.getTreeIcon(null, false))),
 
-                "Tree.leftChildIndent", SubstanceSizeUtils.getTreeLeftIndent(
-                        SubstanceSizeUtils.getControlFontSize()),
+                "Tree.leftChildIndent", deferred.apply(() -> SubstanceSizeUtils.getTreeLeftIndent(
+                        SubstanceSizeUtils.getControlFontSize())),
 
-                "Tree.rightChildIndent", SubstanceSizeUtils.getTreeRightIndent(
-                    SubstanceSizeUtils.getControlFontSize()),
+                "Tree.rightChildIndent", deferred.apply(() -> SubstanceSizeUtils.getTreeRightIndent(
+                        SubstanceSizeUtils.getControlFontSize())),
 
                 "Tree.leafIcon",
                 emptyIcon,
@@ -1081,65 +1136,80 @@ public class SkinUtilities {
         uiDefaults.putDefaults(defaults);
 
         // input maps
-        InputMapSet inputMapSet = SubstanceInputMapUtilities.getSystemInputMapSet();
-        if (inputMapSet == null) {
-            throw new IllegalStateException("Input map set is null!");
+        Supplier<InputMapSet> inputMapSetSupplier = () -> {
+            InputMapSet inputMapSet = SubstanceInputMapUtilities.getSystemInputMapSet();
+            if (inputMapSet == null) {
+                throw new IllegalStateException("Input map set is null!");
+            }
+            return inputMapSet;
+        };
+        Function<Function<InputMapSet, SubstanceInputMap>, Object> inputMap;
+        if (lazy) {
+            // All the deferred input maps share the same input map set, created when the
+            // first of them is accessed
+            MemoizedValue inputMapSet = new MemoizedValue(inputMapSetSupplier);
+            inputMap = mapAccessor -> (UIDefaults.LazyValue) (UIDefaults table) ->
+                    mapAccessor.apply((InputMapSet) inputMapSet.createValue(table))
+                            .getUiMap().createValue(table);
+        } else {
+            InputMapSet inputMapSet = inputMapSetSupplier.get();
+            inputMap = mapAccessor -> mapAccessor.apply(inputMapSet).getUiMap();
         }
 
         uiDefaults.put("Button.focusInputMap",
-                inputMapSet.getButtonFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getButtonFocusInputMap));
         uiDefaults.put("CheckBox.focusInputMap",
-                inputMapSet.getCheckBoxFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getCheckBoxFocusInputMap));
         uiDefaults.put("ComboBox.ancestorInputMap",
-                inputMapSet.getComboBoxAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getComboBoxAncestorInputMap));
         uiDefaults.put("Desktop.ancestorInputMap",
-                inputMapSet.getDesktopAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getDesktopAncestorInputMap));
         uiDefaults.put("EditorPane.focusInputMap",
-                inputMapSet.getEditorPaneFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getEditorPaneFocusInputMap));
         uiDefaults.put("FileChooser.ancestorInputMap",
-                inputMapSet.getFileChooserAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getFileChooserAncestorInputMap));
         uiDefaults.put("FormattedTextField.focusInputMap",
-                inputMapSet.getFormattedTextFieldFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getFormattedTextFieldFocusInputMap));
         uiDefaults.put("List.focusInputMap",
-                inputMapSet.getListFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getListFocusInputMap));
         uiDefaults.put("PasswordField.focusInputMap",
-                inputMapSet.getPasswordFieldFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getPasswordFieldFocusInputMap));
         uiDefaults.put("RadioButton.focusInputMap",
-                inputMapSet.getRadioButtonFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getRadioButtonFocusInputMap));
         uiDefaults.put("RootPane.ancestorInputMap",
-                inputMapSet.getRootPaneAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getRootPaneAncestorInputMap));
         uiDefaults.put("ScrollBar.ancestorInputMap",
-                inputMapSet.getScrollBarAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getScrollBarAncestorInputMap));
         uiDefaults.put("ScrollPane.ancestorInputMap",
-                inputMapSet.getScrollPaneAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getScrollPaneAncestorInputMap));
         uiDefaults.put("Slider.focusInputMap",
-                inputMapSet.getSliderFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getSliderFocusInputMap));
         uiDefaults.put("Spinner.ancestorInputMap",
-                inputMapSet.getSpinnerAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getSpinnerAncestorInputMap));
         uiDefaults.put("SplitPane.ancestorInputMap",
-                inputMapSet.getSplitPaneAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getSplitPaneAncestorInputMap));
         uiDefaults.put("TabbedPane.ancestorInputMap",
-                inputMapSet.getTabbedPaneAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getTabbedPaneAncestorInputMap));
         uiDefaults.put("TabbedPane.focusInputMap",
-                inputMapSet.getTabbedPaneFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getTabbedPaneFocusInputMap));
         uiDefaults.put("Table.ancestorInputMap",
-                inputMapSet.getTableAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getTableAncestorInputMap));
         uiDefaults.put("TableHeader.ancestorInputMap",
-                inputMapSet.getTableHeaderAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getTableHeaderAncestorInputMap));
         uiDefaults.put("TextArea.focusInputMap",
-                inputMapSet.getTextAreaFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getTextAreaFocusInputMap));
         uiDefaults.put("TextField.focusInputMap",
-                inputMapSet.getTextFieldFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getTextFieldFocusInputMap));
         uiDefaults.put("TextPane.focusInputMap",
-                inputMapSet.getTextPaneFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getTextPaneFocusInputMap));
         uiDefaults.put("ToggleButton.focusInputMap",
-                inputMapSet.getToggleButtonFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getToggleButtonFocusInputMap));
         uiDefaults.put("ToolBar.ancestorInputMap",
-                inputMapSet.getToolBarAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getToolBarAncestorInputMap));
         uiDefaults.put("Tree.ancestorInputMap",
-                inputMapSet.getTreeAncestorInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getTreeAncestorInputMap));
         uiDefaults.put("Tree.focusInputMap",
-                inputMapSet.getTreeFocusInputMap().getUiMap());
+                inputMap.apply(InputMapSet::getTreeFocusInputMap));
 
         // add user scale factor to allow layout managers (e.g. MigLayout) to use it
         uiDefaults.put("laf.scaleFactor", (UIDefaults.ActiveValue) t -> NeonCortex.getScaleFactor());
@@ -53,6 +53,11 @@ class SoftHashMap<K, V> extends AbstractMap<K, V> implements Serializable {
 	/** Reference queue for cleared SoftReference objects. */
 	private final ReferenceQueue<V> queue = new ReferenceQueue<>();
 
+	/**
+	 * Number of entries whose values were reclaimed by the garbage collector.
+	 */
+	private long evictionCount;
+
 	public static class KeySoftReference<K, V> extends SoftReference<V> {
 		final K key;
 
@@ -87,9 +92,18 @@ class SoftHashMap<K, V> extends AbstractMap<K, V> implements Serializable {
 		while ((ref = queue.poll()) != null) {
 			KeySoftReference<K, V> keyRef = (KeySoftReference<K, V>) ref;
 			hash.remove(keyRef.key);
+			evictionCount++;
 		}
 	}
 
+	long getEvictionCount() {
+		return evictionCount;
+	}
+
+	void resetEvictionCount() {
+		evictionCount = 0;
+	}
+
 	@Override
 	public V put(K key, V value) {
 		expungeStaleEntries();
@@ -56,6 +56,7 @@ import org.pushingpixels.trident.api.swing.SwingRepaintCallback;
 import javax.swing.*;
 import javax.swing.plaf.ButtonUI;
 import javax.swing.plaf.UIResource;
+import javax.swing.plaf.basic.BasicHTML;
 import javax.swing.text.JTextComponent;
 import java.awt.*;
 import java.awt.event.AWTEventListener;
@@ -166,6 +167,22 @@ public class SubstanceCoreUtilities {
         return false;
     }
 
+    /**
+     * Checks whether a change of the text of a cell renderer needs to be reported to the
+     * property change listeners of that renderer. The label UI delegate only tracks the text
+     * to maintain the HTML view of the renderer, and reporting changes between plain texts
+     * would create a new event for every rendered cell.
+     *
+     * @param oldText Old text of the renderer.
+     * @param newText New text of the renderer.
+     * @return <code>true</code> if either the old or the new text is HTML, <code>false</code>
+     * otherwise.
+     */
+    public static boolean isRendererTextChangeReported(Object oldText, Object newText) {
+        return ((oldText instanceof String) && BasicHTML.isHTMLString((String) oldText))
+                || ((newText instanceof String) && BasicHTML.isHTMLString((String) newText));
+    }
+
     /**
      * Checks and answers if the specified button is in a combo box.
      *
@@ -532,6 +549,7 @@ public class SubstanceCoreUtilities {
             }
         }
 
+        PerformanceMetrics.imageAllocated(width, height);
         return NeonCortex.getBlankImage(width, height);
     }
 
@@ -561,6 +579,7 @@ public class SubstanceCoreUtilities {
             }
         }
 
+        PerformanceMetrics.imageAllocated(width, height);
         return NeonCortex.getBlankUnscaledImage(width, height);
     }
 
@@ -591,6 +610,7 @@ public class SubstanceCoreUtilities {
             }
         }
 
+        PerformanceMetrics.imageAllocated(imageWidth, imageHeight);
         return NeonCortex.getBlankUnscaledImage(imageWidth, imageHeight);
     }
 
@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+package org.pushingpixels.substance.internal.utils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Atlas for small cached images. Instead of keeping each small image (such as check box, radio
+ * button, slider thumb or tree expand icon) in a separate Java2D surface, the images are packed
+ * into a few large pages, and painted from sub-regions of those pages. Each scale factor gets its
+ * own set of pages, and all pages are dropped on skin change along with the rest of the cached
+ * images.
+ *
+ * <p>Images are packed into horizontal shelves. When all pages are full, the atlas repacks the
+ * regions that are still in use into fresh pages. If there is still not enough space, the least
+ * recently painted regions are moved out of the atlas into standalone images.</p>
+ *
+ * @author Kirill Grouchnikov
+ */
+public final class SubstanceImageAtlas {
+    /**
+     * Width and height of a single page, in pixels.
+     */
+    private static final int PAGE_SIZE = 512;
+
+    /**
+     * Maximum number of pages for a single scale factor.
+     */
+    private static final int MAX_PAGES = 4;
+
+    /**
+     * Images with width or height (in pixels) over this value are not packed.
+     */
+    private static final int MAX_IMAGE_SIZE = 64;
+
+    /**
+     * Gutter around each region, in pixels, filled with the edge pixels of the region. This
+     * prevents sampling the neighbouring regions when the page is painted with bicubic
+     * interpolation at fractional scale factors, as the bicubic kernel reaches two pixels past
+     * the edge of the source rectangle.
+     */
+    private static final int GUTTER = 2;
+
+    /**
+     * Atlases keyed by scale factor.
+     */
+    private static final Map<Double, SubstanceImageAtlas> atlases = new HashMap<>();
+
+    private final List<Page> pages;
+
+    private final List<WeakReference<Region>> regions;
+
+    private long paintStamp;
+
+    private SubstanceImageAtlas() {
+        this.pages = new ArrayList<>();
+        this.regions = new ArrayList<>();
+    }
+
+    /**
+     * A sub-region of an atlas page that holds a single packed image. A region can be moved
+     * between pages when the atlas is repacked, and moved out of the atlas into a standalone
+     * image when it is evicted.
+     */
+    public static final class Region {
+        private final SubstanceImageAtlas atlas;
+        private final int width;
+        private final int height;
+
+        private BufferedImage image;
+        private int x;
+        private int y;
+
+        private long lastPainted;
+
+        private Region(SubstanceImageAtlas atlas, int width, int height) {
+            this.atlas = atlas;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Returns the width of the packed image, in pixels.
+         *
+         * @return The width of the packed image, in pixels.
+         */
+        public int getWidth() {
+            return this.width;
+        }
+
+        /**
+         * Returns the height of the packed image, in pixels.
+         *
+         * @return The height of the packed image, in pixels.
+         */
+        public int getHeight() {
+            return this.height;
+        }
+
+        /**
+         * Paints the packed image.
+         *
+         * @param g      Graphics context.
+         * @param x      X coordinate of the target rectangle.
+         * @param y      Y coordinate of the target rectangle.
+         * @param width  Width of the target rectangle.
+         * @param height Height of the target rectangle.
+         */
+        public void paint(Graphics g, int x, int y, int width, int height) {
+            synchronized (this.atlas) {
+                this.lastPainted = ++this.atlas.paintStamp;
+                g.drawImage(this.image, x, y, x + width, y + height,
+                        this.x, this.y, this.x + this.width, this.y + this.height, null);
+            }
+        }
+
+        private boolean isPacked() {
+            return this.image != null && this.atlas.isPage(this.image);
+        }
+    }
+
+    private static final class Page {
+        private final BufferedImage image;
+        private final List<int[]> shelves;
+        private int nextShelfY;
+
+        private Page() {
+            this.image = createPageImage();
+            // Each shelf is stored as {y, height, nextX}
+            this.shelves = new ArrayList<>();
+            this.nextShelfY = 0;
+        }
+
+        private Point allocate(int width, int height) {
+            int paddedWidth = width + 2 * GUTTER;
+            int paddedHeight = height + 2 * GUTTER;
+            // Look for an existing shelf that is tall enough, but not much taller
+            for (int[] shelf : this.shelves) {
+                if ((paddedHeight <= shelf[1]) && (shelf[1] <= paddedHeight * 3 / 2 + 2)
+                        && (shelf[2] + paddedWidth <= PAGE_SIZE)) {
+                    Point result = new Point(shelf[2] + GUTTER, shelf[0] + GUTTER);
+                    shelf[2] += paddedWidth;
+                    return result;
+                }
+            }
+            if ((this.nextShelfY + paddedHeight > PAGE_SIZE) || (paddedWidth > PAGE_SIZE)) {
+                return null;
+            }
+            int[] shelf = new int[] { this.nextShelfY, paddedHeight, paddedWidth };
+            this.shelves.add(shelf);
+            this.nextShelfY += paddedHeight;
+            return new Point(GUTTER, shelf[0] + GUTTER);
+        }
+    }
+
+    private static BufferedImage createPageImage() {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(PAGE_SIZE, PAGE_SIZE, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(PAGE_SIZE, PAGE_SIZE, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    /**
+     * Packs the specified image into the atlas that matches the specified scale factor.
+     *
+     * @param image       Image to pack.
+     * @param scaleFactor Scale factor of the image.
+     * @return Region for the packed image, or <code>null</code> if the image is too big to be
+     * packed.
+     */
+    public static synchronized Region pack(BufferedImage image, double scaleFactor) {
+        if ((image.getWidth() > MAX_IMAGE_SIZE) || (image.getHeight() > MAX_IMAGE_SIZE)) {
+            return null;
+        }
+        SubstanceImageAtlas atlas = atlases.computeIfAbsent(scaleFactor,
+                (Double scale) -> new SubstanceImageAtlas());
+        return atlas.add(image);
+    }
+
+    /**
+     * Drops all the atlas pages. Regions that are still in use keep their current pages.
+     */
+    public static synchronized void reset() {
+        atlases.clear();
+    }
+
+    /**
+     * Returns memory usage string.
+     *
+     * @return Memory usage string.
+     */
+    public static synchronized String getMemoryUsage() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SubstanceImageAtlas: \n");
+        for (Map.Entry<Double, SubstanceImageAtlas> entry : atlases.entrySet()) {
+            SubstanceImageAtlas atlas = entry.getValue();
+            synchronized (atlas) {
+                int packed = 0;
+                for (WeakReference<Region> regionRef : atlas.regions) {
+                    Region region = regionRef.get();
+                    if ((region != null) && region.isPacked()) {
+                        packed++;
+                    }
+                }
+                sb.append("\t" + entry.getKey() + "x : " + atlas.pages.size() + " pages, "
+                        + packed + " packed images\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    private boolean isPage(BufferedImage image) {
+        for (Page page : this.pages) {
+            if (page.image == image) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized Region add(BufferedImage image) {
+        Region region = new Region(this, image.getWidth(), image.getHeight());
+        if (!this.place(region)) {
+            this.repack();
+            while (!this.place(region)) {
+                if (!this.evictLeastRecentlyPainted(Math.max(1, this.regions.size() / 4))) {
+                    // Nothing else to evict - keep this image outside of the atlas
+                    region.image = image;
+                    region.x = 0;
+                    region.y = 0;
+                    return region;
+                }
+                this.repack();
+            }
+        }
+        this.copy(image, 0, 0, region);
+        this.regions.add(new WeakReference<>(region));
+        return region;
+    }
+
+    /**
+     * Finds space for the specified region in the existing pages, adding a new page if needed.
+     */
+    private boolean place(Region region) {
+        for (Page page : this.pages) {
+            Point location = page.allocate(region.width, region.height);
+            if (location != null) {
+                region.image = page.image;
+                region.x = location.x;
+                region.y = location.y;
+                return true;
+            }
+        }
+        if (this.pages.size() < MAX_PAGES) {
+            Page page = new Page();
+            this.pages.add(page);
+            Point location = page.allocate(region.width, region.height);
+            region.image = page.image;
+            region.x = location.x;
+            region.y = location.y;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Copies the specified image area into the current location of the region, and fills the
+     * gutter around the region with the edge pixels of that area.
+     */
+    private void copy(BufferedImage source, int sourceX, int sourceY, Region region) {
+        Graphics2D g2d = region.image.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        // Source spans (first edge pixel, full area, last edge pixel) and the matching target
+        // spans (leading gutter, region, trailing gutter) along each axis
+        int[] sourceXs = { sourceX, sourceX + 1, sourceX, sourceX + region.width,
+                sourceX + region.width - 1, sourceX + region.width };
+        int[] targetXs = { region.x - GUTTER, region.x, region.x, region.x + region.width,
+                region.x + region.width, region.x + region.width + GUTTER };
+        int[] sourceYs = { sourceY, sourceY + 1, sourceY, sourceY + region.height,
+                sourceY + region.height - 1, sourceY + region.height };
+        int[] targetYs = { region.y - GUTTER, region.y, region.y, region.y + region.height,
+                region.y + region.height, region.y + region.height + GUTTER };
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 3; column++) {
+                g2d.drawImage(source, targetXs[2 * column], targetYs[2 * row],
+                        targetXs[2 * column + 1], targetYs[2 * row + 1],
+                        sourceXs[2 * column], sourceYs[2 * row],
+                        sourceXs[2 * column + 1], sourceYs[2 * row + 1], null);
+            }
+        }
+        g2d.dispose();
+    }
+
+    /**
+     * Moves all the packed regions that are still in use into fresh pages, dropping the space
+     * taken by the regions that are no longer in use.
+     */
+    private void repack() {
+        List<Region> live = new ArrayList<>();
+        for (Iterator<WeakReference<Region>> it = this.regions.iterator(); it.hasNext(); ) {
+            Region region = it.next().get();
+            if ((region == null) || !region.isPacked()) {
+                it.remove();
+            } else {
+                live.add(region);
+            }
+        }
+        // Taller regions first for denser shelves
+        live.sort((Region r1, Region r2) -> Integer.compare(r2.height, r1.height));
+
+        List<BufferedImage> oldImages = new ArrayList<>();
+        int[][] oldLocations = new int[live.size()][];
+        for (int i = 0; i < live.size(); i++) {
+            Region region = live.get(i);
+            oldImages.add(region.image);
+            oldLocations[i] = new int[] { region.x, region.y };
+        }
+
+        this.pages.clear();
+        for (int i = 0; i < live.size(); i++) {
+            Region region = live.get(i);
+            if (this.place(region)) {
+                this.copy(oldImages.get(i), oldLocations[i][0], oldLocations[i][1], region);
+            } else {
+                unpack(region, oldImages.get(i), oldLocations[i][0], oldLocations[i][1]);
+            }
+        }
+    }
+
+    /**
+     * Moves the least recently painted packed regions into standalone images.
+     *
+     * @param count Number of regions to evict.
+     * @return <code>true</code> if at least one region was evicted.
+     */
+    private boolean evictLeastRecentlyPainted(int count) {
+        List<Region> packed = new ArrayList<>();
+        for (WeakReference<Region> regionRef : this.regions) {
+            Region region = regionRef.get();
+            if ((region != null) && region.isPacked()) {
+                packed.add(region);
+            }
+        }
+        if (packed.isEmpty()) {
+            return false;
+        }
+        packed.sort((Region r1, Region r2) -> Long.compare(r1.lastPainted, r2.lastPainted));
+        for (int i = 0; i < Math.min(count, packed.size()); i++) {
+            Region region = packed.get(i);
+            unpack(region, region.image, region.x, region.y);
+        }
+        return true;
+    }
+
+    /**
+     * Moves the specified region into a standalone image.
+     */
+    private static void unpack(Region region, BufferedImage source, int sourceX, int sourceY) {
+        BufferedImage standalone = new BufferedImage(region.width, region.height,
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = standalone.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(source, 0, 0, region.width, region.height, sourceX, sourceY,
+                sourceX + region.width, sourceY + region.height, null);
+        g2d.dispose();
+        region.image = standalone;
+        region.x = 0;
+        region.y = 0;
+    }
+}
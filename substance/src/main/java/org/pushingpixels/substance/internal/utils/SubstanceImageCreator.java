@@ -30,6 +30,7 @@
 package org.pushingpixels.substance.internal.utils;
 
 import org.pushingpixels.neon.api.NeonCortex;
+import org.pushingpixels.neon.api.filter.NeonPixelFilter;
 import org.pushingpixels.substance.api.ComponentState;
 import org.pushingpixels.substance.api.SubstanceCortex;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
@@ -707,7 +708,7 @@ public final class SubstanceImageCreator {
         int fgStrength = SubstanceColorUtilities.getColorBrightness(color.getRGB());
         int echoStrength = SubstanceColorUtilities.getColorBrightness(echoColor.getRGB());
         boolean noEcho = Math.abs(fgStrength - echoStrength) < 48;
-        return new ImageWrapperIcon(SubstanceImageCreator.overlayEcho(image,
+        return ImageWrapperIcon.packed(SubstanceImageCreator.overlayEcho(image,
                 noEcho ? 0 : SubstanceColorUtilities.getColorStrength(color), echoColor));
     }
 
@@ -761,7 +762,7 @@ public final class SubstanceImageCreator {
         int fgStrength = SubstanceColorUtilities.getColorBrightness(color.getRGB());
         int echoStrength = SubstanceColorUtilities.getColorBrightness(echoColor.getRGB());
         boolean noEcho = Math.abs(fgStrength - echoStrength) < 48;
-        return new ImageWrapperIcon(SubstanceImageCreator.overlayEcho(image,
+        return ImageWrapperIcon.packed(SubstanceImageCreator.overlayEcho(image,
                 noEcho ? 0 : SubstanceColorUtilities.getColorStrength(color), echoColor));
     }
 
@@ -812,7 +813,7 @@ public final class SubstanceImageCreator {
         int echoStrength = SubstanceColorUtilities.getColorBrightness(echoColor.getRGB());
         boolean noEcho = Math.abs(fgStrength - echoStrength) < 48;
 
-        return new ImageWrapperIcon(SubstanceImageCreator.overlayEcho(image,
+        return ImageWrapperIcon.packed(SubstanceImageCreator.overlayEcho(image,
                 noEcho ? 0 : SubstanceColorUtilities.getColorStrength(color), echoColor));
     }
 
@@ -868,7 +869,7 @@ public final class SubstanceImageCreator {
         int echoStrength = SubstanceColorUtilities.getColorBrightness(echoColor.getRGB());
         boolean noEcho = Math.abs(fgStrength - echoStrength) < 48;
 
-        return new ImageWrapperIcon(SubstanceImageCreator.overlayEcho(image,
+        return ImageWrapperIcon.packed(SubstanceImageCreator.overlayEcho(image,
                 noEcho ? 0 : SubstanceColorUtilities.getColorStrength(color), echoColor));
     }
 
@@ -1617,6 +1618,28 @@ public final class SubstanceImageCreator {
      */
     public static BufferedImage getColorSchemeImage(Component comp, Icon original,
             SubstanceColorScheme colorScheme, float originalBrightnessFactor) {
+        return getColorSchemeImage(comp, original, colorScheme, originalBrightnessFactor, 1.0f);
+    }
+
+    /**
+     * Creates a new translucent version of the specified icon that is rendered in the colors of
+     * the specified color scheme. The color scheme and the translucency are applied in a single
+     * pass over the pixels of the icon.
+     * 
+     * @param comp
+     *            Component.
+     * @param original
+     *            The original icon.
+     * @param colorScheme
+     *            Color scheme.
+     * @param originalBrightnessFactor
+     *            The original brightness factor.
+     * @param alpha
+     *            Alpha channel value for the result.
+     * @return Translucent scheme-based version of the original icon.
+     */
+    public static BufferedImage getColorSchemeImage(Component comp, Icon original,
+            SubstanceColorScheme colorScheme, float originalBrightnessFactor, float alpha) {
         int w = original.getIconWidth();
         int h = original.getIconHeight();
         if ((w == 0) || (h == 0)) {
@@ -1629,9 +1652,13 @@ public final class SubstanceImageCreator {
         original.paintIcon(comp, origImage.getGraphics(), 0, 0);
         g2d.dispose();
 
-        BufferedImage result = getColorSchemeImage(origImage, colorScheme,
+        NeonPixelFilter filter = ColorSchemeFilter.getColorSchemeFilter(colorScheme,
                 originalBrightnessFactor);
-        return result;
+        if (alpha < 1.0f) {
+            filter = filter.andThen(new TranslucentFilter(alpha));
+        }
+        // The intermediate image is not shared, so it can be filtered in place
+        return filter.filter(origImage, origImage);
     }
 
     /**
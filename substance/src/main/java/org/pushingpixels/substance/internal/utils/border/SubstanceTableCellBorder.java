@@ -56,7 +56,15 @@ public class SubstanceTableCellBorder implements Border, UIResource {
 
 	protected SubstanceTableUI ui;
 
-	protected SubstanceTableUI.TableCellId cellId;
+	/**
+	 * Row of the cell painted with <code>this</code> border.
+	 */
+	protected int row;
+
+	/**
+	 * Column of the cell painted with <code>this</code> border.
+	 */
+	protected int column;
 
 	/**
 	 * Border alpha.
@@ -77,10 +85,46 @@ public class SubstanceTableCellBorder implements Border, UIResource {
 	 */
 	public SubstanceTableCellBorder(Insets insets, SubstanceTableUI ui,
 			SubstanceTableUI.TableCellId cellId) {
-		this.myInsets = new Insets(insets.top, insets.left, insets.bottom,
-				insets.right);
+		this(insets, ui, cellId.getRow(), cellId.getColumn());
+	}
+
+	/**
+	 * Creates a new border with the specified insets.
+	 * 
+	 * @param insets
+	 *            Insets.
+	 * @param ui
+	 *            Table UI delegate.
+	 * @param row
+	 *            Cell row.
+	 * @param column
+	 *            Cell column.
+	 */
+	public SubstanceTableCellBorder(Insets insets, SubstanceTableUI ui,
+			int row, int column) {
+		this.myInsets = new Insets(0, 0, 0, 0);
+		this.reset(insets, ui, row, column);
+	}
+
+	/**
+	 * Points <code>this</code> border to another cell. This is used by the
+	 * cell renderers to reuse a single border instance across all the cells
+	 * they render.
+	 * 
+	 * @param insets
+	 *            Insets.
+	 * @param ui
+	 *            Table UI delegate.
+	 * @param row
+	 *            Cell row.
+	 * @param column
+	 *            Cell column.
+	 */
+	public void reset(Insets insets, SubstanceTableUI ui, int row, int column) {
+		this.myInsets.set(insets.top, insets.left, insets.bottom, insets.right);
 		this.ui = ui;
-		this.cellId = cellId;
+		this.row = row;
+		this.column = column;
 		this.alpha = 1.0f;
 	}
 
@@ -116,13 +160,13 @@ public class SubstanceTableCellBorder implements Border, UIResource {
 
 		float radius = 0.0f;
 		StateTransitionTracker stateTransitionTracker = ui
-				.getStateTransitionTracker(cellId);
+				.getStateTransitionTracker(row, column);
 		StateTransitionTracker.ModelStateInfo modelStateInfo = (stateTransitionTracker == null) ? null
 				: stateTransitionTracker.getModelStateInfo();
 		Map<ComponentState, StateTransitionTracker.StateContributionInfo> activeStates = (modelStateInfo == null) ? null
 				: modelStateInfo.getStateContributionMap();
 		ComponentState currState = (modelStateInfo == null) ? ui
-				.getCellState(cellId) : modelStateInfo.getCurrModelState();
+				.getCellState(row, column) : modelStateInfo.getCurrModelState();
 		if (currState.isDisabled())
 			currState = ComponentState.DISABLED_SELECTED;
 
@@ -29,7 +29,6 @@
  */
 package org.pushingpixels.substance.internal.utils.border;
 
-import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
@@ -61,7 +60,7 @@ public class SubstanceTextComponentBorder implements Border, UIResource {
     /**
      * Cache of small border images.
      */
-    private static LazyResettableHashMap<BufferedImage> smallImageCache = new LazyResettableHashMap<>(
+    private static LazyResettableHashMap<NineSliceImage> smallImageCache = new LazyResettableHashMap<>(
             "SubstanceTextComponentBorder");
 
     /**
@@ -130,20 +129,10 @@ public class SubstanceTextComponentBorder implements Border, UIResource {
                                 currState);
                 float baseAlpha = SubstanceColorSchemeUtilities.getAlpha(c, currState);
                 graphics.setComposite(AlphaComposite.SrcOver.derive(baseAlpha));
-                if (useCache) {
-                    HashMapKey baseHashKey = SubstanceCoreUtilities.getHashKey(
-                            borderPainter.getDisplayName(), width, height,
-                            baseBorderScheme.getDisplayName());
-                    BufferedImage baseLayer = smallImageCache.get(baseHashKey);
-                    if (baseLayer == null) {
-                        baseLayer = SubstanceCoreUtilities.getBlankImage(width, height);
-                        Graphics2D g2base = baseLayer.createGraphics();
-                        SubstanceImageCreator.paintSimpleBorder(c, g2base, width, height,
-                                baseBorderScheme);
-                        g2base.dispose();
-                        smallImageCache.put(baseHashKey, baseLayer);
-                    }
-                    NeonCortex.drawImage(graphics, baseLayer, 0, 0);
+                NineSliceImage baseLayer = getBorderLayer(c, borderPainter, width, height,
+                        baseBorderScheme, useCache);
+                if (baseLayer != null) {
+                    baseLayer.paint(graphics, 0, 0, width, height);
                 } else {
                     SubstanceImageCreator.paintSimpleBorder(c, graphics, width, height,
                             baseBorderScheme);
@@ -172,21 +161,10 @@ public class SubstanceTextComponentBorder implements Border, UIResource {
                                         ColorSchemeAssociationKind.BORDER, activeState);
                         graphics.setComposite(AlphaComposite.SrcOver.derive(alpha * contribution));
 
-                        if (useCache) {
-                            HashMapKey extraHashKey = SubstanceCoreUtilities.getHashKey(
-                                    borderPainter.getDisplayName(), width, height,
-                                    borderScheme.getDisplayName());
-                            BufferedImage extraLayer = smallImageCache.get(extraHashKey);
-                            if (extraLayer == null) {
-                                extraLayer = SubstanceCoreUtilities.getBlankImage(width, height);
-                                Graphics2D g2extra = extraLayer.createGraphics();
-                                SubstanceImageCreator.paintSimpleBorder(c, g2extra, width, height,
-                                        baseBorderScheme);
-                                g2extra.dispose();
-                                smallImageCache.put(extraHashKey, extraLayer);
-                            }
-
-                            NeonCortex.drawImage(graphics, extraLayer, 0, 0);
+                        NineSliceImage extraLayer = getBorderLayer(c, borderPainter, width, height,
+                                borderScheme, useCache);
+                        if (extraLayer != null) {
+                            extraLayer.paint(graphics, 0, 0, width, height);
                         } else {
                             SubstanceImageCreator.paintSimpleBorder(c, graphics, width, height,
                                     borderScheme);
@@ -203,21 +181,10 @@ public class SubstanceTextComponentBorder implements Border, UIResource {
                 ColorSchemeAssociationKind.BORDER, currState);
         graphics.translate(x, y);
 
-        if (useCache) {
-            HashMapKey baseHashKey = SubstanceCoreUtilities.getHashKey(
-                    borderPainter.getDisplayName(), width, height,
-                    borderColorScheme.getDisplayName());
-            BufferedImage baseLayer = smallImageCache.get(baseHashKey);
-            if (baseLayer == null) {
-                baseLayer = SubstanceCoreUtilities.getBlankImage(width, height);
-                Graphics2D g2base = baseLayer.createGraphics();
-                SubstanceImageCreator.paintSimpleBorder(c, g2base, width, height,
-                        borderColorScheme);
-                g2base.dispose();
-                smallImageCache.put(baseHashKey, baseLayer);
-            }
-
-            NeonCortex.drawImage(graphics, baseLayer, 0, 0);
+        NineSliceImage baseLayer = getBorderLayer(c, borderPainter, width, height,
+                borderColorScheme, useCache);
+        if (baseLayer != null) {
+            baseLayer.paint(graphics, 0, 0, width, height);
         } else {
             SubstanceImageCreator.paintSimpleBorder(c, graphics, width, height, borderColorScheme);
         }
@@ -225,6 +192,56 @@ public class SubstanceTextComponentBorder implements Border, UIResource {
         graphics.dispose();
     }
 
+    /**
+     * Returns the cached border image for the specified component. Whenever possible, the image is
+     * a nine-slice image shared by all the text components that differ only in size.
+     *
+     * @param c
+     *            The component.
+     * @param borderPainter
+     *            Border painter.
+     * @param width
+     *            Component width.
+     * @param height
+     *            Component height.
+     * @param borderScheme
+     *            Border color scheme.
+     * @param useExactCache
+     *            If <code>true</code>, the border can be cached at its exact size when it cannot
+     *            be sliced.
+     * @return Border image, or <code>null</code> if the border should be painted directly.
+     */
+    private static NineSliceImage getBorderLayer(JComponent c, SubstanceBorderPainter borderPainter,
+            int width, int height, SubstanceColorScheme borderScheme, boolean useExactCache) {
+        HashMapKey key = SubstanceCoreUtilities.getHashKey(borderPainter.getDisplayName(),
+                borderScheme.getDisplayName());
+        int edge = (int) Math.ceil(SubstanceSizeUtils.getBorderStrokeWidth()) + 2;
+        NineSliceImage sliced = NineSliceImage.getSliced(key, width, height, edge,
+                (sliceWidth, sliceHeight) -> createBorderImage(c, sliceWidth, sliceHeight,
+                        borderScheme));
+        if ((sliced != null) || !useExactCache) {
+            return sliced;
+        }
+
+        HashMapKey exactKey = SubstanceCoreUtilities.getHashKey(key, width, height);
+        NineSliceImage result = smallImageCache.get(exactKey);
+        if (result == null) {
+            result = NineSliceImage.exact(createBorderImage(c, width, height, borderScheme),
+                    width, height);
+            smallImageCache.put(exactKey, result);
+        }
+        return result;
+    }
+
+    private static BufferedImage createBorderImage(JComponent c, int width, int height,
+            SubstanceColorScheme borderScheme) {
+        BufferedImage result = SubstanceCoreUtilities.getBlankImage(width, height);
+        Graphics2D g2d = result.createGraphics();
+        SubstanceImageCreator.paintSimpleBorder(c, g2d, width, height, borderScheme);
+        g2d.dispose();
+        return result;
+    }
+
     @Override
     public void paintBorder(Component c, Graphics g, int x, int y, int width, int height) {
         paintBorder((JComponent) c, g, x, y, width, height, c.isEnabled(), c.hasFocus());
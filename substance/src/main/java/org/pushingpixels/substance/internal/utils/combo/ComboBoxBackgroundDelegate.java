@@ -29,7 +29,6 @@
  */
 package org.pushingpixels.substance.internal.utils.combo;
 
-import org.pushingpixels.neon.api.NeonCortex;
 import org.pushingpixels.substance.api.ComponentState;
 import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
@@ -56,10 +55,15 @@ public class ComboBoxBackgroundDelegate {
     /**
      * Cache for background images.
      */
-    private static LazyResettableHashMap<BufferedImage> regularBackgrounds = new LazyResettableHashMap<>(
+    private static LazyResettableHashMap<NineSliceImage> regularBackgrounds = new LazyResettableHashMap<>(
             "ComboBoxBackgroundDelegate");
 
-    public static BufferedImage getFullAlphaBackground(JComboBox combo, ButtonModel model,
+    /**
+     * Paints the full-opacity background of the specified combobox. When the combobox is
+     * transitioning between states, the cached background layers of all the active states are
+     * composited onto the graphics context.
+     */
+    private static void paintFullAlphaBackground(Graphics2D graphics, JComboBox<?> combo,
             SubstanceFillPainter fillPainter, SubstanceBorderPainter borderPainter, int width,
             int height) {
         TransitionAwareUI transitionAwareUI = (TransitionAwareUI) combo.getUI();
@@ -79,24 +83,16 @@ public class ComboBoxBackgroundDelegate {
         SubstanceColorScheme baseBorderScheme = SubstanceColorSchemeUtilities.getColorScheme(combo,
                 ColorSchemeAssociationKind.BORDER, currState);
 
-        HashMapKey keyBase = SubstanceCoreUtilities.getHashKey(width, height,
-                baseFillScheme.getDisplayName(), baseBorderScheme.getDisplayName(),
-                fillPainter.getDisplayName(), borderPainter.getDisplayName(),
-                combo.getClass().getName(), radius, comboFontSize);
-        BufferedImage layerBase = regularBackgrounds.get(keyBase);
-        if (layerBase == null) {
-            layerBase = createBackgroundImage(combo, shaper, fillPainter, borderPainter, width,
-                    height, baseFillScheme, baseBorderScheme, radius);
-            regularBackgrounds.put(keyBase, layerBase);
-        }
+        NineSliceImage layerBase = getBackgroundLayer(combo, shaper, fillPainter, borderPainter,
+                width, height, baseFillScheme, baseBorderScheme, radius, comboFontSize);
         if (currState.isDisabled() || (activeStates.size() == 1)) {
-            return layerBase;
+            layerBase.paint(graphics, 0, 0, width, height);
+            return;
         }
 
-        BufferedImage result = SubstanceCoreUtilities.getBlankUnscaledImage(layerBase);
-        Graphics2D g2d = result.createGraphics();
+        LayerCompositor compositor = new LayerCompositor(graphics, 0, 0, width, height);
         // draw the base layer
-        g2d.drawImage(layerBase, 0, 0, layerBase.getWidth(), layerBase.getHeight(), null);
+        compositor.paintLayer(layerBase, 1.0f);
         // System.out.println("\nPainting base state " + currState);
 
         // draw the other active layers
@@ -110,30 +106,56 @@ public class ComboBoxBackgroundDelegate {
 
             float stateContribution = activeEntry.getValue().getContribution();
             if (stateContribution > 0.0f) {
-                g2d.setComposite(AlphaComposite.SrcOver.derive(stateContribution));
-
                 SubstanceColorScheme fillScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(combo, activeState);
                 SubstanceColorScheme borderScheme = SubstanceColorSchemeUtilities
                         .getColorScheme(combo, ColorSchemeAssociationKind.BORDER, activeState);
-                HashMapKey key = SubstanceCoreUtilities.getHashKey(width, height,
-                        fillScheme.getDisplayName(), borderScheme.getDisplayName(),
-                        fillPainter.getDisplayName(), borderPainter.getDisplayName(),
-                        combo.getClass().getName(), radius, comboFontSize);
-                BufferedImage layer = regularBackgrounds.get(key);
-                if (layer == null) {
-                    layer = createBackgroundImage(combo, shaper, fillPainter, borderPainter, width,
-                            height, fillScheme, borderScheme, radius);
-                    regularBackgrounds.put(key, layer);
-                }
-                g2d.drawImage(layer, 0, 0, layer.getWidth(), layer.getHeight(), null);
+                NineSliceImage layer = getBackgroundLayer(combo, shaper, fillPainter,
+                        borderPainter, width, height, fillScheme, borderScheme, radius,
+                        comboFontSize);
+                compositor.paintLayer(layer, stateContribution);
             }
         }
-        g2d.dispose();
-        return result;
+        compositor.finish();
+    }
+
+    /**
+     * Returns the cached background layer of the specified combobox for the specified color
+     * schemes. Whenever the fill and border painters allow it, the layer is a nine-slice image
+     * shared by all the comboboxes that differ only in size.
+     */
+    private static NineSliceImage getBackgroundLayer(JComboBox<?> combo,
+            SubstanceButtonShaper shaper, SubstanceFillPainter fillPainter,
+            SubstanceBorderPainter borderPainter, int width, int height,
+            SubstanceColorScheme fillScheme, SubstanceColorScheme borderScheme, float radius,
+            int comboFontSize) {
+        HashMapKey key = SubstanceCoreUtilities.getHashKey(fillScheme.getDisplayName(),
+                borderScheme.getDisplayName(), fillPainter.getDisplayName(),
+                borderPainter.getDisplayName(), combo.getClass().getName(), radius,
+                comboFontSize);
+
+        // The edge slices cover the rounded corners
+        int edge = (int) Math.ceil(radius) + 2;
+        NineSliceImage sliced = NineSliceImage.getSliced(key, width, height, edge,
+                (sliceWidth, sliceHeight) -> createBackgroundImage(combo, shaper, fillPainter,
+                        borderPainter, sliceWidth, sliceHeight, fillScheme, borderScheme,
+                        radius));
+        if (sliced != null) {
+            return sliced;
+        }
+
+        HashMapKey exactKey = SubstanceCoreUtilities.getHashKey(key, width, height);
+        NineSliceImage layer = regularBackgrounds.get(exactKey);
+        if (layer == null) {
+            layer = NineSliceImage.exact(createBackgroundImage(combo, shaper, fillPainter,
+                    borderPainter, width, height, fillScheme, borderScheme, radius), width,
+                    height);
+            regularBackgrounds.put(exactKey, layer);
+        }
+        return layer;
     }
 
-    private static BufferedImage createBackgroundImage(JComboBox combo,
+    private static BufferedImage createBackgroundImage(JComboBox<?> combo,
             SubstanceButtonShaper shaper, SubstanceFillPainter fillPainter,
             SubstanceBorderPainter borderPainter, int width, int height,
             SubstanceColorScheme fillScheme, SubstanceColorScheme borderScheme, float radius) {
@@ -169,14 +191,10 @@ public class ComboBoxBackgroundDelegate {
 
         int width = combo.getWidth();
         int height = combo.getHeight();
-        int y = 0;
 
         SubstanceFillPainter fillPainter = SubstanceCoreUtilities.getFillPainter(combo);
         SubstanceBorderPainter borderPainter = SubstanceCoreUtilities.getBorderPainter(combo);
 
-        BufferedImage bgImage = getFullAlphaBackground(combo, comboModel, fillPainter,
-                borderPainter, width, height);
-
         TransitionAwareUI transitionAwareUI = (TransitionAwareUI) combo.getUI();
         StateTransitionTracker stateTransitionTracker = transitionAwareUI.getTransitionTracker();
         StateTransitionTracker.ModelStateInfo modelStateInfo = stateTransitionTracker
@@ -216,7 +234,7 @@ public class ComboBoxBackgroundDelegate {
             graphics.setComposite(WidgetUtilities.getAlphaComposite(combo, extraAlpha, g));
             graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
             graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-            NeonCortex.drawImage(graphics, bgImage, 0, y);
+            paintFullAlphaBackground(graphics, combo, fillPainter, borderPainter, width, height);
             graphics.dispose();
         }
     }
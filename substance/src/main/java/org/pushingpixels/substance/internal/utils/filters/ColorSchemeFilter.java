@@ -34,7 +34,7 @@
 
 package org.pushingpixels.substance.internal.utils.filters;
 
-import org.pushingpixels.neon.api.filter.NeonAbstractFilter;
+import org.pushingpixels.neon.api.filter.NeonPixelFilter;
 import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
 import org.pushingpixels.substance.internal.utils.HashMapKey;
 import org.pushingpixels.substance.internal.utils.LazyResettableHashMap;
@@ -42,7 +42,6 @@ import org.pushingpixels.substance.internal.utils.SubstanceColorUtilities;
 import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.*;
 
@@ -51,9 +50,17 @@ import java.util.*;
  * @author Kirill Grouchnikov
  */
 
-public class ColorSchemeFilter extends NeonAbstractFilter {
+public class ColorSchemeFilter extends NeonPixelFilter {
     private int[] interpolated;
 
+    /**
+     * Hue, saturation and brightness of the {@link #interpolated} entries, computed once so
+     * that the per-pixel loop doesn't convert the same scheme colors over and over.
+     */
+    private float[] interpolatedHue;
+    private float[] interpolatedSaturation;
+    private float[] interpolatedBrightness;
+
     private static final int MAPSTEPS = 512;
 
     private final static LazyResettableHashMap<ColorSchemeFilter> filters =
@@ -173,27 +180,23 @@ public class ColorSchemeFilter extends NeonAbstractFilter {
                 }
             }
         }
-    }
 
-    @Override
-    public BufferedImage filter(BufferedImage src, BufferedImage dst) {
-        if (dst == null) {
-            dst = createCompatibleDestImage(src, null);
+        this.interpolatedHue = new float[MAPSTEPS];
+        this.interpolatedSaturation = new float[MAPSTEPS];
+        this.interpolatedBrightness = new float[MAPSTEPS];
+        float[] hsb = new float[3];
+        for (int i = 0; i < MAPSTEPS; i++) {
+            int rgb = this.interpolated[i];
+            Color.RGBtoHSB((rgb >>> 16) & 0xFF, (rgb >>> 8) & 0xFF, rgb & 0xFF, hsb);
+            this.interpolatedHue[i] = hsb[0];
+            this.interpolatedSaturation[i] = hsb[1];
+            this.interpolatedBrightness[i] = hsb[2];
         }
-
-        int width = src.getWidth();
-        int height = src.getHeight();
-
-        int[] pixels = new int[width * height];
-        getPixels(src, 0, 0, width, height, pixels);
-        mixColor(pixels);
-        setPixels(dst, 0, 0, width, height, pixels);
-
-        return dst;
     }
 
-    private void mixColor(int[] pixels) {
-        for (int i = 0; i < pixels.length; i++) {
+    @Override
+    protected void filterPixels(int[] pixels, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
             int argb = pixels[i];
 
             int brightness = SubstanceColorUtilities.getColorBrightness(argb);
@@ -202,27 +205,24 @@ public class ColorSchemeFilter extends NeonAbstractFilter {
             int g = (argb >>> 8) & 0xFF;
             int b = (argb >>> 0) & 0xFF;
 
-            float[] hsb = Color.RGBtoHSB(r, g, b, null);
-            int pixelColor = interpolated[brightness * MAPSTEPS / 256];
-
-            int ri = (pixelColor >>> 16) & 0xFF;
-            int gi = (pixelColor >>> 8) & 0xFF;
-            int bi = (pixelColor >>> 0) & 0xFF;
-            float[] hsbi = Color.RGBtoHSB(ri, gi, bi, null);
+            // Only the brightness of the original pixel is used, and that is the
+            // same value Color.RGBtoHSB would compute for it
+            float originalBrightness = Math.max(r, Math.max(g, b)) / 255.0f;
+            int index = brightness * MAPSTEPS / 256;
 
-            hsb[0] = hsbi[0];
-            hsb[1] = hsbi[1];
+            float mixedBrightness;
             if (this.originalBrightnessFactor >= 0.0f) {
-                hsb[2] = this.originalBrightnessFactor * hsb[2]
-                        + (1.0f - this.originalBrightnessFactor) * hsbi[2];
+                mixedBrightness = this.originalBrightnessFactor * originalBrightness
+                        + (1.0f - this.originalBrightnessFactor) * interpolatedBrightness[index];
             } else {
-                hsb[2] = hsb[2] * hsbi[2] * (1.0f + this.originalBrightnessFactor);
+                mixedBrightness = originalBrightness * interpolatedBrightness[index]
+                        * (1.0f + this.originalBrightnessFactor);
             }
 
-            int result = Color.HSBtoRGB(hsb[0], hsb[1], hsb[2]);
+            int result = Color.HSBtoRGB(interpolatedHue[index], interpolatedSaturation[index],
+                    mixedBrightness);
 
-            pixels[i] = (argb & 0xFF000000) | ((result >> 16) & 0xFF) << 16
-                    | ((result >> 8) & 0xFF) << 8 | (result & 0xFF);
+            pixels[i] = (argb & 0xFF000000) | (result & 0x00FFFFFF);
         }
     }
 }
@@ -29,34 +29,16 @@
  */
 package org.pushingpixels.substance.internal.utils.filters;
 
-import org.pushingpixels.neon.api.filter.NeonAbstractFilter;
+import org.pushingpixels.neon.api.filter.NeonPixelFilter;
 import org.pushingpixels.substance.internal.utils.SubstanceColorUtilities;
 
-import java.awt.image.BufferedImage;
-
 /**
  * @author Kirill Grouchnikov
  */
-public class GrayscaleFilter extends NeonAbstractFilter {
+public class GrayscaleFilter extends NeonPixelFilter {
 	@Override
-	public BufferedImage filter(BufferedImage src, BufferedImage dst) {
-		if (dst == null) {
-			dst = createCompatibleDestImage(src, null);
-		}
-
-		int width = src.getWidth();
-		int height = src.getHeight();
-
-		int[] pixels = new int[width * height];
-		getPixels(src, 0, 0, width, height, pixels);
-		grayScaleColor(pixels);
-		setPixels(dst, 0, 0, width, height, pixels);
-		
-		return dst;
-	}
-
-	private void grayScaleColor(int[] pixels) {
-		for (int i = 0; i < pixels.length; i++) {
+	protected void filterPixels(int[] pixels, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
 			int argb = pixels[i];
 			int brightness = SubstanceColorUtilities.getColorBrightness(argb);
 			pixels[i] = (argb & 0xFF000000) | brightness << 16 | brightness << 8 | brightness;
@@ -29,14 +29,12 @@
  */
 package org.pushingpixels.substance.internal.utils.filters;
 
-import org.pushingpixels.neon.api.filter.NeonAbstractFilter;
-
-import java.awt.image.BufferedImage;
+import org.pushingpixels.neon.api.filter.NeonPixelFilter;
 
 /**
  * @author Kirill Grouchnikov
  */
-public class TranslucentFilter extends NeonAbstractFilter {
+public class TranslucentFilter extends NeonPixelFilter {
 	private double alpha;
 
 	public TranslucentFilter(double alpha) {
@@ -44,31 +42,11 @@ public class TranslucentFilter extends NeonAbstractFilter {
 	}
 
 	@Override
-	public BufferedImage filter(BufferedImage src, BufferedImage dst) {
-		if (dst == null) {
-			dst = createCompatibleDestImage(src, null);
-		}
-
-		int width = src.getWidth();
-		int height = src.getHeight();
-
-		int[] pixels = new int[width * height];
-		getPixels(src, 0, 0, width, height, pixels);
-		translucentColor(pixels);
-		setPixels(dst, 0, 0, width, height, pixels);
-
-		return dst;
-	}
-
-	private void translucentColor(int[] pixels) {
-		for (int i = 0; i < pixels.length; i++) {
+	protected void filterPixels(int[] pixels, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
 			int argb = pixels[i];
 			int transp = (int) (alpha * ((argb >>> 24) & 0xFF));
-			int r = (argb >>> 16) & 0xFF;
-			int g = (argb >>> 8) & 0xFF;
-			int b = (argb >>> 0) & 0xFF;
-
-			pixels[i] = (transp << 24) | (r << 16) | (g << 8) | b;
+			pixels[i] = (transp << 24) | (argb & 0x00FFFFFF);
 		}
 	}
 }
@@ -166,7 +166,7 @@ public class ArrowButtonTransitionAwareIcon implements Icon {
 				g2base.setComposite(AlphaComposite.SrcOver.derive(baseAlpha));
 				baseFullOpacity.paintIcon(this.component, g2base, 0, 0);
 				g2base.dispose();
-				layerBase = new ImageWrapperIcon(baseImage);
+				layerBase = ImageWrapperIcon.packed(baseImage);
 				iconMap.put(keyBase, layerBase);
 			}
 		}
@@ -234,7 +234,7 @@ public class ArrowButtonTransitionAwareIcon implements Icon {
 						g2layer.setComposite(AlphaComposite.SrcOver.derive(alpha));
 						fullOpacity.paintIcon(this.component, g2layer, 0, 0);
 						g2layer.dispose();
-						layer = new ImageWrapperIcon(image);
+						layer = ImageWrapperIcon.packed(image);
 						iconMap.put(key, layer);
 					}
 				}
@@ -122,7 +122,7 @@ public class CheckBoxMenuItemIcon implements Icon, UIResource {
                 alpha);
         ImageWrapperIcon iconBase = iconMap.get(keyBase);
         if (iconBase == null) {
-            iconBase = new ImageWrapperIcon(
+            iconBase = ImageWrapperIcon.packed(
                     SubstanceImageCreator.getCheckBox(this.menuItem, fillPainter, borderPainter,
                             checkMarkSize, currState, baseFillColorScheme, baseMarkColorScheme,
                             baseBorderColorScheme, visibility, isCheckMarkFadingOut, alpha));
@@ -164,7 +164,7 @@ public class CheckBoxMenuItemIcon implements Icon, UIResource {
                         borderColorScheme.getDisplayName(), visibility, alpha);
                 ImageWrapperIcon iconLayer = iconMap.get(keyLayer);
                 if (iconLayer == null) {
-                    iconLayer = new ImageWrapperIcon(SubstanceImageCreator.getCheckBox(
+                    iconLayer = ImageWrapperIcon.packed(SubstanceImageCreator.getCheckBox(
                             this.menuItem, fillPainter, borderPainter, checkMarkSize, currState,
                             fillColorScheme, markColorScheme, borderColorScheme, visibility,
                             isCheckMarkFadingOut, alpha));
@@ -133,7 +133,7 @@ public class HighlightableTransitionAwareIcon implements Icon {
                 g2base.setComposite(AlphaComposite.SrcOver.derive(baseAlpha));
                 baseFullOpacity.paintIcon(this.component, g2base, 0, 0);
                 g2base.dispose();
-                layerBase = new ImageWrapperIcon(baseImage);
+                layerBase = ImageWrapperIcon.packed(baseImage);
                 iconMap.put(keyBase, layerBase);
             }
         }
@@ -184,7 +184,7 @@ public class HighlightableTransitionAwareIcon implements Icon {
                         g2layer.setComposite(AlphaComposite.SrcOver.derive(alpha));
                         fullOpacity.paintIcon(this.component, g2layer, 0, 0);
                         g2layer.dispose();
-                        layer = new ImageWrapperIcon(image);
+                        layer = ImageWrapperIcon.packed(image);
                         iconMap.put(key, layer);
                     }
                 }
@@ -118,7 +118,7 @@ public class RadioButtonMenuItemIcon implements Icon, UIResource {
                 baseBorderColorScheme.getDisplayName(), visibility, alpha);
         ImageWrapperIcon iconBase = iconMap.get(keyBase);
         if (iconBase == null) {
-            iconBase = new ImageWrapperIcon(SubstanceImageCreator.getRadioButton(
+            iconBase = ImageWrapperIcon.packed(SubstanceImageCreator.getRadioButton(
                     this.menuItem, fillPainter, borderPainter, checkMarkSize,
                     currState, 0, baseFillColorScheme, baseMarkColorScheme,
                     baseBorderColorScheme, visibility, alpha));
@@ -159,7 +159,7 @@ public class RadioButtonMenuItemIcon implements Icon, UIResource {
                         borderColorScheme.getDisplayName(), visibility, alpha);
                 ImageWrapperIcon iconLayer = iconMap.get(keyLayer);
                 if (iconLayer == null) {
-                    iconLayer = new ImageWrapperIcon(SubstanceImageCreator
+                    iconLayer = ImageWrapperIcon.packed(SubstanceImageCreator
                             .getRadioButton(this.menuItem, fillPainter,
                                     borderPainter, checkMarkSize, currState, 0,
                                     fillColorScheme, markColorScheme,
@@ -277,7 +277,7 @@ public class SubstanceIconFactory {
             if (this.isMirrorred)
                 stateImage = SubstanceImageCreator.getRotated(stateImage, 2);
 
-            return new ImageWrapperIcon(stateImage);
+            return ImageWrapperIcon.packed(stateImage);
         }
 
         @Override
@@ -440,7 +440,7 @@ public class SubstanceIconFactory {
             borderPainter.paintBorder(g2d, slider, width, this.size, contour, contourInner,
                     borderScheme);
 
-            return new ImageWrapperIcon(stateImage);
+            return ImageWrapperIcon.packed(stateImage);
         }
 
         @Override
@@ -622,7 +622,7 @@ public class SubstanceIconFactory {
                 stateImage = SubstanceImageCreator.getRotated(stateImage, 2);
             }
 
-            return new ImageWrapperIcon(stateImage);
+            return ImageWrapperIcon.packed(stateImage);
         }
 
         @Override
@@ -710,7 +710,7 @@ public class SubstanceIconFactory {
             if (result != null)
                 return result;
 
-            result = new ImageWrapperIcon(SubstanceImageCreator.getTreeIcon(tree, fillScheme,
+            result = ImageWrapperIcon.packed(SubstanceImageCreator.getTreeIcon(tree, fillScheme,
                     borderScheme, markScheme, isCollapsed));
             TreeIcon.icons.put(key, result);
 
@@ -39,7 +39,6 @@ import org.pushingpixels.trident.api.Timeline.TimelineState;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -78,89 +77,95 @@ public class GhostPaintingUtils {
     public static float DECAY_FACTOR = 1.0f;
 
     /**
-     * Cache of component ghost images. Used to speed up the rendering of the ghost effects.
+     * Largest scale of the ghost images. The component and the icon are rendered once at this
+     * scale when the ghosting starts, and every frame scales that image down.
      */
-    private static LinkedHashMap<String, BufferedImage> componentGhostCache = new LinkedHashMap<>() {
-        @Override
-        protected boolean removeEldestEntry(java.util.Map.Entry<String, BufferedImage> eldest) {
-            return this.size() > 50;
-        }
-    };
-
-    /**
-     * Cache of icon ghost images. Used to speed up the rendering of the ghost effects.
-     */
-    private static LinkedHashMap<String, BufferedImage> iconGhostCache = new LinkedHashMap<>() {
-        @Override
-        protected boolean removeEldestEntry(java.util.Map.Entry<String, BufferedImage> eldest) {
-            return this.size() > 50;
-        }
-    };
+    private static final double MAX_GHOST_SCALE = 2.0;
 
     /**
-     * Returns a scaled ghost image of the specified component.
+     * Returns the ghost image of the specified component, rendered at
+     * {@link #MAX_GHOST_SCALE}.
      * 
      * @param comp
      *            Component.
-     * @param scaleFactor
-     *            Scale factor.
-     * @return A scaled ghost image of the specified component.
+     * @return The ghost image of the specified component.
      */
-    protected static synchronized BufferedImage getComponentGhostImage(JComponent comp,
-            Timeline ghostPressTimeline, double scaleFactor) {
-        String key = ghostPressTimeline.getTimelinePosition() + ":" + comp.hashCode() + ":"
-                + scaleFactor;
-
-        BufferedImage result = componentGhostCache.get(key);
+    private static BufferedImage getComponentGhostImage(JComponent comp) {
+        GhostingListener gl = (GhostingListener) comp
+                .getClientProperty(GhostingListener.GHOST_LISTENER_KEY);
+        BufferedImage result = (gl == null) ? null : gl.getGhostComponentImage();
         if (result == null) {
             Rectangle bounds = comp.getBounds();
 
-            double iWidth = bounds.width * scaleFactor;
-            double iHeight = bounds.height * scaleFactor;
+            double iWidth = bounds.width * MAX_GHOST_SCALE;
+            double iHeight = bounds.height * MAX_GHOST_SCALE;
             result = SubstanceCoreUtilities.getBlankImage((int) iWidth, (int) iHeight);
             Graphics2D iGraphics = result.createGraphics();
-            iGraphics.scale(scaleFactor, scaleFactor);
+            iGraphics.scale(MAX_GHOST_SCALE, MAX_GHOST_SCALE);
             comp.paint(iGraphics);
             iGraphics.dispose();
 
-            componentGhostCache.put(key, result);
+            if (gl != null) {
+                gl.setGhostComponentImage(result);
+            }
         }
         return result;
     }
 
     /**
-     * Returns a scaled ghost image of the specified icon.
+     * Returns the ghost image of the specified icon, rendered at {@link #MAX_GHOST_SCALE}.
      * 
      * @param comp
      *            Component.
      * @param icon
      *            Icon.
-     * @param scaleFactor
-     *            Scale factor.
-     * @return A scaled ghost image of the specified icon.
+     * @return The ghost image of the specified icon.
      */
-    protected static synchronized BufferedImage getIconGhostImage(JComponent comp,
-            Timeline ghostRolloverTimeline, Icon icon, double scaleFactor) {
-        String key = ghostRolloverTimeline.getTimelinePosition() + ":" + comp.hashCode() + ":"
-                + icon.hashCode() + ":" + scaleFactor;
-
-        BufferedImage result = iconGhostCache.get(key);
+    private static BufferedImage getIconGhostImage(JComponent comp, Icon icon) {
+        GhostingListener gl = (GhostingListener) comp
+                .getClientProperty(GhostingListener.GHOST_LISTENER_KEY);
+        BufferedImage result = (gl == null) ? null : gl.getGhostIconImage(icon);
         if (result == null) {
-            int oWidth = icon.getIconWidth();
-            int oHeight = icon.getIconHeight();
-            double iWidth = oWidth * scaleFactor;
-            double iHeight = oHeight * scaleFactor;
+            double iWidth = icon.getIconWidth() * MAX_GHOST_SCALE;
+            double iHeight = icon.getIconHeight() * MAX_GHOST_SCALE;
             result = SubstanceCoreUtilities.getBlankImage((int) iWidth, (int) iHeight);
             Graphics2D iGraphics = result.createGraphics();
-            iGraphics.scale(scaleFactor, scaleFactor);
+            iGraphics.scale(MAX_GHOST_SCALE, MAX_GHOST_SCALE);
             icon.paintIcon(comp, iGraphics, 0, 0);
             iGraphics.dispose();
 
-            iconGhostCache.put(key, result);
+            if (gl != null) {
+                gl.setGhostIconImage(icon, result);
+            }
         }
         return result;
     }
 
+    /**
+     * Draws the ghost image scaled to the specified size.
+     * 
+     * @param graphics
+     *            Graphics context.
+     * @param ghost
+     *            Ghost image.
+     * @param x
+     *            X coordinate of the ghost image.
+     * @param y
+     *            Y coordinate of the ghost image.
+     * @param width
+     *            Width of the ghost image.
+     * @param height
+     *            Height of the ghost image.
+     */
+    private static void drawGhostImage(Graphics2D graphics, BufferedImage ghost, int x, int y,
+            int width, int height) {
+        Graphics2D g2d = (Graphics2D) graphics.create();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(ghost, x, y, width, height, null);
+        g2d.dispose();
+    }
+
     /**
      * Paints ghost images on the specified component.
      * 
@@ -231,10 +236,12 @@ public class GhostPaintingUtils {
 
                     Rectangle bounds = comp.getBounds();
 
-                    BufferedImage ghost = getComponentGhostImage(comp, timeline, iFactor);
-                    dx -= ((ghost.getWidth() - bounds.width) / 2);
-                    dy -= ((ghost.getHeight() - bounds.height) / 2);
-                    graphics.drawImage(ghost, dx, dy, null);
+                    int ghostWidth = (int) (bounds.width * iFactor);
+                    int ghostHeight = (int) (bounds.height * iFactor);
+                    dx -= ((ghostWidth - bounds.width) / 2);
+                    dy -= ((ghostHeight - bounds.height) / 2);
+                    drawGhostImage(graphics, getComponentGhostImage(comp), dx, dy,
+                            ghostWidth, ghostHeight);
                 }
             }
         }
@@ -280,25 +287,8 @@ public class GhostPaintingUtils {
 
                     if ((icon != null) && (iconRect != null)) {
                         double iFactor = 1.0 + fade;
-                        // double iWidth = icon.getIconWidth() * iFactor;
-                        // double iHeight = icon.getIconHeight() * iFactor;
-                        // BufferedImage iImage = WidgetUtilities
-                        // .getBlankImage((int) iWidth, (int) iHeight);
-                        // Graphics2D iGraphics = (Graphics2D) iImage
-                        // .createGraphics();
-                        // iGraphics.scale(iFactor, iFactor);
-                        // icon.paintIcon(comp, iGraphics, 0, 0);
-                        // iGraphics.dispose();
-
-                        BufferedImage iImage = getIconGhostImage(comp, timeline, icon, iFactor);
-
-                        // System.out.println(iconRect);
-
-                        // BufferedImage bImage = SubstanceCoreUtilities.blur(
-                        // iImage, 2);
-
-                        int iWidth = iImage.getWidth();
-                        int iHeight = iImage.getHeight();
+                        int iWidth = (int) (icon.getIconWidth() * iFactor);
+                        int iHeight = (int) (icon.getIconHeight() * iFactor);
                         dx -= ((iWidth - icon.getIconWidth()) / 2);
                         dy -= ((iHeight - icon.getIconHeight()) / 2);
 
@@ -310,7 +300,8 @@ public class GhostPaintingUtils {
                         graphics.setComposite(
                                 WidgetUtilities.getAlphaComposite(mainComponent, opFactor));
 
-                        graphics.drawImage(iImage, dx + iconRect.x, dy + iconRect.y, null);
+                        drawGhostImage(graphics, getIconGhostImage(comp, icon),
+                                dx + iconRect.x, dy + iconRect.y, iWidth, iHeight);
                     }
                 }
             }
@@ -381,11 +372,8 @@ public class GhostPaintingUtils {
             float fade = ghostRolloverTimeline.getTimelinePosition();
             if ((icon != null) && (iconRectangle != null)) {
                 double iFactor = 1.0 + fade;
-                BufferedImage iImage = getIconGhostImage((JComponent) b, ghostRolloverTimeline,
-                        icon, iFactor);
-
-                int iWidth = iImage.getWidth();
-                int iHeight = iImage.getHeight();
+                int iWidth = (int) (icon.getIconWidth() * iFactor);
+                int iHeight = (int) (icon.getIconHeight() * iFactor);
                 int dx = ((iWidth - icon.getIconWidth()) / 2);
                 int dy = ((iHeight - icon.getIconHeight()) / 2);
 
@@ -395,7 +383,8 @@ public class GhostPaintingUtils {
                 float opFactor = coef * (1.0f - DECAY_FACTOR * fade);
                 graphics.setComposite(WidgetUtilities.getAlphaComposite(b, opFactor));
 
-                graphics.drawImage(iImage, iconRectangle.x - dx, iconRectangle.y - dy, null);
+                drawGhostImage(graphics, getIconGhostImage((JComponent) b, icon),
+                        iconRectangle.x - dx, iconRectangle.y - dy, iWidth, iHeight);
             }
         }
     }
@@ -44,6 +44,7 @@ import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -82,6 +83,24 @@ public class GhostingListener {
 
     private Timeline ghostComponentPressedTimeline;
 
+    /**
+     * Image of the component rendered once per press ghosting at the largest ghost scale. The
+     * frames of the press ghosting scale this image down instead of painting the component.
+     */
+    private volatile BufferedImage ghostComponentImage;
+
+    /**
+     * Image of {@link #ghostIcon} rendered once per rollover ghosting at the largest ghost
+     * scale. The frames of the rollover ghosting scale this image down instead of painting the
+     * icon.
+     */
+    private volatile BufferedImage ghostIconImage;
+
+    /**
+     * The icon rendered in {@link #ghostIconImage}.
+     */
+    private volatile Icon ghostIcon;
+
     private static Map<JComponent, Timeline> runningGhostRolloverTimelines = new HashMap<>();
 
     private static Map<JComponent, Timeline> runningGhostPressTimelines = new HashMap<>();
@@ -195,6 +214,8 @@ public class GhostingListener {
                     synchronized (GhostingListener.class) {
                         runningGhostRolloverTimelines.values().remove(ghostIconRolloverTimeline);
                     }
+                    ghostIconImage = null;
+                    ghostIcon = null;
                 }
             }
         });
@@ -207,6 +228,7 @@ public class GhostingListener {
                     synchronized (GhostingListener.class) {
                         runningGhostPressTimelines.values().remove(ghostComponentPressedTimeline);
                     }
+                    ghostComponentImage = null;
                 }
             }
         });
@@ -234,12 +256,15 @@ public class GhostingListener {
                         synchronized (GhostingListener.class) {
                             runningGhostRolloverTimelines.put(comp, ghostIconRolloverTimeline);
                         }
+                        this.ghostIconImage = null;
+                        this.ghostIcon = null;
                         ghostIconRolloverTimeline.play();
                     }
                     if (animationFacet == AnimationFacet.GHOSTING_BUTTON_PRESS) {
                         synchronized (GhostingListener.class) {
                             runningGhostPressTimelines.put(comp, ghostComponentPressedTimeline);
                         }
+                        this.ghostComponentImage = null;
                         ghostComponentPressedTimeline.play();
                     }
                 }
@@ -290,4 +315,21 @@ public class GhostingListener {
     public Timeline getGhostIconRolloverTimeline() {
         return ghostIconRolloverTimeline;
     }
+
+    BufferedImage getGhostComponentImage() {
+        return this.ghostComponentImage;
+    }
+
+    void setGhostComponentImage(BufferedImage ghostComponentImage) {
+        this.ghostComponentImage = ghostComponentImage;
+    }
+
+    BufferedImage getGhostIconImage(Icon icon) {
+        return (icon == this.ghostIcon) ? this.ghostIconImage : null;
+    }
+
+    void setGhostIconImage(Icon icon, BufferedImage ghostIconImage) {
+        this.ghostIcon = icon;
+        this.ghostIconImage = ghostIconImage;
+    }
 }
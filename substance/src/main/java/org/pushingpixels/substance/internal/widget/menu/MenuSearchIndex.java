@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.pushingpixels.substance.internal.widget.menu;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ContainerEvent;
+import java.awt.event.ContainerListener;
+import java.beans.PropertyChangeListener;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Search index over the menu items of a menu bar. The index holds the lowercase text and the
+ * menu path of every menu (item), and a trigram posting list for substring lookups. It is
+ * built lazily on the first search and marked as stale by listeners on the indexed menus and
+ * menu items, so that changes to the menu structure or texts are picked up by the next search.
+ * A search for a query that contains the previous query only refines the previous matches.
+ * 
+ * <p>
+ * All methods must be called on the Event Dispatch Thread.
+ * </p>
+ */
+final class MenuSearchIndex {
+    /**
+     * Single indexed menu (item).
+     */
+    static final class Entry {
+        /**
+         * The menus leading to the menu (item).
+         */
+        final JMenu[] path;
+
+        /**
+         * The menu (item) itself.
+         */
+        final JMenuItem menuItem;
+
+        /**
+         * Lowercase text of the menu (item).
+         */
+        private final String text;
+
+        private Entry(JMenu[] path, JMenuItem menuItem, String text) {
+            this.path = path;
+            this.menuItem = menuItem;
+            this.text = text;
+        }
+    }
+
+    /**
+     * The indexed menu bar.
+     */
+    private final JMenuBar menuBar;
+
+    /**
+     * All indexed entries, in the depth-first order of the menu bar.
+     */
+    private final List<Entry> entries;
+
+    /**
+     * Trigram posting lists. The key packs three characters, and the value holds the ascending
+     * indices (in {@link #entries}) of the entries whose text contains the trigram.
+     */
+    private final Map<Long, IntList> trigrams;
+
+    /**
+     * The containers that are listened to for structural changes.
+     */
+    private final List<Container> trackedContainers;
+
+    /**
+     * The menu items that are listened to for text changes.
+     */
+    private final List<JMenuItem> trackedMenuItems;
+
+    /**
+     * Marks the index as stale on structural changes.
+     */
+    private final ContainerListener containerListener;
+
+    /**
+     * Marks the index as stale on text changes.
+     */
+    private final PropertyChangeListener textListener;
+
+    /**
+     * If <code>true</code>, the index needs to be rebuilt before the next search.
+     */
+    private boolean isStale;
+
+    /**
+     * The previous query, or <code>null</code> if there is none for the current index.
+     */
+    private String lastQuery;
+
+    /**
+     * Indices of the entries that matched {@link #lastQuery}.
+     */
+    private int[] lastMatches;
+
+    /**
+     * Creates a (stale) index over the specified menu bar.
+     * 
+     * @param menuBar
+     *            The menu bar.
+     */
+    MenuSearchIndex(JMenuBar menuBar) {
+        this.menuBar = menuBar;
+        this.entries = new ArrayList<>();
+        this.trigrams = new HashMap<>();
+        this.trackedContainers = new ArrayList<>();
+        this.trackedMenuItems = new ArrayList<>();
+        this.containerListener = new ContainerListener() {
+            @Override
+            public void componentAdded(ContainerEvent e) {
+                invalidate();
+            }
+
+            @Override
+            public void componentRemoved(ContainerEvent e) {
+                invalidate();
+            }
+        };
+        this.textListener = evt -> invalidate();
+        this.isStale = true;
+    }
+
+    /**
+     * Marks the index as stale. The next search rebuilds it.
+     */
+    void invalidate() {
+        this.isStale = true;
+        this.lastQuery = null;
+        this.lastMatches = null;
+    }
+
+    /**
+     * Returns all menus and menu items that contain the specified string.
+     * 
+     * @param query
+     *            Lowercase string to search.
+     * @return All matching entries, in the depth-first order of the menu bar.
+     */
+    List<Entry> search(String query) {
+        if (this.isStale) {
+            this.rebuild();
+        }
+
+        int[] candidates;
+        if ((this.lastQuery != null) && query.contains(this.lastQuery)) {
+            // the query has been refined - only the previous matches can match
+            candidates = this.lastMatches;
+        } else {
+            candidates = this.getCandidates(query);
+        }
+
+        IntList matches = new IntList(Math.min(candidates.length, 64));
+        for (int candidate : candidates) {
+            if (this.entries.get(candidate).text.contains(query)) {
+                matches.add(candidate);
+            }
+        }
+        this.lastQuery = query;
+        this.lastMatches = matches.toArray();
+
+        List<Entry> result = new ArrayList<>(this.lastMatches.length);
+        for (int match : this.lastMatches) {
+            result.add(this.entries.get(match));
+        }
+        return result;
+    }
+
+    /**
+     * Stops listening to the indexed menus and drops the index.
+     */
+    void dispose() {
+        this.untrack();
+        this.entries.clear();
+        this.trigrams.clear();
+        this.invalidate();
+    }
+
+    /**
+     * Returns the indices of the entries that can contain the specified string. For strings of
+     * at least three characters this is the shortest posting list among the string trigrams.
+     */
+    private int[] getCandidates(String query) {
+        if (query.length() < 3) {
+            int[] all = new int[this.entries.size()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        IntList shortest = null;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            IntList postings = this.trigrams.get(getTrigram(query, i));
+            if (postings == null) {
+                return new int[0];
+            }
+            if ((shortest == null) || (postings.size < shortest.size)) {
+                shortest = postings;
+            }
+        }
+        return shortest.toArray();
+    }
+
+    private void rebuild() {
+        this.untrack();
+        this.entries.clear();
+        this.trigrams.clear();
+
+        this.track(this.menuBar);
+        Deque<JMenu> currentPath = new ArrayDeque<>();
+        for (int i = 0; i < this.menuBar.getComponentCount(); i++) {
+            Component component = this.menuBar.getComponent(i);
+            if (component instanceof JMenu) {
+                this.index(currentPath, (JMenu) component);
+            }
+        }
+        this.isStale = false;
+        this.lastQuery = null;
+        this.lastMatches = null;
+    }
+
+    private void index(Deque<JMenu> currentPath, JMenuItem menuItem) {
+        String menuItemText = menuItem.getText();
+        String text = (menuItemText == null) ? "" : menuItemText.toLowerCase();
+        int entryIndex = this.entries.size();
+        this.entries.add(new Entry(currentPath.toArray(new JMenu[0]), menuItem, text));
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            IntList postings = this.trigrams.computeIfAbsent(getTrigram(text, i),
+                    key -> new IntList(4));
+            // a trigram can repeat within the same text
+            if ((postings.size == 0) || (postings.values[postings.size - 1] != entryIndex)) {
+                postings.add(entryIndex);
+            }
+        }
+        menuItem.addPropertyChangeListener(AbstractButton.TEXT_CHANGED_PROPERTY,
+                this.textListener);
+        this.trackedMenuItems.add(menuItem);
+
+        if (menuItem instanceof JMenu) {
+            JMenu menu = (JMenu) menuItem;
+            this.track(menu.getPopupMenu());
+            currentPath.addLast(menu);
+            for (int i = 0; i < menu.getMenuComponentCount(); i++) {
+                Component menuComponent = menu.getMenuComponent(i);
+                if (menuComponent instanceof JMenuItem) {
+                    this.index(currentPath, (JMenuItem) menuComponent);
+                }
+            }
+            currentPath.removeLast();
+        }
+    }
+
+    private void track(Container container) {
+        container.addContainerListener(this.containerListener);
+        this.trackedContainers.add(container);
+    }
+
+    private void untrack() {
+        for (Container container : this.trackedContainers) {
+            container.removeContainerListener(this.containerListener);
+        }
+        this.trackedContainers.clear();
+        for (JMenuItem menuItem : this.trackedMenuItems) {
+            menuItem.removePropertyChangeListener(AbstractButton.TEXT_CHANGED_PROPERTY,
+                    this.textListener);
+        }
+        this.trackedMenuItems.clear();
+    }
+
+    private static long getTrigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16)
+                | text.charAt(start + 2);
+    }
+
+    /**
+     * Growable list of primitive ints.
+     */
+    private static final class IntList {
+        private int[] values;
+        private int size;
+
+        private IntList(int capacity) {
+            this.values = new int[Math.max(capacity, 1)];
+        }
+
+        private void add(int value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(this.values, this.size);
+        }
+    }
+}
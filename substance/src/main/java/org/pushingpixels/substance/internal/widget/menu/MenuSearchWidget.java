@@ -45,10 +45,8 @@ import java.awt.*;
 import java.awt.event.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.ResourceBundle;
+import java.util.*;
+import java.util.List;
 
 /**
  * Adds menu search panel to menu bars.
@@ -88,10 +86,26 @@ public class MenuSearchWidget extends SubstanceWidget<JMenuBar> {
         private JTextField searchStringField;
 
         /**
-         * The result buttons. Key is {@link Integer}, value is {@link JButton}.
+         * The shown result buttons. Key is {@link Integer}, value is {@link JButton}.
          */
         private Map<Integer, JButton> resultButtons;
 
+        /**
+         * All the result buttons created so far, reused across searches. The button at index
+         * <code>i</code> shows the result number <code>i + 1</code>.
+         */
+        private List<JButton> resultButtonPool;
+
+        /**
+         * The action listeners of the buttons in {@link #resultButtonPool}.
+         */
+        private List<SearchResultListener> resultListenerPool;
+
+        /**
+         * Search index over the menu items of the associated menu bar.
+         */
+        private MenuSearchIndex searchIndex;
+
         /**
          * Simple constructor.
          * 
@@ -151,6 +165,9 @@ public class MenuSearchWidget extends SubstanceWidget<JMenuBar> {
             // Map to hold the result buttons (need for the icon reset
             // on theme change and layout manager).
             this.resultButtons = new HashMap<>();
+            this.resultButtonPool = new ArrayList<>();
+            this.resultListenerPool = new ArrayList<>();
+            this.searchIndex = new MenuSearchIndex(menuBar);
             this.searchStringField.addActionListener((ActionEvent e) -> {
                 String searchString = SearchPanel.this.searchStringField.getText().toLowerCase();
                 // See if there is at least one non-white space character.
@@ -159,45 +176,37 @@ public class MenuSearchWidget extends SubstanceWidget<JMenuBar> {
                     return;
                 }
 
-                // remove all old buttons
-                for (JButton toRemove : SearchPanel.this.resultButtons.values()) {
-                    SearchPanel.this.remove(toRemove);
-                }
-                SearchPanel.this.resultButtons.clear();
                 // find all matching menu items / menus
-                LinkedList<SearchResult> searchResults = SearchPanel.this
-                        .findOccurences(searchString);
-                int count = 0;
-                for (SearchResult searchResult : searchResults) {
-                    // show only first 16 results.
-                    if (count == 16)
-                        break;
-                    // create new button with binary icon
-                    JButton resultButton = new JButton();
-                    final int finalCount = count;
-                    resultButton.setIcon(new TransitionAwareIcon(resultButton,
-                            () -> (TransitionAwareUI) resultButton.getUI(),
-                            (SubstanceColorScheme scheme) -> SubstanceImageCreator
-                                    .getHexaMarker((finalCount + 1), scheme),
-                            (ComponentState state) -> state
-                                    .isFacetActive(ComponentStateFacet.ROLLOVER)
-                                            ? ColorSchemeAssociationKind.HIGHLIGHT
-                                            : ColorSchemeAssociationKind.MARK,
-                            "substance.widget.menusearch." + (finalCount + 1)));
-
-                    // set action listener (to show the menu).
-                    resultButton.addActionListener(new SearchResultListener(searchResult));
+                List<MenuSearchIndex.Entry> matches =
+                        SearchPanel.this.searchIndex.search(searchString);
+                // show only first 16 results.
+                int count = Math.min(matches.size(), 16);
+                for (int i = 0; i < count; i++) {
+                    MenuSearchIndex.Entry match = matches.get(i);
+                    SearchResult searchResult = new SearchResult(jcomp, Arrays.asList(match.path),
+                            match.menuItem);
+                    JButton resultButton = SearchPanel.this.getResultButton(i);
+                    SearchPanel.this.resultListenerPool.get(i).searchResult = searchResult;
                     // check if the path to the menu (item) has
                     // only enabled items.
                     resultButton.setEnabled(searchResult.isEnabled());
-                    SearchPanel.this.add(resultButton);
-                    SearchPanel.this.resultButtons.put(Integer.valueOf(count + 1), resultButton);
                     resultButton.setToolTipText("<html><body><b>"
                             + searchResult.toString() + "</b><br>" + SubstanceCortex.GlobalScope
                                     .getLabelBundle().getString("Tooltip.menuSearchTooltip")
                             + "</html>");
-                    SubstanceCoreUtilities.markButtonAsFlat(resultButton);
-                    count++;
+                    if (resultButton.getParent() != SearchPanel.this) {
+                        resultButton.setVisible(true);
+                        SearchPanel.this.add(resultButton);
+                    }
+                    SearchPanel.this.resultButtons.put(Integer.valueOf(i + 1), resultButton);
+                }
+                // remove the buttons of the previous results that are not needed anymore
+                for (int i = count; i < SearchPanel.this.resultButtonPool.size(); i++) {
+                    JButton toRemove = SearchPanel.this.resultButtonPool.get(i);
+                    if (toRemove.getParent() == SearchPanel.this) {
+                        SearchPanel.this.remove(toRemove);
+                    }
+                    SearchPanel.this.resultButtons.remove(Integer.valueOf(i + 1));
                 }
                 SearchPanel.this.repaint();
                 jcomp.revalidate();
@@ -205,63 +214,36 @@ public class MenuSearchWidget extends SubstanceWidget<JMenuBar> {
         }
 
         /**
-         * Returns all occurences of the specified string in the menus and menu items of the
-         * associated menu bar.
+         * Returns the result button at the specified position, creating it (along with its
+         * action listener) on first use.
          * 
-         * @param searchPattern
-         *            Pattern to search (no wildcards yet).
-         * @return All occurences of the specified string in the menus and menu items of the
-         *         associated menu bar.
+         * @param index
+         *            Zero-based position of the result button.
+         * @return The result button at the specified position.
          */
-        private LinkedList<SearchResult> findOccurences(String searchPattern) {
-            LinkedList<SearchResult> result = new LinkedList<>();
-
-            LinkedList<JMenu> currentPath = new LinkedList<>();
-
-            for (int i = 0; i < jcomp.getComponentCount(); i++) {
-                Component component = jcomp.getComponent(i);
-                if (component instanceof JMenu) {
-                    JMenu menu = (JMenu) component;
-                    this.checkMenu(currentPath, menu, searchPattern, result);
-                }
-            }
-
-            return result;
-        }
-
-        /**
-         * Recursively scans the specified menu (item) and updates the list that contains all
-         * occurences of the specified string in the contained menus and menu items.
-         * 
-         * @param currentPath
-         *            The path to the current menu (item). Contains {@link JMenu}s.
-         * @param menuItem
-         *            The menu (item) itself that is being tested.
-         * @param searchPattern
-         *            Pattern to search (no wildcards yet).
-         * @param matchingResults
-         *            All occurences of the specified string up until now. After <code>this</code>
-         *            function returns, will also contain all occurences of the specified string in
-         *            the contained menu (item)s. Contains {@link SearchResult}s.
-         */
-        private void checkMenu(LinkedList<JMenu> currentPath, JMenuItem menuItem,
-                String searchPattern, LinkedList<SearchResult> matchingResults) {
-            String menuItemText = menuItem.getText();
-            if (menuItemText.toLowerCase().contains(searchPattern)) {
-                matchingResults.addLast(new SearchResult(jcomp, currentPath, menuItem));
-            }
-            if (menuItem instanceof JMenu) {
-                JMenu menu = (JMenu) menuItem;
-                currentPath.addLast(menu);
-                for (int i = 0; i < menu.getMenuComponentCount(); i++) {
-                    Component menuComponent = menu.getMenuComponent(i);
-                    if (menuComponent instanceof JMenuItem) {
-                        JMenuItem childItem = (JMenuItem) menuComponent;
-                        this.checkMenu(currentPath, childItem, searchPattern, matchingResults);
-                    }
-                }
-                currentPath.removeLast();
+        private JButton getResultButton(int index) {
+            while (this.resultButtonPool.size() <= index) {
+                // create new button with binary icon
+                JButton resultButton = new JButton();
+                final int finalCount = this.resultButtonPool.size();
+                resultButton.setIcon(new TransitionAwareIcon(resultButton,
+                        () -> (TransitionAwareUI) resultButton.getUI(),
+                        (SubstanceColorScheme scheme) -> SubstanceImageCreator
+                                .getHexaMarker((finalCount + 1), scheme),
+                        (ComponentState state) -> state
+                                .isFacetActive(ComponentStateFacet.ROLLOVER)
+                                        ? ColorSchemeAssociationKind.HIGHLIGHT
+                                        : ColorSchemeAssociationKind.MARK,
+                        "substance.widget.menusearch." + (finalCount + 1)));
+
+                // set action listener (to show the menu).
+                SearchResultListener resultListener = new SearchResultListener(null);
+                resultButton.addActionListener(resultListener);
+                SubstanceCoreUtilities.markButtonAsFlat(resultButton);
+                this.resultButtonPool.add(resultButton);
+                this.resultListenerPool.add(resultListener);
             }
+            return this.resultButtonPool.get(index);
         }
 
         @Override
@@ -289,7 +271,7 @@ public class MenuSearchWidget extends SubstanceWidget<JMenuBar> {
      */
     private static class SearchResultListener implements ActionListener {
         /**
-         * The associated search result.
+         * The associated search result. Updated when the result button is reused.
          */
         private SearchResult searchResult;
 
@@ -306,6 +288,8 @@ public class MenuSearchWidget extends SubstanceWidget<JMenuBar> {
 
         @Override
         public void actionPerformed(ActionEvent e) {
+            if (this.searchResult == null)
+                return;
             // start opening the menus
             MenuElement[] menuElements = this.searchResult.menuElements;
             MenuSelectionManager.defaultManager().setSelectedPath(menuElements);
@@ -334,7 +318,7 @@ public class MenuSearchWidget extends SubstanceWidget<JMenuBar> {
          * @param menuLeaf
          *            The menu (item) that matches the search pattern string.
          */
-        public SearchResult(JMenuBar menuBar, LinkedList<JMenu> menuPath, JMenuItem menuLeaf) {
+        public SearchResult(JMenuBar menuBar, List<JMenu> menuPath, JMenuItem menuLeaf) {
             int count = 1;
             if (menuPath != null)
                 count += 2 * menuPath.size();
@@ -497,6 +481,7 @@ public class MenuSearchWidget extends SubstanceWidget<JMenuBar> {
 
     @Override
     public void uninstallUI() {
+        this.searchPanel.searchIndex.dispose();
         this.jcomp.remove(this.searchPanel);
         super.uninstallUI();
     }
@@ -534,9 +519,9 @@ public class MenuSearchWidget extends SubstanceWidget<JMenuBar> {
     private void reset() {
         if (searchPanel == null)
             return;
-        for (Map.Entry<Integer, JButton> entry : searchPanel.resultButtons.entrySet()) {
-            int index = entry.getKey();
-            JButton button = entry.getValue();
+        for (int i = 0; i < searchPanel.resultButtonPool.size(); i++) {
+            int index = i + 1;
+            JButton button = searchPanel.resultButtonPool.get(i);
 
             button.setIcon(new TransitionAwareIcon(button, () -> (TransitionAwareUI) button.getUI(),
                     (SubstanceColorScheme scheme) -> SubstanceImageCreator.getHexaMarker(index,
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.skin.BusinessSkin;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Shared setup for the benchmarks. Substance requires skins to be set and components to be
+ * created on the Event Dispatch Thread, so all the fixtures are created with
+ * {@link #onEdt(Supplier)}. The measured code itself runs on the benchmark thread, which is
+ * fine as long as the fixtures are not shown on the screen.
+ */
+final class BenchmarkSupport {
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Runs the specified supplier on the Event Dispatch Thread and returns its result.
+     */
+    static <T> T onEdt(Supplier<T> supplier) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            return supplier.get();
+        }
+        AtomicReference<T> result = new AtomicReference<>();
+        try {
+            SwingUtilities.invokeAndWait(() -> result.set(supplier.get()));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ie);
+        } catch (InvocationTargetException ite) {
+            throw new IllegalStateException(ite.getCause());
+        }
+        return result.get();
+    }
+
+    /**
+     * Installs Substance with the Business skin if it is not the current look-and-feel yet.
+     */
+    static void installSkin() {
+        onEdt(() -> {
+            if (SubstanceCortex.GlobalScope.getCurrentSkin() == null) {
+                SubstanceCortex.GlobalScope.setSkin(new BusinessSkin());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Creates the graphics context of a new offscreen image of the specified size. The
+     * returned graphics has antialiasing enabled to match the rendering setup of the Substance
+     * delegates.
+     */
+    static Graphics2D createOffscreenGraphics(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g2d;
+    }
+
+    /**
+     * Creates the content of a demo window with the commonly used Swing components.
+     */
+    static JComponent createDemoContent() {
+        JToolBar toolBar = new JToolBar();
+        toolBar.add(new JButton("New"));
+        toolBar.add(new JToggleButton("Bold"));
+        toolBar.addSeparator();
+        toolBar.add(new JComboBox<>(new String[] { "Serif", "Sans" }));
+
+        JPanel form = new JPanel(new GridLayout(0, 2, 4, 4));
+        form.add(new JLabel("Name"));
+        form.add(new JTextField("Radiance"));
+        form.add(new JLabel("Password"));
+        form.add(new JPasswordField("secret"));
+        form.add(new JCheckBox("Remember me", true));
+        form.add(new JRadioButton("Default"));
+        form.add(new JLabel("Size"));
+        form.add(new JSpinner(new SpinnerNumberModel(12, 8, 72, 1)));
+        form.add(new JSlider());
+        form.add(new JProgressBar(0, 100));
+
+        String[] items = new String[50];
+        String[][] cells = new String[50][3];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = "Item " + i;
+            cells[i] = new String[] { "Cell " + i, "Value " + i, "Note " + i };
+        }
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Table", new JScrollPane(
+                new JTable(cells, new String[] { "Name", "Value", "Note" })));
+        tabs.addTab("List", new JScrollPane(new JList<>(items)));
+        tabs.addTab("Tree", new JScrollPane(new JTree()));
+        tabs.addTab("Text", new JScrollPane(new JTextArea("Radiance", 5, 20)));
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, form, tabs);
+
+        JPanel content = new JPanel(new BorderLayout());
+        content.add(toolBar, BorderLayout.NORTH);
+        content.add(splitPane, BorderLayout.CENTER);
+        return content;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.substance.internal.utils.ButtonBackgroundDelegate;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ButtonBackgroundDelegate#updateBackground(Graphics, AbstractButton)} for a
+ * button in a steady state. After the first invocation the background comes from the cache
+ * of the delegate, so this mostly measures the key computation, the cache lookup and the
+ * drawing of the cached image.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ButtonBackgroundBenchmark {
+    @Param({ "false", "true" })
+    public boolean rollover;
+
+    @Param({ "80", "300" })
+    public int width;
+
+    private JButton button;
+
+    private ButtonBackgroundDelegate delegate;
+
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() throws InterruptedException {
+        BenchmarkSupport.installSkin();
+        this.button = BenchmarkSupport.onEdt(() -> {
+            JButton result = new JButton("Button");
+            result.setSize(this.width, result.getPreferredSize().height);
+            result.getModel().setRollover(this.rollover);
+            return result;
+        });
+        // Let the rollover transition run to completion so that the measured painting
+        // is done in the steady state
+        Thread.sleep(500);
+        this.delegate = new ButtonBackgroundDelegate();
+        this.graphics = BenchmarkSupport.createOffscreenGraphics(this.button.getWidth(),
+                this.button.getHeight());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.graphics.dispose();
+    }
+
+    @Benchmark
+    public void updateBackground() {
+        this.delegate.updateBackground(this.graphics, this.button);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
+import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
+import org.pushingpixels.substance.internal.utils.SubstanceColorSchemeUtilities;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the color scheme resolution of a button for the most common component states.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ColorSchemeBenchmark {
+    @Param({ "ENABLED", "ROLLOVER_UNSELECTED", "SELECTED", "PRESSED_SELECTED",
+            "DISABLED_UNSELECTED" })
+    public String stateName;
+
+    private JButton button;
+
+    private ComponentState state;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkSupport.installSkin();
+        this.button = BenchmarkSupport.onEdt(() -> {
+            JButton result = new JButton("Button");
+            new JPanel().add(result);
+            return result;
+        });
+        this.state = (ComponentState) ComponentState.class.getField(this.stateName).get(null);
+    }
+
+    @Benchmark
+    public SubstanceColorScheme fillScheme() {
+        return SubstanceColorSchemeUtilities.getColorScheme(this.button, this.state);
+    }
+
+    @Benchmark
+    public SubstanceColorScheme borderScheme() {
+        return SubstanceColorSchemeUtilities.getColorScheme(this.button,
+                ColorSchemeAssociationKind.BORDER, this.state);
+    }
+
+    @Benchmark
+    public float highlightAlpha() {
+        return SubstanceColorSchemeUtilities.getAlpha(this.button, this.state);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.flamingo.api.common.AbstractCommandButton;
+import org.pushingpixels.flamingo.api.common.CommandButtonLayoutManager;
+import org.pushingpixels.flamingo.api.common.CommandButtonPresentationState;
+import org.pushingpixels.flamingo.api.common.icon.EmptyResizableIcon;
+import org.pushingpixels.flamingo.api.common.model.Command;
+import org.pushingpixels.flamingo.api.common.model.CommandButtonPresentationModel;
+import org.pushingpixels.substance.internal.svg.ic_add_circle_black_24px;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the layout and the painting of Flamingo command buttons in the specified
+ * presentation state. The layout is computed with a fresh call to the layout manager of the
+ * presentation state, bypassing the layout info cached by the button UI delegate.
+ *
+ * <p>The command button layout managers create Swing components as part of their
+ * computations, so the measured code runs on the Event Dispatch Thread, in batches to
+ * amortize the cost of the hand-off.</p>
+ *
+ * <p>{@link RibbonResize} measures a ribbon resize scenario through the public button API,
+ * including the caches of the button UI delegate.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CommandButtonBenchmark {
+    private static final int BATCH_SIZE = 100;
+
+    @Param({ "BIG", "TILE", "MEDIUM", "SMALL" })
+    public String presentationStateName;
+
+    private AbstractCommandButton commandButton;
+
+    private CommandButtonLayoutManager layoutManager;
+
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() throws Exception {
+        BenchmarkSupport.installSkin();
+        CommandButtonPresentationState presentationState = (CommandButtonPresentationState)
+                CommandButtonPresentationState.class.getField(this.presentationStateName)
+                        .get(null);
+        this.commandButton = BenchmarkSupport.onEdt(() -> {
+            Command command = Command.builder()
+                    .setText("Paste")
+                    .setExtraText("Paste the clipboard contents")
+                    .setIconFactory(ic_add_circle_black_24px.factory())
+                    .setAction(commandActionEvent -> {})
+                    .build();
+            AbstractCommandButton result = command.project(
+                    CommandButtonPresentationModel.builder()
+                            .setPresentationState(presentationState)
+                            .build()).buildComponent();
+            result.setSize(result.getPreferredSize());
+            new JPanel().add(result);
+            return result;
+        });
+        this.layoutManager = presentationState.createLayoutManager(this.commandButton);
+        this.graphics = BenchmarkSupport.createOffscreenGraphics(this.commandButton.getWidth(),
+                this.commandButton.getHeight());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.graphics.dispose();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int preferredSize() {
+        return BenchmarkSupport.onEdt(() -> {
+            int result = 0;
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                result += this.layoutManager.getPreferredSize(this.commandButton).width;
+            }
+            return result;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int layoutInfo() {
+        return BenchmarkSupport.onEdt(() -> {
+            int result = 0;
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                result += this.layoutManager.getLayoutInfo(this.commandButton)
+                        .actionClickArea.width;
+            }
+            return result;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void paint() {
+        BenchmarkSupport.onEdt(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                this.commandButton.paint(this.graphics);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Measures a single step of resizing a ribbon with 300 command buttons. Each step switches
+     * every button to the next of the big, medium and small presentation states, queries its
+     * preferred size 5 times (as the ribbon band resize policies do), sets its bounds, paints
+     * it and queries its layout info 3 times (as painting and hit testing do).
+     */
+    @State(Scope.Thread)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+    public static class RibbonResize {
+        private static final int BUTTON_COUNT = 300;
+
+        private static final CommandButtonPresentationState[] RESIZE_STATES = {
+                CommandButtonPresentationState.BIG, CommandButtonPresentationState.MEDIUM,
+                CommandButtonPresentationState.SMALL };
+
+        private List<AbstractCommandButton> commandButtons;
+
+        private Graphics2D graphics;
+
+        private int step;
+
+        @Setup
+        public void setup() {
+            BenchmarkSupport.installSkin();
+            this.commandButtons = BenchmarkSupport.onEdt(() -> {
+                List<AbstractCommandButton> result = new ArrayList<>(BUTTON_COUNT);
+                JPanel host = new JPanel(null);
+                for (int i = 0; i < BUTTON_COUNT; i++) {
+                    Command command = Command.builder()
+                            .setText("Paste special " + i + " option")
+                            .setIconFactory(EmptyResizableIcon.factory())
+                            .setAction(commandActionEvent -> {})
+                            .build();
+                    AbstractCommandButton commandButton = command.project(
+                            CommandButtonPresentationModel.builder()
+                                    .setPresentationState(CommandButtonPresentationState.BIG)
+                                    .build()).buildComponent();
+                    host.add(commandButton);
+                    result.add(commandButton);
+                }
+                return result;
+            });
+            this.graphics = BenchmarkSupport.createOffscreenGraphics(200, 200);
+        }
+
+        @TearDown
+        public void tearDown() {
+            this.graphics.dispose();
+        }
+
+        @Benchmark
+        public int resizeStep() {
+            CommandButtonPresentationState presentationState =
+                    RESIZE_STATES[this.step++ % RESIZE_STATES.length];
+            return BenchmarkSupport.onEdt(() -> {
+                int result = 0;
+                for (AbstractCommandButton commandButton : this.commandButtons) {
+                    commandButton.setPresentationState(presentationState);
+                    for (int i = 0; i < 4; i++) {
+                        result += commandButton.getPreferredSize().width;
+                    }
+                    Dimension preferredSize = commandButton.getPreferredSize();
+                    commandButton.setBounds(0, 0, preferredSize.width, preferredSize.height);
+                    commandButton.paint(this.graphics);
+                    for (int i = 0; i < 3; i++) {
+                        result += commandButton.getUI().getLayoutInfo().actionClickArea.width;
+                    }
+                }
+                return result;
+            });
+        }
+    }
+}
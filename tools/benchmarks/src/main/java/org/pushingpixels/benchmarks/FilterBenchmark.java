@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.neon.api.filter.NeonAbstractFilter;
+import org.pushingpixels.neon.internal.ColorFilter;
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
+import org.pushingpixels.substance.internal.utils.filters.ColorSchemeFilter;
+import org.pushingpixels.substance.internal.utils.filters.GrayscaleFilter;
+import org.pushingpixels.substance.internal.utils.filters.TranslucentFilter;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link NeonAbstractFilter} image filters used for icon theming and for the
+ * disabled / translucent visuals, on an image of the specified size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class FilterBenchmark {
+    @Param({ "colorScheme", "grayscale", "translucent", "color" })
+    public String filterName;
+
+    @Param({ "16", "64", "256" })
+    public int size;
+
+    private NeonAbstractFilter filter;
+
+    private BufferedImage source;
+
+    private BufferedImage destination;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.installSkin();
+        switch (this.filterName) {
+            case "colorScheme":
+                this.filter = ColorSchemeFilter.getColorSchemeFilter(
+                        SubstanceCortex.GlobalScope.getCurrentSkin().getActiveColorScheme(
+                                DecorationAreaType.NONE), 0.5f);
+                break;
+            case "grayscale":
+                this.filter = new GrayscaleFilter();
+                break;
+            case "translucent":
+                this.filter = new TranslucentFilter(0.5);
+                break;
+            case "color":
+                this.filter = new ColorFilter(Color.red);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown filter " + this.filterName);
+        }
+
+        this.source = new BufferedImage(this.size, this.size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = this.source.createGraphics();
+        g2d.setPaint(new GradientPaint(0, 0, new Color(40, 90, 200, 255), this.size,
+                this.size, new Color(240, 160, 20, 64)));
+        g2d.fillOval(0, 0, this.size, this.size);
+        g2d.dispose();
+        this.destination = this.filter.createCompatibleDestImage(this.source, null);
+    }
+
+    @Benchmark
+    public BufferedImage filter() {
+        return this.filter.filter(this.source, null);
+    }
+
+    @Benchmark
+    public BufferedImage filterIntoDestination() {
+        return this.filter.filter(this.source, this.destination);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.internal.utils.HashMapKey;
+import org.pushingpixels.substance.internal.utils.LazyResettableHashMap;
+import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of cache keys with {@link SubstanceCoreUtilities#getHashKey(Object...)}
+ * and the lookup of these keys in a {@link LazyResettableHashMap}. The key parts mirror the
+ * ones used by the background caches of the Substance delegates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class HashKeyBenchmark {
+    private static final int ENTRIES = 256;
+
+    private LazyResettableHashMap<Object> cache;
+
+    private int width;
+
+    @Setup
+    public void setup() {
+        this.cache = new LazyResettableHashMap<>("HashKeyBenchmark");
+        for (int i = 0; i < ENTRIES; i++) {
+            this.cache.put(this.createKey(i), new Object());
+        }
+        this.width = ENTRIES / 2;
+    }
+
+    private HashMapKey createKey(int width) {
+        return SubstanceCoreUtilities.getHashKey(width, 24, ComponentState.ROLLOVER_UNSELECTED,
+                "Business", 2.0f, true, false);
+    }
+
+    @Benchmark
+    public HashMapKey createHashKey() {
+        return this.createKey(this.width);
+    }
+
+    @Benchmark
+    public Object cacheHit() {
+        return this.cache.get(this.createKey(this.width));
+    }
+
+    @Benchmark
+    public Object cacheMiss() {
+        return this.cache.get(this.createKey(ENTRIES + this.width));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.neon.api.icon.ResizableIcon;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the painting of transcoded SVG icons bundled with Substance into an offscreen
+ * image, at the specified icon size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class IconPaintBenchmark {
+    @Param({ "ic_add_circle_black_24px", "ic_adjust_black_24px", "autoscroll_all" })
+    public String iconName;
+
+    @Param({ "16", "48" })
+    public int size;
+
+    private ResizableIcon icon;
+
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() throws Exception {
+        Class<?> iconClass = Class.forName("org.pushingpixels.substance.internal.svg."
+                + this.iconName);
+        this.icon = (ResizableIcon) iconClass.getMethod("of", int.class, int.class)
+                .invoke(null, this.size, this.size);
+        this.graphics = BenchmarkSupport.createOffscreenGraphics(this.size, this.size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.graphics.dispose();
+    }
+
+    @Benchmark
+    public void paintIcon() {
+        this.icon.paintIcon(null, this.graphics, 0, 0);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.substance.api.ComponentState;
+import org.pushingpixels.substance.api.SubstanceSlices.ColorSchemeAssociationKind;
+import org.pushingpixels.substance.api.colorscheme.SubstanceColorScheme;
+import org.pushingpixels.substance.api.painter.border.SubstanceBorderPainter;
+import org.pushingpixels.substance.api.painter.fill.SubstanceFillPainter;
+import org.pushingpixels.substance.internal.utils.SubstanceColorSchemeUtilities;
+import org.pushingpixels.substance.internal.utils.SubstanceCoreUtilities;
+import org.pushingpixels.substance.internal.utils.SubstanceOutlineUtilities;
+import org.pushingpixels.substance.internal.utils.SubstanceSizeUtils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the rendering of the fill and border painters of the current skin into an offscreen
+ * image. No caching is involved, so this is the cost paid by the delegates on every cache
+ * miss.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PainterBenchmark {
+    @Param({ "80x24", "400x200" })
+    public String size;
+
+    private JButton button;
+
+    private Graphics2D graphics;
+
+    private int width;
+
+    private int height;
+
+    private Shape contour;
+
+    private Shape innerContour;
+
+    private SubstanceFillPainter fillPainter;
+
+    private SubstanceBorderPainter borderPainter;
+
+    private SubstanceColorScheme fillScheme;
+
+    private SubstanceColorScheme borderScheme;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.installSkin();
+        String[] dimensions = this.size.split("x");
+        this.width = Integer.parseInt(dimensions[0]);
+        this.height = Integer.parseInt(dimensions[1]);
+        this.button = BenchmarkSupport.onEdt(() -> new JButton("Button"));
+        this.graphics = BenchmarkSupport.createOffscreenGraphics(this.width, this.height);
+
+        float radius = SubstanceSizeUtils.getClassicButtonCornerRadius(
+                SubstanceSizeUtils.getComponentFontSize(this.button));
+        float borderDelta = SubstanceSizeUtils.getBorderStrokeWidth();
+        this.contour = SubstanceOutlineUtilities.getBaseOutline(this.width, this.height,
+                radius, null, borderDelta / 2.0f);
+        this.innerContour = SubstanceOutlineUtilities.getBaseOutline(this.width, this.height,
+                radius - borderDelta, null, 3.0f * borderDelta / 2.0f);
+
+        this.fillPainter = SubstanceCoreUtilities.getFillPainter(this.button);
+        this.borderPainter = SubstanceCoreUtilities.getBorderPainter(this.button);
+        this.fillScheme = SubstanceColorSchemeUtilities.getColorScheme(this.button,
+                ComponentState.ROLLOVER_UNSELECTED);
+        this.borderScheme = SubstanceColorSchemeUtilities.getColorScheme(this.button,
+                ColorSchemeAssociationKind.BORDER, ComponentState.ROLLOVER_UNSELECTED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.graphics.dispose();
+    }
+
+    @Benchmark
+    public void fill() {
+        this.fillPainter.paintContourBackground(this.graphics, this.button, this.width,
+                this.height, this.contour, false, this.fillScheme, true);
+    }
+
+    @Benchmark
+    public void border() {
+        this.borderPainter.paintBorder(this.graphics, this.button, this.width, this.height,
+                this.contour, this.innerContour, this.borderScheme);
+    }
+}
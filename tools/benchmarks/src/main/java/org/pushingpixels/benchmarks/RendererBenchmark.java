@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.swing.*;
+import javax.swing.table.TableCellRenderer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the preparation of the default Substance table and list cell renderers, with one
+ * selected row and without any active animations. Each invocation passes all the cells of the
+ * component through the renderer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RendererBenchmark {
+    private static final int ROWS = 100;
+
+    private static final int COLUMNS = 5;
+
+    private JTable table;
+
+    private JList<String> list;
+
+    private String[] listData;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.installSkin();
+        String[][] tableData = new String[ROWS][COLUMNS];
+        this.listData = new String[ROWS];
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                tableData[row][column] = "Cell " + row + ":" + column;
+            }
+            this.listData[row] = "Item " + row;
+        }
+
+        this.table = BenchmarkSupport.onEdt(() -> {
+            JTable result = new JTable(tableData, new String[] { "A", "B", "C", "D", "E" });
+            result.setSize(500, ROWS * result.getRowHeight());
+            result.setRowSelectionInterval(3, 3);
+            return result;
+        });
+        this.list = BenchmarkSupport.onEdt(() -> {
+            JList<String> result = new JList<>(this.listData);
+            result.setSelectedIndex(3);
+            return result;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS * COLUMNS)
+    public void prepareTableRenderer(Blackhole blackhole) {
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                TableCellRenderer renderer = this.table.getCellRenderer(row, column);
+                blackhole.consume(this.table.prepareRenderer(renderer, row, column));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void prepareListRenderer(Blackhole blackhole) {
+        ListCellRenderer<? super String> renderer = this.list.getCellRenderer();
+        for (int index = 0; index < ROWS; index++) {
+            blackhole.consume(renderer.getListCellRendererComponent(this.list,
+                    this.listData[index], index, this.list.isSelectedIndex(index), false));
+        }
+    }
+}
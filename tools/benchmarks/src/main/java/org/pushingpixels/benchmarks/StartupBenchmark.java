@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.skin.BusinessSkin;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to the first painted frame of a small demo window in a fresh JVM. Each
+ * fork sets the Business skin, creates a frame content with the commonly used Swing
+ * components, and lays it out and paints it once into an offscreen image. The results cover
+ * the class loading and the one-time initialization of Substance, and compare the eager and
+ * the lazy population of the UI defaults table.
+ *
+ * <p>The demo window has no menu bar, as the decoration painters of the title pane and the
+ * header areas query the location of the root pane on the screen, and that is not available
+ * in the headless mode.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 10, jvmArgsAppend = "-Djava.awt.headless=true")
+public class StartupBenchmark {
+    private static final int WIDTH = 640;
+
+    private static final int HEIGHT = 480;
+
+    @Param({ "false", "true" })
+    public boolean lazyUIDefaults;
+
+    @Benchmark
+    public int firstFrame() {
+        return BenchmarkSupport.onEdt(() -> {
+            SubstanceCortex.GlobalScope.setLazyUIDefaultsEnabled(this.lazyUIDefaults);
+            SubstanceCortex.GlobalScope.setSkin(new BusinessSkin());
+
+            JPanel root = new JPanel(new BorderLayout());
+            JRootPane rootPane = new JRootPane();
+            rootPane.setContentPane(BenchmarkSupport.createDemoContent());
+            root.add(rootPane, BorderLayout.CENTER);
+            root.setSize(WIDTH, HEIGHT);
+            // Headless components don't get a peer, and need to be made displayable
+            // explicitly for the layout to happen
+            root.addNotify();
+            root.validate();
+
+            BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = image.createGraphics();
+            root.paint(g2d);
+            g2d.dispose();
+            root.removeNotify();
+            return image.getRGB(WIDTH / 2, HEIGHT / 2);
+        });
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.pushingpixels.flamingo.api.common.model.Command;
+import org.pushingpixels.flamingo.api.common.model.CommandButtonPresentationModel;
+import org.pushingpixels.flamingo.api.ribbon.JRibbonBand;
+import org.pushingpixels.flamingo.api.ribbon.JRibbonFrame;
+import org.pushingpixels.flamingo.api.ribbon.RibbonTask;
+import org.pushingpixels.neon.api.icon.ResizableIcon;
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.skin.BusinessSkin;
+import org.pushingpixels.substance.api.skin.GraphiteSkin;
+import org.pushingpixels.substance.internal.svg.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Representative startup scenario of a Radiance application. It sets a Substance skin, shows
+ * a ribbon frame with a few tasks and the commonly used Swing components, and switches the
+ * skin once after the frame has been painted. The time from the start of the JVM to the first
+ * painted frame is printed to the standard output.
+ *
+ * <p>This is used to record the class list for the class data sharing archive of the
+ * Radiance jars, and to compare the startup time with and without that archive. This
+ * scenario needs a display.</p>
+ */
+public final class StartupScenario {
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private StartupScenario() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CountDownLatch firstFrame = new CountDownLatch(1);
+        JRibbonFrame[] frame = new JRibbonFrame[1];
+        SwingUtilities.invokeLater(() -> {
+            JFrame.setDefaultLookAndFeelDecorated(true);
+            SubstanceCortex.GlobalScope.setSkin(new BusinessSkin());
+            frame[0] = createFrame(firstFrame);
+            frame[0].setVisible(true);
+        });
+        if (!firstFrame.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("The frame has not been painted");
+        }
+        long firstFrameMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        CountDownLatch skinChanged = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(() -> {
+            SubstanceCortex.GlobalScope.setSkin(new GraphiteSkin());
+            // The skin change repaints the frame asynchronously, so wait for that repaint
+            // to be processed before exiting
+            SwingUtilities.invokeLater(skinChanged::countDown);
+        });
+        if (!skinChanged.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("The skin change has not been processed");
+        }
+        SwingUtilities.invokeAndWait(() -> frame[0].dispose());
+
+        System.out.println("Time to first frame: " + firstFrameMillis + " ms");
+        System.exit(0);
+    }
+
+    private static JRibbonFrame createFrame(CountDownLatch firstFrame) {
+        JRibbonFrame frame = new JRibbonFrame("Radiance startup");
+        frame.getRibbon().addTask(new RibbonTask("Home",
+                createBand("Clipboard", ic_content_paste_black_24px.factory(),
+                        new String[] { "Paste", "Cut", "Copy", "Select all" },
+                        new ResizableIcon.Factory[] { ic_content_paste_black_24px.factory(),
+                                ic_content_cut_black_24px.factory(),
+                                ic_content_copy_black_24px.factory(),
+                                ic_select_all_black_24px.factory() }),
+                createBand("Document", ic_insert_drive_file_black_24px.factory(),
+                        new String[] { "New folder", "Open", "Save", "Delete" },
+                        new ResizableIcon.Factory[] {
+                                ic_create_new_folder_black_24px.factory(),
+                                ic_folder_open_black_24px.factory(),
+                                ic_save_black_24px.factory(),
+                                ic_delete_black_24px.factory() })));
+        frame.getRibbon().addTask(new RibbonTask("View",
+                createBand("Layout", ic_view_list_black_24px.factory(),
+                        new String[] { "List", "Grid", "Refresh" },
+                        new ResizableIcon.Factory[] { ic_view_list_black_24px.factory(),
+                                ic_grid_on_black_24px.factory(),
+                                ic_refresh_black_24px.factory() })));
+
+        JPanel content = new JPanel(new BorderLayout()) {
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                firstFrame.countDown();
+            }
+        };
+        content.add(BenchmarkSupport.createDemoContent(), BorderLayout.CENTER);
+        frame.add(content, BorderLayout.CENTER);
+        frame.setSize(1000, 700);
+        frame.setLocationRelativeTo(null);
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        return frame;
+    }
+
+    private static JRibbonBand createBand(String title, ResizableIcon.Factory iconFactory,
+            String[] commandTitles, ResizableIcon.Factory[] commandIconFactories) {
+        JRibbonBand band = new JRibbonBand(title, iconFactory);
+        for (int i = 0; i < commandTitles.length; i++) {
+            band.addRibbonCommand(Command.builder()
+                            .setText(commandTitles[i])
+                            .setIconFactory(commandIconFactories[i])
+                            .setAction(commandActionEvent -> {})
+                            .build()
+                            .project(CommandButtonPresentationModel.withDefaults()),
+                    (i == 0) ? JRibbonBand.PresentationPriority.TOP
+                            : JRibbonBand.PresentationPriority.MEDIUM);
+        }
+        return band;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.pushingpixels.trident.api.Timeline;
+import org.pushingpixels.trident.api.TridentConfig;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single pulse of the Trident timeline engine with the specified number of running
+ * timelines. The pulse source thread of the engine is parked for the duration of the
+ * benchmark, and the pulses are driven directly from the benchmark thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TimelineBenchmark {
+    @Param({ "10", "100", "1000" })
+    public int timelineCount;
+
+    /**
+     * Target object of the timelines.
+     */
+    public static class Target {
+        private float value;
+
+        public void setValue(float value) {
+            this.value = value;
+        }
+
+        public float getValue() {
+            return this.value;
+        }
+    }
+
+    private final CountDownLatch pulseSourceLatch = new CountDownLatch(1);
+
+    private Object engine;
+
+    private Method updateTimelines;
+
+    private List<Timeline> timelines;
+
+    @Setup
+    public void setup() throws Exception {
+        TridentConfig.getInstance().setPulseSource(() -> {
+            try {
+                this.pulseSourceLatch.await();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        Class<?> engineClass = Class.forName("org.pushingpixels.trident.api.TimelineEngine");
+        Method getInstance = engineClass.getDeclaredMethod("getInstance");
+        getInstance.setAccessible(true);
+        this.engine = getInstance.invoke(null);
+        this.updateTimelines = engineClass.getDeclaredMethod("updateTimelines");
+        this.updateTimelines.setAccessible(true);
+
+        this.timelines = new ArrayList<>(this.timelineCount);
+        for (int i = 0; i < this.timelineCount; i++) {
+            Timeline timeline = Timeline.builder(new Target())
+                    .addPropertyToInterpolate("value", 0.0f, 1.0f)
+                    .setDuration(10000)
+                    .build();
+            timeline.playLoop(Timeline.RepeatBehavior.REVERSE);
+            this.timelines.add(timeline);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Timeline timeline : this.timelines) {
+            timeline.abort();
+        }
+        this.pulseSourceLatch.countDown();
+    }
+
+    @Benchmark
+    public void updateTimelines() throws Exception {
+        this.updateTimelines.invoke(this.engine);
+    }
+}
@@ -36,7 +36,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.lang.management.*;
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.*;
@@ -121,41 +120,9 @@ public class DynamicPerformanceSuite {
         JPanel emptyPanel = new JPanel();
         this.tabs.addTab("Empty", emptyPanel);
 
-        ButtonsPanel buttonsPanel = new ButtonsPanel();
-        this.scanAndAddTab("Buttons", buttonsPanel);
-
-        CombosPanel combosPanel = new CombosPanel();
-        this.scanAndAddTab("Combos", combosPanel);
-
-        TablePanel tablePanel = new TablePanel();
-        this.scanAndAddTab("Table", tablePanel);
-
-        ListPanel listPanel = new ListPanel();
-        this.scanAndAddTab("List", listPanel);
-
-        SliderPanel slidersPanel = new SliderPanel();
-        this.scanAndAddTab("Sliders", slidersPanel);
-
-        ProgressBarPanel progressBarsPanel = new ProgressBarPanel();
-        this.scanAndAddTab("Progress bars", progressBarsPanel);
-
-        TextFieldsPanel textFieldsPanel = new TextFieldsPanel();
-        this.scanAndAddTab("Text fields", textFieldsPanel);
-
-        TextAreasPanel textAreasPanel = new TextAreasPanel();
-        this.scanAndAddTab("Text areas", textAreasPanel);
-
-        TabsPanel tabsPanel = new TabsPanel();
-        this.scanAndAddTab("Tabs", tabsPanel);
-
-        BigTextAreaPanel bigTextAreaPanel = new BigTextAreaPanel();
-        this.scanAndAddTab("Text area", bigTextAreaPanel);
-
-        TreePanel treePanel = new TreePanel();
-        this.scanAndAddTab("Tree", treePanel);
-
-        SpinnerPanel spinnersPanel = new SpinnerPanel();
-        this.scanAndAddTab("Spinners", spinnersPanel);
+        for (Map.Entry<String, JComponent> panelEntry : createScenarioPanels().entrySet()) {
+            this.scanAndAddTab(panelEntry.getKey(), panelEntry.getValue());
+        }
 
         JMenuBar menuBar = new LightbeamMenuBar();
         this.frame.setJMenuBar(menuBar);
@@ -186,6 +153,30 @@ public class DynamicPerformanceSuite {
         this.frame.setVisible(true);
     }
 
+    /**
+     * Creates the panels that host the performance scenarios, keyed by their titles.
+     *
+     * @return The panels that host the performance scenarios. The iteration order of the
+     * returned map is the display order of the panels.
+     */
+    static Map<String, JComponent> createScenarioPanels() {
+        Map<String, JComponent> result = new LinkedHashMap<>();
+        result.put("Buttons", new ButtonsPanel());
+        result.put("Combos", new CombosPanel());
+        result.put("Table", new TablePanel());
+        result.put("List", new ListPanel());
+        result.put("Sliders", new SliderPanel());
+        result.put("Progress bars", new ProgressBarPanel());
+        result.put("Text fields", new TextFieldsPanel());
+        result.put("Text areas", new TextAreasPanel());
+        result.put("Tabs", new TabsPanel());
+        result.put("Text area", new BigTextAreaPanel());
+        result.put("Tree", new TreePanel());
+        result.put("Spinners", new SpinnerPanel());
+        result.put("Decoration areas", new DecorationAreasPanel());
+        return result;
+    }
+
     private void runSingleRound(boolean toTime, String specificScenarioId) {
         System.out.println(">>>>>>>>>>>>>>>>>>>>> START >>>>>>>>>>>>>>>>>>>>>");
         isCancelled = false;
@@ -365,25 +356,7 @@ public class DynamicPerformanceSuite {
     }
 
     private void scan(String title, Component comp) {
-        Class<?> compClass = comp.getClass();
-        List<PerformanceScenario> scenarioList = new LinkedList<>();
-        ComponentInfo componentInfo = new ComponentInfo(comp, scenarioList);
-        scenarios.put(title, componentInfo);
-        for (Method m : compClass.getDeclaredMethods()) {
-            // check annotation
-            if (m.getAnnotation(PerformanceScenarioParticipant.class) != null) {
-                // check return type and parameters
-                if ((m.getReturnType() == PerformanceScenario.class)
-                        && (m.getParameterTypes().length == 0)) {
-                    try {
-                        PerformanceScenario scenario = (PerformanceScenario) m.invoke(comp);
-                        componentInfo.scenarios.add(scenario);
-                    } catch (Exception exc) {
-                    }
-                }
-            }
-        }
-        componentInfo.scenarios.sort(Comparator.comparing(PerformanceScenario::getName));
+        scenarios.put(title, new ComponentInfo(comp, LightbeamUtils.getScenarios(comp)));
     }
 
     private void scanAndAddTab(String tabTitle, Component tabComp) {
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.lightbeam;
+
+import org.pushingpixels.lightbeam.panels.LightbeamMenuBar;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Command-line runner for the performance scenarios of {@link DynamicPerformanceSuite}. Unlike
+ * the interactive suite, this runner does not need a visible frame. The scenario panels are
+ * laid out at a fixed size and painted into an offscreen image after every scenario
+ * iteration, so it can run in headless mode (<code>-Djava.awt.headless=true</code>) or under
+ * a virtual display such as Xvfb.
+ *
+ * <p>Scenarios that paint their components immediately are skipped in headless mode. When
+ * a display is available, the root panel is shown in an undecorated frame so that these
+ * scenarios can run as well.</p>
+ *
+ * <p>Every scenario iteration (the change done by the scenario, followed by validating and
+ * painting the scenario panel) is timed separately on the Event Dispatch Thread. For every
+ * scenario, the runner reports the iteration time percentiles, the bytes allocated on the
+ * Event Dispatch Thread and the garbage collections that happened during the measured
+ * rounds.</p>
+ *
+ * <p>Supported arguments:</p>
+ * <ul>
+ * <li><code>--warmup N</code> - number of warmup rounds, 5 by default.</li>
+ * <li><code>--rounds N</code> - number of measured rounds, 10 by default.</li>
+ * <li><code>--scenario REGEXP</code> - only run the scenarios with matching
+ * <code>"tab : name"</code> keys.</li>
+ * <li><code>--output FILE</code> - write the results as JSON to the specified file.</li>
+ * <li><code>--baseline FILE</code> - compare the results against a JSON file written by an
+ * earlier run, and exit with status 1 if any scenario regressed, or if any baseline scenario
+ * failed or did not run.</li>
+ * <li><code>--threshold PERCENT</code> - allowed increase of the median iteration time and of
+ * the allocated bytes over the baseline, 10 by default.</li>
+ * </ul>
+ *
+ * <p>The look-and-feel is configured with the <code>swing.defaultlaf</code> system property,
+ * in the same way as for {@link DynamicPerformanceSuite}.</p>
+ */
+public class HeadlessPerformanceSuite {
+    private static final int WIDTH = 860;
+
+    private static final int HEIGHT = 600;
+
+    private int warmupRounds = 5;
+
+    private int measuredRounds = 10;
+
+    private Pattern scenarioFilter;
+
+    private Path outputFile;
+
+    private Path baselineFile;
+
+    private double thresholdPercent = 10.0;
+
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    private final List<GarbageCollectorMXBean> gcBeans;
+
+    private JPanel root;
+
+    private JRootPane rootPane;
+
+    private Graphics2D graphics;
+
+    private HeadlessPerformanceSuite() {
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.threadBean.setThreadAllocatedMemoryEnabled(true);
+        this.gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    }
+
+    private void parseArguments(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i == args.length - 1) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--warmup":
+                    this.warmupRounds = Integer.parseInt(value);
+                    break;
+                case "--rounds":
+                    this.measuredRounds = Integer.parseInt(value);
+                    break;
+                case "--scenario":
+                    this.scenarioFilter = Pattern.compile(value);
+                    break;
+                case "--output":
+                    this.outputFile = Paths.get(value);
+                    break;
+                case "--baseline":
+                    this.baselineFile = Paths.get(value);
+                    break;
+                case "--threshold":
+                    this.thresholdPercent = Double.parseDouble(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+    }
+
+    private long getGcCount() {
+        long result = 0;
+        for (GarbageCollectorMXBean gcBean : this.gcBeans) {
+            result += Math.max(0, gcBean.getCollectionCount());
+        }
+        return result;
+    }
+
+    private long getGcTimeMillis() {
+        long result = 0;
+        for (GarbageCollectorMXBean gcBean : this.gcBeans) {
+            result += Math.max(0, gcBean.getCollectionTime());
+        }
+        return result;
+    }
+
+    /**
+     * Places the specified panel in the offscreen root pane and lays it out. Menu bars are
+     * installed as the menu bar of the root pane, with an empty content pane.
+     */
+    private void showPanel(JComponent panel) {
+        Container contentPane = this.rootPane.getContentPane();
+        contentPane.removeAll();
+        if (panel instanceof JMenuBar) {
+            this.rootPane.setJMenuBar((JMenuBar) panel);
+        } else {
+            this.rootPane.setJMenuBar(null);
+            contentPane.add(panel, BorderLayout.CENTER);
+        }
+        this.root.validate();
+    }
+
+    /**
+     * Runs all the iterations of the specified scenario. This method must be called on the
+     * Event Dispatch Thread.
+     *
+     * @param scenario Scenario to run.
+     * @param result   Result to record the iteration times and allocations into, or
+     *                 <code>null</code> for warmup rounds.
+     */
+    private void runScenario(PerformanceScenario scenario, PerformanceReport.ScenarioResult result) {
+        long threadId = Thread.currentThread().getId();
+        scenario.setup();
+        this.root.validate();
+
+        long startBytes = this.threadBean.getThreadAllocatedBytes(threadId);
+        int iterationCount = scenario.getIterationCount();
+        for (int i = 0; i < iterationCount; i++) {
+            long start = System.nanoTime();
+            scenario.runSingleIteration(i);
+            this.root.validate();
+            this.root.paint(this.graphics);
+            long time = System.nanoTime() - start;
+            if (result != null) {
+                result.addIteration(time);
+            }
+        }
+        if (result != null) {
+            result.allocatedBytes += this.threadBean.getThreadAllocatedBytes(threadId)
+                    - startBytes;
+        }
+
+        scenario.tearDown();
+    }
+
+    private PerformanceReport run() throws Exception {
+        Map<String, JComponent> panels = new LinkedHashMap<>();
+        Map<String, List<PerformanceScenario>> scenarios = new LinkedHashMap<>();
+        SwingUtilities.invokeAndWait(() -> {
+            this.root = new JPanel(new BorderLayout());
+            if (GraphicsEnvironment.isHeadless()) {
+                // Making the root panel displayable is enough for the layout to be done
+                // on validation
+                this.root.setSize(WIDTH, HEIGHT);
+                this.root.addNotify();
+            } else {
+                // Scenarios that paint their components immediately need a showing window
+                JFrame frame = new JFrame("Headless performance suite");
+                frame.setUndecorated(true);
+                frame.add(this.root);
+                frame.setSize(WIDTH, HEIGHT);
+                frame.setVisible(true);
+            }
+            this.rootPane = new JRootPane();
+            this.root.add(this.rootPane, BorderLayout.CENTER);
+            BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+            this.graphics = image.createGraphics();
+
+            panels.putAll(DynamicPerformanceSuite.createScenarioPanels());
+            panels.put("Menu bar", new LightbeamMenuBar());
+            for (Map.Entry<String, JComponent> panelEntry : panels.entrySet()) {
+                List<PerformanceScenario> panelScenarios = new ArrayList<>();
+                for (PerformanceScenario scenario :
+                        LightbeamUtils.getScenarios(panelEntry.getValue())) {
+                    String key = panelEntry.getKey() + " : " + scenario.getName();
+                    if ((this.scenarioFilter == null)
+                            || this.scenarioFilter.matcher(key).find()) {
+                        panelScenarios.add(scenario);
+                    }
+                }
+                if (!panelScenarios.isEmpty()) {
+                    scenarios.put(panelEntry.getKey(), panelScenarios);
+                }
+            }
+        });
+
+        PerformanceReport report = new PerformanceReport();
+        report.setEnvironment("lookAndFeel", UIManager.getLookAndFeel().getName());
+        report.setEnvironment("javaVersion", System.getProperty("java.version"));
+        report.setEnvironment("javaVendor", System.getProperty("java.vendor"));
+        report.setEnvironment("osName", System.getProperty("os.name"));
+        report.setEnvironment("headless", String.valueOf(GraphicsEnvironment.isHeadless()));
+        report.setEnvironment("warmupRounds", String.valueOf(this.warmupRounds));
+        report.setEnvironment("measuredRounds", String.valueOf(this.measuredRounds));
+
+        for (Map.Entry<String, List<PerformanceScenario>> scenarioEntry :
+                scenarios.entrySet()) {
+            String tabTitle = scenarioEntry.getKey();
+            JComponent panel = panels.get(tabTitle);
+            for (PerformanceScenario scenario : scenarioEntry.getValue()) {
+                PerformanceReport.ScenarioResult result =
+                        new PerformanceReport.ScenarioResult(tabTitle, scenario.getName());
+                try {
+                    SwingUtilities.invokeAndWait(() -> {
+                        this.showPanel(panel);
+                        for (int round = 0; round < this.warmupRounds; round++) {
+                            this.runScenario(scenario, null);
+                        }
+                    });
+
+                    long startGcCount = this.getGcCount();
+                    long startGcTime = this.getGcTimeMillis();
+                    for (int round = 0; round < this.measuredRounds; round++) {
+                        SwingUtilities.invokeAndWait(() -> this.runScenario(scenario, result));
+                    }
+                    result.gcCount = this.getGcCount() - startGcCount;
+                    result.gcTimeMillis = this.getGcTimeMillis() - startGcTime;
+                } catch (InvocationTargetException ite) {
+                    // Scenarios that paint their components immediately (such as showing
+                    // popup menus) are not supported in headless mode
+                    System.err.println("Skipping " + result.getKey() + ": " + ite.getCause());
+                    report.addFailedScenario(result.getKey(), String.valueOf(ite.getCause()));
+                    continue;
+                }
+                report.addScenarioResult(result);
+            }
+        }
+
+        SwingUtilities.invokeAndWait(() -> this.graphics.dispose());
+        return report;
+    }
+
+    public static void main(String[] args) throws Exception {
+        HeadlessPerformanceSuite suite = new HeadlessPerformanceSuite();
+        suite.parseArguments(args);
+
+        PerformanceReport report = suite.run();
+        report.print(System.out);
+        if (suite.outputFile != null) {
+            report.writeJson(suite.outputFile);
+        }
+
+        int exitCode = 0;
+        if (suite.baselineFile != null) {
+            System.out.println();
+            int regressionCount = report.compareToBaseline(suite.baselineFile,
+                    suite.thresholdPercent, suite.scenarioFilter, System.out);
+            if (regressionCount > 0) {
+                System.out.println(regressionCount + " scenario(s) regressed by more than "
+                        + suite.thresholdPercent + "% or did not run");
+                exitCode = 1;
+            }
+        }
+        System.exit(exitCode);
+    }
+}
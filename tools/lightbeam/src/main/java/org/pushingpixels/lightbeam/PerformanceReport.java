@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+
+package org.pushingpixels.lightbeam;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Results of a {@link HeadlessPerformanceSuite} run. The report can be written to and read
+ * from a JSON file, and compared against a baseline report from an earlier run.
+ */
+public class PerformanceReport {
+    /**
+     * Results of a single scenario.
+     */
+    public static class ScenarioResult {
+        public final String tabTitle;
+
+        public final String scenarioName;
+
+        /**
+         * Duration of every measured iteration, in nanoseconds. Each iteration includes the
+         * model / component change done by the scenario and the offscreen painting of the
+         * scenario panel.
+         */
+        private final List<Long> iterationNanos;
+
+        public long allocatedBytes;
+
+        public long gcCount;
+
+        public long gcTimeMillis;
+
+        private double[] percentiles;
+
+        public ScenarioResult(String tabTitle, String scenarioName) {
+            this.tabTitle = tabTitle;
+            this.scenarioName = scenarioName;
+            this.iterationNanos = new ArrayList<>();
+        }
+
+        public String getKey() {
+            return this.tabTitle + " : " + this.scenarioName;
+        }
+
+        public void addIteration(long nanos) {
+            this.iterationNanos.add(nanos);
+            this.percentiles = null;
+        }
+
+        public int getIterationCount() {
+            return this.iterationNanos.size();
+        }
+
+        /**
+         * Returns the iteration duration at the specified percentile, in microseconds.
+         *
+         * @param percentile Percentile in 0..100 range.
+         * @return Iteration duration at the specified percentile, in microseconds.
+         */
+        public double getPercentileMicros(double percentile) {
+            if (this.iterationNanos.isEmpty()) {
+                return 0.0;
+            }
+            if (this.percentiles == null) {
+                this.percentiles = new double[this.iterationNanos.size()];
+                for (int i = 0; i < this.percentiles.length; i++) {
+                    this.percentiles[i] = this.iterationNanos.get(i) / 1000.0;
+                }
+                Arrays.sort(this.percentiles);
+            }
+            // Nearest-rank percentile
+            int rank = (int) Math.ceil(percentile / 100.0 * this.percentiles.length);
+            return this.percentiles[Math.max(0, Math.min(rank, this.percentiles.length) - 1)];
+        }
+
+        public double getMeanMicros() {
+            if (this.iterationNanos.isEmpty()) {
+                return 0.0;
+            }
+            long total = 0;
+            for (long nanos : this.iterationNanos) {
+                total += nanos;
+            }
+            return total / 1000.0 / this.iterationNanos.size();
+        }
+
+        public double getAllocatedBytesPerIteration() {
+            return this.iterationNanos.isEmpty() ? 0.0
+                    : (double) this.allocatedBytes / this.iterationNanos.size();
+        }
+    }
+
+    /**
+     * Values read from a baseline report, keyed by the scenario key and then by the value
+     * name.
+     */
+    private static class Baseline {
+        private final Map<String, Map<String, Object>> scenarios = new LinkedHashMap<>();
+
+        private double getValue(String scenarioKey, String valueName) {
+            Map<String, Object> scenario = this.scenarios.get(scenarioKey);
+            if (scenario == null) {
+                return Double.NaN;
+            }
+            Object value = scenario.get(valueName);
+            return (value instanceof Number) ? ((Number) value).doubleValue() : Double.NaN;
+        }
+    }
+
+    private final Map<String, String> environment = new LinkedHashMap<>();
+
+    private final List<ScenarioResult> scenarioResults = new ArrayList<>();
+
+    /**
+     * Scenarios that failed during the run, keyed by the scenario key. The values are the
+     * failure descriptions.
+     */
+    private final Map<String, String> failedScenarios = new LinkedHashMap<>();
+
+    public void setEnvironment(String name, String value) {
+        this.environment.put(name, value);
+    }
+
+    public void addScenarioResult(ScenarioResult scenarioResult) {
+        this.scenarioResults.add(scenarioResult);
+    }
+
+    public List<ScenarioResult> getScenarioResults() {
+        return Collections.unmodifiableList(this.scenarioResults);
+    }
+
+    public void addFailedScenario(String scenarioKey, String failure) {
+        this.failedScenarios.put(scenarioKey, failure);
+    }
+
+    public Map<String, String> getFailedScenarios() {
+        return Collections.unmodifiableMap(this.failedScenarios);
+    }
+
+    /**
+     * Prints a human-readable summary of this report.
+     *
+     * @param out Stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.printf(Locale.US, "%8s %8s %8s %8s %12s %4s %6s  %s%n", "p50 us", "p90 us",
+                "p99 us", "max us", "bytes/iter", "gc", "gc ms", "scenario");
+        for (ScenarioResult result : this.scenarioResults) {
+            out.printf(Locale.US, "%8.0f %8.0f %8.0f %8.0f %12.0f %4d %6d  %s%n",
+                    result.getPercentileMicros(50), result.getPercentileMicros(90),
+                    result.getPercentileMicros(99), result.getPercentileMicros(100),
+                    result.getAllocatedBytesPerIteration(), result.gcCount,
+                    result.gcTimeMillis, result.getKey());
+        }
+        for (Map.Entry<String, String> failed : this.failedScenarios.entrySet()) {
+            out.printf(Locale.US, "%8s %8s %8s %8s %12s %4s %6s  %s: %s%n", "-", "-", "-", "-",
+                    "-", "-", "-", failed.getKey(), failed.getValue());
+        }
+    }
+
+    /**
+     * Writes this report as JSON to the specified file.
+     *
+     * @param file File to write to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeJson(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("{\n  \"environment\": {");
+            boolean isFirst = true;
+            for (Map.Entry<String, String> entry : this.environment.entrySet()) {
+                writer.write(isFirst ? "\n" : ",\n");
+                writer.write("    " + quote(entry.getKey()) + ": " + quote(entry.getValue()));
+                isFirst = false;
+            }
+            writer.write("\n  },\n  \"scenarios\": [");
+            isFirst = true;
+            for (ScenarioResult result : this.scenarioResults) {
+                writer.write(isFirst ? "\n" : ",\n");
+                writer.write(String.format(Locale.US, "    {\"key\": %s, \"tab\": %s, "
+                                + "\"name\": %s, \"iterations\": %d, \"meanMicros\": %.1f, "
+                                + "\"p50Micros\": %.1f, \"p90Micros\": %.1f, "
+                                + "\"p99Micros\": %.1f, \"maxMicros\": %.1f, "
+                                + "\"allocatedBytesPerIteration\": %.1f, \"gcCount\": %d, "
+                                + "\"gcTimeMillis\": %d}",
+                        quote(result.getKey()), quote(result.tabTitle),
+                        quote(result.scenarioName), result.getIterationCount(),
+                        result.getMeanMicros(), result.getPercentileMicros(50),
+                        result.getPercentileMicros(90), result.getPercentileMicros(99),
+                        result.getPercentileMicros(100), result.getAllocatedBytesPerIteration(),
+                        result.gcCount, result.gcTimeMillis));
+                isFirst = false;
+            }
+            writer.write("\n  ]\n}\n");
+        }
+    }
+
+    /**
+     * Compares this report against the baseline report stored in the specified JSON file.
+     * A scenario regresses when its median iteration time or its allocated bytes per
+     * iteration exceed the baseline values by more than the specified threshold. Scenarios
+     * that are missing from the baseline are reported, but do not count as regressions.
+     * Baseline scenarios that are missing from this report (for example, because they failed
+     * during the run) count as regressions, unless they are excluded by the scenario filter.
+     *
+     * @param baselineFile     JSON file of the baseline report.
+     * @param thresholdPercent Allowed increase over the baseline values, in percents.
+     * @param scenarioFilter   Filter of the scenario keys that were selected for this run, or
+     *                         <code>null</code> if all the scenarios were selected.
+     * @param out              Stream to print the comparison to.
+     * @return The number of regressed and missing scenarios.
+     * @throws IOException if an I/O error occurs.
+     */
+    public int compareToBaseline(Path baselineFile, double thresholdPercent,
+            Pattern scenarioFilter, PrintStream out) throws IOException {
+        Baseline baseline = readBaseline(baselineFile);
+        double limit = 1.0 + thresholdPercent / 100.0;
+        int regressionCount = 0;
+        for (ScenarioResult result : this.scenarioResults) {
+            String key = result.getKey();
+            double baselineMedian = baseline.getValue(key, "p50Micros");
+            if (Double.isNaN(baselineMedian)) {
+                out.println("     new  " + key);
+                continue;
+            }
+            double baselineAllocated = baseline.getValue(key, "allocatedBytesPerIteration");
+            double median = result.getPercentileMicros(50);
+            double allocated = result.getAllocatedBytesPerIteration();
+            boolean isTimeRegression = median > baselineMedian * limit;
+            boolean isAllocationRegression = !Double.isNaN(baselineAllocated)
+                    && (allocated > baselineAllocated * limit);
+            boolean isRegression = isTimeRegression || isAllocationRegression;
+            if (isRegression) {
+                regressionCount++;
+            }
+            out.printf(Locale.US, "%8s  %s: p50 %.0f -> %.0f us (%+.1f%%), "
+                            + "%.0f -> %.0f bytes/iter (%+.1f%%)%n",
+                    isRegression ? "REGRESS" : "ok", key, baselineMedian, median,
+                    getChangePercent(baselineMedian, median), baselineAllocated, allocated,
+                    getChangePercent(baselineAllocated, allocated));
+        }
+
+        Set<String> resultKeys = new HashSet<>();
+        for (ScenarioResult result : this.scenarioResults) {
+            resultKeys.add(result.getKey());
+        }
+        for (String key : baseline.scenarios.keySet()) {
+            if (resultKeys.contains(key)
+                    || ((scenarioFilter != null) && !scenarioFilter.matcher(key).find())) {
+                continue;
+            }
+            regressionCount++;
+            String failure = this.failedScenarios.get(key);
+            out.println(" MISSING  " + key + ((failure != null) ? ": " + failure : ""));
+        }
+        return regressionCount;
+    }
+
+    private static double getChangePercent(double from, double to) {
+        return (from > 0.0) ? (to - from) * 100.0 / from : 0.0;
+    }
+
+    private static String quote(String value) {
+        StringBuilder result = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    result.append("\\\"");
+                    break;
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                default:
+                    if (c < ' ') {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+            }
+        }
+        return result.append('"').toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Baseline readBaseline(Path file) throws IOException {
+        String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        Object root = new JsonParser(json).parseValue();
+        Baseline baseline = new Baseline();
+        if (root instanceof Map) {
+            Object scenarios = ((Map<String, Object>) root).get("scenarios");
+            if (scenarios instanceof List) {
+                for (Object scenario : (List<Object>) scenarios) {
+                    if (scenario instanceof Map) {
+                        Map<String, Object> values = (Map<String, Object>) scenario;
+                        baseline.scenarios.put(String.valueOf(values.get("key")), values);
+                    }
+                }
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * Minimal JSON parser for reading back the reports written by {@link #writeJson(Path)}.
+     * Objects are parsed into maps, arrays into lists and numbers into doubles.
+     */
+    private static class JsonParser {
+        private final String json;
+
+        private int position;
+
+        private JsonParser(String json) {
+            this.json = json;
+        }
+
+        private Object parseValue() throws IOException {
+            this.skipWhitespace();
+            if (this.position >= this.json.length()) {
+                throw this.error("Unexpected end of input");
+            }
+            char c = this.json.charAt(this.position);
+            switch (c) {
+                case '{':
+                    return this.parseObject();
+                case '[':
+                    return this.parseArray();
+                case '"':
+                    return this.parseString();
+                default:
+                    if (this.json.startsWith("true", this.position)) {
+                        this.position += 4;
+                        return Boolean.TRUE;
+                    }
+                    if (this.json.startsWith("false", this.position)) {
+                        this.position += 5;
+                        return Boolean.FALSE;
+                    }
+                    if (this.json.startsWith("null", this.position)) {
+                        this.position += 4;
+                        return null;
+                    }
+                    return this.parseNumber();
+            }
+        }
+
+        private Map<String, Object> parseObject() throws IOException {
+            Map<String, Object> result = new LinkedHashMap<>();
+            this.expect('{');
+            this.skipWhitespace();
+            if (this.peek() == '}') {
+                this.position++;
+                return result;
+            }
+            while (true) {
+                this.skipWhitespace();
+                String key = this.parseString();
+                this.skipWhitespace();
+                this.expect(':');
+                result.put(key, this.parseValue());
+                this.skipWhitespace();
+                if (this.peek() == ',') {
+                    this.position++;
+                } else {
+                    this.expect('}');
+                    return result;
+                }
+            }
+        }
+
+        private List<Object> parseArray() throws IOException {
+            List<Object> result = new ArrayList<>();
+            this.expect('[');
+            this.skipWhitespace();
+            if (this.peek() == ']') {
+                this.position++;
+                return result;
+            }
+            while (true) {
+                result.add(this.parseValue());
+                this.skipWhitespace();
+                if (this.peek() == ',') {
+                    this.position++;
+                } else {
+                    this.expect(']');
+                    return result;
+                }
+            }
+        }
+
+        private String parseString() throws IOException {
+            this.expect('"');
+            StringBuilder result = new StringBuilder();
+            while (this.position < this.json.length()) {
+                char c = this.json.charAt(this.position++);
+                if (c == '"') {
+                    return result.toString();
+                }
+                if (c != '\\') {
+                    result.append(c);
+                    continue;
+                }
+                if (this.position >= this.json.length()) {
+                    break;
+                }
+                char escaped = this.json.charAt(this.position++);
+                switch (escaped) {
+                    case 'n':
+                        result.append('\n');
+                        break;
+                    case 't':
+                        result.append('\t');
+                        break;
+                    case 'r':
+                        result.append('\r');
+                        break;
+                    case 'b':
+                        result.append('\b');
+                        break;
+                    case 'f':
+                        result.append('\f');
+                        break;
+                    case 'u':
+                        if (this.position + 4 > this.json.length()) {
+                            throw this.error("Invalid unicode escape");
+                        }
+                        result.append((char) Integer.parseInt(
+                                this.json.substring(this.position, this.position + 4), 16));
+                        this.position += 4;
+                        break;
+                    default:
+                        result.append(escaped);
+                }
+            }
+            throw this.error("Unterminated string");
+        }
+
+        private Double parseNumber() throws IOException {
+            int start = this.position;
+            while ((this.position < this.json.length())
+                    && ("+-.eE".indexOf(this.json.charAt(this.position)) >= 0
+                    || Character.isDigit(this.json.charAt(this.position)))) {
+                this.position++;
+            }
+            try {
+                return Double.valueOf(this.json.substring(start, this.position));
+            } catch (NumberFormatException nfe) {
+                throw this.error("Invalid number");
+            }
+        }
+
+        private char peek() throws IOException {
+            if (this.position >= this.json.length()) {
+                throw this.error("Unexpected end of input");
+            }
+            return this.json.charAt(this.position);
+        }
+
+        private void expect(char c) throws IOException {
+            if (this.peek() != c) {
+                throw this.error("Expected '" + c + "'");
+            }
+            this.position++;
+        }
+
+        private void skipWhitespace() {
+            while ((this.position < this.json.length())
+                    && Character.isWhitespace(this.json.charAt(this.position))) {
+                this.position++;
+            }
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " at position " + this.position);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+package org.pushingpixels.lightbeam;
+
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.skin.BusinessSkin;
+
+import javax.swing.*;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreeCellRenderer;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the heap allocations of the default Substance table, list and tree cell renderers.
+ * Every cell of each component is passed through its renderer, with one cell selected and
+ * without any active animations. The renderers are expected to not allocate anything in this
+ * case. The components are placed in a container, as Substance does not run state transitions
+ * on parentless components, and the selection transitions complete before the measurements
+ * start.
+ *
+ * <p>The allocations are measured with {@link com.sun.management.ThreadMXBean} on the Event
+ * Dispatch Thread. This benchmark can run in headless mode.</p>
+ */
+public class RendererAllocationBenchmark {
+    private static final int ROWS = 100;
+
+    private static final int COLUMNS = 5;
+
+    private static final int WARMUP_PASSES = 2000;
+
+    private static final int MEASURED_PASSES = 2000;
+
+    private static final long TRANSITION_SETTLE_MILLIS = 2000;
+
+    private static JTable table;
+
+    private static JList<String> list;
+
+    private static String[] listData;
+
+    private static JTree tree;
+
+    private interface RendererPass {
+        void run();
+    }
+
+    private static void measure(String name, int cellsPerPass, RendererPass pass) {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_PASSES; i++) {
+            pass.run();
+        }
+
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_PASSES; i++) {
+            pass.run();
+        }
+        long nanos = System.nanoTime() - startNanos;
+        long bytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        long cells = (long) cellsPerPass * MEASURED_PASSES;
+        System.out.printf("%-6s %8.2f bytes/cell  %8.3f us/cell%n", name,
+                (double) bytes / cells, nanos / 1000.0 / cells);
+    }
+
+    private static void createComponents() {
+        SubstanceCortex.GlobalScope.setSkin(new BusinessSkin());
+
+        String[][] tableData = new String[ROWS][COLUMNS];
+        listData = new String[ROWS];
+        DefaultMutableTreeNode treeRoot = new DefaultMutableTreeNode("Root");
+        for (int row = 0; row < ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                tableData[row][column] = "Cell " + row + ":" + column;
+            }
+            listData[row] = "Item " + row;
+            treeRoot.add(new DefaultMutableTreeNode("Node " + row));
+        }
+
+        table = new JTable(tableData, new String[] { "A", "B", "C", "D", "E" });
+        table.setSize(500, ROWS * table.getRowHeight());
+        list = new JList<>(listData);
+        tree = new JTree(treeRoot);
+
+        JPanel container = new JPanel();
+        container.add(table);
+        container.add(list);
+        container.add(tree);
+
+        table.setRowSelectionInterval(3, 3);
+        list.setSelectedIndex(3);
+        tree.setSelectionRow(3);
+    }
+
+    private static void runBenchmarks() {
+        measure("Table", ROWS * COLUMNS, () -> {
+            for (int row = 0; row < ROWS; row++) {
+                for (int column = 0; column < COLUMNS; column++) {
+                    TableCellRenderer renderer = table.getCellRenderer(row, column);
+                    table.prepareRenderer(renderer, row, column);
+                }
+            }
+        });
+
+        ListCellRenderer<? super String> listRenderer = list.getCellRenderer();
+        measure("List", ROWS, () -> {
+            for (int index = 0; index < ROWS; index++) {
+                listRenderer.getListCellRendererComponent(list, listData[index], index,
+                        list.isSelectedIndex(index), false);
+            }
+        });
+
+        int treeRows = tree.getRowCount();
+        TreeCellRenderer treeRenderer = tree.getCellRenderer();
+        measure("Tree", treeRows, () -> {
+            for (int row = 0; row < treeRows; row++) {
+                Object value = tree.getPathForRow(row).getLastPathComponent();
+                treeRenderer.getTreeCellRendererComponent(tree, value, tree.isRowSelected(row),
+                        tree.isExpanded(row), tree.getModel().isLeaf(value), row, false);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        SwingUtilities.invokeAndWait(RendererAllocationBenchmark::createComponents);
+        // Let the selection transitions complete so that none of the measured cells is animated
+        Thread.sleep(TRANSITION_SETTLE_MILLIS);
+        SwingUtilities.invokeAndWait(RendererAllocationBenchmark::runBenchmarks);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2005-2020 Radiance Kirill Grouchnikov. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without 
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ *  o Redistributions of source code must retain the above copyright notice, 
+ *    this list of conditions and the following disclaimer. 
+ *     
+ *  o Redistributions in binary form must reproduce the above copyright notice, 
+ *    this list of conditions and the following disclaimer in the documentation 
+ *    and/or other materials provided with the distribution. 
+ *     
+ *  o Neither the name of the copyright holder nor the names of
+ *    its contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission. 
+ *     
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" 
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, 
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR 
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR 
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, 
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, 
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; 
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, 
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE 
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, 
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE. 
+ */
+package org.pushingpixels.lightbeam.panels;
+
+import org.pushingpixels.lightbeam.PerformanceScenario;
+import org.pushingpixels.lightbeam.PerformanceScenarioParticipant;
+import org.pushingpixels.substance.api.SubstanceCortex;
+import org.pushingpixels.substance.api.SubstanceSlices.DecorationAreaType;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Test application panel for measuring the painting of large decoration area and watermark
+ * backgrounds.
+ *
+ * @author Kirill Grouchnikov
+ */
+public class DecorationAreasPanel extends JPanel {
+	/**
+	 * Creates the test panel with decoration areas.
+	 */
+	public DecorationAreasPanel() {
+		this.setLayout(new BorderLayout());
+
+		JToolBar toolbar = new JToolBar();
+		for (int i = 0; i < 8; i++) {
+			toolbar.add(new JButton("button " + i));
+		}
+		this.add(toolbar, BorderLayout.NORTH);
+
+		JPanel header = new JPanel(new FlowLayout(FlowLayout.LEADING));
+		header.add(new JLabel("Header area"));
+		header.setPreferredSize(new Dimension(200, 120));
+		SubstanceCortex.ComponentOrParentChainScope.setDecorationType(header,
+				DecorationAreaType.HEADER);
+
+		JPanel content = new JPanel(new BorderLayout());
+		content.add(header, BorderLayout.NORTH);
+		content.add(new JLabel("Content area", SwingConstants.CENTER), BorderLayout.CENTER);
+		this.add(content, BorderLayout.CENTER);
+
+		JPanel footer = new JPanel(new FlowLayout(FlowLayout.TRAILING));
+		footer.add(new JLabel("Footer area"));
+		footer.setPreferredSize(new Dimension(200, 60));
+		SubstanceCortex.ComponentOrParentChainScope.setDecorationType(footer,
+				DecorationAreaType.FOOTER);
+		this.add(footer, BorderLayout.SOUTH);
+	}
+
+	private PerformanceScenario createRepaintScenario(final boolean isAccelerated) {
+		return new PerformanceScenario() {
+			boolean wasAccelerated;
+
+			@Override
+			public String getName() {
+				return isAccelerated ? "Repainting decoration areas (accelerated)"
+						: "Repainting decoration areas";
+			}
+
+			@Override
+			public void setup() {
+				this.wasAccelerated = SubstanceCortex.GlobalScope
+						.isAcceleratedImageCacheEnabled();
+				SubstanceCortex.GlobalScope.setAcceleratedImageCacheEnabled(isAccelerated);
+			}
+
+			@Override
+			public void tearDown() {
+				SubstanceCortex.GlobalScope.setAcceleratedImageCacheEnabled(this.wasAccelerated);
+			}
+
+			@Override
+			public int getIterationCount() {
+				return 20;
+			}
+
+			@Override
+			public void runSingleIteration(int iterationNumber) {
+				paintImmediately(0, 0, getWidth(), getHeight());
+			}
+		};
+	}
+
+	@PerformanceScenarioParticipant
+	public PerformanceScenario getRepaintScenario() {
+		return this.createRepaintScenario(false);
+	}
+
+	@PerformanceScenarioParticipant
+	public PerformanceScenario getAcceleratedRepaintScenario() {
+		return this.createRepaintScenario(true);
+	}
+}
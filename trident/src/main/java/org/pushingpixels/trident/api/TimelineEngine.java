@@ -165,11 +165,19 @@ class TimelineEngine {
 
         @Override
         public final void run() {
-            TridentConfig.PulseSource pulseSource = TridentConfig.getInstance().getPulseSource();
+            TridentConfig config = TridentConfig.getInstance();
+            TridentConfig.PulseSource pulseSource = config.getPulseSource();
             lastIterationTimeStamp = System.currentTimeMillis();
             while (true) {
                 pulseSource.waitUntilNextPulse();
-                updateTimelines();
+                TridentConfig.PulseListener pulseListener = config.getPulseListener();
+                if (pulseListener == null) {
+                    updateTimelines();
+                } else {
+                    long pulseStart = System.nanoTime();
+                    updateTimelines();
+                    pulseListener.onPulse(System.nanoTime() - pulseStart);
+                }
                 // engine.currLoopId++;
             }
         }
@@ -47,10 +47,28 @@ public class TridentConfig {
 
     private TridentConfig.PulseSource pulseSource;
 
+    private volatile TridentConfig.PulseListener pulseListener;
+
     public interface PulseSource {
         void waitUntilNextPulse();
     }
 
+    /**
+     * Listener notified after every pulse of the timeline engine. This is used by
+     * diagnostic tools to track how long it takes to update all running timelines on a
+     * single pulse.
+     */
+    public interface PulseListener {
+        /**
+         * Called on the pulse source thread after all running timelines and scenarios have
+         * been updated.
+         *
+         * @param durationNanos Time it took to update the running timelines and scenarios, in
+         *                      nanoseconds.
+         */
+        void onPulse(long durationNanos);
+    }
+
     public static class FixedRatePulseSource implements TridentConfig.PulseSource {
         private int msDelay;
 
@@ -138,4 +156,24 @@ public class TridentConfig {
     public synchronized TridentConfig.PulseSource getPulseSource() {
         return pulseSource;
     }
+
+    /**
+     * Sets the pulse listener. Pass <code>null</code> to remove the current listener. There
+     * is no overhead on the pulse loop when no listener is set.
+     *
+     * @param pulseListener Pulse listener.
+     */
+    public void setPulseListener(PulseListener pulseListener) {
+        this.pulseListener = pulseListener;
+    }
+
+    /**
+     * Returns the pulse listener.
+     *
+     * @return The pulse listener, or <code>null</code> if no listener is set.
+     * @see #setPulseListener(PulseListener)
+     */
+    public TridentConfig.PulseListener getPulseListener() {
+        return this.pulseListener;
+    }
 }